@@ -0,0 +1,270 @@
+package org.networkcalculus.dnc.ethernet;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig;
+import org.networkcalculus.dnc.ethernet.tsn.TASWindowsBuilder;
+import org.networkcalculus.dnc.ethernet.tsn.TASWindowsCostEstimate;
+import org.networkcalculus.dnc.ethernet.tsn.data.DatasetReader;
+import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
+import org.networkcalculus.dnc.ethernet.tsn.entry.STMessageEntry;
+import org.networkcalculus.dnc.ethernet.tsn.entry.TASGateScheduleEntry2018;
+import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018;
+
+/**
+ * Runs independent dataset cases concurrently.
+ *
+ * Each case is built and analyzed in isolation:
+ * 	- its own TASWindowsBuilder, EthernetNetwork and AnalysesResultPaperAccess2018 instances;
+ * 	- its own result directory (see {@link DatasetReader#getResultAbsolutePath()}), where its console output is also written to,
+ * 	  through the ExecutionConfig.out and ExecutionConfig.err of the case (System.out and System.err are never replaced).
+ *
+ * When all cases are finished, their results are merged (in the given case order) into the results store of the ExecutionConfig.
+ *
+ * Cases are started from the most expensive to the cheapest one (see {@link TASWindowsCostEstimate#getRelativeCost()}),
+ * so a long case does not start last and keep a single worker busy at the end of the batch.
+ * The flows and gate scheduling read for the estimate are given to the TASWindowsBuilder of the case, so they are read only once.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ */
+public class DatasetCaseBatchExecutor {
+
+	public static final String FILENAME_CASE_CONSOLE_OUTPUT = "console.txt";
+
+	/**
+	 * Outcome of a single dataset case.
+	 */
+	public static class CaseReport {
+
+		private final String datasetCasePath;
+		private final long elapsedTimeMs;
+		private final Throwable failure;
+
+		private CaseReport(String datasetCasePath, long elapsedTimeMs, Throwable failure) {
+			this.datasetCasePath = datasetCasePath;
+			this.elapsedTimeMs = elapsedTimeMs;
+			this.failure = failure;
+		}
+
+		public String getDatasetCasePath() {
+			return datasetCasePath;
+		}
+		public long getElapsedTimeMs() {
+			return elapsedTimeMs;
+		}
+		public Throwable getFailure() {
+			return failure;
+		}
+		public boolean isSuccessful() {
+			return failure == null;
+		}
+
+		@Override
+		public String toString() {
+			return "CaseReport [datasetCasePath=" + datasetCasePath + ", elapsedTimeMs=" + elapsedTimeMs + ", failure=" + failure + "]";
+		}
+	}
+
+	/**
+	 * Files of a dataset case read before it is submitted, to estimate its cost
+	 */
+	private static class CaseInput {
+
+		private final String path;
+		private final List<STMessageEntry> messages;
+		private final Map<InterfaceInfoEntry, Map<Integer, List<TASGateScheduleEntry2018>>> mapInterfaceInfoPriorityListTASGateScheduleEntry;
+		private final long relativeCost;
+
+		private CaseInput(String path) {
+
+			this.path = path;
+
+			final DatasetReader datasetReader = new DatasetReader(path);
+
+			List<STMessageEntry> messages = null;
+			Map<InterfaceInfoEntry, Map<Integer, List<TASGateScheduleEntry2018>>> mapInterfaceInfoPriorityListTASGateScheduleEntry = null;
+			long relativeCost;
+
+			try {
+				messages = datasetReader.readScheduledMessageFile();
+				mapInterfaceInfoPriorityListTASGateScheduleEntry = datasetReader.readGateSchedulingFile();
+				relativeCost = TASWindowsCostEstimate.estimate(mapInterfaceInfoPriorityListTASGateScheduleEntry, messages).getRelativeCost();
+			} catch (RuntimeException e) {
+				//The case is read again (and fails) within its worker, where the failure is reported
+				messages = null;
+				mapInterfaceInfoPriorityListTASGateScheduleEntry = null;
+				relativeCost = Long.MAX_VALUE;
+			}
+
+			this.messages = messages;
+			this.mapInterfaceInfoPriorityListTASGateScheduleEntry = mapInterfaceInfoPriorityListTASGateScheduleEntry;
+			this.relativeCost = relativeCost;
+		}
+
+		private TASWindowsBuilder newTASWindowsBuilder(DatasetReader datasetReader, ExecutionConfig executionConfig) {
+
+			if(this.messages == null)
+				return new TASWindowsBuilder(datasetReader, executionConfig);
+
+			return new TASWindowsBuilder(datasetReader, executionConfig, this.messages, this.mapInterfaceInfoPriorityListTASGateScheduleEntry);
+		}
+	}
+
+	private final ExecutionConfig executionConfig;
+	private final int workers;
+
+	/**
+	 *
+	 * @param executionConfig	configuration shared by all cases. Its analysesResult (if not null) receives the merged results.
+	 * @param workers			maximum number of cases running at the same time
+	 */
+	public DatasetCaseBatchExecutor(ExecutionConfig executionConfig, int workers) {
+
+		Objects.requireNonNull(executionConfig, "executionConfig cannot be null");
+
+		if(workers < 1)
+			throw new InvalidParameterException("workers={"+workers+"} must be at least 1");
+
+		this.executionConfig = executionConfig;
+		this.workers = workers;
+	}
+
+	/**
+	 * Build and analyze all dataset cases.
+	 *
+	 * @param datasetCasePaths	paths as listed by {@link DatasetReader#listDatasetFilesPaths(String)}
+	 * @return	one report per case, in the same order as {@param datasetCasePaths}
+	 * @throws InterruptedException
+	 */
+	public List<CaseReport> run(List<String> datasetCasePaths) throws InterruptedException {
+
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(this.workers, datasetCasePaths.size())));
+
+		try {
+
+			final List<CaseInput> caseInputs = new ArrayList<CaseInput>(datasetCasePaths.size());
+			for(String path : datasetCasePaths)
+				caseInputs.add(new CaseInput(path));
+
+			final List<Future<CaseReport>> futures = new ArrayList<Future<CaseReport>>(Collections.nCopies(caseInputs.size(), null));
+			final List<AnalysesResultPaperAccess2018> caseResults = new ArrayList<AnalysesResultPaperAccess2018>(Collections.nCopies(caseInputs.size(), null));
+
+			for(int index : submissionOrder(caseInputs)) {
+
+				final CaseInput caseInput = caseInputs.get(index);
+				final AnalysesResultPaperAccess2018 caseResult = (this.executionConfig.analysesResult != null) ?
+						new AnalysesResultPaperAccess2018() : null;
+				caseResults.set(index, caseResult);
+
+				futures.set(index, executor.submit(() -> runCase(caseInput, caseResult)));
+			}
+
+			final List<CaseReport> reports = new LinkedList<CaseReport>();
+			for(Future<CaseReport> future : futures) {
+
+				final CaseReport report;
+				try {
+					report = future.get();
+				} catch (ExecutionException e) {
+					throw new RuntimeException("Dataset case task failed", e.getCause());
+				}
+
+				this.executionConfig.out.println("Dataset case " + (report.isSuccessful() ? "done" : "FAILED") + " (" + report.getElapsedTimeMs() / 1000.0 + " seconds): " + report.getDatasetCasePath());
+				reports.add(report);
+			}
+
+			/**
+			 * Merge results in the case order
+			 */
+			if(this.executionConfig.analysesResult != null) {
+				for(AnalysesResultPaperAccess2018 caseResult : caseResults) {
+					this.executionConfig.analysesResult.putAll(caseResult);
+				}
+			}
+
+			return reports;
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Indexes of {@param caseInputs} sorted by decreasing estimated cost.
+	 * A case whose estimate cannot be computed (e.g., unreadable files, T_GCL overflow) goes first, since it will fail fast.
+	 */
+	private static List<Integer> submissionOrder(List<CaseInput> caseInputs) {
+
+		final List<Integer> order = new ArrayList<Integer>();
+		for(int index = 0 ; index < caseInputs.size() ; index++)
+			order.add(index);
+
+		//Stable sort: cases with the same cost keep the given order
+		order.sort((i1, i2) -> Long.compare(caseInputs.get(i2).relativeCost, caseInputs.get(i1).relativeCost));
+
+		return order;
+	}
+
+	/**
+	 * @param caseInput
+	 * @param caseResult	results store of this case only
+	 * @return
+	 */
+	private CaseReport runCase(CaseInput caseInput, AnalysesResultPaperAccess2018 caseResult) {
+
+		final long timeIniMs = System.currentTimeMillis();
+
+		final String path = caseInput.path;
+		final DatasetReader datasetReader = new DatasetReader(path);
+		final String consoleFilePath = datasetReader.getResultAbsolutePath() + "/" + FILENAME_CASE_CONSOLE_OUTPUT;
+
+		try (PrintStream caseConsole = new PrintStream(new FileOutputStream(consoleFilePath), true)) {
+
+			try {
+
+				caseConsole.println("Dataset case path: " + path);
+
+				final ExecutionConfig caseExecutionConfig = this.executionConfig.toBuilder()
+						.analysesResult(caseResult)
+						.out(caseConsole)
+						.err(caseConsole)
+						.build();
+
+				/**
+				 * Read dataset files and build all required objects
+				 */
+				final TASWindowsBuilder tasWindowsBuilder = caseInput.newTASWindowsBuilder(datasetReader, caseExecutionConfig);
+				final EthernetNetwork ethernetNetwork = new EthernetNetwork(tasWindowsBuilder);
+
+				// Run analysis, store results in properly object in ExecutionConfig object, and print results
+				ethernetNetwork.performAnalysis();
+
+				//Save curves accordingly to chosen options in ExecutionConfig object
+				ethernetNetwork.saveCurves();
+
+				return new CaseReport(path, System.currentTimeMillis() - timeIniMs, null);
+
+			} catch (Exception e) {
+				e.printStackTrace(caseConsole);
+				return new CaseReport(path, System.currentTimeMillis() - timeIniMs, e);
+			}
+
+		} catch (IOException e) {
+			return new CaseReport(path, System.currentTimeMillis() - timeIniMs, e);
+		}
+	}
+
+}
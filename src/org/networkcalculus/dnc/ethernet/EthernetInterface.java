@@ -427,7 +427,7 @@ public class EthernetInterface {
 			} else {
 				//There are one or more PLCA servers.
 
-				final Map<Integer,ServiceCurve> mapPriorityPLCAServiceCurve = TASCurveBuilder.getInstance().buildPLCAServiceCurve(this.getNetwork(), interfaceInfo, networkConfigBuilder);
+				final Map<Integer,ServiceCurve> mapPriorityPLCAServiceCurve = this.getNetwork().getPLCAServiceCurves(interfaceInfo);
 
 				for(Entry<Integer,ServiceCurve> entry : mapPriorityPLCAServiceCurve.entrySet()) {
 
@@ -473,7 +473,7 @@ public class EthernetInterface {
 			else {
 				//There are one or more PLCA servers.
 
-				final Map<Integer,ServiceCurve> plcaServiceCurve = TASCurveBuilder.getInstance().buildPLCAServiceCurve(ethernetDeviceOwner.getNetwork(), interfaceInfo, networkConfigBuilder);
+				final Map<Integer,ServiceCurve> plcaServiceCurve = ethernetDeviceOwner.getNetwork().getPLCAServiceCurves(interfaceInfo);
 				for(Entry<Integer,ServiceCurve> entry : plcaServiceCurve.entrySet()) {
 
 					final int priority = entry.getKey();
@@ -1,20 +1,36 @@
 package org.networkcalculus.dnc.ethernet;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.security.InvalidParameterException;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.math3.util.Pair;
 import org.networkcalculus.dnc.AnalysisConfig;
@@ -23,15 +39,26 @@ import org.networkcalculus.dnc.AnalysisConfig.MultiplexingEnforcement;
 import org.networkcalculus.dnc.curves.ArrivalCurve;
 import org.networkcalculus.dnc.curves.Curve;
 import org.networkcalculus.dnc.curves.ServiceCurve;
+import org.networkcalculus.dnc.ethernet.analyses.FlowAnalysis;
+import org.networkcalculus.dnc.ethernet.analyses.FlowAnalysisRegistry;
+import org.networkcalculus.dnc.ethernet.analyses.FlowAnalysisResult;
+import org.networkcalculus.dnc.ethernet.analyses.TimeBudgetedFlowAnalysisRunner;
 import org.networkcalculus.dnc.ethernet.network.server_graph.EthernetFlow;
+import org.networkcalculus.dnc.ethernet.network.server_graph.ServerAdjacencyIndex;
+import org.networkcalculus.dnc.ethernet.plca.PlcaSegmentAggregate;
 import org.networkcalculus.dnc.ethernet.plca.PlcaServerData;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig;
 import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig.ValidateSchedulingForFrameSize;
+import org.networkcalculus.dnc.ethernet.tsn.ServiceCurveCache;
+import org.networkcalculus.dnc.ethernet.tsn.TASCurveBuilder;
 import org.networkcalculus.dnc.ethernet.tsn.TASWindowsBuilder;
 import org.networkcalculus.dnc.ethernet.tsn.data.STFlowData;
 import org.networkcalculus.dnc.ethernet.tsn.data.STServerData;
 import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
+import org.networkcalculus.dnc.ethernet.tsn.entry.TASGateScheduleEntry2018;
 import org.networkcalculus.dnc.ethernet.tsn.entry.VirtualLinkEntry;
 import org.networkcalculus.dnc.ethernet.tsn.model.LinkInfo;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
 import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018;
 import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018.NetworkCase;
 import org.networkcalculus.dnc.ethernet.utils.ChartUtilNCCurve;
@@ -41,7 +68,6 @@ import org.networkcalculus.dnc.network.server_graph.Flow;
 import org.networkcalculus.dnc.network.server_graph.Server;
 import org.networkcalculus.dnc.network.server_graph.ServerGraph;
 import org.networkcalculus.dnc.network.server_graph.Turn;
-import org.networkcalculus.dnc.tandem.analyses.SeparateFlowAnalysis;
 import org.networkcalculus.dnc.tandem.analyses.TotalFlowAnalysis;
 import org.networkcalculus.num.Num;
 
@@ -52,7 +78,17 @@ import org.networkcalculus.num.Num;
  */
 public class EthernetNetwork {
 
+	/**
+	 * Predecessor of a server not reached yet by {@link #getShortestPath(int, Server, Server)}
+	 */
+	private static final int NOT_VISITED = -1;
+
 	private Set<EthernetDevice> devices;
+
+	/**
+	 * Devices of the current network by name (see {@link #getDeviceByName(String)})
+	 */
+	private final Map<String, EthernetDevice> mapDeviceNameDevice;
 	private Set<EthernetFlow> ethernetFlows;
 
 	private ServerGraph serverGraph;
@@ -60,26 +96,81 @@ public class EthernetNetwork {
 
 	private final AnalysisConfig analysisConfig;
 
+	/**
+	 * Console output of this network, see ExecutionConfig.out and ExecutionConfig.err
+	 */
+	private final PrintStream out;
+	private final PrintStream err;
+
 	/**
 	 * Map<String = Analysis instance class name (to avoid hashCode() issue), Map<EthernetDevice = device instance, Double = backlog>>
+	 * 
+	 * Concurrent maps are used because flows of interest may be analyzed in parallel (see ExecutionConfig.FlowAnalysisExecution).
 	 */
 	private Map<String, Map<EthernetDevice, Double>> mapAnalysisNameBacklogDevice; 
 
+	/**
+	 * Map<String = EthernetFlow alias, Map<String = Analysis name, List<Pair<String = device name, Double = backlog>>>>
+	 * 
+	 * Backlogs saved by the analyses of each flow of interest, in the order they were saved.
+	 * The devices backlog is summed again from them in flow alias order, so it stays the same when only some flows are analyzed again (see updateGateScheduling()).
+	 */
+	private final Map<String, Map<String, List<Pair<String, Double>>>> mapFlowAliasAnalysisNameBacklogs;
+
 	private Map<Server, EthernetDevice> mapServerEthernetDevices; //Mapping output interfaces' servers to its Ethernet device
 
 	private Map<Server,Integer> mapServerPriority;
 
+	/**
+	 * Map<String = Analysis name (or null when no analysis met the deadline), Integer = number of flows>
+	 * 
+	 * Filled only when running ExecutionConfig.AnalysisPipeline.TIERED_UNTIL_DEADLINE_MET, and cleared at the beginning of each performAnalysis()
+	 */
+	private final Map<String, Integer> mapTierResolvedFlows;
+
+	/**
+	 * Analyses not performed because the deadline was already met by a previous tier
+	 */
+	private int tierSkippedAnalyses;
+
+	/**
+	 * Successors of each server by priority. It is built after the links (see buildNetwork()), 
+	 * and discarded whenever a server, a turn, or a server priority is added.
+	 */
+	private ServerAdjacencyIndex adjacencyIndex;
+
+	/**
+	 * Map<InterfaceInfo, Map<Integer = Priority (or KEY_PHY_NO_PRIORITY), ServiceCurve = PLCA service curve>>
+	 * 
+	 * PLCA service curves only depend on the PLCA server data of the interfaces of the same link (not on any GCL), so they are kept when a gate scheduling changes.
+	 */
+	private final Map<InterfaceInfoEntry, Map<Integer, ServiceCurve>> mapInterfaceInfoPriorityPLCAServiceCurve;
+
+	/**
+	 * PLCA cycle of each multidrop segment, aggregated once for all its interfaces.
+	 * 
+	 * It only depends on the PLCA server data, which are kept when a gate scheduling changes (see updateGateScheduling()).
+	 */
+	private final Map<LinkInfo, PlcaSegmentAggregate> mapLinkInfoPlcaSegmentAggregate;
+
 	public EthernetNetwork(TASWindowsBuilder tasWindowsBuilder) throws Exception {
 		this.serverGraph = new ServerGraph();
 
 		this.devices = new HashSet<EthernetDevice>();
+		this.mapDeviceNameDevice = new HashMap<String, EthernetDevice>();
 		this.ethernetFlows = new HashSet<EthernetFlow>();
 
-		this.mapAnalysisNameBacklogDevice = new HashMap<String, Map<EthernetDevice, Double>>();
+		this.mapAnalysisNameBacklogDevice = new ConcurrentHashMap<String, Map<EthernetDevice, Double>>();
+		this.mapFlowAliasAnalysisNameBacklogs = new TreeMap<String, Map<String, List<Pair<String, Double>>>>();
 		this.mapServerEthernetDevices = new HashMap<Server, EthernetDevice>();
 		this.mapServerPriority = new HashMap<Server, Integer>();
+		this.mapTierResolvedFlows = new LinkedHashMap<String, Integer>();
+		this.mapInterfaceInfoPriorityPLCAServiceCurve = new HashMap<InterfaceInfoEntry, Map<Integer, ServiceCurve>>();
+		this.mapLinkInfoPlcaSegmentAggregate = new HashMap<LinkInfo, PlcaSegmentAggregate>();
 
 		this.tasWindowsBuilder = tasWindowsBuilder;
+		this.out = tasWindowsBuilder.getExecutionConfig().out;
+		this.err = tasWindowsBuilder.getExecutionConfig().err;
 
 		this.analysisConfig = new AnalysisConfig();
 		if(tasWindowsBuilder.getExecutionConfig().multiplexing == Multiplexing.FIFO)
@@ -97,20 +188,82 @@ public class EthernetNetwork {
 
 	public void addDevice(EthernetDevice device) {
 		this.devices.add(device);
+		this.mapDeviceNameDevice.put(device.getName(), device);
 	}
 
 	public Set<EthernetFlow> getFlows(){
 		return this.ethernetFlows;
 	}
 
+	public final ServerGraph getServerGraph() {
+		return this.serverGraph;
+	}
+
+	/**
+	 * PLCA service curves of {@param interfaceInfo}, calculated once and kept for the lifetime of this network (also when a gate scheduling changes).
+	 * 
+	 * @param interfaceInfo	a shared medium access interface
+	 * @return	Map<Integer = Priority (or KEY_PHY_NO_PRIORITY), ServiceCurve>
+	 */
+	public Map<Integer, ServiceCurve> getPLCAServiceCurves(InterfaceInfoEntry interfaceInfo) {
+		return this.mapInterfaceInfoPriorityPLCAServiceCurve.computeIfAbsent(interfaceInfo,
+				k -> Collections.unmodifiableMap(TASCurveBuilder.getInstance().buildPLCAServiceCurve(this, k, this.tasWindowsBuilder)));
+	}
+
+	/**
+	 * @param linkInfo	a multidrop segment
+	 * @return	the PLCA cycle of {@param linkInfo}, aggregated on its first use
+	 */
+	public PlcaSegmentAggregate getPlcaSegmentAggregate(LinkInfo linkInfo) {
+		return this.mapLinkInfoPlcaSegmentAggregate.computeIfAbsent(linkInfo,
+				k -> new PlcaSegmentAggregate(k, this.tasWindowsBuilder.getMapInterfaceInfoPhyStandard(), this.tasWindowsBuilder.getMapInterfaceInfoPriorityPLCAServerData()));
+	}
+
 	public void putServerDevice(Server server, EthernetDevice device) {
 		this.mapServerEthernetDevices.put(server, device);
 	}
 
 	public void saveBacklog(TotalFlowAnalysis tfa) {
+		this.saveBacklog(tfa.getClass().getSimpleName(), tfa.getServerBacklogBoundMap());
+	}
+
+	private void saveBacklog(String analysisClassName, Map<Server, Set<Num>> mapServerBacklogBound) {
+
+		for(Pair<String, Double> deviceBacklog : getDevicesBacklog(mapServerBacklogBound)) {
+			mapAnalysisNameBacklogDevice
+			.computeIfAbsent(analysisClassName, k -> new ConcurrentHashMap<EthernetDevice, Double>())
+			.merge(this.getDeviceByName(deviceBacklog.getFirst()), deviceBacklog.getSecond(), Double::sum);
+		}
+	}
+
+	/**
+	 * Sum the devices backlog again from the backlogs saved for each flow of interest, in flow alias order
+	 */
+	private void sumDevicesBacklog() {
+
+		this.mapAnalysisNameBacklogDevice = new ConcurrentHashMap<String, Map<EthernetDevice, Double>>();
+
+		for(Map<String, List<Pair<String, Double>>> mapAnalysisNameBacklogs : this.mapFlowAliasAnalysisNameBacklogs.values()) {
+			for(Entry<String, List<Pair<String, Double>>> entry : mapAnalysisNameBacklogs.entrySet()) {
+				for(Pair<String, Double> deviceBacklog : entry.getValue()) {
+					mapAnalysisNameBacklogDevice
+					.computeIfAbsent(entry.getKey(), k -> new ConcurrentHashMap<EthernetDevice, Double>())
+					.merge(this.getDeviceByName(deviceBacklog.getFirst()), deviceBacklog.getSecond(), Double::sum);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param mapServerBacklogBound	backlog bounds of the servers of this network
+	 * @return	List<Pair<String = device name, Double = backlog>>, one for each server of an Ethernet device, in the iteration order of {@param mapServerBacklogBound}
+	 */
+	private List<Pair<String, Double>> getDevicesBacklog(Map<Server, Set<Num>> mapServerBacklogBound) {
+
+		final List<Pair<String, Double>> devicesBacklog = new LinkedList<Pair<String, Double>>();
 
 		//Iterate over all network's servers
-		for(Entry<Server, Set<Num>> entry : tfa.getServerBacklogBoundMap().entrySet()) {
+		for(Entry<Server, Set<Num>> entry : mapServerBacklogBound.entrySet()) {
 
 			final Server server = entry.getKey();
 			final Set<Num> setBacklogNum = entry.getValue();
@@ -122,20 +275,15 @@ public class EthernetNetwork {
 			}
 
 			final EthernetDevice device = this.mapServerEthernetDevices.get(server);
-			final String analysisClassName = tfa.getClass().getSimpleName();
 
 			if(device == null)
 				//throw new InvalidParameterException("this.mapServersEthernetDevices.get(server="+server+") have returned null");
 				continue;
 
-			final Map<EthernetDevice, Double> mapDeviceBacklog = 
-					mapAnalysisNameBacklogDevice.getOrDefault(analysisClassName, new HashMap<EthernetDevice, Double>());
-
-			final double oldBacklog = mapDeviceBacklog.getOrDefault(device, 0.0);
-
-			mapDeviceBacklog.put(device, oldBacklog + backlog);
-			mapAnalysisNameBacklogDevice.put(analysisClassName, mapDeviceBacklog);
+			devicesBacklog.add(new Pair<String, Double>(device.getName(), backlog));
 		}
+
+		return devicesBacklog;
 	}
 
 	public void addEthernetFlows(Map<EthernetFlow,Pair<EthernetDevice,EthernetDevice>> mapFlowSourceDestination) throws Exception {
@@ -177,10 +325,8 @@ public class EthernetNetwork {
 
 
 		/**
-		 * FIXME: 
-		 * 	Assuming (weakly) both source and destination devices being EndSystem and they having a single interface only.
-		 * 	If either source or destination device is not a EndSystem this code is wrong.
-		 * 	The correct code must calculate the route from source to destination device and get the correct sink interface.
+		 * There is no explicit route here, so both source and destination devices are EndSystems with a single interface (id 0).
+		 * Flows with an explicit route (e.g. the ones from the dataset) are added by addEthernetFlow(EthernetFlow, VirtualLinkEntry).
 		 */
 		final int interfaceId = 0; 
 
@@ -253,10 +399,8 @@ public class EthernetNetwork {
 
 
 		/**
-		 * FIXME: 
-		 * 	Assuming (weakly) both source and destination devices being EndSystem and they having a single interface only.
-		 * 	If either source or destination device is not a EndSystem this code is wrong.
-		 * 	The correct code must calculate the route from source to destination device and get the correct sink interface.
+		 * There is no explicit route here, so both source and destination devices are EndSystems with a single interface (id 0).
+		 * Flows with an explicit route (e.g. the ones from the dataset) are added by addEthernetFlow(EthernetFlow, VirtualLinkEntry).
 		 */
 		final int interfaceId = 0;   
 
@@ -296,27 +440,120 @@ public class EthernetNetwork {
 		this.ethernetFlows.add(ethernetFlow);
 	}
 
-	private Set<Server> filterServersByPriority(int priority, Set<Server> servers){
+	/**
+	 * Add a flow whose path follows the hops of {@param virtualLinkEntry}, without searching the ServerGraph.
+	 * 
+	 * Each hop (output interface, neighbor input interface) adds the servers of the output interface related to the flow's priority,
+	 * so source and destination devices may have several interfaces.
+	 * 
+	 * @param ethernetFlow
+	 * @param virtualLinkEntry	route of the flow
+	 * @throws Exception
+	 */
+	public void addEthernetFlow(EthernetFlow ethernetFlow, VirtualLinkEntry virtualLinkEntry) throws Exception {
+
+		Objects.requireNonNull(ethernetFlow, "ethernetFlow cannot be null");
+		Objects.requireNonNull(virtualLinkEntry, "virtualLinkEntry cannot be null");
 
-		final Set<Server> result = new HashSet<Server>(servers);
-		final Set<Server> toBeRemoved = new HashSet<Server>();
+		if(virtualLinkEntry.route.isEmpty())
+			throw new InvalidParameterException("Virtual link " + virtualLinkEntry.name + " has an empty route");
 
-		result.forEach(server -> {
-			Integer prio = this.getServerPriority(server);
-			if(prio != null && prio != priority)
-				toBeRemoved.add(server);
-		});
+		final List<Server> servers = new LinkedList<Server>();
+
+		String previousDeviceName = null;
+		for(Pair<InterfaceInfoEntry,InterfaceInfoEntry> hop : virtualLinkEntry.route) {
+
+			if(previousDeviceName != null && !Objects.equals(previousDeviceName, hop.getFirst().deviceName))
+				throw new InvalidParameterException("Route of virtual link " + virtualLinkEntry.name + " is broken at hop " + hop.getFirst().toStringInfo() + "," + hop.getSecond().toStringInfo());
+
+			servers.addAll(this.getOutputServers(this.getOutputInterfaceByInterfaceInfo(hop.getFirst()), ethernetFlow.getPriority()));
+
+			previousDeviceName = hop.getSecond().deviceName;
+		}
+
+		final Flow flow;
+		if(virtualLinkEntry.route.size() == 1) {
+
+			flow = this.serverGraph.addFlow(ethernetFlow.getAlias(), ethernetFlow.getArrivalCurve(), servers);
+
+		} else {
 
-		result.removeAll(toBeRemoved);
+			final List<Turn> path = new LinkedList<Turn>();
 
-		return result;
+			Server previous = null;
+			for(Server server : servers) {
+
+				if(previous != null) {
+					final Turn turn = this.serverGraph.findTurn(previous, server);
+					if(turn == null)
+						throw new InvalidParameterException("There is no turn from server " + previous.getAlias() + " to server " + server.getAlias() + " in the route of virtual link " + virtualLinkEntry.name);
+
+					path.add(turn);
+				}
+
+				previous = server;
+			}
+
+			flow = this.serverGraph.addFlow(ethernetFlow.getAlias(), ethernetFlow.getArrivalCurve(), path);
+		}
+
+		ethernetFlow.setFlow(flow);
+
+		this.ethernetFlows.add(ethernetFlow);
+	}
+
+	/**
+	 * Servers crossed by a flow with {@param priority} when it is transmitted by {@param outputInterface}, in path order:
+	 * 	- SINGLE_PLCA_SERVER_MODELING: 		ST server (if TSN is in use), then PLCA server (if any);
+	 * 	- SEPARATED_PLCA_SERVER_MODELING: 	ST server (or the default one when TSN is not in use).
+	 * 
+	 * @param outputInterface
+	 * @param priority
+	 * @return
+	 */
+	private List<Server> getOutputServers(EthernetInterface outputInterface, int priority) {
+
+		final List<Server> servers = new LinkedList<Server>();
+
+		switch(this.tasWindowsBuilder.getExecutionConfig().plcaModeling) {
+		case SINGLE_PLCA_SERVER_MODELING: {
+
+			final STServerData stServerData = outputInterface.getSTServerData(priority);
+			if(stServerData != null)
+				servers.add(stServerData.getSTServer());
+
+			final PlcaServerData phyServerData = (outputInterface.getPhyServerData(priority) != null) ?
+					outputInterface.getPhyServerData(priority) : outputInterface.getPhyServerData(TASWindowsBuilder.KEY_PHY_NO_PRIORITY);
+			if(phyServerData != null && phyServerData.getPlcaServer() != null)
+				servers.add(phyServerData.getPlcaServer());
+
+			break;
+		}
+		case SEPARATED_PLCA_SERVER_MODELING: {
+
+			final STServerData stServerData = (outputInterface.getSTServerData(priority) != null) ?
+					outputInterface.getSTServerData(priority) : outputInterface.getSTServerData(TASWindowsBuilder.KEY_PHY_NO_PRIORITY);
+			if(stServerData != null)
+				servers.add(stServerData.getSTServer());
+
+			break;
+		}
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + this.tasWindowsBuilder.getExecutionConfig().plcaModeling);
+		}
+
+		if(servers.isEmpty())
+			throw new InvalidParameterException("Interface " + outputInterface + " has no server for priority " + priority);
+
+		return servers;
 	}
 
 	/**
-	 * Calculates the shortest path between src and snk according to Dijkstra's
-	 * algorithm.
+	 * Calculates the shortest path (in number of hops) between src and snk by a breadth-first search.
 	 * 
-	 * This code was got from ServerGraph class of DNC project and David Alain do Nascimento did some little changes to be compliant to priority usage
+	 * The search runs over the server ids of the adjacency index, storing only the predecessor of each visited server,
+	 * and the path (list of turns) is built once, when the sink is reached.
+	 * Servers with a priority other than the flow's one are not visited.
 	 *
 	 * @param priority
 	 * 			  Flow's priority. The possible path must be related to this priority.
@@ -325,64 +562,65 @@ public class EthernetNetwork {
 	 *            The path's source.
 	 * @param snk
 	 *            The path's sink.
-	 * @return Dijkstra shortest path from src to snk.
+	 * @return shortest path from src to snk.
 	 * @throws Exception
 	 *             Could not find a shortest path for some reason.
 	 */
 	public List<Turn> getShortestPath(int priority, Server src, Server snk) throws Exception {
-		Set<Server> visited = new HashSet<Server>();
 
-		final Map<Server, List<Turn>> paths_turns = new HashMap<Server, List<Turn>>();
-		final Map<Server, List<Server>> paths_servers = new HashMap<Server, List<Server>>();
+		final ServerAdjacencyIndex adjacencyIndex = this.getAdjacencyIndex();
+		final int idBound = adjacencyIndex.getIdBound();
 
-		paths_turns.put(src, new LinkedList<Turn>());
-		paths_servers.put(src, new LinkedList<Server>(Collections.singleton(src)));
-
-		final LinkedList<Server> queue = new LinkedList<Server>();
-		queue.add(src);
-		visited.add(src);
+		if(src.getId() >= idBound || snk.getId() >= idBound)
+			throw new Exception("No path from server " + src.getAlias() + " to server " + snk.getAlias() + " found");
 
-		while (!queue.isEmpty()) {
-			final Server s = queue.getLast();
-			queue.remove(s);
+		// predecessor[id] == id for the source, NOT_VISITED if not reached yet
+		final int[] predecessor = new int[idBound];
+		Arrays.fill(predecessor, NOT_VISITED);
 
-			Set<Server> successors_s = this.filterServersByPriority(priority, this.serverGraph.getSuccessors(s));
-			for (Server successor : successors_s) {
+		// Every server is enqueued at most once
+		final int[] queue = new int[idBound];
+		int head = 0;
+		int tail = 0;
 
-				final LinkedList<Turn> path_turns_tmp = new LinkedList<Turn>(paths_turns.get(s));
+		predecessor[src.getId()] = src.getId();
+		queue[tail++] = src.getId();
 
-				final LinkedList<Server> path_servers_tmp;
-				if (paths_servers.containsKey(s)) {
-					path_servers_tmp = new LinkedList<Server>(paths_servers.get(s));
-				} else {
-					path_servers_tmp = new LinkedList<Server>(Collections.singleton(src));
-				}
+		while(head < tail && predecessor[snk.getId()] == NOT_VISITED) {
 
-				path_turns_tmp.add(this.serverGraph.findTurn(s, successor));
-				path_servers_tmp.add(successor);
+			final int id = queue[head++];
 
-				if (!visited.contains(successor)) {
-					paths_turns.put(successor, path_turns_tmp);
-					paths_servers.put(successor, path_servers_tmp);
+			for(int successorId : adjacencyIndex.getSuccessors(priority, id)) {
 
-					queue.add(successor);
-					visited.add(successor);
-				} else {
-					if (paths_turns.get(successor).size() > path_turns_tmp.size()) {
-						paths_turns.put(successor, path_turns_tmp);
-						paths_servers.put(successor, path_servers_tmp);
+				if(predecessor[successorId] != NOT_VISITED)
+					continue;
 
-						queue.add(successor);
-					}
-				}
+				predecessor[successorId] = id;
+				queue[tail++] = successorId;
 			}
 		}
 
-		if (paths_turns.get(snk) == null) {
+		if (predecessor[snk.getId()] == NOT_VISITED) {
 			throw new Exception("No path from server " + src.getAlias() + " to server " + snk.getAlias() + " found");
 		}
 
-		return paths_turns.get(snk);
+		final LinkedList<Turn> path = new LinkedList<Turn>();
+		for(int id = snk.getId(); id != src.getId(); id = predecessor[id]) {
+			path.addFirst(this.serverGraph.findTurn(adjacencyIndex.getServer(predecessor[id]), adjacencyIndex.getServer(id)));
+		}
+
+		return path;
+	}
+
+	/**
+	 * @return	the adjacency index of the current ServerGraph, rebuilding it if the ServerGraph has changed
+	 */
+	public final ServerAdjacencyIndex getAdjacencyIndex() {
+
+		if(this.adjacencyIndex == null)
+			this.adjacencyIndex = new ServerAdjacencyIndex(this.serverGraph, this::getServerPriority);
+
+		return this.adjacencyIndex;
 	}
 
 	public Server addServer(String stringSTServerAlias, ServiceCurve stServiceCurve, int priority, Multiplexing multiplexing) {
@@ -399,6 +637,7 @@ public class EthernetNetwork {
 
 	public Server addServer(String serverAlias, ServiceCurve serviceCurve, Multiplexing multiplexing) {
 		final Server server = this.serverGraph.addServer(serverAlias, serviceCurve, multiplexing);
+		this.adjacencyIndex = null;
 		return server;
 	}
 
@@ -409,6 +648,7 @@ public class EthernetNetwork {
 	}
 
 	public Turn addTurn(String turnAlias, Server sourceSTServer, Server sinkPhyServer) throws Exception {
+		this.adjacencyIndex = null;
 		return this.serverGraph.addTurn(turnAlias, sourceSTServer, sinkPhyServer);
 	}
 
@@ -458,14 +698,37 @@ public class EthernetNetwork {
 		//			addEthernetFlow_PlcaServer(ethernetFlow, sourceDevice, sinkDevice);
 	}
 
+	/**
+	 * Print how many flows had their deadline met by each tier of the tiered pipeline.
+	 * 
+	 * @param flowAnalyses	tiers, in order
+	 */
+	private void printTieredAnalysisReport(List<FlowAnalysis> flowAnalyses) {
+
+		this.out.println("--- Tiered Analysis Report ---");
+		for(FlowAnalysis flowAnalysis : flowAnalyses) {
+			this.out.println("deadline met by " + flowAnalysis.getName() + " : " + this.mapTierResolvedFlows.getOrDefault(flowAnalysis.getName(), 0) + " flows");
+		}
+		this.out.println("deadline not met   : " + this.mapTierResolvedFlows.getOrDefault(null, 0) + " flows");
+		this.out.println("skipped analyses   : " + this.tierSkippedAnalyses);
+		this.out.println();
+	}
+
+	/**
+	 * @return	Map<String = Analysis name (or null when no analysis met the deadline), Integer = number of flows> from the tiered pipeline
+	 */
+	public final Map<String, Integer> getMapTierResolvedFlows() {
+		return mapTierResolvedFlows;
+	}
+
 	public void printDevicesBacklog() {
 
 		final NumberFormat nf = new DecimalFormat("#0.000");
 
-		System.out.println("--- Ethernet Devices Backlog Report ---");
+		this.out.println("--- Ethernet Devices Backlog Report ---");
 		for(Entry<String, Map<EthernetDevice, Double>> entry : this.mapAnalysisNameBacklogDevice.entrySet()) {
 
-			System.out.println(" -- Analysis: " + entry.getKey() + " --");
+			this.out.println(" -- Analysis: " + entry.getKey() + " --");
 
 			//Converting Collection to Set and then to List to avoid duplicates
 			List<EthernetDevice> devices = new LinkedList<EthernetDevice>(new HashSet<EthernetDevice>(this.mapServerEthernetDevices.values()));
@@ -478,10 +741,10 @@ public class EthernetNetwork {
 				if(backlog == null)
 					backlog = 0.0;
 
-				System.out.println("Device=" + device + ", Backlog=" + nf.format(DataUnit.convert(backlog, DataUnit.b, DataUnit.kb)) + " kb");
+				this.out.println("Device=" + device + ", Backlog=" + nf.format(DataUnit.convert(backlog, DataUnit.b, DataUnit.kb)) + " kb");
 			}
 
-			System.out.println();
+			this.out.println();
 		}
 
 	}
@@ -582,6 +845,19 @@ public class EthernetNetwork {
 	}
 
 	public void performAnalysis(){
+		this.performAnalysis(this.ethernetFlows);
+	}
+
+	/**
+	 * Analyze only {@param ethernetFlows}, which must belong to this network
+	 * 
+	 * @param ethernetFlows
+	 */
+	public void performAnalysis(Collection<EthernetFlow> ethernetFlows){
+
+		//The tiered analysis report only covers the flows of this call
+		this.mapTierResolvedFlows.clear();
+		this.tierSkippedAnalyses = 0;
 
 		final String strBefore = "mod_DavidAlain_";
 		final int indexBegin = this.tasWindowsBuilder.getDatasetReader().getDirpath().indexOf(strBefore) + strBefore.length();
@@ -594,7 +870,7 @@ public class EthernetNetwork {
 				this.tasWindowsBuilder.getDatasetReader().getDirpath().length()-3);
 
 		//Order flows by alias
-		final List<EthernetFlow> ethernetFlowsList = new LinkedList<>(this.ethernetFlows);
+		final List<EthernetFlow> ethernetFlowsList = new LinkedList<>(ethernetFlows);
 		ethernetFlowsList.sort(new Comparator<EthernetFlow>() {
 			@Override
 			public int compare(EthernetFlow o1, EthernetFlow o2) {
@@ -602,167 +878,309 @@ public class EthernetNetwork {
 			}
 		});
 
+		final ExecutionConfig executionConfig = this.tasWindowsBuilder.getExecutionConfig();
+
+		/**
+		 * Server bounds shared by all flows of interest (TFA only)
+		 */
+		final NetworkTotalFlowAnalysis networkTFA;
+		switch(executionConfig.totalFlowAnalysisMode) {
+		case WHOLE_NETWORK:
+			networkTFA = new NetworkTotalFlowAnalysis(this.serverGraph, this.analysisConfig);
+			networkTFA.performAnalysis();
+			this.out.println("Whole network TFA: " + networkTFA.getTotalFlowAnalysisRuns() + " TotalFlowAnalysis runs for " + ethernetFlowsList.size() + " flows");
+			this.out.println();
+			break;
+		case PER_FLOW:
+		default:
+			networkTFA = null;
+			break;
+		}
+
+		/**
+		 * Analyses chosen in ExecutionConfig, in the order they are performed
+		 */
+		final List<FlowAnalysis> flowAnalyses = FlowAnalysisRegistry
+				.createDefault(this.serverGraph, this.analysisConfig, networkTFA)
+				.select(executionConfig.analysisMethods, executionConfig.multiplexing);
+
 		/**
 		 * Perform analysis 
 		 */
-		for(EthernetFlow ethernetFlow : ethernetFlowsList) {
+		final int analysisCallers = (executionConfig.flowAnalysisExecution == ExecutionConfig.FlowAnalysisExecution.PARALLEL) ? executionConfig.flowAnalysisWorkers : 1;
 
-			Flow flow_of_interest = ethernetFlow.getFlow();
+		try(TimeBudgetedFlowAnalysisRunner runner = new TimeBudgetedFlowAnalysisRunner(executionConfig.analysisTimeBudgetMs, analysisCallers)) {
 
-			final String flowName = flow_of_interest.getAlias().split("_")[0];
-			final double deadlineUs = this.tasWindowsBuilder.getMapFlowNameSTFlowData().get(flowName).getSTMessageEntry().deadlineUs;
+			switch(executionConfig.flowAnalysisExecution) {
+			case PARALLEL:
 
-			if(this.tasWindowsBuilder.getExecutionConfig().analysesResult != null)
-				this.tasWindowsBuilder.getExecutionConfig().analysesResult.put(networkCase, tasWindowsBuilder.getExecutionConfig().multiplexing, datasetCase, flowName, AnalysesResultPaperAccess2018.Key.DEADLINE, deadlineUs);
+				//Results are merged in flow alias order, so the output is the same as in the sequential execution
+				for(FlowAnalysisOutcome outcome : performFlowAnalysesParallel(ethernetFlowsList, flowAnalyses, runner, executionConfig.flowAnalysisWorkers)) {
+					mergeFlowAnalysisOutcome(outcome, networkCase, datasetCase);
+				}
+				break;
 
-			System.out.println("Flow of interest : " + flow_of_interest.toString());
-			System.out.println();
+			case SEQUENTIAL:
+			default:
 
-			// Analyze the network
-			// TFA
-			System.out.println("--- Total Flow Analysis ---");
-			TotalFlowAnalysis tfa = new TotalFlowAnalysis(this.serverGraph, analysisConfig);
+				for(EthernetFlow ethernetFlow : ethernetFlowsList) {
+					mergeFlowAnalysisOutcome(performFlowAnalysis(ethernetFlow, flowAnalyses, runner, this.out, this.err), networkCase, datasetCase);
+				}
+				break;
+			}
+		}
 
-			try {
-				tfa.performAnalysis(flow_of_interest);
-				System.out.println("delay bound     : " + tfa.getDelayBound());
-				System.out.println("     delay per server : " + tfa.getServerDelayBoundMapString());
-				System.out.println("backlog bound   : " + tfa.getBacklogBound());
-				System.out.println("     backlog per server : " + tfa.getServerBacklogBoundMapString());
-				System.out.println("alpha per server: " + tfa.getServerAlphasMapString());
+		this.sumDevicesBacklog();
 
-				this.saveBacklog(tfa);
+		if(executionConfig.analysisPipeline == ExecutionConfig.AnalysisPipeline.TIERED_UNTIL_DEADLINE_MET)
+			printTieredAnalysisReport(flowAnalyses);
 
-				if(this.tasWindowsBuilder.getExecutionConfig().analysesResult != null)
-					this.tasWindowsBuilder.getExecutionConfig().analysesResult.put(networkCase, tasWindowsBuilder.getExecutionConfig().multiplexing, datasetCase, flowName, AnalysesResultPaperAccess2018.Key.TFA_DELAY_BOUND, tfa.getDelayBound().doubleValue());
+		final ServiceCurveCache serviceCurveCache = ServiceCurveCache.of(executionConfig);
+		if(serviceCurveCache != null)
+			this.out.println("Service curve cache: hits=" + serviceCurveCache.getHits() + ", misses=" + serviceCurveCache.getMisses() + ", hit rate=" + serviceCurveCache.getHitRate()
+			+ ", evictions=" + serviceCurveCache.getEvictions() + ", segments=" + serviceCurveCache.getSegments() + "/" + serviceCurveCache.getMaxSegments());
 
-			} catch (Exception e) {
-				System.out.println("TFA analysis failed");
-				e.printStackTrace();
+		this.out.println();
+	}
+
+	/**
+	 * Results of the analyses of a single flow of interest.
+	 * It is filled by the thread which analyzes the flow and merged into the shared structures afterwards.
+	 */
+	private static final class FlowAnalysisOutcome {
+
+		private final String flowAlias;
+		private final String flowName;
+		private final Map<AnalysesResultPaperAccess2018.Key, Double> results = new EnumMap<>(AnalysesResultPaperAccess2018.Key.class);
+
+		/**
+		 * Map<String = Analysis name, Map<Server = server on the flow's path, Set<Num> = backlog bound>>
+		 */
+		private final Map<String, Map<Server, Set<Num>>> mapAnalysisNameServerBacklogBound = new LinkedHashMap<>();
+
+		/**
+		 * Buffered standard output and error. Both are null if they were printed directly.
+		 */
+		private String out;
+		private String err;
+
+		/**
+		 * Name of the analysis which met the deadline (tiered pipeline only), or null
+		 */
+		private String resolvedBy;
+
+		/**
+		 * Analyses not performed because the deadline was already met (tiered pipeline only)
+		 */
+		private int skippedAnalyses;
+
+		private FlowAnalysisOutcome(String flowAlias, String flowName) {
+			this.flowAlias = flowAlias;
+			this.flowName = flowName;
+		}
+	}
+
+	/**
+	 * Analyze all flows of interest concurrently.
+	 * Each flow analysis only reads the already built ServerGraph, so the flows are independent tasks.
+	 * 
+	 * @param ethernetFlowsList	flows of interest, sorted by alias
+	 * @param flowAnalyses		analyses performed for each flow
+	 * @param runner			runner applying the time budget
+	 * @param workers			number of worker threads
+	 * 
+	 * @return	the outcomes in the same order as {@param ethernetFlowsList}
+	 */
+	private List<FlowAnalysisOutcome> performFlowAnalysesParallel(List<EthernetFlow> ethernetFlowsList, List<FlowAnalysis> flowAnalyses, TimeBudgetedFlowAnalysisRunner runner, int workers) {
+
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(workers, ethernetFlowsList.size())));
+
+		try {
+
+			final List<Future<FlowAnalysisOutcome>> futures = new LinkedList<Future<FlowAnalysisOutcome>>();
+			for(EthernetFlow ethernetFlow : ethernetFlowsList) {
+				futures.add(executor.submit(() -> performFlowAnalysisBuffered(ethernetFlow, flowAnalyses, runner)));
 			}
 
-			System.out.println();
+			final List<FlowAnalysisOutcome> outcomes = new LinkedList<FlowAnalysisOutcome>();
+			for(Future<FlowAnalysisOutcome> future : futures) {
+				outcomes.add(future.get());
+			}
 
-			// SFA
-			System.out.println("--- Separated Flow Analysis ---");
-			SeparateFlowAnalysis sfa = new SeparateFlowAnalysis(this.serverGraph, analysisConfig);
+			return outcomes;
 
-			try {
-				sfa.performAnalysis(flow_of_interest);
-				System.out.println("e2e SFA SCs     : " + sfa.getLeftOverServiceCurves());
-				System.out.println("     per server : " + sfa.getServerLeftOverBetasMapString());
-				System.out.println("xtx per server  : " + sfa.getServerAlphasMapString());
-				System.out.println("delay bound     : " + sfa.getDelayBound());
-				System.out.println("backlog bound   : " + sfa.getBacklogBound());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Parallel flow analysis was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Parallel flow analysis failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 
-				if(this.tasWindowsBuilder.getExecutionConfig().analysesResult != null)
-					this.tasWindowsBuilder.getExecutionConfig().analysesResult.put(networkCase, tasWindowsBuilder.getExecutionConfig().multiplexing, datasetCase, flowName, AnalysesResultPaperAccess2018.Key.SFA_DELAY_BOUND, sfa.getDelayBound().doubleValue());
+	private FlowAnalysisOutcome performFlowAnalysisBuffered(EthernetFlow ethernetFlow, List<FlowAnalysis> flowAnalyses, TimeBudgetedFlowAnalysisRunner runner) {
 
-			} catch (Exception e) {
-				System.out.println("SFA analysis failed");
-				e.printStackTrace();
+		final ByteArrayOutputStream outBuffer = new ByteArrayOutputStream();
+		final ByteArrayOutputStream errBuffer = new ByteArrayOutputStream();
+
+		final FlowAnalysisOutcome outcome;
+		try (PrintStream out = new PrintStream(outBuffer); PrintStream err = new PrintStream(errBuffer)) {
+			outcome = performFlowAnalysis(ethernetFlow, flowAnalyses, runner, out, err);
+		}
+
+		outcome.out = outBuffer.toString();
+		outcome.err = errBuffer.toString();
+
+		return outcome;
+	}
+
+	/**
+	 * Print buffered output, save backlogs, and store results of a single flow of interest.
+	 * 
+	 * It must be called in flow alias order to keep the output (and the floating point backlog sums) independent of the thread scheduling.
+	 * 
+	 * @param outcome
+	 * @param networkCase
+	 * @param datasetCase
+	 */
+	private void mergeFlowAnalysisOutcome(FlowAnalysisOutcome outcome, NetworkCase networkCase, String datasetCase) {
+
+		if(outcome.out != null)
+			this.out.print(outcome.out);
+		if(outcome.err != null)
+			this.err.print(outcome.err);
+
+		//Replaces the backlogs of a previous analysis of the same flow. They are summed by sumDevicesBacklog().
+		final Map<String, List<Pair<String, Double>>> mapAnalysisNameBacklogs = new LinkedHashMap<String, List<Pair<String, Double>>>();
+		outcome.mapAnalysisNameServerBacklogBound.forEach((analysisName, mapServerBacklogBound) -> mapAnalysisNameBacklogs.put(analysisName, getDevicesBacklog(mapServerBacklogBound)));
+		this.mapFlowAliasAnalysisNameBacklogs.put(outcome.flowAlias, mapAnalysisNameBacklogs);
+
+		if(this.tasWindowsBuilder.getExecutionConfig().analysisPipeline == ExecutionConfig.AnalysisPipeline.TIERED_UNTIL_DEADLINE_MET) {
+			this.mapTierResolvedFlows.merge(outcome.resolvedBy, 1, Integer::sum);
+			this.tierSkippedAnalyses += outcome.skippedAnalyses;
+		}
+
+		final AnalysesResultPaperAccess2018 analysesResult = this.tasWindowsBuilder.getExecutionConfig().analysesResult;
+		if(analysesResult != null) {
+			for(Entry<AnalysesResultPaperAccess2018.Key, Double> entry : outcome.results.entrySet()) {
+				analysesResult.put(networkCase, tasWindowsBuilder.getExecutionConfig().multiplexing, datasetCase, outcome.flowName, entry.getKey(), entry.getValue());
 			}
+		}
+	}
+
+	/**
+	 * Run all analyses for a single flow of interest.
+	 * 
+	 * It does not write to any shared structure, so it can be called concurrently for different flows.
+	 * An analysis which fails or exceeds its time budget does not prevent the next ones from being performed.
+	 * In the tiered pipeline, the remaining analyses are skipped as soon as a delay bound meets the flow deadline.
+	 * 
+	 * @param ethernetFlow	flow of interest
+	 * @param flowAnalyses	analyses to be performed, in this order
+	 * @param runner		runner applying the time budget
+	 * @param out			where results are printed
+	 * @param err			where failures are printed
+	 * 
+	 * @return	the results to be merged by {@link EthernetNetwork#mergeFlowAnalysisOutcome}
+	 */
+	private FlowAnalysisOutcome performFlowAnalysis(EthernetFlow ethernetFlow, List<FlowAnalysis> flowAnalyses, TimeBudgetedFlowAnalysisRunner runner, PrintStream out, PrintStream err) {
 
-			System.out.println();
+		Flow flow_of_interest = ethernetFlow.getFlow();
 
-			/*
-			if(tasWindowsBuilder.getExecutionConfig().multiplexing == Multiplexing.ARBITRARY) {
+		final String flowName = flow_of_interest.getAlias().split("_")[0];
+		final double deadlineUs = this.tasWindowsBuilder.getMapFlowNameSTFlowData().get(flowName).getSTMessageEntry().deadlineUs;
 
-				//PMOO and TMA runs only under ARBITRARY multiplexing
-				//FIFO multiplexing cannot be used for PMOO and TMA
+		final FlowAnalysisOutcome outcome = new FlowAnalysisOutcome(ethernetFlow.getAlias(), flowName);
+		outcome.results.put(AnalysesResultPaperAccess2018.Key.DEADLINE, deadlineUs);
 
-				// PMOO
-				System.out.println("--- PMOO Analysis ---");
-				PmooAnalysis pmoo = new PmooAnalysis(this.serverGraph, analysisConfig);
+		out.println("Flow of interest : " + flow_of_interest.toString());
+		out.println();
 
-				try {
-					pmoo.performAnalysis(flow_of_interest);
-					System.out.println("e2e PMOO SCs    : " + pmoo.getLeftOverServiceCurves());
-					System.out.println("xtx per server  : " + pmoo.getServerAlphasMapString());
-					System.out.println("delay bound     : " + pmoo.getDelayBound());
-					System.out.println("backlog bound   : " + pmoo.getBacklogBound());
+		final boolean tiered = (this.tasWindowsBuilder.getExecutionConfig().analysisPipeline == ExecutionConfig.AnalysisPipeline.TIERED_UNTIL_DEADLINE_MET);
 
-					if(this.tasWindowsBuilder.getExecutionConfig().analysesResult != null)
-						this.tasWindowsBuilder.getExecutionConfig().analysesResult.put(networkCase, tasWindowsBuilder.getExecutionConfig().multiplexing, datasetCase, flowName, AnalysesResultPaperAccess2018.Key.PMOO_DELAY_BOUND, pmoo.getDelayBound().doubleValue());
+		// Analyze the network
+		int tier = 0;
+		for(FlowAnalysis flowAnalysis : flowAnalyses) {
 
-				} catch (Exception e) {
-					System.out.println("PMOO analysis failed");
-					e.printStackTrace();
-				}
+			tier++;
 
-				System.out.println();
+			out.println("--- " + flowAnalysis.getTitle() + " ---");
 
-				// TMA
-				System.out.println("--- Tandem Matching Analysis ---");
-				TandemMatchingAnalysis tma = new TandemMatchingAnalysis(this.serverGraph, analysisConfig);
+			try {
+				final FlowAnalysisResult result = runner.analyze(flowAnalysis, flow_of_interest, out);
 
-				try {
-					tma.performAnalysis(flow_of_interest);
-					System.out.println("e2e TMA SCs     : " + tma.getLeftOverServiceCurves());
-					System.out.println("xtx per server  : " + tma.getServerAlphasMapString());
-					System.out.println("delay bound     : " + tma.getDelayBound());
-					System.out.println("backlog bound   : " + tma.getBacklogBound());
+				if(result.getServerBacklogBoundMap() != null)
+					outcome.mapAnalysisNameServerBacklogBound.put(result.getBacklogAnalysisName(), result.getServerBacklogBoundMap());
 
-					if(this.tasWindowsBuilder.getExecutionConfig().analysesResult != null)
-						this.tasWindowsBuilder.getExecutionConfig().analysesResult.put(networkCase, tasWindowsBuilder.getExecutionConfig().multiplexing, datasetCase, flowName, AnalysesResultPaperAccess2018.Key.TMA_DELAY_BOUND, tma.getDelayBound().doubleValue());
+				outcome.results.put(flowAnalysis.getDelayBoundKey(), result.getDelayBound());
 
-				} catch (Exception e) {
-					System.out.println("TMA analysis failed");
-					e.printStackTrace();
+				if(tiered && result.getDelayBound() <= deadlineUs) {
+					outcome.resolvedBy = flowAnalysis.getName();
+					outcome.skippedAnalyses = flowAnalyses.size() - tier;
+
+					out.println("deadline " + deadlineUs + " met by " + flowAnalysis.getName() + ", skipping " + outcome.skippedAnalyses + " remaining analyses");
+					out.println();
+					break;
 				}
 
-			}
+			} catch (TimeoutException e) {
+				out.println(flowAnalysis.getName() + " analysis " + e.getMessage());
+				outcome.results.put(flowAnalysis.getTimeoutKey(), (double) runner.getBudgetMs());
 
-			System.out.println();
-			 */
+			} catch (Exception e) {
+				out.println(flowAnalysis.getName() + " analysis failed");
+				e.printStackTrace(err);
+			}
 
+			out.println();
 		}
 
-		System.out.println();
+		return outcome;
 	}
 
 
 	public void printEthernetDeviceInfo(EthernetDevice ethernetDevice) {
 
-		System.out.println();
+		this.out.println();
 
-		System.out.println(ethernetDevice.getName() + "'s neigborhood:");
-		DataPrinterUtil.print(ethernetDevice.getNeighbors());
-		System.out.println();
+		this.out.println(ethernetDevice.getName() + "'s neigborhood:");
+		DataPrinterUtil.print(this.out, ethernetDevice.getNeighbors());
+		this.out.println();
 
-		System.out.println(ethernetDevice.getName() + "'s servers:");
+		this.out.println(ethernetDevice.getName() + "'s servers:");
 		for(EthernetInterface ethernetInterface : ethernetDevice.getInterfaces()) {
-			DataPrinterUtil.print(ethernetInterface.getSTServers());
-			DataPrinterUtil.print(ethernetInterface.getPhyServers());
+			DataPrinterUtil.print(this.out, ethernetInterface.getSTServers());
+			DataPrinterUtil.print(this.out, ethernetInterface.getPhyServers());
 		}
-		System.out.println();
+		this.out.println();
 
-		System.out.println(ethernetDevice.getName() + "'s output turns:");
+		this.out.println(ethernetDevice.getName() + "'s output turns:");
 		for(EthernetInterface ethernetInterface : ethernetDevice.getInterfaces()) {
-			System.out.println("Servers at interface " + ethernetInterface.toString());
+			this.out.println("Servers at interface " + ethernetInterface.toString());
 			for(Server s : ethernetInterface.getSTServers()) {
-				DataPrinterUtil.print(this.serverGraph.getOutTurns(s));
+				DataPrinterUtil.print(this.out, this.serverGraph.getOutTurns(s));
 			}
 			for(Server s : ethernetInterface.getPhyServers()) {
-				DataPrinterUtil.print(this.serverGraph.getOutTurns(s));
+				DataPrinterUtil.print(this.out, this.serverGraph.getOutTurns(s));
 			}
-			System.out.println();
+			this.out.println();
 		}
 
-		System.out.println("---------------------------------");
+		this.out.println("---------------------------------");
 	}
 
 	public void printEthernetFlowInfo(EthernetFlow ethernetFlow) throws Exception {
 
 		Flow flow_of_interest = ethernetFlow.getFlow();
-		System.out.println("Flow: " + flow_of_interest.getAlias());
+		this.out.println("Flow: " + flow_of_interest.getAlias());
 
 		final List<String> list = new LinkedList<>();
 		final List<Turn> turns = flow_of_interest.getTurnsOnPath();
 
 		list.add(turns.get(0).getSource().getAlias());
 
-		System.out.println("Path:");
+		this.out.println("Path:");
 		for(Turn turn : turns) {
 
 			final String alias = turn.getDest().getAlias();
@@ -773,10 +1191,10 @@ public class EthernetNetwork {
 		}
 
 		for(String serverStr : list) {
-			System.out.println("\t" + serverStr);	
+			this.out.println("\t" + serverStr);	
 		}
 
-		System.out.println();
+		this.out.println();
 	}
 
 	public void printAllServersAndTurns() {
@@ -789,13 +1207,13 @@ public class EthernetNetwork {
 		//Sort by Alias
 		listTurns.sort((Turn t1, Turn t2) -> t1.getAlias().compareTo(t2.getAlias()));
 
-		System.out.println(DataPrinterUtil.toString(listServers));
-		System.out.println();
-		System.out.println(DataPrinterUtil.toString(listTurns));
+		this.out.println(DataPrinterUtil.toString(listServers));
+		this.out.println();
+		this.out.println(DataPrinterUtil.toString(listTurns));
 
-		System.out.println("+++++++++++++++++++++++++++++++++++++++++++++");
-		System.out.println(DataPrinterUtil.toString2(tasWindowsBuilder.getMapInterfaceInfoPrioritySTFlowDataList()));
-		System.out.println("+++++++++++++++++++++++++++++++++++++++++++++");
+		this.out.println("+++++++++++++++++++++++++++++++++++++++++++++");
+		this.out.println(DataPrinterUtil.toString2(tasWindowsBuilder.getMapInterfaceInfoPrioritySTFlowDataList()));
+		this.out.println("+++++++++++++++++++++++++++++++++++++++++++++");
 
 	}
 
@@ -809,7 +1227,7 @@ public class EthernetNetwork {
 		 * Print all flows
 		 */
 		for(EthernetFlow ethernetFlow : sortedList) {
-			System.out.println(ethernetFlow.toStringMultilined());
+			this.out.println(ethernetFlow.toStringMultilined());
 		}
 	}
 
@@ -832,17 +1250,11 @@ public class EthernetNetwork {
 
 	public final EthernetDevice getDeviceByName(String deviceName) {
 
-		final Set<EthernetDevice> devices = this.getDevices();
-
-		for(EthernetDevice dev : devices) {
-
-			if(Objects.equals(dev.getName(), deviceName)) {
-				return dev;
-			}
-
-		}
+		final EthernetDevice device = this.mapDeviceNameDevice.get(deviceName);
+		if(device == null)
+			throw new InvalidParameterException("There is no device with name " + deviceName);
 
-		throw new InvalidParameterException("There is no device with name " + deviceName);
+		return device;
 	}
 
 	/**
@@ -968,9 +1380,10 @@ public class EthernetNetwork {
 	 * Add all flows got from dataset
 	 * 
 	 * @param tasWindowsBuilder
+	 * @param validatedInterfaces	interfaces validated by validateScheduling(), or null for all interfaces
 	 * @throws Exception
 	 */
-	private void addFlowsFromDataset(TASWindowsBuilder tasWindowsBuilder) throws Exception {
+	private void addFlowsFromDataset(TASWindowsBuilder tasWindowsBuilder, Set<InterfaceInfoEntry> validatedInterfaces) throws Exception {
 
 		for(Entry<STFlowData,VirtualLinkEntry> entry : tasWindowsBuilder.getMapSTFlowDataVirtualLink().entrySet()) {
 
@@ -978,8 +1391,6 @@ public class EthernetNetwork {
 			final VirtualLinkEntry virtualLinkEntry = entry.getValue();
 			final int priority = stFlowData.getSTMessageEntry().priority;
 
-			final EthernetDevice source = this.getDeviceByName(virtualLinkEntry.getSource().deviceName);
-			final EthernetDevice destination = this.getDeviceByName(virtualLinkEntry.getDestination().deviceName);
 			final String flowAlias = stFlowData.getSTMessageEntry().flowName + 
 					"_[" + 
 					(virtualLinkEntry.getSource().deviceName + "." + virtualLinkEntry.getSource().interfaceId) +
@@ -990,24 +1401,13 @@ public class EthernetNetwork {
 			final EthernetFlow ethernetFlow = new EthernetFlow(flowAlias, priority, stFlowData.getArrivalCurve(), stFlowData);
 
 			//Check if all frames fit into their related priority queue guaranteed window in the whole flow's path
-			validateScheduling(entry, this.tasWindowsBuilder.getExecutionConfig().validateSchedulingForFrameSize);
+			validateScheduling(entry, this.tasWindowsBuilder.getExecutionConfig().validateSchedulingForFrameSize, validatedInterfaces);
 
 			//			if(this.networkConfigBuilder.getExecutionConfig().validateSchedulingForFrameSize == ExecutionConfig.ValidateSchedulingForFrameSize.YES)
 			//				validateScheduling(entry);
 
-			switch(this.tasWindowsBuilder.getExecutionConfig().plcaModeling) {
-			case SEPARATED_PLCA_SERVER_MODELING:
-				addEthernetFlow_NoPlcaServer(ethernetFlow, source, destination);
-				break;
-			case SINGLE_PLCA_SERVER_MODELING:
-				addEthernetFlow_PlcaServer(ethernetFlow, source, destination);
-				break;
-			}
-
-			//			if(Objects.equals(this.networkConfigBuilder.getExecutionConfig().plcaModeling, ExecutionConfig.PLCAModeling.SEPARATED_PLCA_SERVER_MODELING))
-			//				addEthernetFlow_NoPlcaServer(ethernetFlow, source, destination);
-			//			else
-			//				addEthernetFlow_PlcaServer(ethernetFlow, source, destination);
+			//The path follows the virtual link's route, so there is no search in the ServerGraph
+			addEthernetFlow(ethernetFlow, virtualLinkEntry);
 		}
 
 	}
@@ -1019,11 +1419,153 @@ public class EthernetNetwork {
 		 */
 		this.tasWindowsBuilder.build();
 
+		this.assembleNetwork(null);
+	}
+
+	/**
+	 * Change the gate scheduling (GCL) of a single port and analyze again only the flows whose bounds depend on it.
+	 * 
+	 * Only the TAS windows and ST service curves of {@param interfaceInfo} are calculated again (see TASWindowsBuilder.updateGateScheduling()).
+	 * The ST service curves of all other interfaces and the PLCA service curves (which do not depend on any GCL) are kept.
+	 * A DNC Server cannot have its service curve replaced, so the devices, the ServerGraph and the flows are built again over the kept curves,
+	 * and only the frame sizes of the flows crossing {@param interfaceInfo} are validated again.
+	 * 
+	 * The changed servers are the ST servers of {@param interfaceInfo} whose service curve is not equal to the previous one.
+	 * Only the flows returned by {@link #getFlowsAffectedBy(Set)} are analyzed again. The results of the other flows are kept,
+	 * and the devices backlog is summed again with the kept backlogs of the other flows.
+	 * 
+	 * @param interfaceInfo				output port whose GCL has changed
+	 * @param tasGateScheduleEntryList	the new GCL of {@param interfaceInfo}
+	 * @return	the flows analyzed again, ordered by alias (empty if no ST service curve has changed)
+	 * @throws Exception
+	 */
+	public List<EthernetFlow> updateGateScheduling(InterfaceInfoEntry interfaceInfo, List<TASGateScheduleEntry2018> tasGateScheduleEntryList) throws Exception {
+
+		final Map<Integer, ServiceCurve> mapPriorityPreviousSTServiceCurve = this.getSTServiceCurves(interfaceInfo);
+
+		this.tasWindowsBuilder.updateGateScheduling(interfaceInfo, tasGateScheduleEntryList);
+
+		final Map<Integer, ServiceCurve> mapPrioritySTServiceCurve = this.getSTServiceCurves(interfaceInfo);
+
+		final Set<Integer> changedPriorities = new TreeSet<Integer>(mapPriorityPreviousSTServiceCurve.keySet());
+		changedPriorities.addAll(mapPrioritySTServiceCurve.keySet());
+		changedPriorities.removeIf(priority -> Objects.equals(mapPriorityPreviousSTServiceCurve.get(priority), mapPrioritySTServiceCurve.get(priority)));
+
+		this.serverGraph = new ServerGraph();
+		this.ethernetFlows = new HashSet<EthernetFlow>();
+		this.mapServerEthernetDevices = new HashMap<Server, EthernetDevice>();
+		this.mapServerPriority = new HashMap<Server, Integer>();
+		this.adjacencyIndex = null;
+
+		this.assembleNetwork(Collections.singleton(interfaceInfo));
+
+		final EthernetInterface ethernetInterface = this.getOutputInterfaceByInterfaceInfo(interfaceInfo);
+		final Set<Server> changedServers = new HashSet<Server>();
+		for(Integer priority : changedPriorities) {
+			final STServerData stServerData = ethernetInterface.getSTServerData(priority);
+			if((stServerData != null) && (stServerData.getSTServer() != null))
+				changedServers.add(stServerData.getSTServer());
+		}
+
+		final List<EthernetFlow> updatedFlows = this.getFlowsAffectedBy(changedServers);
+
+		this.out.println("Gate scheduling of " + interfaceInfo.toStringInfo() + " updated: " + changedServers.size() + " changed servers, "
+				+ updatedFlows.size() + " of " + this.ethernetFlows.size() + " flows analyzed again");
+		this.out.println();
+
+		this.performAnalysis(updatedFlows);
+
+		return updatedFlows;
+	}
+
+	/**
+	 * @param interfaceInfo
+	 * @return	Map<Integer = Priority (or KEY_PHY_NO_PRIORITY), ServiceCurve = ST service curve> of {@param interfaceInfo}, empty if it has no ST server
+	 */
+	private Map<Integer, ServiceCurve> getSTServiceCurves(InterfaceInfoEntry interfaceInfo) {
+
+		final Map<Integer, ServiceCurve> mapPrioritySTServiceCurve = new HashMap<Integer, ServiceCurve>();
+
+		final Map<Integer, STServerData> mapPrioritySTServerData = this.tasWindowsBuilder.getMapInterfaceInfoPrioritySTServerData().get(interfaceInfo);
+		if(mapPrioritySTServerData != null)
+			mapPrioritySTServerData.forEach((priority, stServerData) -> mapPrioritySTServiceCurve.put(priority, stServerData.getServiceCurve()));
+
+		return mapPrioritySTServiceCurve;
+	}
+
+	/**
+	 * Flows whose bounds depend on the service curve of any of {@param servers}.
+	 * 
+	 * A flow crossing a changed server is affected from that server on: its delay there changes, and so does its arrival curve at every next server of its path.
+	 * Every other flow crossing one of those next servers is then affected from that server on, and so on.
+	 * Servers before the first affected server of a flow only see arrival curves which have not changed.
+	 * 
+	 * @param servers	servers of this network whose service curve has changed
+	 * @return	the affected flows, ordered by alias
+	 * @throws Exception
+	 */
+	private List<EthernetFlow> getFlowsAffectedBy(Set<Server> servers) throws Exception {
+
+		/**
+		 * Map<Flow = affected flow, Integer = index of its first affected server in its path>
+		 */
+		final Map<Flow, Integer> mapFlowFirstAffectedServer = new HashMap<Flow, Integer>();
+		final Deque<Flow> pending = new ArrayDeque<Flow>();
+
+		for(Server server : servers) {
+			for(Flow flow : this.serverGraph.getFlows(server))
+				markAffected(flow, flow.getServersOnPath().indexOf(server), mapFlowFirstAffectedServer, pending);
+		}
+
+		while(!pending.isEmpty()) {
+
+			final Flow flow = pending.poll();
+			final List<Server> path = flow.getServersOnPath();
+
+			for(int i = mapFlowFirstAffectedServer.get(flow) ; i < path.size() ; i++) {
+				final Server server = path.get(i);
+				for(Flow crossFlow : this.serverGraph.getFlows(server))
+					markAffected(crossFlow, crossFlow.getServersOnPath().indexOf(server), mapFlowFirstAffectedServer, pending);
+			}
+		}
+
+		final List<EthernetFlow> affectedFlows = new LinkedList<EthernetFlow>();
+		for(EthernetFlow ethernetFlow : this.ethernetFlows) {
+			if(mapFlowFirstAffectedServer.containsKey(ethernetFlow.getFlow()))
+				affectedFlows.add(ethernetFlow);
+		}
+		affectedFlows.sort((EthernetFlow o1, EthernetFlow o2) -> o1.getAlias().compareTo(o2.getAlias()));
+
+		return affectedFlows;
+	}
+
+	/**
+	 * Mark {@param flow} as affected from the server at {@param serverIndex} of its path on, and queue it if it was not affected that early yet
+	 */
+	private static void markAffected(Flow flow, int serverIndex, Map<Flow, Integer> mapFlowFirstAffectedServer, Deque<Flow> pending) {
+
+		final Integer firstAffectedServer = mapFlowFirstAffectedServer.get(flow);
+		if((firstAffectedServer != null) && (firstAffectedServer <= serverIndex))
+			return;
+
+		mapFlowFirstAffectedServer.put(flow, serverIndex);
+		pending.add(flow);
+	}
+
+	/**
+	 * Build devices, servers, links and flows from the TASWindowsBuilder already built
+	 * 
+	 * @param validatedInterfaces	interfaces whose windows are validated against the frame sizes of the flows crossing them, or null for all interfaces
+	 * @throws Exception
+	 */
+	private void assembleNetwork(Set<InterfaceInfoEntry> validatedInterfaces) throws Exception {
+
 		/**
 		 * Discover all device's name and interface's id,
 		 * 	and
 		 * Build all devices and put all related interfaces
 		 */
+		this.mapDeviceNameDevice.clear();
 		this.devices = buildDevices(this.tasWindowsBuilder);
 
 		/**
@@ -1036,18 +1578,23 @@ public class EthernetNetwork {
 		 */
 		buildLinks(this.tasWindowsBuilder);
 
-		System.out.println("##################################################################");
+		/**
+		 * Index the successors of each server by priority, used to route flows
+		 */
+		this.adjacencyIndex = new ServerAdjacencyIndex(this.serverGraph, this::getServerPriority);
+
+		this.out.println("##################################################################");
 		this.printAllServersAndTurns();
-		System.out.println("##################################################################");
+		this.out.println("##################################################################");
 
 		/**
 		 * Add all flows got from dataset
 		 */
-		addFlowsFromDataset(this.tasWindowsBuilder);
+		addFlowsFromDataset(this.tasWindowsBuilder, validatedInterfaces);
 
-		System.out.println("==================================================================");
+		this.out.println("==================================================================");
 		this.printAllEthernetFlows();
-		System.out.println("==================================================================");
+		this.out.println("==================================================================");
 
 
 
@@ -1075,8 +1622,10 @@ public class EthernetNetwork {
 	 * Check if all frames fits into its related priority queue scheduling window in full path
 	 * 
 	 * @param entry
+	 * @param validateSchedulingForFrameSize
+	 * @param validatedInterfaces	interfaces of the path to be checked, or null for all of them
 	 */
-	private void validateScheduling(Entry<STFlowData,VirtualLinkEntry> entry, ValidateSchedulingForFrameSize validateSchedulingForFrameSize) {
+	private void validateScheduling(Entry<STFlowData,VirtualLinkEntry> entry, ValidateSchedulingForFrameSize validateSchedulingForFrameSize, Set<InterfaceInfoEntry> validatedInterfaces) {
 
 		if(validateSchedulingForFrameSize == ValidateSchedulingForFrameSize.NO)
 			return;
@@ -1087,16 +1636,24 @@ public class EthernetNetwork {
 
 		//Check if all frames fits into its related priority queue scheduling window in full path
 		virtualLinkEntry.route.forEach(pair -> {
+			if((validatedInterfaces != null) && !validatedInterfaces.contains(pair.getFirst()))
+				return;
+
 			final EthernetInterface ethernetInterface = this.getOutputInterfaceByInterfaceInfo(pair.getFirst());
 			final STServerData stServerData = ethernetInterface.getSTServerData(priority);
 
-			stServerData.getTASWindowTermsList().forEach(window -> {
+			final TASWindowTable tasWindowTable = stServerData.getTASWindowTable();
+
+			for(int row = 0 ; row < tasWindowTable.size() ; row++) {
+				final double L_bar_i_Pm = tasWindowTable.get(TASWindowTable.DoubleTerm.L_bar_i_Pm, row);
+				final double d_gb_Pm = tasWindowTable.get(TASWindowTable.DoubleTerm.d_gb_Pm, row);
+
 				final double transmissionTimeMessageMaxSize = ethernetInterface.getPhyStandard().transmissionTimeUs(stFlowData.getMessageMaxSizeBytes());
 
 				final double guaranteedLengthForTransmission;
 				switch(this.tasWindowsBuilder.getExecutionConfig().plcaModeling) {
-				case SEPARATED_PLCA_SERVER_MODELING:		guaranteedLengthForTransmission = (window.L_bar_i_Pm + window.d_gb_Pm - window.d_i_PLCA);	break;
-				case SINGLE_PLCA_SERVER_MODELING:	guaranteedLengthForTransmission = (window.L_bar_i_Pm + window.d_gb_Pm);						break;
+				case SEPARATED_PLCA_SERVER_MODELING:		guaranteedLengthForTransmission = (L_bar_i_Pm + d_gb_Pm - tasWindowTable.get(TASWindowTable.DoubleTerm.d_i_PLCA, row));	break;
+				case SINGLE_PLCA_SERVER_MODELING:	guaranteedLengthForTransmission = (L_bar_i_Pm + d_gb_Pm);						break;
 				default:							
 					throw new IllegalArgumentException("Unexpected value: " + this.tasWindowsBuilder.getExecutionConfig().plcaModeling);
 				}
@@ -1106,19 +1663,19 @@ public class EthernetNetwork {
 				//				else
 				//					guaranteedTimeWindow = (window.L_bar_i_Pm);
 
-				if((window.L_bar_i_Pm <= 0.0) || (transmissionTimeMessageMaxSize > guaranteedLengthForTransmission)) {
+				if((L_bar_i_Pm <= 0.0) || (transmissionTimeMessageMaxSize > guaranteedLengthForTransmission)) {
 					
 					final String errorMessage = "\n" 
 							+ "ST Flow "+stFlowData.getSTMessageEntry().flowName+" has a frame which is larger than the guaranteed window in some Ethernet interface on its path.\n"
 							+ "required transmission time={"+transmissionTimeMessageMaxSize+" us}\n"
-							+ "guaranteed window length={"+window.L_bar_i_Pm+" us}\n"
+							+ "guaranteed window length={"+L_bar_i_Pm+" us}\n"
 							+ "guaranteed length for transmission={" + guaranteedLengthForTransmission + "}\n"
 							+ "ethernetInterface="+ethernetInterface+"\n"
-							+ "window=" + window;
+							+ "window=" + tasWindowTable.toString(row);
 
 					if(validateSchedulingForFrameSize == ValidateSchedulingForFrameSize.YES_PRINT_IF_INVALID) {
 
-						System.err.println("Warning: "+(ValidateSchedulingForFrameSize.YES_PRINT_IF_INVALID) + errorMessage);
+						this.err.println("Warning: "+(ValidateSchedulingForFrameSize.YES_PRINT_IF_INVALID) + errorMessage);
 
 					} else if(validateSchedulingForFrameSize == ValidateSchedulingForFrameSize.YES_THROW_ERROR_IF_INVAID) {
 
@@ -1130,7 +1687,7 @@ public class EthernetNetwork {
 					}
 
 				}
-			});
+			}
 		});
 
 	}
@@ -1141,6 +1698,7 @@ public class EthernetNetwork {
 
 	public final void setServerPriority(Server server, Integer priority) {
 		this.mapServerPriority.put(server, priority);
+		this.adjacencyIndex = null;
 	}
 
 
@@ -64,6 +64,21 @@ public enum EthernetPhyStandard{
 		return (frameLengthBytes * 8.0) / this.rate_bpus;
 	}
 
+	/**
+	 * Given a frame length (in bytes), it calculates and returns the transmission time in ticks of (1 / ticksPerSecond) seconds.
+	 * The exact rational (frameLengthBytes * 8 * ticksPerSecond) / rate_bps is rounded up to a whole tick, with no floating point rounding before it,
+	 * so a transmission time is never underestimated.
+	 * 
+	 * @param frameLengthBytes
+	 * @param ticksPerSecond	e.g. 1000000000 for nanosecond ticks
+	 * @return
+	 */
+	public final long transmissionTimeTicks(final long frameLengthBytes, final long ticksPerSecond) {
+		final long rate = (long) this.rate_bps;
+		final long bitsTimesTicks = Math.multiplyExact(Math.multiplyExact(frameLengthBytes, 8L), ticksPerSecond);
+		return Math.floorDiv(Math.addExact(bitsTimesTicks, rate - 1), rate);
+	}
+
 	public static EthernetPhyStandard findByName(final String name){
 		return Arrays.stream(values()).filter(value -> value.name.equals(name)).findFirst().orElse(null);
 	}
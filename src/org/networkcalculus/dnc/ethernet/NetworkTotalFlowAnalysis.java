@@ -0,0 +1,295 @@
+package org.networkcalculus.dnc.ethernet;
+
+import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+import org.networkcalculus.dnc.AnalysisConfig;
+import org.networkcalculus.dnc.Calculator;
+import org.networkcalculus.dnc.curves.ArrivalCurve;
+import org.networkcalculus.dnc.network.server_graph.Flow;
+import org.networkcalculus.dnc.network.server_graph.Server;
+import org.networkcalculus.dnc.network.server_graph.ServerGraph;
+import org.networkcalculus.dnc.tandem.analyses.TotalFlowAnalysis;
+import org.networkcalculus.num.Num;
+
+/**
+ * Total Flow Analysis (TFA) of all flows of a ServerGraph at once.
+ *
+ * TFA bounds the delay and the backlog at a server from the arrival bounds of all flows crossing that server,
+ * so these per server bounds do not depend on the flow of interest.
+ * Thus, they are derived once for every server and a flow's end-to-end bounds are obtained along its path:
+ * 	- delay bound 	= sum of the server delay bounds;
+ * 	- backlog bound	= max of the server backlog bounds.
+ *
+ * The servers are visited in topological order (with respect to the flows' paths).
+ * Whenever a server has no bounds yet, a single TotalFlowAnalysis is performed for a flow crossing it,
+ * and the bounds of all servers on that flow's path are cached.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class NetworkTotalFlowAnalysis {
+
+	private final ServerGraph serverGraph;
+	private final AnalysisConfig analysisConfig;
+
+	private final Map<Server,Set<Num>> mapServerDelayBound;
+	private final Map<Server,Set<Num>> mapServerBacklogBound;
+	private final Map<Server,Set<ArrivalCurve>> mapServerAlphas;
+
+	/**
+	 * Last failure of a TotalFlowAnalysis run for a server that has no bounds
+	 */
+	private final Map<Server,Exception> mapServerFailure;
+
+	private int totalFlowAnalysisRuns;
+
+	public NetworkTotalFlowAnalysis(ServerGraph serverGraph, AnalysisConfig analysisConfig) {
+
+		Objects.requireNonNull(serverGraph, "serverGraph cannot be null");
+		Objects.requireNonNull(analysisConfig, "analysisConfig cannot be null");
+
+		this.serverGraph = serverGraph;
+		this.analysisConfig = analysisConfig;
+
+		this.mapServerDelayBound = new HashMap<Server, Set<Num>>();
+		this.mapServerBacklogBound = new HashMap<Server, Set<Num>>();
+		this.mapServerAlphas = new HashMap<Server, Set<ArrivalCurve>>();
+		this.mapServerFailure = new HashMap<Server, Exception>();
+	}
+
+	/**
+	 * Derive (and cache) the bounds of all servers crossed by any flow.
+	 *
+	 * It must be called before querying any flow bound.
+	 * After that, this object is only read, so it can be queried concurrently.
+	 */
+	public void performAnalysis() {
+
+		this.mapServerDelayBound.clear();
+		this.mapServerBacklogBound.clear();
+		this.mapServerAlphas.clear();
+		this.mapServerFailure.clear();
+		this.totalFlowAnalysisRuns = 0;
+
+		for(Server server : this.getTopologicalOrder()) {
+
+			if(this.mapServerDelayBound.containsKey(server))
+				continue;
+
+			for(Flow flow : this.getCandidateFlows(server)) {
+
+				final TotalFlowAnalysis tfa = new TotalFlowAnalysis(this.serverGraph, this.analysisConfig);
+				this.totalFlowAnalysisRuns++;
+
+				try {
+					tfa.performAnalysis(flow);
+				} catch (Exception e) {
+					this.mapServerFailure.put(server, e);
+					continue;
+				}
+
+				for(Server serverOnPath : flow.getServersOnPath()) {
+					this.mapServerDelayBound.putIfAbsent(serverOnPath, tfa.getServerDelayBoundMap().get(serverOnPath));
+					this.mapServerBacklogBound.putIfAbsent(serverOnPath, tfa.getServerBacklogBoundMap().get(serverOnPath));
+					this.mapServerAlphas.putIfAbsent(serverOnPath, tfa.getServerAlphasMap().get(serverOnPath));
+					this.mapServerFailure.remove(serverOnPath);
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * @return	how many TotalFlowAnalysis were performed by the last {@link #performAnalysis()}
+	 */
+	public int getTotalFlowAnalysisRuns() {
+		return totalFlowAnalysisRuns;
+	}
+
+	/**
+	 * Sum of the server delay bounds along the path of {@param flow}.
+	 *
+	 * @param flow
+	 * @return
+	 * @throws Exception	if there is no bound for some server on the path
+	 */
+	public Num getDelayBound(Flow flow) throws Exception {
+
+		Num delayBound = Num.getFactory(Calculator.getInstance().getNumBackend()).createZero();
+		for(Server server : flow.getServersOnPath()) {
+			delayBound = Num.getUtils(Calculator.getInstance().getNumBackend()).add(delayBound, min(this.getServerBound(this.mapServerDelayBound, server)));
+		}
+
+		return delayBound;
+	}
+
+	/**
+	 * Max of the server backlog bounds along the path of {@param flow}.
+	 *
+	 * @param flow
+	 * @return
+	 * @throws Exception	if there is no bound for some server on the path
+	 */
+	public Num getBacklogBound(Flow flow) throws Exception {
+
+		Num backlogBound = Num.getFactory(Calculator.getInstance().getNumBackend()).createZero();
+		for(Server server : flow.getServersOnPath()) {
+			backlogBound = Num.getUtils(Calculator.getInstance().getNumBackend()).max(backlogBound, min(this.getServerBound(this.mapServerBacklogBound, server)));
+		}
+
+		return backlogBound;
+	}
+
+	/**
+	 * Same as {@link TotalFlowAnalysis#getServerDelayBoundMap()} after performing a TotalFlowAnalysis for {@param flow}.
+	 */
+	public Map<Server,Set<Num>> getServerDelayBoundMap(Flow flow) throws Exception {
+		return this.getServerBoundMap(this.mapServerDelayBound, flow);
+	}
+
+	/**
+	 * Same as {@link TotalFlowAnalysis#getServerBacklogBoundMap()} after performing a TotalFlowAnalysis for {@param flow}.
+	 */
+	public Map<Server,Set<Num>> getServerBacklogBoundMap(Flow flow) throws Exception {
+		return this.getServerBoundMap(this.mapServerBacklogBound, flow);
+	}
+
+	/**
+	 * Same as {@link TotalFlowAnalysis#getServerAlphasMap()} after performing a TotalFlowAnalysis for {@param flow}.
+	 */
+	public Map<Server,Set<ArrivalCurve>> getServerAlphasMap(Flow flow) throws Exception {
+		return this.getServerBoundMap(this.mapServerAlphas, flow);
+	}
+
+	public static String toMapString(Map<Server,? extends Set<?>> mapServerValues) {
+
+		final StringBuilder sb = new StringBuilder("{");
+		for(Entry<Server,? extends Set<?>> entry : mapServerValues.entrySet()) {
+			if(sb.length() > 1)
+				sb.append(", ");
+			sb.append(entry.getKey().getAlias()).append("=").append(entry.getValue());
+		}
+
+		return sb.append("}").toString();
+	}
+
+	private <T> Map<Server,Set<T>> getServerBoundMap(Map<Server,Set<T>> mapServerBound, Flow flow) throws Exception {
+
+		final Map<Server,Set<T>> result = new LinkedHashMap<Server, Set<T>>();
+		for(Server server : flow.getServersOnPath()) {
+			result.put(server, Collections.unmodifiableSet(this.getServerBound(mapServerBound, server)));
+		}
+
+		return result;
+	}
+
+	private <T> Set<T> getServerBound(Map<Server,Set<T>> mapServerBound, Server server) throws Exception {
+
+		final Set<T> bound = mapServerBound.get(server);
+		if(bound == null)
+			throw new Exception("There is no TFA bound for server " + server.getAlias(), this.mapServerFailure.get(server));
+
+		return bound;
+	}
+
+	private static Num min(Set<Num> values) {
+
+		Num min = Num.getFactory(Calculator.getInstance().getNumBackend()).createPositiveInfinity();
+		for(Num value : values) {
+			min = Num.getUtils(Calculator.getInstance().getNumBackend()).min(min, value);
+		}
+
+		return min;
+	}
+
+	/**
+	 * Flows crossing {@param server}, preferring the ones with more servers still without bounds on their paths (ties are broken by alias).
+	 */
+	private List<Flow> getCandidateFlows(Server server) {
+
+		final Map<Flow,Integer> mapFlowMissingServers = new HashMap<Flow, Integer>();
+		for(Flow flow : this.serverGraph.getFlows(server)) {
+
+			int missing = 0;
+			for(Server serverOnPath : flow.getServersOnPath()) {
+				if(!this.mapServerDelayBound.containsKey(serverOnPath))
+					missing++;
+			}
+			mapFlowMissingServers.put(flow, missing);
+		}
+
+		final List<Flow> candidates = new LinkedList<Flow>(mapFlowMissingServers.keySet());
+		candidates.sort(Comparator
+				.comparing((Flow f) -> mapFlowMissingServers.get(f), Comparator.reverseOrder())
+				.thenComparing(Flow::getAlias));
+
+		return candidates;
+	}
+
+	/**
+	 * Kahn's algorithm over the servers of all flows' paths, where there is an edge for every pair of consecutive servers in a path.
+	 *
+	 * @return	the servers crossed by flows in topological order
+	 */
+	private List<Server> getTopologicalOrder() {
+
+		final Map<Server,Set<Server>> mapServerSuccessors = new HashMap<Server, Set<Server>>();
+		final Map<Server,Integer> mapServerInDegree = new HashMap<Server, Integer>();
+
+		for(Flow flow : this.serverGraph.getFlows()) {
+
+			Server previous = null;
+			for(Server server : flow.getServersOnPath()) {
+
+				mapServerSuccessors.putIfAbsent(server, new HashSet<Server>());
+				mapServerInDegree.putIfAbsent(server, 0);
+
+				if(previous != null && mapServerSuccessors.get(previous).add(server))
+					mapServerInDegree.merge(server, 1, Integer::sum);
+
+				previous = server;
+			}
+		}
+
+		final Comparator<Server> byId = Comparator.comparingInt(Server::getId);
+
+		final LinkedList<Server> ready = new LinkedList<Server>();
+		mapServerInDegree.forEach((server, inDegree) -> {
+			if(inDegree == 0)
+				ready.add(server);
+		});
+		ready.sort(byId);
+
+		final List<Server> order = new LinkedList<Server>();
+		while(!ready.isEmpty()) {
+
+			final Server server = ready.removeFirst();
+			order.add(server);
+
+			final List<Server> successors = new LinkedList<Server>(mapServerSuccessors.get(server));
+			successors.sort(byId);
+
+			for(Server successor : successors) {
+				if(mapServerInDegree.merge(successor, -1, Integer::sum) == 0)
+					ready.add(successor);
+			}
+		}
+
+		if(order.size() != mapServerInDegree.size())
+			throw new InvalidParameterException("The flows' paths are not feed-forward, so there is no topological order among their servers");
+
+		return order;
+	}
+
+}
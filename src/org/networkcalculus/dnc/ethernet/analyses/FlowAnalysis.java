@@ -0,0 +1,55 @@
+package org.networkcalculus.dnc.ethernet.analyses;
+
+import java.io.PrintStream;
+
+import org.networkcalculus.dnc.AnalysisConfig.Multiplexing;
+import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018;
+import org.networkcalculus.dnc.network.server_graph.Flow;
+
+/**
+ * An analysis which can be selected in ExecutionConfig (see {@link FlowAnalysisRegistry}) and performed for a flow of interest.
+ * 
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public interface FlowAnalysis {
+
+	/**
+	 * @return	short name, e.g., "TFA"
+	 */
+	String getName();
+
+	/**
+	 * @return	title printed before the analysis results, e.g., "Total Flow Analysis"
+	 */
+	String getTitle();
+
+	/**
+	 * @return	key of the delay bound in AnalysesResultPaperAccess2018
+	 */
+	AnalysesResultPaperAccess2018.Key getDelayBoundKey();
+
+	/**
+	 * @return	key recording that the time budget was exceeded in AnalysesResultPaperAccess2018
+	 */
+	AnalysesResultPaperAccess2018.Key getTimeoutKey();
+
+	/**
+	 * @param multiplexing
+	 * @return	'true' if this analysis can be performed under {@param multiplexing}
+	 */
+	boolean isApplicable(Multiplexing multiplexing);
+
+	/**
+	 * Perform the analysis for {@param flowOfInterest} and print its results.
+	 * 
+	 * It may be called concurrently for different flows of interest.
+	 * 
+	 * @param flowOfInterest
+	 * @param out	where results are printed
+	 * @return
+	 * @throws Exception	if the analysis fails
+	 */
+	FlowAnalysisResult analyze(Flow flowOfInterest, PrintStream out) throws Exception;
+
+}
@@ -0,0 +1,87 @@
+package org.networkcalculus.dnc.ethernet.analyses;
+
+import java.security.InvalidParameterException;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.networkcalculus.dnc.AnalysisConfig;
+import org.networkcalculus.dnc.AnalysisConfig.Multiplexing;
+import org.networkcalculus.dnc.ethernet.NetworkTotalFlowAnalysis;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig.AnalysisMethod;
+import org.networkcalculus.dnc.network.server_graph.ServerGraph;
+
+/**
+ * Maps each ExecutionConfig.AnalysisMethod to the {@link FlowAnalysis} which performs it.
+ * 
+ * A new analysis is added by declaring a new AnalysisMethod and registering its implementation.
+ * 
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class FlowAnalysisRegistry {
+
+	private final Map<AnalysisMethod, FlowAnalysis> mapAnalysisMethodFlowAnalysis;
+
+	public FlowAnalysisRegistry() {
+		this.mapAnalysisMethodFlowAnalysis = new EnumMap<AnalysisMethod, FlowAnalysis>(AnalysisMethod.class);
+	}
+
+	/**
+	 * Registry with TFA, SFA, PMOO, and TMA.
+	 * 
+	 * @param serverGraph
+	 * @param analysisConfig
+	 * @param networkTFA	already performed whole network TFA, or null
+	 * @return
+	 */
+	public static FlowAnalysisRegistry createDefault(ServerGraph serverGraph, AnalysisConfig analysisConfig, NetworkTotalFlowAnalysis networkTFA) {
+
+		final FlowAnalysisRegistry registry = new FlowAnalysisRegistry();
+
+		registry.register(AnalysisMethod.TFA, new TFAFlowAnalysis(serverGraph, analysisConfig, networkTFA));
+		registry.register(AnalysisMethod.SFA, new SFAFlowAnalysis(serverGraph, analysisConfig));
+		registry.register(AnalysisMethod.PMOO, new PMOOFlowAnalysis(serverGraph, analysisConfig));
+		registry.register(AnalysisMethod.TMA, new TMAFlowAnalysis(serverGraph, analysisConfig));
+
+		return registry;
+	}
+
+	public void register(AnalysisMethod analysisMethod, FlowAnalysis flowAnalysis) {
+
+		Objects.requireNonNull(analysisMethod, "analysisMethod cannot be null");
+		Objects.requireNonNull(flowAnalysis, "flowAnalysis cannot be null");
+
+		this.mapAnalysisMethodFlowAnalysis.put(analysisMethod, flowAnalysis);
+	}
+
+	public FlowAnalysis get(AnalysisMethod analysisMethod) {
+
+		final FlowAnalysis flowAnalysis = this.mapAnalysisMethodFlowAnalysis.get(analysisMethod);
+		if(flowAnalysis == null)
+			throw new InvalidParameterException("There is no FlowAnalysis registered for " + analysisMethod);
+
+		return flowAnalysis;
+	}
+
+	/**
+	 * @param analysisMethods	chosen analyses, in the order they must be performed
+	 * @param multiplexing
+	 * @return	the analyses of {@param analysisMethods} which are applicable under {@param multiplexing}, in the same order
+	 */
+	public List<FlowAnalysis> select(List<AnalysisMethod> analysisMethods, Multiplexing multiplexing) {
+
+		final List<FlowAnalysis> selected = new LinkedList<FlowAnalysis>();
+		for(AnalysisMethod analysisMethod : analysisMethods) {
+
+			final FlowAnalysis flowAnalysis = this.get(analysisMethod);
+			if(flowAnalysis.isApplicable(multiplexing))
+				selected.add(flowAnalysis);
+		}
+
+		return selected;
+	}
+
+}
@@ -0,0 +1,51 @@
+package org.networkcalculus.dnc.ethernet.analyses;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.networkcalculus.dnc.network.server_graph.Server;
+import org.networkcalculus.num.Num;
+
+/**
+ * Bounds of a flow of interest derived by a {@link FlowAnalysis}.
+ * 
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class FlowAnalysisResult {
+
+	private final double delayBound;
+
+	/**
+	 * Name under which the server backlogs are accounted to the Ethernet devices, or null
+	 */
+	private final String backlogAnalysisName;
+
+	/**
+	 * Backlog bound of each server on the flow's path, or null
+	 */
+	private final Map<Server, Set<Num>> serverBacklogBoundMap;
+
+	public FlowAnalysisResult(double delayBound, String backlogAnalysisName, Map<Server, Set<Num>> serverBacklogBoundMap) {
+		this.delayBound = delayBound;
+		this.backlogAnalysisName = backlogAnalysisName;
+		this.serverBacklogBoundMap = serverBacklogBoundMap;
+	}
+
+	public FlowAnalysisResult(double delayBound) {
+		this(delayBound, null, null);
+	}
+
+	public double getDelayBound() {
+		return delayBound;
+	}
+
+	public String getBacklogAnalysisName() {
+		return backlogAnalysisName;
+	}
+
+	public Map<Server, Set<Num>> getServerBacklogBoundMap() {
+		return serverBacklogBoundMap;
+	}
+
+}
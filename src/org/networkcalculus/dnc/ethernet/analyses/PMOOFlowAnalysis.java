@@ -0,0 +1,69 @@
+package org.networkcalculus.dnc.ethernet.analyses;
+
+import java.io.PrintStream;
+
+import org.networkcalculus.dnc.AnalysisConfig;
+import org.networkcalculus.dnc.AnalysisConfig.Multiplexing;
+import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018;
+import org.networkcalculus.dnc.network.server_graph.Flow;
+import org.networkcalculus.dnc.network.server_graph.ServerGraph;
+import org.networkcalculus.dnc.tandem.analyses.PmooAnalysis;
+
+/**
+ * Pay Multiplexing Only Once (PMOO) analysis.
+ * 
+ * PMOO runs only under ARBITRARY multiplexing.
+ * 
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class PMOOFlowAnalysis implements FlowAnalysis {
+
+	private final ServerGraph serverGraph;
+	private final AnalysisConfig analysisConfig;
+
+	public PMOOFlowAnalysis(ServerGraph serverGraph, AnalysisConfig analysisConfig) {
+		this.serverGraph = serverGraph;
+		this.analysisConfig = analysisConfig;
+	}
+
+	@Override
+	public String getName() {
+		return "PMOO";
+	}
+
+	@Override
+	public String getTitle() {
+		return "PMOO Analysis";
+	}
+
+	@Override
+	public AnalysesResultPaperAccess2018.Key getDelayBoundKey() {
+		return AnalysesResultPaperAccess2018.Key.PMOO_DELAY_BOUND;
+	}
+
+	@Override
+	public AnalysesResultPaperAccess2018.Key getTimeoutKey() {
+		return AnalysesResultPaperAccess2018.Key.PMOO_TIMEOUT;
+	}
+
+	@Override
+	public boolean isApplicable(Multiplexing multiplexing) {
+		return multiplexing == Multiplexing.ARBITRARY;
+	}
+
+	@Override
+	public FlowAnalysisResult analyze(Flow flowOfInterest, PrintStream out) throws Exception {
+
+		final PmooAnalysis pmoo = new PmooAnalysis(this.serverGraph, this.analysisConfig);
+
+		pmoo.performAnalysis(flowOfInterest);
+		out.println("e2e PMOO SCs    : " + pmoo.getLeftOverServiceCurves());
+		out.println("xtx per server  : " + pmoo.getServerAlphasMapString());
+		out.println("delay bound     : " + pmoo.getDelayBound());
+		out.println("backlog bound   : " + pmoo.getBacklogBound());
+
+		return new FlowAnalysisResult(pmoo.getDelayBound().doubleValue());
+	}
+
+}
@@ -0,0 +1,68 @@
+package org.networkcalculus.dnc.ethernet.analyses;
+
+import java.io.PrintStream;
+
+import org.networkcalculus.dnc.AnalysisConfig;
+import org.networkcalculus.dnc.AnalysisConfig.Multiplexing;
+import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018;
+import org.networkcalculus.dnc.network.server_graph.Flow;
+import org.networkcalculus.dnc.network.server_graph.ServerGraph;
+import org.networkcalculus.dnc.tandem.analyses.SeparateFlowAnalysis;
+
+/**
+ * Separated Flow Analysis (SFA) of each flow of interest.
+ * 
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class SFAFlowAnalysis implements FlowAnalysis {
+
+	private final ServerGraph serverGraph;
+	private final AnalysisConfig analysisConfig;
+
+	public SFAFlowAnalysis(ServerGraph serverGraph, AnalysisConfig analysisConfig) {
+		this.serverGraph = serverGraph;
+		this.analysisConfig = analysisConfig;
+	}
+
+	@Override
+	public String getName() {
+		return "SFA";
+	}
+
+	@Override
+	public String getTitle() {
+		return "Separated Flow Analysis";
+	}
+
+	@Override
+	public AnalysesResultPaperAccess2018.Key getDelayBoundKey() {
+		return AnalysesResultPaperAccess2018.Key.SFA_DELAY_BOUND;
+	}
+
+	@Override
+	public AnalysesResultPaperAccess2018.Key getTimeoutKey() {
+		return AnalysesResultPaperAccess2018.Key.SFA_TIMEOUT;
+	}
+
+	@Override
+	public boolean isApplicable(Multiplexing multiplexing) {
+		return true;
+	}
+
+	@Override
+	public FlowAnalysisResult analyze(Flow flowOfInterest, PrintStream out) throws Exception {
+
+		final SeparateFlowAnalysis sfa = new SeparateFlowAnalysis(this.serverGraph, this.analysisConfig);
+
+		sfa.performAnalysis(flowOfInterest);
+		out.println("e2e SFA SCs     : " + sfa.getLeftOverServiceCurves());
+		out.println("     per server : " + sfa.getServerLeftOverBetasMapString());
+		out.println("xtx per server  : " + sfa.getServerAlphasMapString());
+		out.println("delay bound     : " + sfa.getDelayBound());
+		out.println("backlog bound   : " + sfa.getBacklogBound());
+
+		return new FlowAnalysisResult(sfa.getDelayBound().doubleValue());
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.networkcalculus.dnc.ethernet.analyses;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.Set;
+
+import org.networkcalculus.dnc.AnalysisConfig;
+import org.networkcalculus.dnc.AnalysisConfig.Multiplexing;
+import org.networkcalculus.dnc.ethernet.NetworkTotalFlowAnalysis;
+import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018;
+import org.networkcalculus.dnc.network.server_graph.Flow;
+import org.networkcalculus.dnc.network.server_graph.Server;
+import org.networkcalculus.dnc.network.server_graph.ServerGraph;
+import org.networkcalculus.dnc.tandem.analyses.TotalFlowAnalysis;
+import org.networkcalculus.num.Num;
+
+/**
+ * Total Flow Analysis (TFA), either performed for each flow of interest or taken from an already performed {@link NetworkTotalFlowAnalysis}.
+ * 
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class TFAFlowAnalysis implements FlowAnalysis {
+
+	private final ServerGraph serverGraph;
+	private final AnalysisConfig analysisConfig;
+	private final NetworkTotalFlowAnalysis networkTFA;
+
+	/**
+	 * @param serverGraph
+	 * @param analysisConfig
+	 * @param networkTFA		already performed whole network TFA, or null for performing a TotalFlowAnalysis for each flow of interest
+	 */
+	public TFAFlowAnalysis(ServerGraph serverGraph, AnalysisConfig analysisConfig, NetworkTotalFlowAnalysis networkTFA) {
+		this.serverGraph = serverGraph;
+		this.analysisConfig = analysisConfig;
+		this.networkTFA = networkTFA;
+	}
+
+	@Override
+	public String getName() {
+		return "TFA";
+	}
+
+	@Override
+	public String getTitle() {
+		return "Total Flow Analysis";
+	}
+
+	@Override
+	public AnalysesResultPaperAccess2018.Key getDelayBoundKey() {
+		return AnalysesResultPaperAccess2018.Key.TFA_DELAY_BOUND;
+	}
+
+	@Override
+	public AnalysesResultPaperAccess2018.Key getTimeoutKey() {
+		return AnalysesResultPaperAccess2018.Key.TFA_TIMEOUT;
+	}
+
+	@Override
+	public boolean isApplicable(Multiplexing multiplexing) {
+		return true;
+	}
+
+	@Override
+	public FlowAnalysisResult analyze(Flow flowOfInterest, PrintStream out) throws Exception {
+
+		if(this.networkTFA != null) {
+			final Map<Server, Set<Num>> mapServerBacklogBound = this.networkTFA.getServerBacklogBoundMap(flowOfInterest);
+
+			out.println("delay bound     : " + this.networkTFA.getDelayBound(flowOfInterest));
+			out.println("     delay per server : " + NetworkTotalFlowAnalysis.toMapString(this.networkTFA.getServerDelayBoundMap(flowOfInterest)));
+			out.println("backlog bound   : " + this.networkTFA.getBacklogBound(flowOfInterest));
+			out.println("     backlog per server : " + NetworkTotalFlowAnalysis.toMapString(mapServerBacklogBound));
+			out.println("alpha per server: " + NetworkTotalFlowAnalysis.toMapString(this.networkTFA.getServerAlphasMap(flowOfInterest)));
+
+			return new FlowAnalysisResult(this.networkTFA.getDelayBound(flowOfInterest).doubleValue(), TotalFlowAnalysis.class.getSimpleName(), mapServerBacklogBound);
+		}
+
+		final TotalFlowAnalysis tfa = new TotalFlowAnalysis(this.serverGraph, this.analysisConfig);
+
+		tfa.performAnalysis(flowOfInterest);
+		out.println("delay bound     : " + tfa.getDelayBound());
+		out.println("     delay per server : " + tfa.getServerDelayBoundMapString());
+		out.println("backlog bound   : " + tfa.getBacklogBound());
+		out.println("     backlog per server : " + tfa.getServerBacklogBoundMapString());
+		out.println("alpha per server: " + tfa.getServerAlphasMapString());
+
+		return new FlowAnalysisResult(tfa.getDelayBound().doubleValue(), tfa.getClass().getSimpleName(), tfa.getServerBacklogBoundMap());
+	}
+
+}
@@ -0,0 +1,70 @@
+package org.networkcalculus.dnc.ethernet.analyses;
+
+import java.io.PrintStream;
+
+import org.networkcalculus.dnc.AnalysisConfig;
+import org.networkcalculus.dnc.AnalysisConfig.Multiplexing;
+import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018;
+import org.networkcalculus.dnc.network.server_graph.Flow;
+import org.networkcalculus.dnc.network.server_graph.ServerGraph;
+import org.networkcalculus.dnc.tandem.analyses.TandemMatchingAnalysis;
+
+/**
+ * Tandem Matching Analysis (TMA).
+ * 
+ * TMA runs only under ARBITRARY multiplexing, and its run time grows exponentially with the path length,
+ * so it should be used with a time budget (see ExecutionConfig.analysisTimeBudgetMs).
+ * 
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class TMAFlowAnalysis implements FlowAnalysis {
+
+	private final ServerGraph serverGraph;
+	private final AnalysisConfig analysisConfig;
+
+	public TMAFlowAnalysis(ServerGraph serverGraph, AnalysisConfig analysisConfig) {
+		this.serverGraph = serverGraph;
+		this.analysisConfig = analysisConfig;
+	}
+
+	@Override
+	public String getName() {
+		return "TMA";
+	}
+
+	@Override
+	public String getTitle() {
+		return "Tandem Matching Analysis";
+	}
+
+	@Override
+	public AnalysesResultPaperAccess2018.Key getDelayBoundKey() {
+		return AnalysesResultPaperAccess2018.Key.TMA_DELAY_BOUND;
+	}
+
+	@Override
+	public AnalysesResultPaperAccess2018.Key getTimeoutKey() {
+		return AnalysesResultPaperAccess2018.Key.TMA_TIMEOUT;
+	}
+
+	@Override
+	public boolean isApplicable(Multiplexing multiplexing) {
+		return multiplexing == Multiplexing.ARBITRARY;
+	}
+
+	@Override
+	public FlowAnalysisResult analyze(Flow flowOfInterest, PrintStream out) throws Exception {
+
+		final TandemMatchingAnalysis tma = new TandemMatchingAnalysis(this.serverGraph, this.analysisConfig);
+
+		tma.performAnalysis(flowOfInterest);
+		out.println("e2e TMA SCs     : " + tma.getLeftOverServiceCurves());
+		out.println("xtx per server  : " + tma.getServerAlphasMapString());
+		out.println("delay bound     : " + tma.getDelayBound());
+		out.println("backlog bound   : " + tma.getBacklogBound());
+
+		return new FlowAnalysisResult(tma.getDelayBound().doubleValue());
+	}
+
+}
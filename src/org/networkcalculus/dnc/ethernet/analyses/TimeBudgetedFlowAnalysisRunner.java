@@ -0,0 +1,142 @@
+package org.networkcalculus.dnc.ethernet.analyses;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.security.InvalidParameterException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.networkcalculus.dnc.network.server_graph.Flow;
+
+/**
+ * Performs a {@link FlowAnalysis} with a wall-clock budget for each flow of interest.
+ * 
+ * With a budget, the analysis runs on a daemon worker thread and the caller waits at most the budget for it,
+ * counted from the moment the analysis starts running.
+ * When the budget is exceeded the worker is interrupted and its partial output is dropped.
+ * 
+ * The DNC analyses do not check for interruption, so an abandoned computation keeps running and holds its worker thread until it finishes.
+ * Its result is ignored, and it never blocks the JVM exit.
+ * The pool has two threads for each caller thread, so every caller can leave an abandoned computation behind and go on.
+ * An analysis never waits for a thread: when all threads are held (by abandoned computations), it is skipped at once
+ * with a TimeoutException, so a few slow flows never block the analyses of the other flows.
+ * 
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class TimeBudgetedFlowAnalysisRunner implements AutoCloseable {
+
+	/**
+	 * Budget in milliseconds, or 0 for no budget
+	 */
+	private final long budgetMs;
+
+	/**
+	 * null if there is no budget
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * One permit for each thread of the executor, taken from submission until the computation ends (even after it is abandoned).
+	 * null if there is no budget
+	 */
+	private final Semaphore threads;
+
+	/**
+	 * @param budgetMs	wall-clock budget (in milliseconds) of each analysis of a flow of interest, or 0 for no budget
+	 * @param callers	number of threads calling {@link #analyze(FlowAnalysis, Flow, PrintStream)} at the same time
+	 */
+	public TimeBudgetedFlowAnalysisRunner(long budgetMs, int callers) {
+
+		if(budgetMs < 0)
+			throw new InvalidParameterException("budgetMs={"+budgetMs+"} cannot be negative");
+
+		if(callers < 1)
+			throw new InvalidParameterException("callers={"+callers+"} must be at least 1");
+
+		this.budgetMs = budgetMs;
+		this.executor = (budgetMs > 0) ? Executors.newFixedThreadPool(2 * callers, runnable -> {
+			final Thread thread = new Thread(runnable, "flow-analysis-budgeted");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+		this.threads = (budgetMs > 0) ? new Semaphore(2 * callers) : null;
+	}
+
+	public long getBudgetMs() {
+		return budgetMs;
+	}
+
+	/**
+	 * 
+	 * @param flowAnalysis
+	 * @param flowOfInterest
+	 * @param out	where results are printed
+	 * @return
+	 * @throws TimeoutException	if the budget was exceeded, or if the analysis was skipped because all threads are held by abandoned computations
+	 * @throws Exception		if the analysis failed
+	 */
+	public FlowAnalysisResult analyze(FlowAnalysis flowAnalysis, Flow flowOfInterest, PrintStream out) throws Exception {
+
+		if(this.executor == null)
+			return flowAnalysis.analyze(flowOfInterest, out);
+
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final PrintStream bufferOut = new PrintStream(buffer, true);
+
+		if(!this.threads.tryAcquire())
+			throw new TimeoutException("skipped, all threads are held by analyses which exceeded the time budget of " + this.budgetMs + " ms");
+
+		final CountDownLatch started = new CountDownLatch(1);
+		final Future<FlowAnalysisResult> future;
+		try {
+			future = this.executor.submit(() -> {
+				try {
+					started.countDown();
+					return flowAnalysis.analyze(flowOfInterest, bufferOut);
+				} finally {
+					this.threads.release();
+				}
+			});
+		} catch (RuntimeException e) {
+			this.threads.release();
+			throw e;
+		}
+
+		try {
+			started.await();
+			final FlowAnalysisResult result = future.get(this.budgetMs, TimeUnit.MILLISECONDS);
+			out.print(buffer.toString());
+			return result;
+
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new TimeoutException("exceeded the time budget of " + this.budgetMs + " ms");
+
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw e;
+
+		} catch (ExecutionException e) {
+			out.print(buffer.toString());
+
+			if(e.getCause() instanceof Exception)
+				throw (Exception) e.getCause();
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() {
+		if(this.executor != null)
+			this.executor.shutdownNow();
+	}
+
+}
@@ -1,11 +1,11 @@
 package org.networkcalculus.dnc.ethernet.demos;
 
+import java.util.LinkedList;
 import java.util.List;
 
 import org.networkcalculus.dnc.AnalysisConfig;
-import org.networkcalculus.dnc.ethernet.EthernetNetwork;
+import org.networkcalculus.dnc.ethernet.DatasetCaseBatchExecutor;
 import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig;
-import org.networkcalculus.dnc.ethernet.tsn.TASWindowsBuilder;
 import org.networkcalculus.dnc.ethernet.tsn.data.DatasetReader;
 import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018;
 
@@ -122,38 +122,20 @@ public class Ethernet_IEEE_TCOM_2023_paper {
 				"dataset/synthetic test cases (Access 2018 Luxi)_mod_DavidAlain_1000BASE-T1S",
 		};
 
+		final List<String> pathList = new LinkedList<String>();
 		for (final String datasetRootPath : datasetRootPaths) {
+			pathList.addAll(DatasetReader.listDatasetFilesPaths(datasetRootPath));
+		}
 
-			final List<String> pathList = DatasetReader.listDatasetFilesPaths(datasetRootPath);
-
-			for (String path : pathList) {
-
-				try {
-
-					System.out.println("Dataset case path: " + path);
-
-					/**
-					 * Read dataset files and build all required objects 
-					 */
-					final DatasetReader datasetReader = new DatasetReader(path);
-					final TASWindowsBuilder networkConfigBuilder = new TASWindowsBuilder(datasetReader, executionConfig);
-					final EthernetNetwork ethernetNetwork = new EthernetNetwork(networkConfigBuilder);
-
-					// Run analysis, store results in properly object in ExecutionConfig object, and print results
-					ethernetNetwork.performAnalysis();
-
-					//Save curves accordingly to chosen options in ExecutionConfig object
-					ethernetNetwork.saveCurves();
-
-				} catch (Exception e) {
-					Thread.sleep(1000);
-					e.printStackTrace();
-					Thread.sleep(1000);
-				}
-
-			}
+		/**
+		 * Build and analyze the dataset cases concurrently.
+		 * Each case writes its files (and its console output) into its own result directory.
+		 * 
+		 * Use 1 worker for running one case at a time.
+		 */
+		final int batchWorkers = Runtime.getRuntime().availableProcessors();
 
-		}
+		new DatasetCaseBatchExecutor(executionConfig, batchWorkers).run(pathList);
 
 		// Calculate the execution time
 		long timeEndMs = System.currentTimeMillis();
@@ -0,0 +1,172 @@
+package org.networkcalculus.dnc.ethernet.demos;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.networkcalculus.dnc.AnalysisConfig;
+import org.networkcalculus.dnc.curves.LinearSegment;
+import org.networkcalculus.dnc.curves.ServiceCurve;
+import org.networkcalculus.dnc.ethernet.EthernetPhyStandard;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig;
+import org.networkcalculus.dnc.ethernet.tsn.TASCurveBuilder;
+import org.networkcalculus.dnc.ethernet.tsn.TASWindowsBuilder;
+import org.networkcalculus.dnc.ethernet.tsn.data.DatasetReader;
+import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
+
+/**
+ * Equivalence check, within a relative deviation of MAX_RELATIVE_DEVIATION, of ExecutionConfig.STServiceCurveComputation.CLOSED_FORM (RateLatencyEnvelope)
+ * against ExecutionConfig.STServiceCurveComputation.CURVE_FOLD in TASCurveBuilder.buildSTRateLatencyServiceCurve().
+ * The two computations round in a different order, so the curves are not required to be bit-exact.
+ *
+ * For every priority of every port of every dataset case, the ST service curve is built with both computations.
+ * Curves with the same segments (the same double x, y and gradient values) are counted.
+ * The other ones are printed with their largest relative deviation at the breakpoints of both curves,
+ * and the check fails if any deviation is greater than MAX_RELATIVE_DEVIATION.
+ * The elapsed times of both computations are printed.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class STServiceCurveClosedFormEquivalence {
+
+	private static final double MAX_RELATIVE_DEVIATION = 1e-9;
+
+	public static void main(String[] args) throws Exception {
+
+		final ExecutionConfig executionConfig = new ExecutionConfig(
+				null,
+				ExecutionConfig.GenerateTASWindowsExcelSheet.NO,
+				ExecutionConfig.GenerateTASWindowCharts.NO,
+				ExecutionConfig.GenerateNCCurvesCharts.NO,
+				ExecutionConfig.GeneratePortGuaranteedWindowsFiles.NO,
+				ExecutionConfig.PrioritizingOrder.LOWER_VALUE_HIGHER_PRIORITY,
+				ExecutionConfig.PLCAModeling.SINGLE_PLCA_SERVER_MODELING,
+				ExecutionConfig.ValidateSchedulingForFrameSize.NO,
+				ExecutionConfig.SaveServerGraph.NO,
+				AnalysisConfig.Multiplexing.FIFO
+				);
+
+		final String[] datasetRootPaths = (args.length > 0) ? args : new String[] {
+				"dataset/synthetic test cases (Access 2018 Luxi)_mod_DavidAlain_1000BASE-TX",
+				"dataset/synthetic test cases (Access 2018 Luxi)_mod_DavidAlain_1000BASE-T1S",
+		};
+
+		final List<String> pathList = new LinkedList<String>();
+		for (final String datasetRootPath : datasetRootPaths) {
+			pathList.addAll(DatasetReader.listDatasetFilesPaths(datasetRootPath));
+		}
+
+		long totalCurveFoldNs = 0;
+		long totalClosedFormNs = 0;
+		int curves = 0;
+		int sameSegments = 0;
+		double maxDeviation = 0.0;
+		final List<String> differentSegments = new LinkedList<String>();
+
+		for(String path : pathList) {
+
+			final TASWindowsBuilder tasWindowsBuilder = new TASWindowsBuilder(new DatasetReader(path), executionConfig);
+			tasWindowsBuilder.build();
+
+			for(Entry<InterfaceInfoEntry, Map<Integer, TASWindowTable>> entry : tasWindowsBuilder.getMapInterfaceInfoPriorityTasWindowTable().entrySet()) {
+
+				final EthernetPhyStandard phyStandard = tasWindowsBuilder.getMapInterfaceInfoPhyStandard().get(entry.getKey());
+
+				for(Entry<Integer, TASWindowTable> entryPriority : entry.getValue().entrySet()) {
+
+					final TASWindowTable tasWindowTable = entryPriority.getValue();
+
+					long timeIniNs = System.nanoTime();
+					final ServiceCurve curveFold = TASCurveBuilder.getInstance().buildSTRateLatencyServiceCurve(phyStandard, tasWindowTable,
+							executionConfig.plcaModeling, ExecutionConfig.STServiceCurveComputation.CURVE_FOLD);
+					totalCurveFoldNs += System.nanoTime() - timeIniNs;
+
+					timeIniNs = System.nanoTime();
+					final ServiceCurve closedForm = TASCurveBuilder.getInstance().buildSTRateLatencyServiceCurve(phyStandard, tasWindowTable,
+							executionConfig.plcaModeling, ExecutionConfig.STServiceCurveComputation.CLOSED_FORM);
+					totalClosedFormNs += System.nanoTime() - timeIniNs;
+
+					if(hasSameSegments(curveFold, closedForm)) {
+						sameSegments++;
+					}else {
+						final double deviation = relativeDeviation(curveFold, closedForm);
+						maxDeviation = Math.max(maxDeviation, deviation);
+						differentSegments.add(path + " " + entry.getKey().toStringInfo() + " priority=" + entryPriority.getKey() +
+								": deviation=" + deviation + " " + curveFold + " != " + closedForm);
+					}
+
+					curves++;
+				}
+			}
+		}
+
+		System.out.println();
+		System.out.println("Cases: " + pathList.size() + ", curves: " + curves);
+		System.out.println("Curve fold    : " + totalCurveFoldNs / 1e6 + " ms");
+		System.out.println("Closed form   : " + totalClosedFormNs / 1e6 + " ms");
+		System.out.println("Same segments : " + sameSegments + " of " + curves);
+		System.out.println("Max deviation : " + maxDeviation);
+		differentSegments.forEach(System.out::println);
+
+		if(maxDeviation > MAX_RELATIVE_DEVIATION)
+			throw new IllegalStateException("The closed form deviates " + maxDeviation + " from the curve fold (max " + MAX_RELATIVE_DEVIATION + ")");
+	}
+
+	private static boolean hasSameSegments(ServiceCurve expected, ServiceCurve actual) {
+
+		if(expected.getSegmentCount() != actual.getSegmentCount())
+			return false;
+
+		for(int s = 0 ; s < expected.getSegmentCount() ; s++) {
+
+			final LinearSegment expectedSegment = expected.getSegment(s);
+			final LinearSegment actualSegment = actual.getSegment(s);
+
+			if(Double.compare(expectedSegment.getX().doubleValue(), actualSegment.getX().doubleValue()) != 0 ||
+					Double.compare(expectedSegment.getY().doubleValue(), actualSegment.getY().doubleValue()) != 0 ||
+					Double.compare(expectedSegment.getGrad().doubleValue(), actualSegment.getGrad().doubleValue()) != 0)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Largest |expected(t) - actual(t)| / max(1.0, |expected(t)|) at the breakpoints of both curves and after the last one
+	 */
+	private static double relativeDeviation(ServiceCurve expected, ServiceCurve actual) {
+
+		final List<Double> points = new ArrayList<Double>();
+		for(ServiceCurve curve : new ServiceCurve[] {expected, actual}) {
+			for(int s = 0 ; s < curve.getSegmentCount() ; s++)
+				points.add(curve.getSegment(s).getX().doubleValue());
+		}
+		points.add(points.stream().mapToDouble(Double::doubleValue).max().orElse(0.0) + 1.0);
+
+		double deviation = 0.0;
+		for(double t : points) {
+			final double expectedValue = valueAt(expected, t);
+			final double actualValue = valueAt(actual, t);
+			deviation = Math.max(deviation, Math.abs(expectedValue - actualValue) / Math.max(1.0, Math.abs(expectedValue)));
+		}
+
+		return deviation;
+	}
+
+	/**
+	 * Right-continuous value of the curve at {@param t}
+	 */
+	private static double valueAt(ServiceCurve curve, double t) {
+
+		LinearSegment segment = curve.getSegment(0);
+		for(int s = 1 ; s < curve.getSegmentCount() && curve.getSegment(s).getX().doubleValue() <= t ; s++)
+			segment = curve.getSegment(s);
+
+		return segment.getY().doubleValue() + segment.getGrad().doubleValue() * (t - segment.getX().doubleValue());
+	}
+
+}
@@ -0,0 +1,231 @@
+package org.networkcalculus.dnc.ethernet.demos;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.networkcalculus.dnc.AnalysisConfig;
+import org.networkcalculus.dnc.ethernet.EthernetNetwork;
+import org.networkcalculus.dnc.ethernet.network.server_graph.EthernetFlow;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig;
+import org.networkcalculus.dnc.ethernet.tsn.TASWindowsBuilder;
+import org.networkcalculus.dnc.ethernet.tsn.data.DatasetReader;
+import org.networkcalculus.dnc.network.server_graph.Server;
+import org.networkcalculus.dnc.network.server_graph.ServerGraph;
+import org.networkcalculus.dnc.network.server_graph.Turn;
+
+/**
+ * Micro-benchmark of EthernetNetwork.getShortestPath (breadth-first search over server ids)
+ * against {@link #getShortestPathByRelaxation(EthernetNetwork, int, Server, Server)} (former implementation, kept here as the reference).
+ *
+ * For every flow of every dataset case, both methods are called between the first and the last server of the flow's path.
+ * Paths are compared and the elapsed times are printed. The benchmark exits with status 1 if any path differs.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class ShortestPathBenchmark {
+
+	private static final int WARMUP_ROUNDS = 20;
+	private static final int MEASURED_ROUNDS = 200;
+
+	public static void main(String[] args) throws Exception {
+
+		final ExecutionConfig executionConfig = new ExecutionConfig(
+				null,
+				ExecutionConfig.GenerateTASWindowsExcelSheet.NO,
+				ExecutionConfig.GenerateTASWindowCharts.NO,
+				ExecutionConfig.GenerateNCCurvesCharts.NO,
+				ExecutionConfig.GeneratePortGuaranteedWindowsFiles.NO,
+				ExecutionConfig.PrioritizingOrder.LOWER_VALUE_HIGHER_PRIORITY,
+				ExecutionConfig.PLCAModeling.SINGLE_PLCA_SERVER_MODELING,
+				ExecutionConfig.ValidateSchedulingForFrameSize.NO,
+				ExecutionConfig.SaveServerGraph.NO,
+				AnalysisConfig.Multiplexing.FIFO
+				);
+
+		final String datasetRootPath = (args.length > 0) ? args[0] : "dataset/synthetic test cases (Access 2018 Luxi)_mod_DavidAlain_1000BASE-TX";
+
+		final List<String> pathList = DatasetReader.listDatasetFilesPaths(datasetRootPath);
+
+		long totalBfsNs = 0;
+		long totalRelaxationNs = 0;
+		int queries = 0;
+		int differentPaths = 0;
+		int differentLengths = 0;
+
+		for(String path : pathList) {
+
+			final EthernetNetwork ethernetNetwork = new EthernetNetwork(new TASWindowsBuilder(new DatasetReader(path), executionConfig));
+
+			final List<EthernetFlow> flows = new LinkedList<EthernetFlow>();
+			for(EthernetFlow ethernetFlow : ethernetNetwork.getFlows()) {
+				if(ethernetFlow.getFlow().getServersOnPath().size() > 1)
+					flows.add(ethernetFlow);
+			}
+
+			for(EthernetFlow ethernetFlow : flows) {
+
+				final List<Server> servers = ethernetFlow.getFlow().getServersOnPath();
+				final Server src = servers.get(0);
+				final Server snk = servers.get(servers.size() - 1);
+				final int priority = ethernetFlow.getPriority();
+
+				final List<Turn> bfsPath = ethernetNetwork.getShortestPath(priority, src, snk);
+				final List<Turn> relaxationPath = getShortestPathByRelaxation(ethernetNetwork, priority, src, snk);
+
+				if(bfsPath.size() != relaxationPath.size())
+					differentLengths++;
+				else if(!bfsPath.equals(relaxationPath))
+					differentPaths++;
+			}
+
+			for(int round = 0; round < WARMUP_ROUNDS; round++) {
+				runAll(ethernetNetwork, flows, true);
+				runAll(ethernetNetwork, flows, false);
+			}
+
+			long timeIniNs = System.nanoTime();
+			for(int round = 0; round < MEASURED_ROUNDS; round++) {
+				runAll(ethernetNetwork, flows, true);
+			}
+			final long bfsNs = System.nanoTime() - timeIniNs;
+
+			timeIniNs = System.nanoTime();
+			for(int round = 0; round < MEASURED_ROUNDS; round++) {
+				runAll(ethernetNetwork, flows, false);
+			}
+			final long relaxationNs = System.nanoTime() - timeIniNs;
+
+			System.out.println(path + ": " + flows.size() + " flows, BFS " + bfsNs / 1e6 + " ms, relaxation " + relaxationNs / 1e6 + " ms");
+
+			totalBfsNs += bfsNs;
+			totalRelaxationNs += relaxationNs;
+			queries += flows.size() * MEASURED_ROUNDS;
+		}
+
+		System.out.println();
+		System.out.println("Queries: " + queries);
+		System.out.println("BFS        : " + totalBfsNs / 1e6 + " ms (" + ((queries == 0) ? 0 : totalBfsNs / queries) + " ns/query)");
+		System.out.println("Relaxation : " + totalRelaxationNs / 1e6 + " ms (" + ((queries == 0) ? 0 : totalRelaxationNs / queries) + " ns/query)");
+		System.out.println("Paths with different length : " + differentLengths);
+		System.out.println("Equal-length paths with different turns (ties) : " + differentPaths);
+
+		if(differentLengths + differentPaths > 0) {
+			System.err.println("Shortest paths differ from the reference implementation");
+			System.exit(1);
+		}
+	}
+
+	private static void runAll(EthernetNetwork ethernetNetwork, List<EthernetFlow> flows, boolean bfs) throws Exception {
+
+		for(EthernetFlow ethernetFlow : flows) {
+
+			final List<Server> servers = ethernetFlow.getFlow().getServersOnPath();
+			final Server src = servers.get(0);
+			final Server snk = servers.get(servers.size() - 1);
+
+			if(bfs)
+				ethernetNetwork.getShortestPath(ethernetFlow.getPriority(), src, snk);
+			else
+				getShortestPathByRelaxation(ethernetNetwork, ethernetFlow.getPriority(), src, snk);
+		}
+	}
+
+	/**
+	 * Former implementation of EthernetNetwork.getShortestPath, which copies the whole path for every relaxed edge.
+	 * 
+	 * This code was got from ServerGraph class of DNC project and David Alain do Nascimento did some little changes to be compliant to priority usage
+	 *
+	 * @param ethernetNetwork
+	 * @param priority
+	 * 			  Flow's priority. The possible path must be related to this priority.
+	 * 
+	 * @param src
+	 *            The path's source.
+	 * @param snk
+	 *            The path's sink.
+	 * @return Dijkstra shortest path from src to snk.
+	 * @throws Exception
+	 *             Could not find a shortest path for some reason.
+	 */
+	private static List<Turn> getShortestPathByRelaxation(EthernetNetwork ethernetNetwork, int priority, Server src, Server snk) throws Exception {
+
+		final ServerGraph serverGraph = ethernetNetwork.getServerGraph();
+
+		Set<Server> visited = new HashSet<Server>();
+
+		final Map<Server, List<Turn>> paths_turns = new HashMap<Server, List<Turn>>();
+		final Map<Server, List<Server>> paths_servers = new HashMap<Server, List<Server>>();
+
+		paths_turns.put(src, new LinkedList<Turn>());
+		paths_servers.put(src, new LinkedList<Server>(Collections.singleton(src)));
+
+		final LinkedList<Server> queue = new LinkedList<Server>();
+		queue.add(src);
+		visited.add(src);
+
+		while (!queue.isEmpty()) {
+			final Server s = queue.getLast();
+			queue.remove(s);
+
+			Set<Server> successors_s = filterServersByPriority(ethernetNetwork, priority, serverGraph.getSuccessors(s));
+			for (Server successor : successors_s) {
+
+				final LinkedList<Turn> path_turns_tmp = new LinkedList<Turn>(paths_turns.get(s));
+
+				final LinkedList<Server> path_servers_tmp;
+				if (paths_servers.containsKey(s)) {
+					path_servers_tmp = new LinkedList<Server>(paths_servers.get(s));
+				} else {
+					path_servers_tmp = new LinkedList<Server>(Collections.singleton(src));
+				}
+
+				path_turns_tmp.add(serverGraph.findTurn(s, successor));
+				path_servers_tmp.add(successor);
+
+				if (!visited.contains(successor)) {
+					paths_turns.put(successor, path_turns_tmp);
+					paths_servers.put(successor, path_servers_tmp);
+
+					queue.add(successor);
+					visited.add(successor);
+				} else {
+					if (paths_turns.get(successor).size() > path_turns_tmp.size()) {
+						paths_turns.put(successor, path_turns_tmp);
+						paths_servers.put(successor, path_servers_tmp);
+
+						queue.add(successor);
+					}
+				}
+			}
+		}
+
+		if (paths_turns.get(snk) == null) {
+			throw new Exception("No path from server " + src.getAlias() + " to server " + snk.getAlias() + " found");
+		}
+
+		return paths_turns.get(snk);
+	}
+
+	private static Set<Server> filterServersByPriority(EthernetNetwork ethernetNetwork, int priority, Set<Server> servers){
+
+		final Set<Server> result = new HashSet<Server>(servers);
+		final Set<Server> toBeRemoved = new HashSet<Server>();
+
+		result.forEach(server -> {
+			Integer prio = ethernetNetwork.getServerPriority(server);
+			if(prio != null && prio != priority)
+				toBeRemoved.add(server);
+		});
+
+		result.removeAll(toBeRemoved);
+
+		return result;
+	}
+
+}
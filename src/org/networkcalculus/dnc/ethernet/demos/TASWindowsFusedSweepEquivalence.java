@@ -0,0 +1,142 @@
+package org.networkcalculus.dnc.ethernet.demos;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.networkcalculus.dnc.AnalysisConfig;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig;
+import org.networkcalculus.dnc.ethernet.tsn.TASWindowsBuilder;
+import org.networkcalculus.dnc.ethernet.tsn.data.DatasetReader;
+import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
+
+/**
+ * Equivalence check of FusedTASWindowsCalculator (ExecutionConfig.TASWindowsComputation.FUSED_SWEEP)
+ * against the step pipeline of TASWindowsBuilder (ExecutionConfig.TASWindowsComputation.STEP_PIPELINE).
+ *
+ * For every port of every dataset case, the TAS windows are calculated with both computations
+ * and every term of every window must be the same double (or long) value.
+ * The elapsed times of both computations are printed.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class TASWindowsFusedSweepEquivalence {
+
+	public static void main(String[] args) throws Exception {
+
+		final ExecutionConfig executionConfig = new ExecutionConfig(
+				null,
+				ExecutionConfig.GenerateTASWindowsExcelSheet.NO,
+				ExecutionConfig.GenerateTASWindowCharts.NO,
+				ExecutionConfig.GenerateNCCurvesCharts.NO,
+				ExecutionConfig.GeneratePortGuaranteedWindowsFiles.NO,
+				ExecutionConfig.PrioritizingOrder.LOWER_VALUE_HIGHER_PRIORITY,
+				ExecutionConfig.PLCAModeling.SINGLE_PLCA_SERVER_MODELING,
+				ExecutionConfig.ValidateSchedulingForFrameSize.NO,
+				ExecutionConfig.SaveServerGraph.NO,
+				AnalysisConfig.Multiplexing.FIFO
+				);
+
+		final String[] datasetRootPaths = (args.length > 0) ? args : new String[] {
+				"dataset/synthetic test cases (Access 2018 Luxi)_mod_DavidAlain_1000BASE-TX",
+				"dataset/synthetic test cases (Access 2018 Luxi)_mod_DavidAlain_1000BASE-T1S",
+		};
+
+		final List<String> pathList = new LinkedList<String>();
+		for (final String datasetRootPath : datasetRootPaths) {
+			pathList.addAll(DatasetReader.listDatasetFilesPaths(datasetRootPath));
+		}
+
+		long totalStepPipelineNs = 0;
+		long totalFusedSweepNs = 0;
+		int ports = 0;
+		int windows = 0;
+		final List<String> mismatches = new LinkedList<String>();
+
+		for(String path : pathList) {
+
+			final TASWindowsBuilder tasWindowsBuilder = new TASWindowsBuilder(new DatasetReader(path), executionConfig);
+			tasWindowsBuilder.build();
+
+			for(InterfaceInfoEntry interfaceInfo : tasWindowsBuilder.getMapInterfaceInfoPriorityTasWindowTable().keySet()) {
+
+				long timeIniNs = System.nanoTime();
+				final Map<Integer,TASWindowTable> stepPipeline = tasWindowsBuilder.calculateTASWindowTables(interfaceInfo, ExecutionConfig.TASWindowsComputation.STEP_PIPELINE);
+				totalStepPipelineNs += System.nanoTime() - timeIniNs;
+
+				timeIniNs = System.nanoTime();
+				final Map<Integer,TASWindowTable> fusedSweep = tasWindowsBuilder.calculateTASWindowTables(interfaceInfo, ExecutionConfig.TASWindowsComputation.FUSED_SWEEP);
+				totalFusedSweepNs += System.nanoTime() - timeIniNs;
+
+				if(!stepPipeline.keySet().equals(fusedSweep.keySet())) {
+					mismatches.add(path + " " + interfaceInfo.toStringInfo() + ": priorities " + stepPipeline.keySet() + " != " + fusedSweep.keySet());
+					continue;
+				}
+
+				for(Integer priority : stepPipeline.keySet()) {
+
+					final TASWindowTable expected = stepPipeline.get(priority);
+					final TASWindowTable actual = fusedSweep.get(priority);
+
+					compare(path + " " + interfaceInfo.toStringInfo() + " priority=" + priority, expected, actual, mismatches);
+					windows += expected.getWindowCount();
+				}
+
+				ports++;
+			}
+		}
+
+		System.out.println();
+		System.out.println("Cases: " + pathList.size() + ", ports: " + ports + ", windows: " + windows);
+		System.out.println("Step pipeline : " + totalStepPipelineNs / 1e6 + " ms");
+		System.out.println("Fused sweep   : " + totalFusedSweepNs / 1e6 + " ms");
+		System.out.println("Mismatches    : " + mismatches.size());
+		mismatches.forEach(System.out::println);
+
+		if(!mismatches.isEmpty())
+			throw new IllegalStateException(mismatches.size() + " mismatches between the step pipeline and the fused sweep");
+	}
+
+	private static void compare(String description, TASWindowTable expected, TASWindowTable actual, List<String> mismatches) {
+
+		if(expected.size() != actual.size() || expected.getWindowCount() != actual.getWindowCount()) {
+			mismatches.add(description + ": rows " + expected.size() + " != " + actual.size() + " or windows " + expected.getWindowCount() + " != " + actual.getWindowCount());
+			return;
+		}
+
+		for(int index = 0 ; index < expected.getWindowCount() ; index++) {
+			if(expected.getRow(index) != actual.getRow(index)) {
+				mismatches.add(description + ": window " + index + " in row " + expected.getRow(index) + " != " + actual.getRow(index));
+				return;
+			}
+		}
+
+		for(int row = 0 ; row < expected.size() ; row++) {
+
+			for(TASWindowTable.LongTerm term : TASWindowTable.LongTerm.values()) {
+				if(expected.isSet(term, row) != actual.isSet(term, row) ||
+						(expected.isSet(term, row) && expected.get(term, row) != actual.get(term, row)))
+					mismatches.add(description + " row=" + row + ": " + term + " " + toString(expected, term, row) + " != " + toString(actual, term, row));
+			}
+
+			for(TASWindowTable.DoubleTerm term : TASWindowTable.DoubleTerm.values()) {
+				if(expected.isSet(term, row) != actual.isSet(term, row) ||
+						(expected.isSet(term, row) && Double.compare(expected.get(term, row), actual.get(term, row)) != 0))
+					mismatches.add(description + " row=" + row + ": " + term + " " + toString(expected, term, row) + " != " + toString(actual, term, row));
+			}
+
+			//o_ji_Pm (Equation 21) is not stored, it is calculated from the index, N_Pm, T_Pm and o_bar_i_Pm columns compared above
+		}
+	}
+
+	private static String toString(TASWindowTable table, TASWindowTable.LongTerm term, int row) {
+		return table.isSet(term, row) ? String.valueOf(table.get(term, row)) : "null";
+	}
+
+	private static String toString(TASWindowTable table, TASWindowTable.DoubleTerm term, int row) {
+		return table.isSet(term, row) ? String.valueOf(table.get(term, row)) : "null";
+	}
+
+}
@@ -0,0 +1,154 @@
+package org.networkcalculus.dnc.ethernet.network.server_graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.networkcalculus.dnc.network.server_graph.Server;
+import org.networkcalculus.dnc.network.server_graph.ServerGraph;
+
+/**
+ * Immutable snapshot of the successors of every server in a ServerGraph, partitioned by priority.
+ *
+ * For a given priority, the successors of a server are the ones with the same priority or without priority
+ * (e.g. PLCA server shared by all priorities), the same filtering done by the flows' routing.
+ *
+ * Servers are identified by Server.getId(), so queries do not allocate:
+ * 	priority -> serverId -> int[] successor ids
+ *
+ * The arrays returned are shared and must not be modified.
+ * The index must be rebuilt whenever servers or turns are added to the ServerGraph.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class ServerAdjacencyIndex {
+
+	private static final int[] NO_SUCCESSORS = new int[0];
+
+	private final Server[] serverById;
+
+	/**
+	 * Map<Integer = priority, int[serverId][] = successor ids>
+	 */
+	private final Map<Integer, int[][]> mapPrioritySuccessors;
+
+	/**
+	 * Successors without priority, used for priorities not assigned to any server
+	 */
+	private final int[][] unprioritizedSuccessors;
+
+	/**
+	 *
+	 * @param serverGraph
+	 * @param serverPriority	priority of a server, or null if the server is shared by all priorities
+	 */
+	public ServerAdjacencyIndex(ServerGraph serverGraph, Function<Server, Integer> serverPriority) {
+
+		Objects.requireNonNull(serverGraph, "serverGraph cannot be null");
+		Objects.requireNonNull(serverPriority, "serverPriority cannot be null");
+
+		final Set<Server> servers = serverGraph.getServers();
+
+		int maxId = -1;
+		final Set<Integer> priorities = new HashSet<Integer>();
+		for(Server server : servers) {
+			maxId = Math.max(maxId, server.getId());
+
+			final Integer priority = serverPriority.apply(server);
+			if(priority != null)
+				priorities.add(priority);
+		}
+
+		this.serverById = new Server[maxId + 1];
+		for(Server server : servers) {
+			this.serverById[server.getId()] = server;
+		}
+
+		final List<Table> tables = new LinkedList<Table>();
+		for(Integer priority : priorities) {
+			tables.add(new Table(priority, maxId + 1));
+		}
+		final Table unprioritized = new Table(null, maxId + 1);
+		tables.add(unprioritized);
+
+		for(Server server : servers) {
+
+			final Set<Server> successors = serverGraph.getSuccessors(server);
+
+			for(Table table : tables) {
+
+				int count = 0;
+				final int[] ids = new int[successors.size()];
+				for(Server successor : successors) {
+					final Integer priority = serverPriority.apply(successor);
+					if(priority == null || priority.equals(table.priority))
+						ids[count++] = successor.getId();
+				}
+
+				table.successors[server.getId()] = (count == 0) ? NO_SUCCESSORS : Arrays.copyOf(ids, count);
+			}
+		}
+
+		final Map<Integer, int[][]> mapPrioritySuccessors = new HashMap<Integer, int[][]>();
+		for(Table table : tables) {
+			if(table.priority != null)
+				mapPrioritySuccessors.put(table.priority, table.successors);
+		}
+
+		this.mapPrioritySuccessors = Collections.unmodifiableMap(mapPrioritySuccessors);
+		this.unprioritizedSuccessors = unprioritized.successors;
+	}
+
+	/**
+	 * Successors of {@param serverId} that a flow with {@param priority} may go through.
+	 *
+	 * @param priority
+	 * @param serverId
+	 * @return	successor ids (shared array, do not modify it)
+	 */
+	public int[] getSuccessors(int priority, int serverId) {
+
+		final int[][] successors = this.mapPrioritySuccessors.getOrDefault(priority, this.unprioritizedSuccessors);
+		final int[] result = (serverId < successors.length) ? successors[serverId] : null;
+
+		return (result != null) ? result : NO_SUCCESSORS;
+	}
+
+	/**
+	 * @param serverId
+	 * @return	the server with {@param serverId}, or null if there is none
+	 */
+	public Server getServer(int serverId) {
+		return (serverId >= 0 && serverId < this.serverById.length) ? this.serverById[serverId] : null;
+	}
+
+	/**
+	 * @return	upper bound (exclusive) of the server ids, i.e. the length required by arrays indexed by server id
+	 */
+	public int getIdBound() {
+		return this.serverById.length;
+	}
+
+	/**
+	 * Successors table of a priority (null for the table without priority), under construction.
+	 */
+	private static final class Table {
+
+		private final Integer priority;
+		private final int[][] successors;
+
+		private Table(Integer priority, int size) {
+			this.priority = priority;
+			this.successors = new int[size][];
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+package org.networkcalculus.dnc.ethernet.plca;
+
+import java.security.InvalidParameterException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import org.networkcalculus.dnc.ethernet.EthernetPhyStandard;
+import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
+import org.networkcalculus.dnc.ethernet.tsn.model.LinkInfo;
+
+/**
+ * PLCA cycle of a multidrop segment (LinkInfo), aggregated once for all PLCA servers of the segment.
+ *
+ * The Weighted Round Robin quanta of [Soni, 2018, eq.4] for a PLCA server (interface, priority) are:
+ * 	q_i = w_i * (IPG + l_min_i)
+ * 	Q_i = beacon + sum_{k != i} w_k * (IPG + l_max_k)
+ * so Q_i is the total of the cycle minus the server's own contribution, computed in O(1) for each server
+ * instead of iterating over all servers of the segment again.
+ * Frame sizes are whole bytes, so these sums are exact in double precision and the result does not depend on the order of the servers.
+ *
+ * [Soni, 2018] Aakash Soni, Xiaoting Li, Jean-Luc Scharbarg, and Christian Fraboul. 2018. WCTT analysis of avionics Switched Ethernet Network with WRR Scheduling. In Proceedings of the 26th International Conference on Real-Time Networks and Systems (RTNS ’18). Association for Computing Machinery, New York, NY, USA, 213–222. DOI:https://doi.org/10.1145/3273905.3273925
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class PlcaSegmentAggregate {
+
+	/**
+	 * Quanta of a single PLCA server, in bits
+	 */
+	private static final class Contribution {
+
+		private final double minQuantumBits;
+		private final double maxQuantumBits;
+
+		private Contribution(double minQuantumBits, double maxQuantumBits) {
+			this.minQuantumBits = minQuantumBits;
+			this.maxQuantumBits = maxQuantumBits;
+		}
+	}
+
+	private final double beaconBits;
+
+	/**
+	 * sum of w_k * (IPG + l_max_k) over all PLCA servers of the segment
+	 */
+	private final double totalMaxQuantaBits;
+
+	/**
+	 * Map<InterfaceInfo, Map<Integer = Priority (or KEY_PHY_NO_PRIORITY), Contribution>>
+	 */
+	private final Map<InterfaceInfoEntry, Map<Integer, Contribution>> mapInterfaceInfoPriorityContribution;
+
+	/**
+	 * @param linkInfo									the multidrop segment
+	 * @param mapInterfaceInfoPhyStandard				all interfaces of {@param linkInfo} must be shared medium access
+	 * @param mapInterfaceInfoPriorityPLCAServerData	PLCA servers of every interface of {@param linkInfo}
+	 */
+	public PlcaSegmentAggregate(LinkInfo linkInfo, Map<InterfaceInfoEntry, EthernetPhyStandard> mapInterfaceInfoPhyStandard,
+			Map<InterfaceInfoEntry, Map<Integer, PlcaServerData>> mapInterfaceInfoPriorityPLCAServerData) {
+
+		Objects.requireNonNull(linkInfo, "linkInfo cannot be null");
+		Objects.requireNonNull(mapInterfaceInfoPhyStandard, "mapInterfaceInfoPhyStandard cannot be null");
+		Objects.requireNonNull(mapInterfaceInfoPriorityPLCAServerData, "mapInterfaceInfoPriorityPLCAServerData cannot be null");
+
+		this.beaconBits = PlcaParameters.PLCA_BEACON_COUNT * PlcaParameters.PLCA_BEACON_SIZE_BITS;
+		this.mapInterfaceInfoPriorityContribution = new HashMap<InterfaceInfoEntry, Map<Integer, Contribution>>();
+
+		double totalMaxQuantaBits = 0.0;
+
+		for(InterfaceInfoEntry interfaceInfo : linkInfo.getInterfaceInfoSet()) {
+
+			final EthernetPhyStandard phyStandard = mapInterfaceInfoPhyStandard.get(interfaceInfo);
+			if(phyStandard.isDedicatedMediumAccess)
+				throw new InvalidParameterException("It doesn't possible to build a PLCA Server for dedicated medium access interface: " + interfaceInfo + ", phyStandard: " + phyStandard);
+
+			final Map<Integer, PlcaServerData> mapPriorityPLCAServerData = mapInterfaceInfoPriorityPLCAServerData.get(interfaceInfo);
+			if(mapPriorityPLCAServerData.isEmpty())
+				throw new InvalidParameterException("mapInterfaceInfoPriorityPLCAServerData.get(interfaceInfo) cannot be empty, interfaceInfo: " + interfaceInfo);
+
+			final Map<Integer, Contribution> mapPriorityContribution = new HashMap<Integer, Contribution>();
+
+			for(Entry<Integer, PlcaServerData> entry : mapPriorityPLCAServerData.entrySet()) {
+
+				final int priority = entry.getKey();
+				final PlcaServerData plcaServerData = entry.getValue();
+
+				if(plcaServerData == null)
+					throw new InvalidParameterException("plcaServerData cannot be null. interfaceInfo="+interfaceInfo+", priority="+priority);
+
+				final double plcaWeightWRR = plcaServerData.getPlcaWeight();
+				final double minFrameSizeBits = 8.0 * plcaServerData.getMinFrameSizeBytes();
+				final double maxFrameSizeBits = 8.0 * plcaServerData.getMaxFrameSizeBytes();
+
+				final Contribution contribution = new Contribution(
+						plcaWeightWRR * (PlcaParameters.PLCA_IPG_SIZE_BITS + minFrameSizeBits),
+						plcaWeightWRR * (PlcaParameters.PLCA_IPG_SIZE_BITS + maxFrameSizeBits));
+
+				mapPriorityContribution.put(priority, contribution);
+				totalMaxQuantaBits += contribution.maxQuantumBits;
+			}
+
+			this.mapInterfaceInfoPriorityContribution.put(interfaceInfo, mapPriorityContribution);
+		}
+
+		this.totalMaxQuantaBits = totalMaxQuantaBits;
+	}
+
+	/**
+	 * @param interfaceInfo
+	 * @param priority
+	 * @return	q_i = w_i * (IPG + l_min_i) of the PLCA server, in bits
+	 */
+	public double getQuantumBits(InterfaceInfoEntry interfaceInfo, int priority) {
+		return this.getContribution(interfaceInfo, priority).minQuantumBits;
+	}
+
+	/**
+	 * @param interfaceInfo
+	 * @param priority
+	 * @return	Q_i = beacon + the quanta of all other PLCA servers of the segment, in bits
+	 */
+	public double getOtherQuantaBits(InterfaceInfoEntry interfaceInfo, int priority) {
+		return (this.beaconBits + this.totalMaxQuantaBits) - this.getContribution(interfaceInfo, priority).maxQuantumBits;
+	}
+
+	public double getBeaconBits() {
+		return beaconBits;
+	}
+
+	public double getTotalMaxQuantaBits() {
+		return totalMaxQuantaBits;
+	}
+
+	private Contribution getContribution(InterfaceInfoEntry interfaceInfo, int priority) {
+
+		final Map<Integer, Contribution> mapPriorityContribution = this.mapInterfaceInfoPriorityContribution.get(interfaceInfo);
+		final Contribution contribution = (mapPriorityContribution != null) ? mapPriorityContribution.get(priority) : null;
+
+		if(contribution == null)
+			throw new InvalidParameterException("There is no PLCA server on this segment for interfaceInfo=" + interfaceInfo + ", priority=" + priority);
+
+		return contribution;
+	}
+
+}
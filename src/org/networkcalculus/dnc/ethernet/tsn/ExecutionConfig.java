@@ -1,5 +1,10 @@
 package org.networkcalculus.dnc.ethernet.tsn;
 
+import java.io.PrintStream;
+import java.security.InvalidParameterException;
+import java.util.List;
+import java.util.Objects;
+
 import org.networkcalculus.dnc.AnalysisConfig.Multiplexing;
 import org.networkcalculus.dnc.ethernet.tsn.results.AnalysesResultPaperAccess2018;
 
@@ -151,6 +156,172 @@ public class ExecutionConfig {
 		YES,
 	}
 
+	public enum FlowAnalysisExecution {
+		/**
+		 * Analyze one flow of interest after the other in the calling thread.
+		 */
+		SEQUENTIAL,
+
+		/**
+		 * Analyze the flows of interest concurrently on a pool of {@link ExecutionConfig#flowAnalysisWorkers} threads.
+		 * Printed output, stored backlogs and stored results are merged in flow alias order, so they are the same as in SEQUENTIAL.
+		 */
+		PARALLEL,
+	}
+
+	public enum TASWindowsBuildExecution {
+		/**
+		 * Compute TAS windows and ST service curves of one Ethernet interface after the other in the calling thread.
+		 */
+		SEQUENTIAL,
+
+		/**
+		 * Compute TAS windows and ST service curves of different Ethernet interfaces concurrently on a pool of {@link ExecutionConfig#tasWindowsBuildWorkers} threads.
+		 * Each interface only depends on its own gate schedule, so the built maps are the same as in SEQUENTIAL (printed diagnostics may interleave).
+		 */
+		PARALLEL,
+	}
+
+	public enum TotalFlowAnalysisMode {
+		/**
+		 * Perform a TotalFlowAnalysis for every flow of interest.
+		 */
+		PER_FLOW,
+
+		/**
+		 * Derive the TFA bounds of every server once for the whole network (see {@link org.networkcalculus.dnc.ethernet.NetworkTotalFlowAnalysis})
+		 * and sum them along the path of each flow of interest.
+		 */
+		WHOLE_NETWORK,
+	}
+
+	public enum AnalysisMethod {
+		/**
+		 * Total Flow Analysis
+		 */
+		TFA,
+
+		/**
+		 * Separated Flow Analysis
+		 */
+		SFA,
+
+		/**
+		 * Pay Multiplexing Only Once analysis (ARBITRARY multiplexing only)
+		 */
+		PMOO,
+
+		/**
+		 * Tandem Matching Analysis (ARBITRARY multiplexing only)
+		 */
+		TMA,
+	}
+
+	public enum AnalysisPipeline {
+		/**
+		 * Perform all analyses of {@link ExecutionConfig#analysisMethods} for every flow of interest.
+		 */
+		ALL_ANALYSES,
+
+		/**
+		 * Use {@link ExecutionConfig#analysisMethods} as tiers (cheapest first, e.g., TFA, SFA, PMOO):
+		 * stop at the first analysis whose delay bound meets the flow deadline, and escalate otherwise.
+		 */
+		TIERED_UNTIL_DEADLINE_MET,
+	}
+
+	public enum TASWindowsPeriodicity {
+		/**
+		 * Keep a row and compute the terms of every TAS window within the GCL hyperperiod (default).
+		 */
+		EVALUATE_ALL_WINDOWS,
+
+		/**
+		 * Windows of the same priority whose T_Pm periods see the same windows of all other priorities around them (only shifted in time) have the same overlapping pattern.
+		 * Rows are only kept for the first period of each pattern, and all terms are evaluated for them only.
+		 * The windows of the other periods are read from these rows, shifted by a multiple of T_Pm, by the timelines, the rings and the service curves.
+		 * Only used when no window crosses its period boundary (see {@link org.networkcalculus.dnc.ethernet.tsn.model.PeriodicTASWindowSchedule}).
+		 */
+		REUSE_PERIODIC_PATTERNS,
+	}
+
+	public enum TASWindowsComputation {
+		/**
+		 * Steps 2 to 9 of TASWindowsBuilder, one pass over all windows for each group of equations.
+		 */
+		STEP_PIPELINE,
+
+		/**
+		 * Equations 9, 10, 13 to 20, 22 and 23 computed by {@link FusedTASWindowsCalculator} with two sweeps over the windows sorted by opening time.
+		 * With TASWindowsPeriodicity.REUSE_PERIODIC_PATTERNS, the sweeps only visit the windows with their own row and the windows around them.
+		 */
+		FUSED_SWEEP,
+	}
+
+	public enum TASWindowsMemoization {
+		/**
+		 * The TAS windows of every port are calculated.
+		 */
+		NO,
+
+		/**
+		 * Ports with the same inputs share the windows calculated once in this JVM (see {@link TASWindowsMemo}). Their ST service curves are reused by ServiceCurveCaching.
+		 */
+		IN_MEMORY,
+
+		/**
+		 * Same as IN_MEMORY, also reading and writing the entries in tasWindowsMemoDirectory, so they are kept between runs.
+		 */
+		IN_MEMORY_AND_DISK,
+	}
+
+	public enum TASWindowsTimeArithmetic {
+		/**
+		 * Times are double values in microseconds, as read from the GCL.
+		 */
+		DOUBLE_MICROSECONDS,
+
+		/**
+		 * The two sweeps of {@link FusedTASWindowsCalculator} (Equations 9 to 20, 22 and 23) compute on whole nanosecond ticks (see {@link TASWindowsTimeScale}).
+		 * Boundary comparisons are exact only inside these sweeps. Step 1 still reads the GCL in double microseconds, and the terms are
+		 * written back as double microseconds (rounded from the ticks), so Step 8, Step 10, TASWindow.isGateOpen()/hasCollision(),
+		 * the timelines and the service curves compute in double microseconds with the usual rounding.
+		 */
+		NANOSECOND_TICKS,
+
+		/**
+		 * Same as NANOSECOND_TICKS, with picosecond ticks.
+		 */
+		PICOSECOND_TICKS,
+	}
+
+	public enum STServiceCurveComputation {
+		/**
+		 * One DNC rate-latency curve per term of [Zhao, 2018, Eq. 4], folded with Curve.getUtils().add() per window and Curve.getUtils().min() among windows.
+		 */
+		CURVE_FOLD,
+
+		/**
+		 * Sums and their lower envelope computed on primitive arrays by {@link RateLatencyEnvelope}, creating a single DNC curve per priority.
+		 * Same curve as CURVE_FOLD within a relative deviation of 1e-9, not bit-exact (see demos.STServiceCurveClosedFormEquivalence).
+		 */
+		CLOSED_FORM,
+	}
+
+	public enum ServiceCurveCaching {
+		/**
+		 * Every ST service curve is built.
+		 */
+		NO,
+
+		/**
+		 * ST service curves with the same inputs are built once and shared through a bounded LRU {@link ServiceCurveCache},
+		 * kept for the whole JVM, so also across dataset cases.
+		 * PLCA service curves are built once per network and kept by EthernetNetwork, since they depend only on the PLCA segment.
+		 */
+		LRU,
+	}
+
 
 	public final AnalysesResultPaperAccess2018 analysesResult;
 
@@ -202,8 +373,133 @@ public class ExecutionConfig {
 	 */
 	public final PLCAModeling plcaModeling;
 
+	/**
+	 * FlowAnalysisExecution.SEQUENTIAL	-> one flow of interest at a time
+	 * FlowAnalysisExecution.PARALLEL	-> flows of interest spread over {@link ExecutionConfig#flowAnalysisWorkers} threads
+	 */
+	public final FlowAnalysisExecution flowAnalysisExecution;
+
+	/**
+	 * Number of worker threads used when flowAnalysisExecution is FlowAnalysisExecution.PARALLEL.
+	 */
+	public final int flowAnalysisWorkers;
+
+	/**
+	 * TASWindowsBuildExecution.SEQUENTIAL	-> one Ethernet interface at a time
+	 * TASWindowsBuildExecution.PARALLEL	-> Ethernet interfaces spread over {@link ExecutionConfig#tasWindowsBuildWorkers} threads
+	 */
+	public final TASWindowsBuildExecution tasWindowsBuildExecution;
 
+	/**
+	 * Number of worker threads used when tasWindowsBuildExecution is TASWindowsBuildExecution.PARALLEL.
+	 */
+	public final int tasWindowsBuildWorkers;
 
+	/**
+	 * TotalFlowAnalysisMode.PER_FLOW		-> a TotalFlowAnalysis for each flow of interest
+	 * TotalFlowAnalysisMode.WHOLE_NETWORK	-> server bounds derived once and reused by all flows of interest
+	 */
+	public final TotalFlowAnalysisMode totalFlowAnalysisMode;
+
+	/**
+	 * Analyses performed for each flow of interest, in this order (see {@link org.networkcalculus.dnc.ethernet.analyses.FlowAnalysisRegistry}).
+	 */
+	public final List<AnalysisMethod> analysisMethods;
+
+	/**
+	 * Wall-clock budget (in milliseconds) of each analysis of a flow of interest, or 0 for no budget.
+	 * When it is exceeded, the analysis is abandoned, the timeout is stored in analysesResult, and the run continues.
+	 */
+	public final long analysisTimeBudgetMs;
+
+	/**
+	 * AnalysisPipeline.ALL_ANALYSES				-> every flow gets all analyses
+	 * AnalysisPipeline.TIERED_UNTIL_DEADLINE_MET	-> every flow gets analyses until one proves its deadline, and per-tier counts are printed
+	 */
+	public final AnalysisPipeline analysisPipeline;
+
+	/**
+	 * TASWindowsPeriodicity.EVALUATE_ALL_WINDOWS		-> every window within the GCL hyperperiod is evaluated
+	 * TASWindowsPeriodicity.REUSE_PERIODIC_PATTERNS	-> rows are kept and evaluated once per distinct overlapping pattern, the other windows are shifted from them
+	 */
+	public final TASWindowsPeriodicity tasWindowsPeriodicity;
+
+	/**
+	 * Maximum number of TAS windows of a dataset case, summed over all ports (estimated by {@link TASWindowsCostEstimate} before building them), or 0 for no budget.
+	 * Cases over the budget fail before any TASWindow is created.
+	 */
+	public final long tasWindowsBudget;
+
+	/**
+	 * TASWindowsComputation.STEP_PIPELINE	-> steps 2 to 9 of TASWindowsBuilder
+	 * TASWindowsComputation.FUSED_SWEEP	-> FusedTASWindowsCalculator
+	 */
+	public final TASWindowsComputation tasWindowsComputation;
+
+	/**
+	 * TASWindowsMemoization.NO					-> every port is calculated
+	 * TASWindowsMemoization.IN_MEMORY			-> ports with the same inputs are calculated once per JVM, while kept within tasWindowsMemoMaxWindows
+	 * TASWindowsMemoization.IN_MEMORY_AND_DISK	-> same as IN_MEMORY, persisted in tasWindowsMemoDirectory
+	 * 
+	 * Charts and window collisions are written per port, so memoization requires GenerateTASWindowCharts.NO.
+	 */
+	public final TASWindowsMemoization tasWindowsMemoization;
+
+	/**
+	 * Directory of the memoized TAS windows, used only with TASWindowsMemoization.IN_MEMORY_AND_DISK
+	 */
+	public final String tasWindowsMemoDirectory;
+
+	/**
+	 * Maximum number of TAS windows kept in memory by the TASWindowsMemo, used only with TASWindowsMemoization.IN_MEMORY and IN_MEMORY_AND_DISK.
+	 * The least recently used ports are evicted beyond it.
+	 */
+	public final long tasWindowsMemoMaxWindows;
+
+	/**
+	 * TASWindowsTimeArithmetic.DOUBLE_MICROSECONDS	-> TASWindow terms computed with double values
+	 * TASWindowsTimeArithmetic.NANOSECOND_TICKS	-> terms of the fused sweeps computed on whole ticks of 1 ns
+	 * TASWindowsTimeArithmetic.PICOSECOND_TICKS	-> terms of the fused sweeps computed on whole ticks of 1 ps
+	 * 
+	 * Only the sweeps of TASWindowsComputation.FUSED_SWEEP have a tick implementation, so the tick modes require it.
+	 * Every other step keeps computing in double microseconds.
+	 */
+	public final TASWindowsTimeArithmetic tasWindowsTimeArithmetic;
+
+	/**
+	 * STServiceCurveComputation.CURVE_FOLD	-> TASCurveBuilder folds DNC curves
+	 * STServiceCurveComputation.CLOSED_FORM	-> TASCurveBuilder uses RateLatencyEnvelope
+	 */
+	public final STServiceCurveComputation stServiceCurveComputation;
+
+	/**
+	 * ServiceCurveCaching.NO	-> TASCurveBuilder builds every ST service curve
+	 * ServiceCurveCaching.LRU	-> TASCurveBuilder reuses the ST service curves of ServiceCurveCache.getInstance(serviceCurveCacheMaxSegments)
+	 */
+	public final ServiceCurveCaching serviceCurveCaching;
+
+	/**
+	 * Maximum number of curve segments kept by the ServiceCurveCache, used only with ServiceCurveCaching.LRU.
+	 * The least recently used curves are evicted beyond it.
+	 */
+	public final long serviceCurveCacheMaxSegments;
+
+	/**
+	 * Console output of TASWindowsBuilder and EthernetNetwork (reports, warnings and errors).
+	 * Each dataset case run by DatasetCaseBatchExecutor has its own streams, so concurrent cases do not interleave their output.
+	 */
+	public final PrintStream out;
+	public final PrintStream err;
+
+	/**
+	 * Options this configuration was built with, see {@link #toBuilder()}
+	 */
+	private final Builder builder;
+
+
+	/**
+	 * Configuration with the given options and the defaults of {@link Builder} for all other ones.
+	 */
 	public ExecutionConfig(AnalysesResultPaperAccess2018 analysesResult, 
 			GenerateTASWindowsExcelSheet generateTASWindowsExcelSheet,
 			GenerateTASWindowCharts generateTASWindowsCharts,
@@ -214,18 +510,327 @@ public class ExecutionConfig {
 			ValidateSchedulingForFrameSize validateSchedulingForFrameSize,
 			SaveServerGraph saveServerGraph,
 			Multiplexing multiplexing) 
+	{
+		this(new Builder()
+				.analysesResult(analysesResult)
+				.generateTASWindowsExcelSheet(generateTASWindowsExcelSheet)
+				.generateTASWindowsCharts(generateTASWindowsCharts)
+				.generateNCCurvesCharts(generateNCCurvesCharts)
+				.generatePortGuaranteedWinFiles(generatePortGuaranteedWinFiles)
+				.prioritizingOrder(prioritizingOrder)
+				.plcaModeling(plcaModeling)
+				.validateSchedulingForFrameSize(validateSchedulingForFrameSize)
+				.saveServerGraph(saveServerGraph)
+				.multiplexing(multiplexing));
+	}
+
+	private ExecutionConfig(Builder builder) 
 	{
 		super();
-		this.analysesResult = analysesResult;
-		this.generateTASWindowsExcelSheet = generateTASWindowsExcelSheet;
-		this.generateTASWindowsCharts = generateTASWindowsCharts;
-		this.generateNCCurvesCharts = generateNCCurvesCharts;
-		this.generatePortGuaranteedWinFiles = generatePortGuaranteedWinFiles;
-		this.prioritizingOrder = prioritizingOrder;
-		this.multiplexing = multiplexing;
-		this.validateSchedulingForFrameSize = validateSchedulingForFrameSize;
-		this.saveServerGraph = saveServerGraph;
-		this.plcaModeling = plcaModeling;
+
+		if(builder.flowAnalysisWorkers < 1)
+			throw new InvalidParameterException("flowAnalysisWorkers={"+builder.flowAnalysisWorkers+"} must be at least 1");
+
+		if(builder.tasWindowsBuildWorkers < 1)
+			throw new InvalidParameterException("tasWindowsBuildWorkers={"+builder.tasWindowsBuildWorkers+"} must be at least 1");
+
+		Objects.requireNonNull(builder.analysisMethods, "analysisMethods cannot be null");
+
+		if(builder.analysisTimeBudgetMs < 0)
+			throw new InvalidParameterException("analysisTimeBudgetMs={"+builder.analysisTimeBudgetMs+"} cannot be negative");
+
+		if(builder.tasWindowsBudget < 0)
+			throw new InvalidParameterException("tasWindowsBudget={"+builder.tasWindowsBudget+"} cannot be negative");
+
+		Objects.requireNonNull(builder.tasWindowsMemoization, "tasWindowsMemoization cannot be null");
+
+		if(builder.tasWindowsMemoization != TASWindowsMemoization.NO && builder.generateTASWindowsCharts != GenerateTASWindowCharts.NO)
+			throw new InvalidParameterException("tasWindowsMemoization={"+builder.tasWindowsMemoization+"} requires generateTASWindowsCharts={"+GenerateTASWindowCharts.NO+"}");
+
+		if(builder.tasWindowsMemoization == TASWindowsMemoization.IN_MEMORY_AND_DISK && builder.tasWindowsMemoDirectory == null)
+			throw new InvalidParameterException("tasWindowsMemoDirectory cannot be null when tasWindowsMemoization={"+builder.tasWindowsMemoization+"}");
+
+		Objects.requireNonNull(builder.tasWindowsTimeArithmetic, "tasWindowsTimeArithmetic cannot be null");
+
+		if(builder.tasWindowsTimeArithmetic != TASWindowsTimeArithmetic.DOUBLE_MICROSECONDS && builder.tasWindowsComputation != TASWindowsComputation.FUSED_SWEEP)
+			throw new InvalidParameterException("tasWindowsTimeArithmetic={"+builder.tasWindowsTimeArithmetic+"} requires tasWindowsComputation={"+TASWindowsComputation.FUSED_SWEEP+"}");
+
+		Objects.requireNonNull(builder.stServiceCurveComputation, "stServiceCurveComputation cannot be null");
+
+		Objects.requireNonNull(builder.serviceCurveCaching, "serviceCurveCaching cannot be null");
+
+		if(builder.tasWindowsMemoMaxWindows < 1)
+			throw new InvalidParameterException("tasWindowsMemoMaxWindows={"+builder.tasWindowsMemoMaxWindows+"} must be at least 1");
+
+		if(builder.serviceCurveCacheMaxSegments < 1)
+			throw new InvalidParameterException("serviceCurveCacheMaxSegments={"+builder.serviceCurveCacheMaxSegments+"} must be at least 1");
+
+		Objects.requireNonNull(builder.out, "out cannot be null");
+		Objects.requireNonNull(builder.err, "err cannot be null");
+
+		this.analysesResult = builder.analysesResult;
+		this.generateTASWindowsExcelSheet = builder.generateTASWindowsExcelSheet;
+		this.generateTASWindowsCharts = builder.generateTASWindowsCharts;
+		this.generateNCCurvesCharts = builder.generateNCCurvesCharts;
+		this.generatePortGuaranteedWinFiles = builder.generatePortGuaranteedWinFiles;
+		this.prioritizingOrder = builder.prioritizingOrder;
+		this.multiplexing = builder.multiplexing;
+		this.validateSchedulingForFrameSize = builder.validateSchedulingForFrameSize;
+		this.saveServerGraph = builder.saveServerGraph;
+		this.plcaModeling = builder.plcaModeling;
+		this.flowAnalysisExecution = builder.flowAnalysisExecution;
+		this.flowAnalysisWorkers = builder.flowAnalysisWorkers;
+		this.tasWindowsBuildExecution = builder.tasWindowsBuildExecution;
+		this.tasWindowsBuildWorkers = builder.tasWindowsBuildWorkers;
+		this.totalFlowAnalysisMode = builder.totalFlowAnalysisMode;
+		this.analysisMethods = List.copyOf(builder.analysisMethods);
+		this.analysisTimeBudgetMs = builder.analysisTimeBudgetMs;
+		this.analysisPipeline = builder.analysisPipeline;
+		this.tasWindowsPeriodicity = builder.tasWindowsPeriodicity;
+		this.tasWindowsBudget = builder.tasWindowsBudget;
+		this.tasWindowsComputation = builder.tasWindowsComputation;
+		this.tasWindowsMemoization = builder.tasWindowsMemoization;
+		this.tasWindowsMemoDirectory = builder.tasWindowsMemoDirectory;
+		this.tasWindowsMemoMaxWindows = builder.tasWindowsMemoMaxWindows;
+		this.tasWindowsTimeArithmetic = builder.tasWindowsTimeArithmetic;
+		this.stServiceCurveComputation = builder.stServiceCurveComputation;
+		this.serviceCurveCaching = builder.serviceCurveCaching;
+		this.serviceCurveCacheMaxSegments = builder.serviceCurveCacheMaxSegments;
+		this.out = builder.out;
+		this.err = builder.err;
+
+		this.builder = builder.copy();
+	}
+
+	/**
+	 * @return	a Builder with all options of this configuration, to derive another configuration from it
+	 */
+	public Builder toBuilder() {
+		return this.builder.copy();
+	}
+
+	/**
+	 * Copy of this configuration storing the analyses results into {@param analysesResult}.
+	 * 
+	 * @param analysesResult
+	 * @return
+	 */
+	public ExecutionConfig withAnalysesResult(AnalysesResultPaperAccess2018 analysesResult) {
+		return this.toBuilder().analysesResult(analysesResult).build();
+	}
+
+	/**
+	 * Options of an ExecutionConfig, all with defaults, validated by {@link #build()}.
+	 * 
+	 * Every option is a field of the Builder, copied as a whole by {@link #copy()}, 
+	 * so a new option only needs a field here, its setter, and its final field in ExecutionConfig.
+	 */
+	public static final class Builder implements Cloneable {
+
+		private AnalysesResultPaperAccess2018 analysesResult = null;
+		private GenerateTASWindowsExcelSheet generateTASWindowsExcelSheet = GenerateTASWindowsExcelSheet.NO;
+		private GenerateTASWindowCharts generateTASWindowsCharts = GenerateTASWindowCharts.NO;
+		private GenerateNCCurvesCharts generateNCCurvesCharts = GenerateNCCurvesCharts.NO;
+		private GeneratePortGuaranteedWindowsFiles generatePortGuaranteedWinFiles = GeneratePortGuaranteedWindowsFiles.NO;
+		private PrioritizingOrder prioritizingOrder = PrioritizingOrder.LOWER_VALUE_HIGHER_PRIORITY;
+		private Multiplexing multiplexing = Multiplexing.FIFO;
+		private ValidateSchedulingForFrameSize validateSchedulingForFrameSize = ValidateSchedulingForFrameSize.NO;
+		private SaveServerGraph saveServerGraph = SaveServerGraph.NO;
+		private PLCAModeling plcaModeling = PLCAModeling.SINGLE_PLCA_SERVER_MODELING;
+		private FlowAnalysisExecution flowAnalysisExecution = FlowAnalysisExecution.SEQUENTIAL;
+		private int flowAnalysisWorkers = Runtime.getRuntime().availableProcessors();
+		private TASWindowsBuildExecution tasWindowsBuildExecution = TASWindowsBuildExecution.SEQUENTIAL;
+		private int tasWindowsBuildWorkers = Runtime.getRuntime().availableProcessors();
+		private TotalFlowAnalysisMode totalFlowAnalysisMode = TotalFlowAnalysisMode.PER_FLOW;
+		private List<AnalysisMethod> analysisMethods = List.of(AnalysisMethod.TFA, AnalysisMethod.SFA);
+		private long analysisTimeBudgetMs = 0;
+		private AnalysisPipeline analysisPipeline = AnalysisPipeline.ALL_ANALYSES;
+		private TASWindowsPeriodicity tasWindowsPeriodicity = TASWindowsPeriodicity.EVALUATE_ALL_WINDOWS;
+		private long tasWindowsBudget = 0;
+		private TASWindowsComputation tasWindowsComputation = TASWindowsComputation.STEP_PIPELINE;
+		private TASWindowsMemoization tasWindowsMemoization = TASWindowsMemoization.NO;
+		private String tasWindowsMemoDirectory = null;
+		private long tasWindowsMemoMaxWindows = TASWindowsMemo.DEFAULT_MAX_WINDOWS;
+		private TASWindowsTimeArithmetic tasWindowsTimeArithmetic = TASWindowsTimeArithmetic.DOUBLE_MICROSECONDS;
+		private STServiceCurveComputation stServiceCurveComputation = STServiceCurveComputation.CURVE_FOLD;
+		private ServiceCurveCaching serviceCurveCaching = ServiceCurveCaching.NO;
+		private long serviceCurveCacheMaxSegments = ServiceCurveCache.DEFAULT_MAX_SEGMENTS;
+		private PrintStream out = System.out;
+		private PrintStream err = System.err;
+
+		public Builder() {
+
+		}
+
+		public Builder analysesResult(AnalysesResultPaperAccess2018 analysesResult) {
+			this.analysesResult = analysesResult;
+			return this;
+		}
+
+		public Builder generateTASWindowsExcelSheet(GenerateTASWindowsExcelSheet generateTASWindowsExcelSheet) {
+			this.generateTASWindowsExcelSheet = generateTASWindowsExcelSheet;
+			return this;
+		}
+
+		public Builder generateTASWindowsCharts(GenerateTASWindowCharts generateTASWindowsCharts) {
+			this.generateTASWindowsCharts = generateTASWindowsCharts;
+			return this;
+		}
+
+		public Builder generateNCCurvesCharts(GenerateNCCurvesCharts generateNCCurvesCharts) {
+			this.generateNCCurvesCharts = generateNCCurvesCharts;
+			return this;
+		}
+
+		public Builder generatePortGuaranteedWinFiles(GeneratePortGuaranteedWindowsFiles generatePortGuaranteedWinFiles) {
+			this.generatePortGuaranteedWinFiles = generatePortGuaranteedWinFiles;
+			return this;
+		}
+
+		public Builder prioritizingOrder(PrioritizingOrder prioritizingOrder) {
+			this.prioritizingOrder = prioritizingOrder;
+			return this;
+		}
+
+		public Builder multiplexing(Multiplexing multiplexing) {
+			this.multiplexing = multiplexing;
+			return this;
+		}
+
+		public Builder validateSchedulingForFrameSize(ValidateSchedulingForFrameSize validateSchedulingForFrameSize) {
+			this.validateSchedulingForFrameSize = validateSchedulingForFrameSize;
+			return this;
+		}
+
+		public Builder saveServerGraph(SaveServerGraph saveServerGraph) {
+			this.saveServerGraph = saveServerGraph;
+			return this;
+		}
+
+		public Builder plcaModeling(PLCAModeling plcaModeling) {
+			this.plcaModeling = plcaModeling;
+			return this;
+		}
+
+		public Builder flowAnalysisExecution(FlowAnalysisExecution flowAnalysisExecution) {
+			this.flowAnalysisExecution = flowAnalysisExecution;
+			return this;
+		}
+
+		public Builder flowAnalysisWorkers(int flowAnalysisWorkers) {
+			this.flowAnalysisWorkers = flowAnalysisWorkers;
+			return this;
+		}
+
+		public Builder tasWindowsBuildExecution(TASWindowsBuildExecution tasWindowsBuildExecution) {
+			this.tasWindowsBuildExecution = tasWindowsBuildExecution;
+			return this;
+		}
+
+		public Builder tasWindowsBuildWorkers(int tasWindowsBuildWorkers) {
+			this.tasWindowsBuildWorkers = tasWindowsBuildWorkers;
+			return this;
+		}
+
+		public Builder totalFlowAnalysisMode(TotalFlowAnalysisMode totalFlowAnalysisMode) {
+			this.totalFlowAnalysisMode = totalFlowAnalysisMode;
+			return this;
+		}
+
+		public Builder analysisMethods(List<AnalysisMethod> analysisMethods) {
+			this.analysisMethods = analysisMethods;
+			return this;
+		}
+
+		public Builder analysisTimeBudgetMs(long analysisTimeBudgetMs) {
+			this.analysisTimeBudgetMs = analysisTimeBudgetMs;
+			return this;
+		}
+
+		public Builder analysisPipeline(AnalysisPipeline analysisPipeline) {
+			this.analysisPipeline = analysisPipeline;
+			return this;
+		}
+
+		public Builder tasWindowsPeriodicity(TASWindowsPeriodicity tasWindowsPeriodicity) {
+			this.tasWindowsPeriodicity = tasWindowsPeriodicity;
+			return this;
+		}
+
+		public Builder tasWindowsBudget(long tasWindowsBudget) {
+			this.tasWindowsBudget = tasWindowsBudget;
+			return this;
+		}
+
+		public Builder tasWindowsComputation(TASWindowsComputation tasWindowsComputation) {
+			this.tasWindowsComputation = tasWindowsComputation;
+			return this;
+		}
+
+		public Builder tasWindowsMemoization(TASWindowsMemoization tasWindowsMemoization) {
+			this.tasWindowsMemoization = tasWindowsMemoization;
+			return this;
+		}
+
+		public Builder tasWindowsMemoDirectory(String tasWindowsMemoDirectory) {
+			this.tasWindowsMemoDirectory = tasWindowsMemoDirectory;
+			return this;
+		}
+
+		public Builder tasWindowsMemoMaxWindows(long tasWindowsMemoMaxWindows) {
+			this.tasWindowsMemoMaxWindows = tasWindowsMemoMaxWindows;
+			return this;
+		}
+
+		public Builder tasWindowsTimeArithmetic(TASWindowsTimeArithmetic tasWindowsTimeArithmetic) {
+			this.tasWindowsTimeArithmetic = tasWindowsTimeArithmetic;
+			return this;
+		}
+
+		public Builder stServiceCurveComputation(STServiceCurveComputation stServiceCurveComputation) {
+			this.stServiceCurveComputation = stServiceCurveComputation;
+			return this;
+		}
+
+		public Builder serviceCurveCaching(ServiceCurveCaching serviceCurveCaching) {
+			this.serviceCurveCaching = serviceCurveCaching;
+			return this;
+		}
+
+		public Builder serviceCurveCacheMaxSegments(long serviceCurveCacheMaxSegments) {
+			this.serviceCurveCacheMaxSegments = serviceCurveCacheMaxSegments;
+			return this;
+		}
+
+		public Builder out(PrintStream out) {
+			this.out = out;
+			return this;
+		}
+
+		public Builder err(PrintStream err) {
+			this.err = err;
+			return this;
+		}
+
+		/**
+		 * @return	a new ExecutionConfig with the options of this Builder
+		 * @throws InvalidParameterException	if the options are not consistent among them
+		 */
+		public ExecutionConfig build() {
+			return new ExecutionConfig(this);
+		}
+
+		/**
+		 * @return	a new Builder with the same options. The analysesResult, the console streams and the analysisMethods list are shared
+		 * 			with this Builder (ExecutionConfig copies analysisMethods when it is built); all other options are immutable values.
+		 */
+		Builder copy() {
+			try {
+				return (Builder) super.clone();
+			} catch (CloneNotSupportedException e) {
+				throw new IllegalStateException(e);
+			}
+		}
 	}
 
 
@@ -0,0 +1,497 @@
+package org.networkcalculus.dnc.ethernet.tsn;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+import org.networkcalculus.dnc.ethernet.EthernetPhyStandard;
+import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindow;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowRing;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTimeline;
+
+/**
+ * Computes the TASWindow terms of Equations 9, 10 and 13 to 20 (TASWindowsBuilder steps 2 to 7)
+ * and Equations 22 and 23 (step 9) with two time-ordered sweeps over the windows of an Ethernet interface.
+ *
+ * All windows of all priorities are sorted once by opening time.
+ * A sweep walks them in this order keeping the windows still open, so every pair of overlapping windows is visited once
+ * and contributes to the terms of both windows of the pair:
+ * 	- 1st sweep: d^{np,i}_{L}, t^{c,i}_{P_{m^{-}}}, t^{o,i}_{P_{m^{-}}}, t^{B,i}_{H} and t^{E,i}_{H}, followed by the per-window Equations 10 and 17 to 20;
+ * 	- 2nd sweep: lower priority non-preemption delay at the end of the guaranteed slot t^{E,i}_{P_m} of each window,
+ * 	  giving d^{np,0}_{L} and S^{i}_{P_m} of the next window of the same priority.
+ *
+ * Each pair condition is the one used by the corresponding step, written over the opening and closing times,
+ * so the terms are the same as the step pipeline (see demos.TASWindowsFusedSweepEquivalence).
+ *
+ * Times are kept in the unit of a {@link TASWindowsTimeScale}: double microseconds, or whole ticks where every comparison, min/max, sum
+ * and difference is exact, so within the two sweeps a window boundary equal to another one (e.g. t^{c,i}_{P_m} of a window and
+ * t^{o,i}_{P_m} of the next one) is never misclassified by a rounding error.
+ * This holds only inside the sweeps: the terms are stored back as double microseconds (the nearest double of ticks / ticks per µs),
+ * including t^{o,i}_{P_m}, t^{c,i}_{P_m}, d_gb_Pm and t^{gb,i}_{P_m} of Step 1, so every later comparison
+ * (Step 8, Step 10, TASWindow.isGateOpen()/hasCollision(), the timelines and the service curves) has the usual double rounding.
+ *
+ * Only windows created within the GCL hyperperiod must be given, with Step 1 terms filled.
+ * The terms are written into the rows of the TASWindowTable of each priority of the ring. When a table keeps rows for some T_Pm periods only,
+ * the windows of the other periods are read shifted from their rows (as the steps do) and only take part as neighbours of the rows.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class FusedTASWindowsCalculator {
+
+	@FunctionalInterface
+	private interface PairVisitor {
+		void visit(int a, int b);
+	}
+
+	private final EthernetPhyStandard phyStandard;
+	private final ExecutionConfig.PrioritizingOrder prioritizingOrder;
+	private final TASWindowsTimeScale timeScale;
+
+	/**
+	 * Warnings are printed to it
+	 */
+	private final PrintStream out;
+
+	public FusedTASWindowsCalculator(EthernetPhyStandard phyStandard, ExecutionConfig.PrioritizingOrder prioritizingOrder, 
+			ExecutionConfig.TASWindowsTimeArithmetic tasWindowsTimeArithmetic, PrintStream out) {
+
+		Objects.requireNonNull(phyStandard, "phyStandard cannot be null");
+		Objects.requireNonNull(prioritizingOrder, "prioritizingOrder cannot be null");
+		Objects.requireNonNull(out, "out cannot be null");
+
+		this.phyStandard = phyStandard;
+		this.prioritizingOrder = prioritizingOrder;
+		this.timeScale = new TASWindowsTimeScale(tasWindowsTimeArithmetic);
+		this.out = out;
+	}
+
+	/**
+	 * Fill the terms of all rows of the tables of {@param ring}.
+	 *
+	 * The windows of each row are the targets. When some table keeps its rows for some T_Pm periods only (see PeriodicTASWindowSchedule),
+	 * the windows of the other periods overlapping a target, or the previous window of a target, are added too (taken from {@param timeline}),
+	 * so the sweeps see every window around a target, but only the targets are written.
+	 *
+	 * @param interfaceInfo	used in warnings only
+	 * @param ring			windows of all priorities in index order
+	 * @param timeline		index over the windows of the tables of {@param ring}
+	 */
+	public void calculate(InterfaceInfoEntry interfaceInfo, TASWindowRing ring, TASWindowTimeline timeline) {
+
+		Objects.requireNonNull(ring, "ring cannot be null");
+		Objects.requireNonNull(timeline, "timeline cannot be null");
+
+		final List<Integer> priorities = new ArrayList<Integer>(ring.getPriorities());
+		final TASWindowTable[] slotTables = new TASWindowTable[priorities.size()];
+
+		int targetCount = 0;
+		boolean periodic = false;
+		for(int s = 0 ; s < priorities.size() ; s++) {
+
+			final TASWindowTable table = ring.getTable(priorities.get(s));
+
+			if(!table.isFilled(TASWindowTable.DoubleTerm.t_oi_Pm))
+				throw new NullPointerException("You must fill all 't_oi_Pm' values before call this method");
+			if(!table.isFilled(TASWindowTable.DoubleTerm.t_ci_Pm))
+				throw new NullPointerException("You must fill all 't_ci_Pm' values before call this method");
+			if(!table.isFilled(TASWindowTable.DoubleTerm.l_max_Pm))
+				throw new NullPointerException("You must fill all 'l_max_Pm' values before call this method");
+			if(!table.isFilled(TASWindowTable.DoubleTerm.l_min_Pm))
+				throw new NullPointerException("You must fill all 'l_min_Pm' values before call this method");
+
+			slotTables[s] = table;
+			targetCount += table.size();
+			periodic |= (table.size() < table.getWindowCount());
+		}
+
+		/**
+		 * Windows of the periods without their own rows around the targets, by slot
+		 */
+		final List<TreeSet<Integer>> contextIndexesBySlot = new ArrayList<TreeSet<Integer>>();
+		for(int s = 0 ; s < priorities.size() ; s++)
+			contextIndexesBySlot.add(new TreeSet<Integer>());
+
+		if(periodic) {
+			for(int s = 0 ; s < priorities.size() ; s++) {
+
+				final TASWindowTable table = slotTables[s];
+				final int last = table.getWindowCount() - 1;
+
+				for(int row = 0 ; row < table.size() ; row++) {
+
+					final int index = table.getWindowOfRow(row);
+
+					this.addOverlapping(timeline, priorities, slotTables, contextIndexesBySlot,
+							table.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, index), table.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, index));
+
+					if(index > 0) {
+						if(!table.isOwnRow(index - 1) && contextIndexesBySlot.get(s).add(index - 1))
+							this.addOverlapping(timeline, priorities, slotTables, contextIndexesBySlot,
+									table.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, index - 1), table.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, index - 1));
+					}else {
+						//The last window of the previous GCL hyperperiod
+						final double T_GCL = table.get(TASWindowTable.LongTerm.T_GCL, row);
+						this.addOverlapping(timeline, priorities, slotTables, contextIndexesBySlot,
+								table.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, last) - T_GCL, table.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, last) - T_GCL);
+					}
+				}
+			}
+		}
+
+		int size = targetCount;
+		for(TreeSet<Integer> contextIndexes : contextIndexesBySlot)
+			size += contextIndexes.size();
+
+		/**
+		 * Flatten windows by priority (slot) and row, converting Step 1 terms to the time scale.
+		 * Targets come first, followed by the other windows.
+		 */
+		final int[][] flatIndexesBySlot = new int[priorities.size()][];
+		final List<Map<Integer,Integer>> contextFlatIndexesBySlot = new ArrayList<Map<Integer,Integer>>();
+
+		final TASWindowTable[] tables = new TASWindowTable[size];
+		final int[] rows = new int[size];
+		final long[] timeOffsets = new long[size];
+		final int[] slot = new int[size];
+		final int[] priority = new int[size];
+		final double[] open = new double[size];
+		final double[] close = new double[size];
+		final double[] maxFrameTx = new double[size];
+		final double[] minFrameTx = new double[targetCount];
+		final double[] t_gbi_Pm = new double[targetCount];
+
+		int flat = 0;
+		for(int s = 0 ; s < priorities.size() ; s++) {
+
+			final TASWindowTable table = slotTables[s];
+
+			flatIndexesBySlot[s] = new int[table.size()];
+
+			for(int row = 0 ; row < table.size() ; row++) {
+
+				flatIndexesBySlot[s][row] = flat;
+				this.flatten(flat, table, row, 0L, s, tables, rows, timeOffsets, slot, priority, open, close, maxFrameTx);
+
+				minFrameTx[flat] = this.timeScale.transmissionTime(this.phyStandard, table.get(TASWindowTable.DoubleTerm.l_min_Pm, row));
+
+				//Equation 12 on the tick grid. In microseconds, Step 1 already has it (shifted by PeriodicTASWindowSchedule in later periods)
+				t_gbi_Pm[flat] = this.timeScale.isTicks() ? (close[flat] - maxFrameTx[flat]) : table.get(TASWindowTable.DoubleTerm.t_gbi_Pm, row);
+				flat++;
+			}
+		}
+
+		for(int s = 0 ; s < priorities.size() ; s++) {
+
+			final TASWindowTable table = slotTables[s];
+			final Map<Integer,Integer> contextFlatIndexes = new HashMap<Integer, Integer>();
+
+			for(Integer index : contextIndexesBySlot.get(s)) {
+				contextFlatIndexes.put(index, flat);
+				this.flatten(flat, table, table.getRow(index), table.getTimeOffset(index), s, tables, rows, timeOffsets, slot, priority, open, close, maxFrameTx);
+				flat++;
+			}
+
+			contextFlatIndexesBySlot.add(contextFlatIndexes);
+		}
+
+		/**
+		 * Gate events sorted once: windows by opening time
+		 */
+		final int[] openingOrder = sortByOpeningTime(open);
+
+		/**
+		 * 1st sweep: Equations 9, 13, 14, 15 and 16
+		 */
+		final double[] d_npi_L = new double[targetCount];
+		final double[] t_ci_Pm_minus = Arrays.copyOf(open, targetCount);
+		final double[] t_oi_Pm_minus = Arrays.copyOf(close, targetCount);
+		final double[] t_Bi_H = Arrays.copyOf(open, targetCount);
+		final double[] t_Ei_H = Arrays.copyOf(close, targetCount);
+
+		final PairVisitor firstSweep = (target, other) -> {
+
+			if(this.lessThan(priority[other], priority[target])) {
+
+				//Equation 9: lower priority gate open at t^{o,i}_{P_m}
+				if(open[other] <= open[target] && open[target] <= close[other])
+					d_npi_L[target] = Math.max(d_npi_L[target], Math.min(maxFrameTx[other], close[other] - open[target]));
+
+			}else if(this.greaterThan(priority[other], priority[target])) {
+
+				//Equation 13: higher priority window colliding and open at t^{o,i}_{P_m}
+				if(open[other] <= open[target] && open[target] < close[other])
+					t_ci_Pm_minus[target] = Math.max(t_ci_Pm_minus[target], close[other]);
+
+				//Equation 14: higher priority window colliding and open at t^{c,i}_{P_m}
+				if(open[other] < close[target] && close[target] <= close[other])
+					t_oi_Pm_minus[target] = Math.min(t_oi_Pm_minus[target], open[other]);
+
+				//Equation 15: higher priority window closing within the target window and opened before it
+				if(open[other] < open[target] && open[target] <= close[other] && close[other] <= close[target])
+					t_Bi_H[target] = Math.max(t_Bi_H[target], close[other]);
+
+				//Equation 16: higher priority window opening within the target window and closing after it
+				if(open[target] <= open[other] && open[other] <= close[target] && close[target] < close[other])
+					t_Ei_H[target] = Math.min(t_Ei_H[target], open[other]);
+			}
+		};
+
+		final int targets = targetCount;
+		visitOverlappingPairs(openingOrder, open, close, (a, b) -> {
+			if(a < targets)
+				firstSweep.visit(a, b);
+			if(b < targets)
+				firstSweep.visit(b, a);
+		});
+
+		/**
+		 * Equations 10 and 17 to 20
+		 */
+		final double[] t_Bi_Pm = new double[targetCount];
+		final double[] t_Ei_Pm = new double[size];
+
+		for(int i = 0 ; i < targetCount ; i++) {
+
+			final TASWindowTable table = tables[i];
+			final int row = rows[i];
+
+			final double t_npi_L = d_npi_L[i] + open[i];
+
+			table.set(TASWindowTable.DoubleTerm.t_oi_Pm, row, this.timeScale.toMicroseconds(open[i]));
+			table.set(TASWindowTable.DoubleTerm.t_ci_Pm, row, this.timeScale.toMicroseconds(close[i]));
+			table.set(TASWindowTable.DoubleTerm.d_gb_Pm, row, this.timeScale.toMicroseconds(maxFrameTx[i]));
+			table.set(TASWindowTable.DoubleTerm.t_gbi_Pm, row, this.timeScale.toMicroseconds(t_gbi_Pm[i]));
+
+			table.set(TASWindowTable.DoubleTerm.d_npi_L, row, this.timeScale.toMicroseconds(d_npi_L[i]));
+			table.set(TASWindowTable.DoubleTerm.t_npi_L, row, this.timeScale.toMicroseconds(t_npi_L));
+
+			//Not used anymore (see TASWindowsBuilder.calculateTASWindowTablesStep2_3_4_5_Correct())
+			table.set(TASWindowTable.DoubleTerm.l_max_Pm_plus, row, Double.NaN);
+			table.set(TASWindowTable.DoubleTerm.t_ci_Pm_plus, row, Double.NaN);
+			table.set(TASWindowTable.DoubleTerm.d_npi_Pm_plus, row, Double.NaN);
+
+			table.set(TASWindowTable.DoubleTerm.t_ci_Pm_minus, row, this.timeScale.toMicroseconds(t_ci_Pm_minus[i]));
+			table.set(TASWindowTable.DoubleTerm.t_oi_Pm_minus, row, this.timeScale.toMicroseconds(t_oi_Pm_minus[i]));
+
+			table.set(TASWindowTable.DoubleTerm.t_Bi_H, row, this.timeScale.toMicroseconds(t_Bi_H[i]));
+			table.set(TASWindowTable.DoubleTerm.t_Ei_H, row, this.timeScale.toMicroseconds(t_Ei_H[i]));
+
+			if(t_Bi_H[i] > t_Ei_H[i])
+				this.out.println("Warning: t_Bi_H={"+this.timeScale.toMicroseconds(t_Bi_H[i])+"} > t_Ei_H={"+this.timeScale.toMicroseconds(t_Ei_H[i])+"}, interfaceInfo=" + interfaceInfo.toStringInfo() + ", window=" + table.toString(row));
+
+			t_Bi_Pm[i] = Math.max(t_npi_L, t_Bi_H[i]);
+			t_Ei_Pm[i] = Math.min(t_gbi_Pm[i], t_Ei_H[i]);
+
+			double L_bar_i_Pm = 0.0;
+			if(t_Bi_Pm[i] < t_Ei_Pm[i])
+				L_bar_i_Pm = Math.max(t_Ei_Pm[i] - t_Bi_Pm[i], minFrameTx[i]);
+
+			double o_bar_i_Pm = 0.0;
+			if(L_bar_i_Pm != 0.0)
+				o_bar_i_Pm = t_Bi_Pm[i] - open[i];
+
+			table.set(TASWindowTable.DoubleTerm.t_Bi_Pm, row, this.timeScale.toMicroseconds(t_Bi_Pm[i]));
+			table.set(TASWindowTable.DoubleTerm.t_Ei_Pm, row, this.timeScale.toMicroseconds(t_Ei_Pm[i]));
+			table.set(TASWindowTable.DoubleTerm.L_bar_i_Pm, row, this.timeScale.toMicroseconds(L_bar_i_Pm));
+			table.set(TASWindowTable.DoubleTerm.o_bar_i_Pm, row, this.timeScale.toMicroseconds(o_bar_i_Pm));
+		}
+
+		//The other windows have the guaranteed slot of their row, shifted in time
+		for(int i = targetCount ; i < size ; i++)
+			t_Ei_Pm[i] = t_Ei_Pm[flatIndexesBySlot[slot[i]][rows[i]]] + this.timeScale.periodToTime(timeOffsets[i]);
+
+		/**
+		 * 2nd sweep: for each window (as the previous one of Equation 22), the minimum busy time of each lower priority colliding with it
+		 */
+
+		final double[][] minBusyTime = new double[size][priorities.size()];
+		final boolean[][] hasMinBusyTime = new boolean[size][priorities.size()];
+
+		final PairVisitor secondSweep = (previous, other) -> {
+			if(this.lessThan(priority[other], priority[previous]) && TASWindow.hasCollision(open[previous], close[previous], open[other], close[other])) {
+
+				final double calculatedMinBusyTime = Math.min(maxFrameTx[other], t_Ei_Pm[previous] - open[other]);
+
+				minBusyTime[previous][slot[other]] = hasMinBusyTime[previous][slot[other]] ?
+						Math.min(minBusyTime[previous][slot[other]], calculatedMinBusyTime) : calculatedMinBusyTime;
+				hasMinBusyTime[previous][slot[other]] = true;
+			}
+		};
+
+		visitOverlappingPairs(openingOrder, open, close, (a, b) -> {
+			secondSweep.visit(a, b);
+			secondSweep.visit(b, a);
+		});
+
+		/**
+		 * Equations 22 and 23
+		 */
+		for(int s = 0 ; s < priorities.size() ; s++) {
+
+			final TASWindowTable table = slotTables[s];
+			final int[] flatIndexes = flatIndexesBySlot[s];
+			final Map<Integer,Integer> contextFlatIndexes = contextFlatIndexesBySlot.get(s);
+
+			for(int row = 0 ; row < flatIndexes.length ; row++) {
+
+				final int index = table.getWindowOfRow(row);
+
+				final double[] previousMinBusyTime;
+				final boolean[] previousHasMinBusyTime;
+				final double previous_t_Ei_Pm;
+
+				if(index > 0) {
+					final int previous = table.isOwnRow(index - 1) ? flatIndexes[table.getRow(index - 1)] : contextFlatIndexes.get(index - 1);
+
+					previousMinBusyTime = minBusyTime[previous];
+					previousHasMinBusyTime = hasMinBusyTime[previous];
+					previous_t_Ei_Pm = t_Ei_Pm[previous];
+				}else {
+					//The previous window of the first one is the last one from the previous GCL hyperperiod (see TASWindowRing)
+					final int lastIndex = table.getWindowCount() - 1;
+					final int lastRow = table.getRow(lastIndex);
+					final double lastTimeOffset = this.timeScale.periodToTime(table.getTimeOffset(lastIndex));
+					final double T_GCL = this.timeScale.periodToTime(table.get(TASWindowTable.LongTerm.T_GCL, lastRow));
+
+					previousMinBusyTime = new double[priorities.size()];
+					previousHasMinBusyTime = new boolean[priorities.size()];
+					previous_t_Ei_Pm = t_Ei_Pm[flatIndexes[lastRow]] + lastTimeOffset - T_GCL;
+
+					final double previousOpen = this.timeScale.toTime(table.get(TASWindowTable.DoubleTerm.t_oi_Pm, lastRow)) + lastTimeOffset - T_GCL;
+					final double previousClose = this.timeScale.toTime(table.get(TASWindowTable.DoubleTerm.t_ci_Pm, lastRow)) + lastTimeOffset - T_GCL;
+
+					for(int other = 0 ; other < size ; other++) {
+						if(this.lessThan(priority[other], priorities.get(s)) && TASWindow.hasCollision(previousOpen, previousClose, open[other], close[other])) {
+
+							final double calculatedMinBusyTime = Math.min(maxFrameTx[other], previous_t_Ei_Pm - open[other]);
+
+							previousMinBusyTime[slot[other]] = previousHasMinBusyTime[slot[other]] ?
+									Math.min(previousMinBusyTime[slot[other]], calculatedMinBusyTime) : calculatedMinBusyTime;
+							previousHasMinBusyTime[slot[other]] = true;
+						}
+					}
+				}
+
+				Double maxMinBusyTime = null;
+				for(int p = 0 ; p < priorities.size() ; p++) {
+					if(previousHasMinBusyTime[p])
+						maxMinBusyTime = (maxMinBusyTime == null) ? previousMinBusyTime[p] : Math.max(maxMinBusyTime, previousMinBusyTime[p]);
+				}
+
+				final int target = flatIndexes[row];
+				final double d_np0_L = (maxMinBusyTime == null) ? 0.0 : maxMinBusyTime;
+
+				tables[target].set(TASWindowTable.DoubleTerm.d_np0_L, rows[target], this.timeScale.toMicroseconds(d_np0_L));
+				tables[target].set(TASWindowTable.DoubleTerm.S_i_Pm, rows[target], this.timeScale.toMicroseconds(d_np0_L + t_Bi_Pm[target] - previous_t_Ei_Pm));
+			}
+		}
+	}
+
+	/**
+	 * Add to {@param contextIndexesBySlot} the windows overlapping [{@param from}, {@param to}] (in microseconds) which are not held by their own row.
+	 * The range is widened by one tick, so windows meeting only after rounding to the time scale are not missed.
+	 */
+	private void addOverlapping(TASWindowTimeline timeline, List<Integer> priorities, TASWindowTable[] slotTables, List<TreeSet<Integer>> contextIndexesBySlot, double from, double to) {
+
+		final double margin = this.timeScale.toMicroseconds(1.0);
+
+		for(int s = 0 ; s < priorities.size() ; s++) {
+
+			final TASWindowTable table = slotTables[s];
+			final TreeSet<Integer> contextIndexes = contextIndexesBySlot.get(s);
+
+			timeline.forEachOverlapping(priorities.get(s), from - margin, to + margin, index -> {
+				if(!table.isOwnRow(index))
+					contextIndexes.add(index);
+			});
+		}
+	}
+
+	/**
+	 * Set the entry {@param flat} with the window of {@param row} of {@param table} shifted by {@param timeOffset} (in microseconds)
+	 */
+	private void flatten(int flat, TASWindowTable table, int row, long timeOffset, int s, TASWindowTable[] tables, int[] rows, long[] timeOffsets, 
+			int[] slot, int[] priority, double[] open, double[] close, double[] maxFrameTx) {
+
+		final double offset = this.timeScale.periodToTime(timeOffset);
+
+		tables[flat] = table;
+		rows[flat] = row;
+		timeOffsets[flat] = timeOffset;
+		slot[flat] = s;
+		priority[flat] = (int) table.get(TASWindowTable.LongTerm.priorityPm, row);
+		open[flat] = this.timeScale.toTime(table.get(TASWindowTable.DoubleTerm.t_oi_Pm, row)) + offset;
+		close[flat] = this.timeScale.toTime(table.get(TASWindowTable.DoubleTerm.t_ci_Pm, row)) + offset;
+		maxFrameTx[flat] = this.timeScale.transmissionTime(this.phyStandard, table.get(TASWindowTable.DoubleTerm.l_max_Pm, row));
+	}
+
+	/**
+	 * Calls {@param visitor} once for every pair of windows whose closed intervals [open, close] overlap.
+	 */
+	private static void visitOverlappingPairs(int[] openingOrder, double[] open, double[] close, PairVisitor visitor) {
+
+		final int[] active = new int[openingOrder.length];
+		int activeCount = 0;
+
+		for(int current : openingOrder) {
+
+			//Drop the windows closed before 'current' opens, and visit the remaining ones
+			int kept = 0;
+			for(int a = 0 ; a < activeCount ; a++) {
+				if(close[active[a]] >= open[current]) {
+					active[kept++] = active[a];
+					visitor.visit(active[a], current);
+				}
+			}
+
+			activeCount = kept;
+			active[activeCount++] = current;
+		}
+	}
+
+	private static int[] sortByOpeningTime(double[] open) {
+
+		final Integer[] order = new Integer[open.length];
+		for(int i = 0 ; i < open.length ; i++)
+			order[i] = i;
+
+		Arrays.sort(order, (i1, i2) -> Double.compare(open[i1], open[i2]));
+
+		final int[] result = new int[open.length];
+		for(int i = 0 ; i < open.length ; i++)
+			result[i] = order[i];
+
+		return result;
+	}
+
+	private boolean greaterThan(int priorityA, int priorityB) {
+		final int v = Integer.compare(priorityA, priorityB);
+
+		switch(this.prioritizingOrder) {
+		case LOWER_VALUE_HIGHER_PRIORITY: 	return (v < 0);
+		case HIGHER_VALUE_HIGHER_PRIORITY: 	return (v > 0);
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + this.prioritizingOrder);
+		}
+	}
+
+	private boolean lessThan(int priorityA, int priorityB) {
+		final int v = Integer.compare(priorityA, priorityB);
+
+		switch(this.prioritizingOrder) {
+		case LOWER_VALUE_HIGHER_PRIORITY: 	return (v > 0);
+		case HIGHER_VALUE_HIGHER_PRIORITY: 	return (v < 0);
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + this.prioritizingOrder);
+		}
+	}
+
+}
@@ -0,0 +1,244 @@
+package org.networkcalculus.dnc.ethernet.tsn;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.networkcalculus.dnc.Calculator;
+import org.networkcalculus.dnc.curves.Curve;
+import org.networkcalculus.dnc.curves.ServiceCurve;
+import org.networkcalculus.num.Num;
+import org.networkcalculus.num.NumFactory;
+
+/**
+ * Closed-form [Zhao, 2018, Eq. 4 and Eq. 7] over primitive arrays:
+ * 	beta_Pm = min_i { sum_j beta^{j,i}_{P_m} }, where every beta^{j,i}_{P_m} is a rate-latency curve R * max(0, t - T).
+ *
+ * A sum of rate-latency curves is convex and piecewise linear: its breakpoints are the sorted latencies,
+ * and its slope after a breakpoint is the sum of the rates of the latencies already passed, so it is built with a sort and a prefix sum.
+ * The lower envelope of the sums is built with a single sweep over all breakpoints, following the lowest sum and switching at their crossings.
+ * Only the resulting curve is created as a DNC ServiceCurve, instead of one curve per term and one per add() and min().
+ *
+ * With W sums, each sum costs a sort of its terms. The envelope costs O((B + C) * W), where B is the number of distinct breakpoints
+ * and C the number of crossings followed, since the lowest sum is searched among all W sums at every breakpoint and at every crossing.
+ * The result is the same curve as the DNC fold up to rounding, since the sums and crossings are rounded in a different order
+ * (see demos.STServiceCurveClosedFormEquivalence).
+ *
+ * Latencies below 0.0 are handled as 0.0, the same as Curve.getFactory().createRateLatency().
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class RateLatencyEnvelope {
+
+	/**
+	 * Continuous piecewise linear function starting at (0.0, 0.0): segment 's' begins at (x[s], y[s]) with slope g[s].
+	 */
+	static final class PiecewiseLinear {
+
+		final double[] x;
+		final double[] y;
+		final double[] g;
+
+		PiecewiseLinear(double[] x, double[] y, double[] g) {
+			this.x = x;
+			this.y = y;
+			this.g = g;
+		}
+
+		int size() {
+			return this.x.length;
+		}
+	}
+
+	private RateLatencyEnvelope() {
+
+	}
+
+	/**
+	 * @param rates			rates[i][k] of term k of sum i, in bits per microsecond (bpus)
+	 * @param latencies		latencies[i][k] of term k of sum i, in microseconds (us)
+	 * @return	min_i { sum_k rates[i][k] * max(0, t - latencies[i][k]) }
+	 */
+	public static ServiceCurve minOfSums(double[][] rates, double[][] latencies) {
+
+		Objects.requireNonNull(rates, "rates cannot be null");
+		Objects.requireNonNull(latencies, "latencies cannot be null");
+
+		if(rates.length == 0 || rates.length != latencies.length)
+			throw new InvalidParameterException("rates and latencies must have the same (not zero) number of sums: " + rates.length + " != " + latencies.length);
+
+		final PiecewiseLinear[] sums = new PiecewiseLinear[rates.length];
+		for(int i = 0 ; i < rates.length ; i++)
+			sums[i] = sum(rates[i], latencies[i]);
+
+		return toServiceCurve(lowerEnvelope(sums));
+	}
+
+	/**
+	 * [Zhao, 2018, Eq. 4]: sum of the rate-latency curves (rates[k], latencies[k])
+	 */
+	static PiecewiseLinear sum(double[] rates, double[] latencies) {
+
+		if(rates.length != latencies.length)
+			throw new InvalidParameterException("rates.length={"+rates.length+"} must be equals to latencies.length={"+latencies.length+"}");
+
+		final Integer[] order = new Integer[rates.length];
+		for(int k = 0 ; k < order.length ; k++)
+			order[k] = k;
+		Arrays.sort(order, (k1, k2) -> Double.compare(Math.max(0.0, latencies[k1]), Math.max(0.0, latencies[k2])));
+
+		final double[] x = new double[rates.length + 1];
+		final double[] y = new double[rates.length + 1];
+		final double[] g = new double[rates.length + 1];
+		int size = 1;
+
+		for(int position = 0 ; position < order.length ; position++) {
+
+			final int k = order[position];
+			final double latency = Math.max(0.0, latencies[k]);
+
+			//Terms without rate add no breakpoint
+			if(rates[k] == 0.0)
+				continue;
+
+			final int last = size - 1;
+			if(latency > x[last]) {
+				x[size] = latency;
+				y[size] = y[last] + g[last] * (latency - x[last]);
+				g[size] = g[last] + rates[k];
+				size++;
+			}else {
+				g[last] += rates[k];
+			}
+		}
+
+		return new PiecewiseLinear(Arrays.copyOf(x, size), Arrays.copyOf(y, size), Arrays.copyOf(g, size));
+	}
+
+	/**
+	 * [Zhao, 2018, Eq. 7]: lower envelope of {@param functions}, which all start at (0.0, 0.0).
+	 */
+	static PiecewiseLinear lowerEnvelope(PiecewiseLinear[] functions) {
+
+		/**
+		 * All breakpoints, sorted and without duplicates
+		 */
+		int count = 0;
+		for(PiecewiseLinear function : functions)
+			count += function.size();
+
+		final double[] breakpoints = new double[count];
+		count = 0;
+		for(PiecewiseLinear function : functions) {
+			System.arraycopy(function.x, 0, breakpoints, count, function.size());
+			count += function.size();
+		}
+		Arrays.sort(breakpoints);
+
+		int distinct = 0;
+		for(int b = 0 ; b < breakpoints.length ; b++) {
+			if(distinct == 0 || breakpoints[b] != breakpoints[distinct - 1])
+				breakpoints[distinct++] = breakpoints[b];
+		}
+
+		final int[] segment = new int[functions.length];
+
+		double[] x = new double[2 * distinct + 1];
+		double[] y = new double[x.length];
+		double[] g = new double[x.length];
+		int size = 0;
+
+		for(int b = 0 ; b < distinct ; b++) {
+
+			final double from = breakpoints[b];
+			final double to = (b + 1 < distinct) ? breakpoints[b + 1] : Double.POSITIVE_INFINITY;
+
+			//Current segment of every function, and the lowest one at 'from' (the lowest slope on ties)
+			int lowest = -1;
+			for(int f = 0 ; f < functions.length ; f++) {
+
+				final PiecewiseLinear function = functions[f];
+				while(segment[f] + 1 < function.size() && function.x[segment[f] + 1] <= from)
+					segment[f]++;
+
+				if(lowest < 0 || isLower(functions, segment, f, lowest, from))
+					lowest = f;
+			}
+
+			double at = from;
+			while(true) {
+
+				final double lowestY = valueAt(functions[lowest], segment[lowest], at);
+				final double lowestG = functions[lowest].g[segment[lowest]];
+
+				if(size + 1 > x.length) {
+					x = Arrays.copyOf(x, 2 * x.length);
+					y = Arrays.copyOf(y, x.length);
+					g = Arrays.copyOf(g, x.length);
+				}
+
+				if(size == 0 || g[size - 1] != lowestG) {
+					x[size] = at;
+					y[size] = lowestY;
+					g[size] = lowestG;
+					size++;
+				}
+
+				//A function with lower slope crosses the lowest one before the next breakpoint
+				int next = -1;
+				double nextAt = to;
+				for(int f = 0 ; f < functions.length ; f++) {
+
+					final double slope = functions[f].g[segment[f]];
+					if(!(slope < lowestG))
+						continue;
+
+					final double crossing = at + (valueAt(functions[f], segment[f], at) - lowestY) / (lowestG - slope);
+					if(crossing > at && crossing < nextAt) {
+						nextAt = crossing;
+						next = f;
+					}
+				}
+
+				if(next < 0)
+					break;
+
+				lowest = next;
+				at = nextAt;
+			}
+		}
+
+		return new PiecewiseLinear(Arrays.copyOf(x, size), Arrays.copyOf(y, size), Arrays.copyOf(g, size));
+	}
+
+	private static boolean isLower(PiecewiseLinear[] functions, int[] segment, int f, int lowest, double at) {
+
+		final double value = valueAt(functions[f], segment[f], at);
+		final double lowestValue = valueAt(functions[lowest], segment[lowest], at);
+
+		return (value < lowestValue) || (value == lowestValue && functions[f].g[segment[f]] < functions[lowest].g[segment[lowest]]);
+	}
+
+	private static double valueAt(PiecewiseLinear function, int segment, double at) {
+		return function.y[segment] + function.g[segment] * (at - function.x[segment]);
+	}
+
+	/**
+	 * The only DNC curve created, with one DNC segment per segment of {@param function}.
+	 * The function is continuous, so no segment is left-open.
+	 */
+	static ServiceCurve toServiceCurve(PiecewiseLinear function) {
+
+		final NumFactory numFactory = Num.getFactory(Calculator.getInstance().getNumBackend());
+		final ServiceCurve serviceCurve = Curve.getFactory().createServiceCurve(function.size());
+
+		for(int s = 0 ; s < function.size() ; s++) {
+			serviceCurve.setSegment(s, Curve.getFactory().createLinearSegment(
+					numFactory.create(function.x[s]), numFactory.create(function.y[s]), numFactory.create(function.g[s]), false));
+		}
+
+		return serviceCurve;
+	}
+
+}
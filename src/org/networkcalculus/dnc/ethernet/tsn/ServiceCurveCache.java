@@ -0,0 +1,182 @@
+package org.networkcalculus.dnc.ethernet.tsn;
+
+import java.security.InvalidParameterException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.networkcalculus.dnc.curves.ServiceCurve;
+
+/**
+ * Bounded cache of the ST service curves built by TASCurveBuilder, shared by all interfaces and dataset cases of this JVM.
+ * It is the only place ST service curves are reused: TASWindowsMemo keeps only windows, and the PLCA service curves are kept by EthernetNetwork.
+ *
+ * ST service curves only depend on the EthernetPhyStandard, on the guaranteed windows of a priority and on the PLCAModeling.
+ * Many ports of the dataset share these inputs, so the curve is built once and the same instance is returned, which must not be changed.
+ *
+ * The key is the SHA-256 of a canonical text of the inputs (see HashUtil.sha256Hex()).
+ * The memory is bounded by the total number of segments of the cached curves: beyond {@link #getMaxSegments()},
+ * the least recently used curves are evicted. A curve with more segments than the bound is returned without being cached.
+ *
+ * Thread-safe: curves are built outside the lock, so a curve missed by two threads at the same time may be built twice,
+ * and both get the instance cached first.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class ServiceCurveCache {
+
+	public static final long DEFAULT_MAX_SEGMENTS = 100_000;
+
+	/**
+	 * One shared cache for each bound, so configurations with the same bound share the curves
+	 */
+	private static final Map<Long, ServiceCurveCache> mapMaxSegmentsInstance = new ConcurrentHashMap<Long, ServiceCurveCache>();
+
+	/**
+	 * @param maxSegments
+	 * @return	the cache shared by all TASCurveBuilder calls of this JVM with the same {@param maxSegments}
+	 */
+	public static ServiceCurveCache getInstance(long maxSegments) {
+		return mapMaxSegmentsInstance.computeIfAbsent(maxSegments, ServiceCurveCache::new);
+	}
+
+	/**
+	 * @param executionConfig
+	 * @return	the cache of ExecutionConfig.ServiceCurveCaching.LRU, or null for ExecutionConfig.ServiceCurveCaching.NO
+	 */
+	public static ServiceCurveCache of(ExecutionConfig executionConfig) {
+
+		Objects.requireNonNull(executionConfig, "executionConfig cannot be null");
+
+		switch(executionConfig.serviceCurveCaching) {
+		case LRU:
+			return getInstance(executionConfig.serviceCurveCacheMaxSegments);
+		case NO:
+			return null;
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + executionConfig.serviceCurveCaching);
+		}
+	}
+
+	private final long maxSegments;
+
+	/**
+	 * Access ordered, so the first entry is the least recently used one. Guarded by 'this'.
+	 */
+	private final LinkedHashMap<String, ServiceCurve> mapKeyServiceCurve;
+	private long segments;
+
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final AtomicLong evictions;
+
+	public ServiceCurveCache(long maxSegments) {
+
+		if(maxSegments < 1)
+			throw new InvalidParameterException("maxSegments={"+maxSegments+"} must be at least 1");
+
+		this.maxSegments = maxSegments;
+		this.mapKeyServiceCurve = new LinkedHashMap<String, ServiceCurve>(16, 0.75f, true);
+		this.segments = 0;
+		this.hits = new AtomicLong();
+		this.misses = new AtomicLong();
+		this.evictions = new AtomicLong();
+	}
+
+	/**
+	 * Returns the cached curve of {@param key}, or builds it with {@param builder} and caches it.
+	 *
+	 * @param key		SHA-256 of the inputs of the curve
+	 * @param builder	builds the curve on a miss
+	 * @return
+	 */
+	public ServiceCurve get(String key, Supplier<ServiceCurve> builder) {
+
+		Objects.requireNonNull(key, "key cannot be null");
+		Objects.requireNonNull(builder, "builder cannot be null");
+
+		synchronized (this) {
+			final ServiceCurve cached = this.mapKeyServiceCurve.get(key);
+			if(cached != null) {
+				this.hits.incrementAndGet();
+				return cached;
+			}
+		}
+
+		this.misses.incrementAndGet();
+		final ServiceCurve serviceCurve = Objects.requireNonNull(builder.get(), "builder cannot return null");
+		final long curveSegments = serviceCurve.getSegmentCount();
+
+		if(curveSegments > this.maxSegments)
+			return serviceCurve;
+
+		synchronized (this) {
+
+			final ServiceCurve previous = this.mapKeyServiceCurve.putIfAbsent(key, serviceCurve);
+			if(previous != null)
+				return previous;
+
+			this.segments += curveSegments;
+
+			final Iterator<ServiceCurve> leastRecentlyUsed = this.mapKeyServiceCurve.values().iterator();
+			while(this.segments > this.maxSegments) {
+				this.segments -= leastRecentlyUsed.next().getSegmentCount();
+				leastRecentlyUsed.remove();
+				this.evictions.incrementAndGet();
+			}
+		}
+
+		return serviceCurve;
+	}
+
+	/**
+	 * Discard all cached curves. Metrics are kept.
+	 */
+	public synchronized void clear() {
+		this.mapKeyServiceCurve.clear();
+		this.segments = 0;
+	}
+
+	public long getMaxSegments() {
+		return maxSegments;
+	}
+
+	/**
+	 * @return	total number of segments of the cached curves
+	 */
+	public synchronized long getSegments() {
+		return segments;
+	}
+
+	public synchronized int size() {
+		return this.mapKeyServiceCurve.size();
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	public double getHitRate() {
+		final long total = this.getHits() + this.getMisses();
+		return (total == 0) ? 0.0 : ((double) this.getHits()) / total;
+	}
+
+	@Override
+	public String toString() {
+		return "ServiceCurveCache [entries=" + size() + ", segments=" + getSegments() + "/" + maxSegments + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "]";
+	}
+
+}
@@ -1,9 +1,9 @@
 package org.networkcalculus.dnc.ethernet.tsn;
 
+import java.io.PrintStream;
 import java.security.InvalidParameterException;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -14,32 +14,100 @@ import org.networkcalculus.dnc.curves.Curve;
 import org.networkcalculus.dnc.curves.ServiceCurve;
 import org.networkcalculus.dnc.ethernet.EthernetNetwork;
 import org.networkcalculus.dnc.ethernet.EthernetPhyStandard;
-import org.networkcalculus.dnc.ethernet.plca.PlcaParameters;
-import org.networkcalculus.dnc.ethernet.plca.PlcaServerData;
+import org.networkcalculus.dnc.ethernet.plca.PlcaSegmentAggregate;
 import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig.PLCAModeling;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig.STServiceCurveComputation;
 import org.networkcalculus.dnc.ethernet.tsn.data.STFlowData;
 import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
-import org.networkcalculus.dnc.ethernet.tsn.model.TASWindow; 
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
+import org.networkcalculus.dnc.ethernet.utils.HashUtil;
 
 /**
  * Note: All these equations are related to [Zhao, 2018].
  * 	[Zhao, 2018] Zhao, L., Pop, P., & Craciunas, S. S. (2018). Worst-case latency analysis for IEEE 802.1 Qbv time sensitive networks using network calculus. Ieee Access, 6, 41803-41815.
  * 
+ * Thread-safe: instances are immutable and every curve is built only from the method arguments,
+ * so the curves of different ports may be built concurrently with the same instance.
+ * Nothing is printed, the intermediate curves are only reported to the TraceListener (see {@link #withTraceListener(TraceListener)}).
+ * 
  * @author David Alain do Nascimento (dan@cin.ufpe.br)
  */
 public class TASCurveBuilder {
 
-	private static TASCurveBuilder instance;
+	/**
+	 * Receives every term beta^{j,i}_{P_m} added to beta^{i}_{P_m} [Zhao, 2018, Eq. 4] when the curves are folded with Curve.getUtils().add().
+	 * It is called by the thread building the curve, so it must be thread-safe if curves are built concurrently.
+	 */
+	@FunctionalInterface
+	public interface TraceListener {
 
-	public static TASCurveBuilder getInstance() {
-		if(instance == null)
-			instance = new TASCurveBuilder();
+		/**
+		 * @param priority		priority of the curve, or null if it is not known by the caller
+		 * @param i				index of beta^{i}_{P_m} in the window list
+		 * @param j				index of beta^{j,i}_{P_m}, from i to i + N_Pm - 1 (modulo the list size)
+		 * @param beta_ji_Pm	rate-latency term being added
+		 * @param before		beta^{i}_{P_m} before the term, or null for the first term
+		 * @param after			beta^{i}_{P_m} after the term
+		 */
+		void onTermAdded(Integer priority, int i, int j, ServiceCurve beta_ji_Pm, ServiceCurve before, ServiceCurve after);
+
+		/**
+		 * @param out
+		 * @return	a listener printing the "[new]", "[before]" and "[after]" curves of each term to {@param out}
+		 */
+		static TraceListener printTo(PrintStream out) {
+
+			Objects.requireNonNull(out, "out cannot be null");
+
+			return (priority, i, j, beta_ji_Pm, before, after) -> {
+				synchronized (out) {
+					out.println("[new] priority=" + priority + ", i=" + i + ", j=" + j + ", serviceCurve=" + beta_ji_Pm);
+					out.println("[before] serviceCurve=" + before);
+					out.println("[after] serviceCurve=" + after);
+				}
+			};
+		}
+	}
 
+	private static final TASCurveBuilder instance = new TASCurveBuilder(null);
+
+	/**
+	 * @return	the shared instance, without TraceListener
+	 */
+	public static TASCurveBuilder getInstance() {
 		return instance;
 	}
 
-	private TASCurveBuilder() {
+	/**
+	 * null if nothing is traced
+	 */
+	private final TraceListener traceListener;
+
+	private TASCurveBuilder(TraceListener traceListener) {
+		this.traceListener = traceListener;
+	}
+
+	/**
+	 * @param traceListener	receives the terms of the folded curves, or null to trace nothing
+	 * @return	a new instance building the same curves as this one, reporting them to {@param traceListener}
+	 */
+	public TASCurveBuilder withTraceListener(TraceListener traceListener) {
+		return new TASCurveBuilder(traceListener);
+	}
+
+	/**
+	 * Adds {@param beta_ji_Pm} to {@param beta_i_Pm} [Zhao, 2018, Eq. 4] and reports it to the TraceListener, if any.
+	 * 
+	 * @return	the new beta^{i}_{P_m}
+	 */
+	private ServiceCurve addTerm(Integer priority, int i, int j, ServiceCurve beta_i_Pm, ServiceCurve beta_ji_Pm) {
+
+		final ServiceCurve sum = (beta_i_Pm == null) ? beta_ji_Pm : Curve.getUtils().add(beta_i_Pm, beta_ji_Pm);
+
+		if(this.traceListener != null)
+			this.traceListener.onTermAdded(priority, i, j, beta_ji_Pm, beta_i_Pm, sum);
 
+		return sum;
 	}
 
 	/**
@@ -87,69 +155,158 @@ public class TASCurveBuilder {
 	 * 	[Gollan, 2007, pg.4] Gollan, Nicos, and Jens Schmitt. On the TDMA Design Problem Under Real-Time Constraints in Wireless Sensor Networks. Technical Report 359/07, University of Kaiserslautern, Germany, 2007.
 	 * 
 	 * @param phyStandard
-	 * @param tasWindowList
+	 * @param tasWindowTable	windows of a single priority, in index order
 	 * @return
 	 */
-	public final ServiceCurve buildSTRateLatencyServiceCurve(EthernetPhyStandard phyStandard, List<TASWindow> tasWindowList, PLCAModeling plcaModeling) {
+	public final ServiceCurve buildSTRateLatencyServiceCurve(EthernetPhyStandard phyStandard, TASWindowTable tasWindowTable, PLCAModeling plcaModeling) {
+		return buildSTRateLatencyServiceCurve(phyStandard, tasWindowTable, plcaModeling, STServiceCurveComputation.CURVE_FOLD);
+	}
 
-		ServiceCurve beta_Pm = null;
-		ServiceCurve[] beta_i_Pm = null;
+	/**
+	 * Same as {@link #buildSTRateLatencyServiceCurve(EthernetPhyStandard, TASWindowTable, PLCAModeling)}, 
+	 * with the sums and the minimum of [Zhao, 2018, Eq. 4 and Eq. 7] computed by {@param stServiceCurveComputation}.
+	 * 
+	 * @param phyStandard
+	 * @param tasWindowTable
+	 * @param plcaModeling
+	 * @param stServiceCurveComputation
+	 * @return
+	 */
+	public final ServiceCurve buildSTRateLatencyServiceCurve(EthernetPhyStandard phyStandard, TASWindowTable tasWindowTable, PLCAModeling plcaModeling, 
+			STServiceCurveComputation stServiceCurveComputation) {
+		return buildSTRateLatencyServiceCurve(phyStandard, tasWindowTable, plcaModeling, stServiceCurveComputation, null);
+	}
+
+	/**
+	 * Same as {@link #buildSTRateLatencyServiceCurve(EthernetPhyStandard, TASWindowTable, PLCAModeling, STServiceCurveComputation)}, 
+	 * reusing the curve of {@param serviceCurveCache} built before for the same inputs.
+	 * 
+	 * @param phyStandard
+	 * @param tasWindowTable
+	 * @param plcaModeling
+	 * @param stServiceCurveComputation
+	 * @param serviceCurveCache	null to always build the curve. Not used with a TraceListener.
+	 * @return
+	 */
+	public final ServiceCurve buildSTRateLatencyServiceCurve(EthernetPhyStandard phyStandard, TASWindowTable tasWindowTable, PLCAModeling plcaModeling, 
+			STServiceCurveComputation stServiceCurveComputation, ServiceCurveCache serviceCurveCache) {
+
+		Objects.requireNonNull(stServiceCurveComputation, "stServiceCurveComputation cannot be null");
 
 		//Sanity check
 		if(phyStandard == null)
 			throw new InvalidParameterException("phyStandard cannot be null");
-		if(tasWindowList == null)
-			throw new InvalidParameterException("tasWindowList cannot be null");
-		if(tasWindowList.isEmpty())
-			throw new InvalidParameterException("tasWindowList cannot be empty");
+		if(tasWindowTable == null)
+			throw new InvalidParameterException("tasWindowTable cannot be null");
+		if(tasWindowTable.size() == 0)
+			throw new InvalidParameterException("tasWindowTable cannot be empty");
+
+		//A cached curve has no terms to trace
+		if(serviceCurveCache == null || this.traceListener != null)
+			return computeSTRateLatencyServiceCurve(phyStandard, tasWindowTable, plcaModeling, stServiceCurveComputation);
+
+		return serviceCurveCache.get(stServiceCurveKey(phyStandard, tasWindowTable, plcaModeling, stServiceCurveComputation), 
+				() -> computeSTRateLatencyServiceCurve(phyStandard, tasWindowTable, plcaModeling, stServiceCurveComputation));
+	}
+
+	/**
+	 * Canonical key of everything buildSTRateLatencyServiceCurve() reads: the rows in order, since j wraps around the windows,
+	 * and the row of each T_Pm period.
+	 */
+	private static String stServiceCurveKey(EthernetPhyStandard phyStandard, TASWindowTable tasWindowTable, PLCAModeling plcaModeling, 
+			STServiceCurveComputation stServiceCurveComputation) {
+
+		final StringBuilder text = new StringBuilder();
+		text.append("ST;phy=").append(phyStandard.name())
+		.append(";plca=").append(plcaModeling)
+		.append(";curve=").append(stServiceCurveComputation)
+		.append(";windows=").append(tasWindowTable.getWindowCount())
+		.append(";perPeriod=").append(tasWindowTable.getWindowsPerPeriod())
+		.append(";periodRows=");
+
+		for(int index = 0 ; index < tasWindowTable.getWindowCount() ; index += tasWindowTable.getWindowsPerPeriod())
+			text.append(tasWindowTable.getRow(index)).append(',');
+
+		for(int row = 0 ; row < tasWindowTable.size() ; row++) {
+			text.append(";[").append(value(tasWindowTable, TASWindowTable.LongTerm.index, row))
+			.append(',').append(value(tasWindowTable, TASWindowTable.LongTerm.N_Pm, row))
+			.append(',').append(value(tasWindowTable, TASWindowTable.LongTerm.T_GCL, row))
+			.append(',').append(value(tasWindowTable, TASWindowTable.LongTerm.T_Pm, row))
+			.append(',').append(bits(tasWindowTable, TASWindowTable.DoubleTerm.o_bar_i_Pm, row))
+			.append(',').append(bits(tasWindowTable, TASWindowTable.DoubleTerm.L_bar_i_Pm, row))
+			.append(',').append(bits(tasWindowTable, TASWindowTable.DoubleTerm.S_i_Pm, row))
+			.append(',').append(bits(tasWindowTable, TASWindowTable.DoubleTerm.d_i_PLCA, row)).append(']');
+		}
+
+		return HashUtil.sha256Hex(text);
+	}
+
+	private static String value(TASWindowTable tasWindowTable, TASWindowTable.LongTerm term, int row) {
+		return tasWindowTable.isSet(term, row) ? Long.toString(tasWindowTable.get(term, row)) : "null";
+	}
+
+	private static String bits(TASWindowTable tasWindowTable, TASWindowTable.DoubleTerm term, int row) {
+		return tasWindowTable.isSet(term, row) ? bits(tasWindowTable.get(term, row)) : "null";
+	}
+
+	private static String bits(double value) {
+		return Long.toHexString(Double.doubleToLongBits(value));
+	}
+
+	private final ServiceCurve computeSTRateLatencyServiceCurve(EthernetPhyStandard phyStandard, TASWindowTable tasWindowTable, PLCAModeling plcaModeling, 
+			STServiceCurveComputation stServiceCurveComputation) {
+
+		ServiceCurve beta_Pm = null;
+		ServiceCurve[] beta_i_Pm = null;
+
+		final int size = tasWindowTable.size();
+		final int windows = tasWindowTable.getWindowCount();
 
 		final Set<Long> periodLenghtSet = new HashSet<Long>();
-		tasWindowList.forEach(tasWindow -> periodLenghtSet.add(tasWindow.T_GCL));
+		for(int row = 0 ; row < size ; row++)
+			periodLenghtSet.add(tasWindowTable.get(TASWindowTable.LongTerm.T_GCL, row));
 		if(periodLenghtSet.size() != 1)
 			throw new InvalidParameterException("There are more than one T_GCL value among TASWindow instances: " + periodLenghtSet);
 
 		/**
 		 * All T_GCL values are equal for TASWindow from the same EthernetInterface 
 		 */
-		final double T_GCL = (double) tasWindowList.get(0).T_GCL;
-		final int size = tasWindowList.size();
+		final double T_GCL = (double) tasWindowTable.get(TASWindowTable.LongTerm.T_GCL, 0);
 
 		beta_i_Pm = new ServiceCurve[size];
 
-		for(int i = 0 ; i < size ; i++) {
-
-			TASWindow window_i = tasWindowList.get(i);
-
-			Objects.requireNonNull(window_i.L_bar_i_Pm, "window_i.L_bar_i_Pm cannot be null");
-			Objects.requireNonNull(window_i.S_i_Pm, "window_i.S_i_Pm cannot be null");
-			Objects.requireNonNull(window_i.o_ji_Pm, "window_i.o_ji_Pm cannot be null");
+		/**
+		 * (R, T) of every beta^{j,i}_{P_m}, used only by STServiceCurveComputation.CLOSED_FORM
+		 */
+		final double[][] rates = new double[size][];
+		final double[][] latencies = new double[size][];
 
-			for(int j = i ; j <= i + window_i.N_Pm - 1 ; j++) {
+		/**
+		 * Only the window 'i' of each row is summed: the windows of the other T_Pm periods read from the same row
+		 * have the same terms in the same order of j, so their beta^{i}_{P_m} is the same one.
+		 */
+		for(int row = 0 ; row < size ; row++) {
 
-				TASWindow window_j = tasWindowList.get(j % size);
+			final int i = tasWindowTable.getWindowOfRow(row);
+			final long N_Pm = tasWindowTable.get(TASWindowTable.LongTerm.N_Pm, row);
 
-				Objects.requireNonNull(window_j.L_bar_i_Pm, "window_j.L_bar_i_Pm cannot be null");
-				Objects.requireNonNull(window_j.S_i_Pm, "window_j.S_i_Pm cannot be null");
-				Objects.requireNonNull(window_j.o_ji_Pm,"window_j.o_ji_Pm cannot be null");
+			rates[row] = new double[(int) N_Pm];
+			latencies[row] = new double[rates[row].length];
 
-				/*
-				 * d_i_PLCA term is used only for the PLCA modeling that does not use a server for PLCA.
-				 */
-				if(Objects.equals(plcaModeling, ExecutionConfig.PLCAModeling.SEPARATED_PLCA_SERVER_MODELING))
-					Objects.requireNonNull(window_j.d_i_PLCA, "window_j.d_i_PLCA cannot be null");
+			for(int j = i ; j <= i + N_Pm - 1 ; j++) {
 
 				/**
 				 * Terms based in [Zhao, 2018] and [Zhao, 2020]
 				 */
-				final double L_bar_j_Pm = window_j.L_bar_i_Pm;	//Guaranteed service for index j
-				final double S_i_Pm = window_i.S_i_Pm;			//Maximum waiting time for the backlog period
-				final double o_ji_Pm = window_i.o_ji_Pm[j % size];
+				final double L_bar_j_Pm = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.L_bar_i_Pm, j % windows);	//Guaranteed service for index j
+				final double S_i_Pm = tasWindowTable.get(TASWindowTable.DoubleTerm.S_i_Pm, row);							//Maximum waiting time for the backlog period
+				final double o_ji_Pm = tasWindowTable.getWindowO_ji_Pm(i, j % windows);
 
 				//final double d_i_PLCA = Objects.equals(plcaModeling, ExecutionConfig.PLCAModeling.SEPARATED_PLCA_SERVER_MODELING) ? window_i.d_i_PLCA : 0.0;
 
 				final double d_i_PLCA;
 				switch(plcaModeling) {
-				case SEPARATED_PLCA_SERVER_MODELING:			d_i_PLCA = window_i.d_i_PLCA;	break;
+				case SEPARATED_PLCA_SERVER_MODELING:			d_i_PLCA = tasWindowTable.get(TASWindowTable.DoubleTerm.d_i_PLCA, row);	break;
 				case SINGLE_PLCA_SERVER_MODELING:		d_i_PLCA = 0.0;					break;
 				default:
 					throw new IllegalArgumentException("Unexpected value: " + plcaModeling);
@@ -166,28 +323,31 @@ public class TASCurveBuilder {
 				final double R = (s/f)*C;					//rate in bits per microseconds (bpus)
 				final double T = (f - s) - t0;				//latency (in microseconds)
 
+				if(stServiceCurveComputation == STServiceCurveComputation.CLOSED_FORM) {
+					rates[row][j - i] = R;
+					latencies[row][j - i] = T;
+					continue;
+				}
 
 				final ServiceCurve beta_ji_Pm = Curve.getFactory().createRateLatency(R, T);
 
-				//				System.out.println("[new] serviceCurve="+beta_ji_Pm);
-				//				System.out.println("[before] serviceCurve="+beta_i_Pm[i]);
-
-
 				/**
 				 * [Zhao, 2018, Eq. 4]
 				 */
-				if(beta_i_Pm[i] == null)
-					beta_i_Pm[i] = beta_ji_Pm;
-				else
-					beta_i_Pm[i] = Curve.getUtils().add(beta_i_Pm[i], beta_ji_Pm);
-
-				//				System.out.println("[after] serviceCurve="+beta_i_Pm[i]);
-				//				System.out.println();
-
+				beta_i_Pm[row] = addTerm(null, i, j, beta_i_Pm[row], beta_ji_Pm);
 			}
 
 		}
 
+		switch (stServiceCurveComputation) {
+		case CLOSED_FORM:
+			return RateLatencyEnvelope.minOfSums(rates, latencies);
+		case CURVE_FOLD:
+			break;
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + stServiceCurveComputation);
+		}
+
 		/**
 		 * [Zhao, 2018, Eq. 7]
 		 */
@@ -224,7 +384,7 @@ public class TASCurveBuilder {
 
 		final EthernetPhyStandard phyStandard = networkConfigBuilder.getMapInterfaceInfoPhyStandard().get(targetInterfaceInfo);
 
-		final Map<Integer,List<TASWindow>> mapPriorityTasWindowList = networkConfigBuilder.getMapInterfaceInfoPriorityTasWindowList().get(targetInterfaceInfo);
+		final Map<Integer,TASWindowTable> mapPriorityTasWindowTable = networkConfigBuilder.getMapInterfaceInfoPriorityTasWindowTable().get(targetInterfaceInfo);
 
 		//Sanity check
 		if(phyStandard == null)
@@ -232,58 +392,49 @@ public class TASCurveBuilder {
 
 		//Sanity check
 		final Set<Long> tGclSet = new HashSet<Long>();
-		for(Entry<Integer,List<TASWindow>> entry : mapPriorityTasWindowList.entrySet()) {
+		for(Entry<Integer,TASWindowTable> entry : mapPriorityTasWindowTable.entrySet()) {
 
 			/**
 			 * All T_GCL values must be equal among all TASWindow from the same EthernetInterface
 			 */
-			final List<TASWindow> tasWindowList = entry.getValue();
-			tasWindowList.forEach(tasWindow -> tGclSet.add(tasWindow.T_GCL));
+			final TASWindowTable tasWindowTable = entry.getValue();
+			for(int row = 0 ; row < tasWindowTable.size() ; row++)
+				tGclSet.add(tasWindowTable.get(TASWindowTable.LongTerm.T_GCL, row));
 			if(tGclSet.size() != 1)
 				throw new InvalidParameterException("There are more than one T_GCL value among TASWindow instances: " + tGclSet);
 		}
 
 		final double T_GCL = (double) tGclSet.iterator().next();
 
-		for(Entry<Integer,List<TASWindow>> entry : mapPriorityTasWindowList.entrySet()) {
+		for(Entry<Integer,TASWindowTable> entry : mapPriorityTasWindowTable.entrySet()) {
 
 			final int priority = entry.getKey();
-			final List<TASWindow> tasWindowList = entry.getValue();
+			final TASWindowTable tasWindowTable = entry.getValue();
 
-			final int size = tasWindowList.size();
+			final int size = tasWindowTable.size();
+			final int windows = tasWindowTable.getWindowCount();
 
 			beta_i_Pm = new ServiceCurve[size];
 
-			for(int i = 0 ; i < size ; i++) {
-
-				TASWindow window_i = tasWindowList.get(i);
+			//Only the window 'i' of each row, as in computeSTRateLatencyServiceCurve()
+			for(int row = 0 ; row < size ; row++) {
 
-				Objects.requireNonNull(window_i.L_bar_i_Pm, "window_i.L_bar_i_Pm cannot be null");
-				Objects.requireNonNull(window_i.S_i_Pm, "window_i.S_i_Pm cannot be null");
-				Objects.requireNonNull(window_i.o_ji_Pm,"window_i.o_ji_Pm cannot be null");
+				final int i = tasWindowTable.getWindowOfRow(row);
+				final long N_Pm = tasWindowTable.get(TASWindowTable.LongTerm.N_Pm, row);
 
-				if(Objects.equals(plcaModeling, ExecutionConfig.PLCAModeling.SEPARATED_PLCA_SERVER_MODELING))
-					Objects.requireNonNull(window_i.d_i_PLCA,"window_i.d_i_PLCA cannot be null");
-
-				for(int j = i ; j <= i + window_i.N_Pm - 1 ; j++) {
-
-					TASWindow window_j = tasWindowList.get(j % size);
-
-					Objects.requireNonNull(window_j.L_bar_i_Pm, "window_j.L_bar_i_Pm cannot be null");
-					Objects.requireNonNull(window_j.S_i_Pm, "window_j.S_i_Pm cannot be null");
-					Objects.requireNonNull(window_j.o_ji_Pm, "window_j.o_ji_Pm cannot be null");
+				for(int j = i ; j <= i + N_Pm - 1 ; j++) {
 
 					/**
 					 * Terms based in [Zhao, 2018] and [Zhao, 2020]
 					 */
-					final double L_bar_j_Pm = window_j.L_bar_i_Pm;	//Guaranteed service for index j
-					final double S_i_Pm = window_i.S_i_Pm;			//Maximum waiting time for the backlog period
-					final double o_ji_Pm = window_i.o_ji_Pm[j % size];
+					final double L_bar_j_Pm = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.L_bar_i_Pm, j % windows);	//Guaranteed service for index j
+					final double S_i_Pm = tasWindowTable.get(TASWindowTable.DoubleTerm.S_i_Pm, row);							//Maximum waiting time for the backlog period
+					final double o_ji_Pm = tasWindowTable.getWindowO_ji_Pm(i, j % windows);
 
 					//					final double d_i_PLCA = Objects.equals(plcaModeling, ExecutionConfig.PLCAModeling.SEPARATED_PLCA_SERVER_MODELING) ? window_i.d_i_PLCA : 0.0;
 					final double d_i_PLCA;
 					switch(plcaModeling) {
-					case SEPARATED_PLCA_SERVER_MODELING:	d_i_PLCA = window_i.d_i_PLCA;	break;
+					case SEPARATED_PLCA_SERVER_MODELING:	d_i_PLCA = tasWindowTable.get(TASWindowTable.DoubleTerm.d_i_PLCA, row);	break;
 					default:						d_i_PLCA = 0.0;					break;
 					}
 
@@ -300,16 +451,7 @@ public class TASCurveBuilder {
 
 					final ServiceCurve beta_ji_Pm = Curve.getFactory().createRateLatency(R, T); 
 
-					System.out.println("[new] serviceCurve="+beta_ji_Pm);
-					System.out.println("[before] serviceCurve="+beta_i_Pm);
-
-					if(beta_i_Pm[i] == null)
-						beta_i_Pm[i] = beta_ji_Pm;
-					else
-						beta_i_Pm[i] = Curve.getUtils().add(beta_i_Pm[i], beta_ji_Pm);
-
-					System.out.println("[after] serviceCurve="+beta_i_Pm);
-
+					beta_i_Pm[row] = addTerm(priority, i, j, beta_i_Pm[row], beta_ji_Pm);
 				}
 
 			}
@@ -343,6 +485,9 @@ public class TASCurveBuilder {
 	 * 
 	 * [Soni, 2018] Aakash Soni, Xiaoting Li, Jean-Luc Scharbarg, and Christian Fraboul. 2018. WCTT analysis of avionics Switched Ethernet Network with WRR Scheduling. In Proceedings of the 26th International Conference on Real-Time Networks and Systems (RTNS ’18). Association for Computing Machinery, New York, NY, USA, 213–222. DOI:https://doi.org/10.1145/3273905.3273925
 	 * 
+	 * The curves are kept by {@param ethernetNetwork} (see EthernetNetwork.getPLCAServiceCurves()), and not by ServiceCurveCache.
+	 * The PLCA cycle of the link is aggregated once and kept by {@param ethernetNetwork} (see EthernetNetwork.getPlcaSegmentAggregate()).
+	 * 
 	 * @param ethernetNetwork
 	 * @param targetInterface
 	 * @param networkConfigBuilder
@@ -355,74 +500,42 @@ public class TASCurveBuilder {
 		Objects.requireNonNull(targetInterface);
 		Objects.requireNonNull(networkConfigBuilder);
 
-		final Map<Integer,ServiceCurve> mapPriorityServiceCurve = new HashMap<Integer, ServiceCurve>();
+		return buildPLCAServiceCurve(targetInterface, networkConfigBuilder, 
+				ethernetNetwork.getPlcaSegmentAggregate(networkConfigBuilder.getMapInterfaceInfoLinkInfo().get(targetInterface)));
+	}
 
-		final EthernetPhyStandard phyStandardTarget = networkConfigBuilder.getMapInterfaceInfoPhyStandard().get(targetInterface);
+	/**
+	 * Same as {@link #buildPLCAServiceCurve(EthernetNetwork, InterfaceInfoEntry, TASWindowsBuilder)}, 
+	 * taking the quanta of the Weighted Round Robin scheduling from {@param plcaSegmentAggregate}, 
+	 * so the curves of all interfaces of a segment with n interfaces and p priorities are built in O(n.p).
+	 * 
+	 * @param targetInterface
+	 * @param networkConfigBuilder
+	 * @param plcaSegmentAggregate	PLCA cycle of the link of {@param targetInterface}
+	 * @return
+	 */
+	public final Map<Integer,ServiceCurve> buildPLCAServiceCurve(InterfaceInfoEntry targetInterface, TASWindowsBuilder networkConfigBuilder, PlcaSegmentAggregate plcaSegmentAggregate) {
+
+		//Sanity check
+		Objects.requireNonNull(targetInterface);
+		Objects.requireNonNull(networkConfigBuilder);
+		Objects.requireNonNull(plcaSegmentAggregate);
 
-		//Assert all interfaces are shared medium access
-		for(InterfaceInfoEntry interfaceInfo : networkConfigBuilder.getMapInterfaceInfoLinkInfo().get(targetInterface).getInterfaceInfoSet()) {
+		final Map<Integer,ServiceCurve> mapPriorityServiceCurve = new HashMap<Integer, ServiceCurve>();
 
-			final EthernetPhyStandard phyStandardCurrent = networkConfigBuilder.getMapInterfaceInfoPhyStandard().get(interfaceInfo);
-			if(phyStandardCurrent.isDedicatedMediumAccess)
-				throw new InvalidParameterException("It doesn't possible to build a PLCA Server for dedicated medium access interface: " + interfaceInfo + ", phyStandard: " + phyStandardCurrent);
-		}
+		final EthernetPhyStandard phyStandardTarget = networkConfigBuilder.getMapInterfaceInfoPhyStandard().get(targetInterface);
 
 		/**
 		 * Calculate values used in Weighted Round Robin scheduling
 		 */
 		for(int priorityTarget : networkConfigBuilder.getMapInterfaceInfoPriorityPLCAServerData().get(targetInterface).keySet()) {
 
-			double q_i = 0;
-			double Q_i = 0;
-			double minFrameSizeBitsTargetInterface = 0;
-			double maxFrameSizeBitsTargetInterface = 0;
-
-			/**
-			 * Firstly, add the beacon
-			 */
-			Q_i += PlcaParameters.PLCA_BEACON_COUNT * PlcaParameters.PLCA_BEACON_SIZE_BITS;
-
 			/**
-			 * Iterate over Ethernet interfaces from the same multidrop bus
+			 * Own quantum, and the beacon plus the quanta of all other PLCA servers of the multidrop bus
 			 */
-			for(InterfaceInfoEntry interfaceInfo : networkConfigBuilder.getMapInterfaceInfoLinkInfo().get(targetInterface).getInterfaceInfoSet()) {
+			final double q_i = plcaSegmentAggregate.getQuantumBits(targetInterface, priorityTarget);
+			final double Q_i = plcaSegmentAggregate.getOtherQuantaBits(targetInterface, priorityTarget);
 
-				if(networkConfigBuilder.getMapInterfaceInfoPriorityPLCAServerData().get(interfaceInfo).isEmpty()) {
-					throw new InvalidParameterException("networkConfig.getMapInterfaceInfoPriorityPLCAServerData().get(interfaceInfo) cannot be empty, interfaceInfo: " + interfaceInfo);
-				}
-
-				/**
-				 * Iterate over PLCA Servers into current Ethernet interface
-				 */
-				for(Entry<Integer,PlcaServerData> entry : networkConfigBuilder.getMapInterfaceInfoPriorityPLCAServerData().get(interfaceInfo).entrySet()) {
-
-					final int priority = entry.getKey();
-					final PlcaServerData plcaServerData = entry.getValue();
-
-					if(plcaServerData == null)
-						throw new InvalidParameterException("plcaServerData cannot be null. interfaceInfo="+interfaceInfo+", priority="+priority);
-
-					final double plcaWeightWRR = plcaServerData.getPlcaWeight();
-					final double minFrameSizeBits = 8.0 * plcaServerData.getMinFrameSizeBytes();
-					final double maxFrameSizeBits = 8.0 * plcaServerData.getMaxFrameSizeBytes();
-
-					//System.out.println("Calculating Quanta.\n\ttarget=        "+target+",\n\tinterfaceInfo= " + interfaceInfo + ",\n\tpriority=       " + priority+",\n\tpriorityTarget= "+priorityTarget);
-
-					if(Objects.equals(interfaceInfo, targetInterface) && (priority == priorityTarget)) {
-						q_i = plcaWeightWRR * (PlcaParameters.PLCA_IPG_SIZE_BITS + minFrameSizeBits);
-						minFrameSizeBitsTargetInterface = minFrameSizeBits;
-						maxFrameSizeBitsTargetInterface = maxFrameSizeBits;
-						//System.out.println("(q_i = plcaWeightWRR * minFrameSize) ==> " + q_i + " = " + plcaWeightWRR + " * " + minFrameSize);
-					} else {
-						Q_i += plcaWeightWRR * (PlcaParameters.PLCA_IPG_SIZE_BITS + maxFrameSizeBits);
-						//System.out.println("(Q_i += plcaWeightWRR * maxFrameSize) ==> " + Q_i + " += " + plcaWeightWRR + " * " + maxFrameSize);
-					}
-					//System.out.println();
-
-				}
-
-			}
-			
 			/**
 			 * Build PLCA Service Curve using Rate-Latency Service Curve model
 			 */
@@ -3,6 +3,8 @@ package org.networkcalculus.dnc.ethernet.tsn;
 import java.io.File;
 import java.io.IOException;
 import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -11,6 +13,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.util.Pair;
 import org.networkcalculus.dnc.curves.ArrivalCurve;
@@ -25,7 +31,11 @@ import org.networkcalculus.dnc.ethernet.tsn.entry.STMessageEntry;
 import org.networkcalculus.dnc.ethernet.tsn.entry.TASGateScheduleEntry2018;
 import org.networkcalculus.dnc.ethernet.tsn.entry.VirtualLinkEntry;
 import org.networkcalculus.dnc.ethernet.tsn.model.LinkInfo;
+import org.networkcalculus.dnc.ethernet.tsn.model.PeriodicTASWindowSchedule;
 import org.networkcalculus.dnc.ethernet.tsn.model.TASWindow;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowRing;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTimeline;
 import org.networkcalculus.dnc.ethernet.utils.ChartUtilsTASWindow;
 import org.networkcalculus.dnc.ethernet.utils.DataPrinterUtil;
 import org.networkcalculus.dnc.ethernet.utils.ExcelSheetTASWindow;
@@ -109,28 +119,57 @@ public class TASWindowsBuilder {
 
 	private Map<InterfaceInfoEntry,Map<Integer,PlcaServerData>> mapInterfaceInfoPriorityPLCAServerData;
 
-	private Map<InterfaceInfoEntry,Map<Integer, List<TASWindow>>> mapInterfaceInfoPriorityTasWindowDataList;
+	/**
+	 * Map<InterfaceInfo,Map<Integer = Priority, TASWindowTable>>
+	 */
+	private Map<InterfaceInfoEntry,Map<Integer,TASWindowTable>> mapInterfaceInfoPriorityTasWindowTable;
 
 	private Map<String,STFlowData> mapFlowNameSTFlowData;
 
 
-	private Map<TASWindow,Map<Integer,List<TASWindow>>> mapTASWindowPriorityTASWindowListCollisions;
-
-
 	private final DatasetReader datasetReader;
 	private final ExecutionConfig executionConfig;
 
+	private TASWindowsCostEstimate costEstimate;
+
+	/**
+	 * Flows and gate scheduling already read from the dataset case, or null to read them on build()
+	 */
+	private final List<STMessageEntry> readMessages;
+	private final Map<InterfaceInfoEntry,Map<Integer,List<TASGateScheduleEntry2018>>> readMapInterfaceInfoPriorityListTASGateScheduleEntry;
+
 	public TASWindowsBuilder(DatasetReader networkConfigReader, ExecutionConfig executionConfig) {
 
 		this.datasetReader = networkConfigReader;
 		this.executionConfig = executionConfig;
+		this.readMessages = null;
+		this.readMapInterfaceInfoPriorityListTASGateScheduleEntry = null;
+	}
+
+	/**
+	 * Same as {@link #TASWindowsBuilder(DatasetReader, ExecutionConfig)}, but build() does not read msg.txt and historySCHED1.txt again,
+	 * e.g. when they were already read to estimate the cost of the case (see {@link TASWindowsCostEstimate}).
+	 * 
+	 * @param networkConfigReader
+	 * @param executionConfig
+	 * @param messages											as read by DatasetReader.readScheduledMessageFile(). It is owned by this builder from now on.
+	 * @param mapInterfaceInfoPriorityListTASGateScheduleEntry	as read by DatasetReader.readGateSchedulingFile(). It is owned by this builder from now on.
+	 */
+	public TASWindowsBuilder(DatasetReader networkConfigReader, ExecutionConfig executionConfig, List<STMessageEntry> messages,
+			Map<InterfaceInfoEntry,Map<Integer,List<TASGateScheduleEntry2018>>> mapInterfaceInfoPriorityListTASGateScheduleEntry) {
+
+		this.datasetReader = networkConfigReader;
+		this.executionConfig = executionConfig;
+		this.readMessages = Objects.requireNonNull(messages, "messages cannot be null");
+		this.readMapInterfaceInfoPriorityListTASGateScheduleEntry = Objects.requireNonNull(mapInterfaceInfoPriorityListTASGateScheduleEntry, "mapInterfaceInfoPriorityListTASGateScheduleEntry cannot be null");
 	}
 
 
 	public void build() {
 
-		this.messages = datasetReader.readScheduledMessageFile();
-		this.mapInterfaceInfoPriorityListTASGateScheduleEntry = datasetReader.readGateSchedulingFile();
+		this.messages = (this.readMessages != null) ? this.readMessages : datasetReader.readScheduledMessageFile();
+		this.mapInterfaceInfoPriorityListTASGateScheduleEntry = (this.readMapInterfaceInfoPriorityListTASGateScheduleEntry != null) ?
+				this.readMapInterfaceInfoPriorityListTASGateScheduleEntry : datasetReader.readGateSchedulingFile();
 		this.virtualLinks = datasetReader.readVirtualLinksFile();
 		this.mapInterfaceInfoPhyStandard = datasetReader.readInterfacesTypesFile();
 		this.mapInterfaceInfoPriorityPLCAWeightWRR = datasetReader.readInterfacesPLCAWeightsWRRFile();
@@ -142,6 +181,12 @@ public class TASWindowsBuilder {
 		Objects.requireNonNull(this.mapInterfaceInfoPriorityListTASGateScheduleEntry);
 		Objects.requireNonNull(this.virtualLinks);
 
+		/**
+		 * Fail fast (T_GCL overflow or too many windows) before creating any TASWindow
+		 */
+		this.costEstimate = TASWindowsCostEstimate.estimate(this.mapInterfaceInfoPriorityListTASGateScheduleEntry, this.messages);
+		this.costEstimate.checkBudget(this.executionConfig.tasWindowsBudget);
+
 		this.buildStep0_mapInterfaceInfoLinkInfo();
 		this.buildStep1_mapFlowNameSTFlowData();
 		this.buildStep2_mapVirtualLinkSTFlowDataList();
@@ -164,9 +209,60 @@ public class TASWindowsBuilder {
 		Objects.requireNonNull(this.mapInterfaceInfoPrioritySTServerData);
 		Objects.requireNonNull(this.mapInterfaceInfoPriorityPLCAServerData);
 
-		Objects.requireNonNull(this.mapInterfaceInfoPriorityTasWindowDataList);
-		Objects.requireNonNull(this.mapTASWindowPriorityTASWindowListCollisions);
+		Objects.requireNonNull(this.mapInterfaceInfoPriorityTasWindowTable);
+
+	}
+
+	/**
+	 * Replace the gate scheduling of a single port and recalculate only its TAS windows and ST service curves.
+	 * The other ports keep their windows, and the PLCA server data (built from flows and weights only) are kept.
+	 * The Excel sheet and port files are not written again.
+	 * 
+	 * @param interfaceInfo				port whose GCL has changed. It must already have a gate scheduling.
+	 * @param tasGateScheduleEntryList	the new GCL of {@param interfaceInfo}, of any priority
+	 * @return	the interfaces on the same link (multidrop segment) as {@param interfaceInfo}, including it
+	 */
+	public Set<InterfaceInfoEntry> updateGateScheduling(InterfaceInfoEntry interfaceInfo, List<TASGateScheduleEntry2018> tasGateScheduleEntryList) {
+
+		Objects.requireNonNull(interfaceInfo, "interfaceInfo cannot be null");
+		Objects.requireNonNull(tasGateScheduleEntryList, "tasGateScheduleEntryList cannot be null");
+		Objects.requireNonNull(this.mapInterfaceInfoPrioritySTServerData, "build() must be called before updating a gate scheduling");
+
+		if(!this.mapInterfaceInfoPriorityListTASGateScheduleEntry.containsKey(interfaceInfo))
+			throw new InvalidParameterException("There is no gate scheduling for interface " + interfaceInfo.toStringInfo());
+		if(tasGateScheduleEntryList.isEmpty())
+			throw new InvalidParameterException("tasGateScheduleEntryList cannot be empty. interfaceInfo=" + interfaceInfo.toStringInfo());
+
+		final Map<Integer, List<TASGateScheduleEntry2018>> mapPriorityListTASGateScheduleEntry = new HashMap<Integer, List<TASGateScheduleEntry2018>>();
+		for(TASGateScheduleEntry2018 tasGateScheduleEntry : tasGateScheduleEntryList) {
+			Objects.requireNonNull(tasGateScheduleEntry, "tasGateScheduleEntryList cannot have null entries");
+			mapPriorityListTASGateScheduleEntry.computeIfAbsent(tasGateScheduleEntry.priority, k -> new LinkedList<TASGateScheduleEntry2018>()).add(tasGateScheduleEntry);
+		}
+
+		/**
+		 * Fail fast with the new GCL, before replacing anything
+		 */
+		final Map<InterfaceInfoEntry, Map<Integer, List<TASGateScheduleEntry2018>>> mapUpdated = new HashMap<InterfaceInfoEntry, Map<Integer,List<TASGateScheduleEntry2018>>>(this.mapInterfaceInfoPriorityListTASGateScheduleEntry);
+		mapUpdated.put(interfaceInfo, mapPriorityListTASGateScheduleEntry);
+
+		final TASWindowsCostEstimate costEstimate = TASWindowsCostEstimate.estimate(mapUpdated, this.messages);
+		costEstimate.checkBudget(this.executionConfig.tasWindowsBudget);
+
+		final Map<Integer, List<TASGateScheduleEntry2018>> mapPrevious = this.mapInterfaceInfoPriorityListTASGateScheduleEntry.put(interfaceInfo, mapPriorityListTASGateScheduleEntry);
+
+		final InterfaceTASWindowsResult result;
+		try {
+			result = buildInterfaceTASWindowsResult(interfaceInfo);
+		} catch (RuntimeException e) {
+			//Keep the previous GCL, so the builder stays consistent with the windows it holds
+			this.mapInterfaceInfoPriorityListTASGateScheduleEntry.put(interfaceInfo, mapPrevious);
+			throw e;
+		}
+
+		this.costEstimate = costEstimate;
+		this.putInterfaceTASWindowsResult(result);
 
+		return Collections.unmodifiableSet(this.mapInterfaceInfoLinkInfo.get(interfaceInfo).getInterfaceInfoSet());
 	}
 
 	/**
@@ -220,8 +316,11 @@ public class TASWindowsBuilder {
 	public final Map<InterfaceInfoEntry, Map<Integer, PlcaServerData>> getMapInterfaceInfoPriorityPLCAServerData() {
 		return mapInterfaceInfoPriorityPLCAServerData;
 	}
-	public final Map<InterfaceInfoEntry, Map<Integer, List<TASWindow>>> getMapInterfaceInfoPriorityTasWindowList() {
-		return mapInterfaceInfoPriorityTasWindowDataList;
+	public final Map<InterfaceInfoEntry, Map<Integer, TASWindowTable>> getMapInterfaceInfoPriorityTasWindowTable() {
+		return mapInterfaceInfoPriorityTasWindowTable;
+	}
+	public final TASWindowsCostEstimate getCostEstimate() {
+		return costEstimate;
 	}
 
 	public final VirtualLinkEntry findVirtualLinkByName(String virtualLinkName) {
@@ -293,7 +392,7 @@ public class TASWindowsBuilder {
 		diff.removeAll(this.mapInterfaceInfoLinkInfo.keySet());
 
 		if(!diff.isEmpty()) {
-			DataPrinterUtil.print(diff);
+			DataPrinterUtil.print(this.executionConfig.out, diff);
 			throw new InvalidParameterException("There are InterfaceInfo instances without link to another one.");
 		}
 
@@ -459,57 +558,42 @@ public class TASWindowsBuilder {
 		Objects.requireNonNull(this.mapInterfaceInfoPriorityListTASGateScheduleEntry, "this.mapInterfaceInfoPriorityListTASGateScheduleEntry cannot be null");
 
 		this.mapInterfaceInfoPrioritySTServerData = new HashMap<InterfaceInfoEntry, Map<Integer,STServerData>>();
-		this.mapInterfaceInfoPriorityTasWindowDataList = new HashMap<InterfaceInfoEntry, Map<Integer, List<TASWindow>>>();
+		this.mapInterfaceInfoPriorityTasWindowTable = new HashMap<InterfaceInfoEntry, Map<Integer, TASWindowTable>>();
 
 		//		System.out.println("Interfaces vs Priority vs Max Frame Size vs Min Frame Size:");
 		//		System.out.println(PrinterUtil.toString(this.mapInterfaceInfoPriorityMaxMinMessageSizeBytes));
 
-		//Iterate for each EthernetInterface of all devices in the whole network
-		for(final InterfaceInfoEntry interfaceInfo : this.mapInterfaceInfoPriorityListTASGateScheduleEntry.keySet()) {
-
-			//			System.out.println();
-			//			System.out.println("interfaceInfo="+interfaceInfo.toStringInfo());
-
-			this.mapInterfaceInfoPrioritySTServerData.put(interfaceInfo, new HashMap<Integer, STServerData>());
-
-			/**
-			 * Calculate all TASWindow from current interface and aggregate them by priority.
-			 * 
-			 * Note: Zhao's DataSet has only a single TASWindow for each used priority and not all priorities are being used.
-			 */
-			final Map<Integer,List<TASWindow>> mapPriorityTASWindowTermsList = calculateTASWindowList(interfaceInfo);
-
-			this.mapInterfaceInfoPriorityTasWindowDataList.put(interfaceInfo, mapPriorityTASWindowTermsList);
-
-			/**
-			 * Iterate over all List<TASWindow> from each priority and build related ServiceCurve and STServerData
-			 */
-			for(Entry<Integer,List<TASWindow>> entryPriorityTASWindowTermsList : mapPriorityTASWindowTermsList.entrySet()) {
-
-				final Integer priority = entryPriorityTASWindowTermsList.getKey();
-				final List<TASWindow> tasWindowList = entryPriorityTASWindowTermsList.getValue();
-
-				//				System.out.println();
-				//				System.out.println("priority="+priority);
-				//				System.out.println("buildSTRateLatencyServiceCurve()");
-
-				final ServiceCurve stServiceCurve = TASCurveBuilder.getInstance().buildSTRateLatencyServiceCurve(this.mapInterfaceInfoPhyStandard.get(interfaceInfo), tasWindowList, this.executionConfig.plcaModeling);
-				final STServerData stServerData = new STServerData(stServiceCurve, tasWindowList);
-
-				this.mapInterfaceInfoPrioritySTServerData.get(interfaceInfo).put(priority, stServerData);
-			}
+		final List<InterfaceInfoEntry> interfaceInfoList = new LinkedList<InterfaceInfoEntry>(this.mapInterfaceInfoPriorityListTASGateScheduleEntry.keySet());
+		final List<InterfaceTASWindowsResult> results;
 
+		switch(this.executionConfig.tasWindowsBuildExecution) {
+		case PARALLEL:
+			results = buildInterfacesTASWindowsResultsParallel(interfaceInfoList, this.executionConfig.tasWindowsBuildWorkers);
+			break;
+		case SEQUENTIAL:
+		default:
+			//Iterate for each EthernetInterface of all devices in the whole network
+			results = new LinkedList<InterfaceTASWindowsResult>();
+			for(final InterfaceInfoEntry interfaceInfo : interfaceInfoList)
+				results.add(buildInterfaceTASWindowsResult(interfaceInfo));
+			break;
 		}
 
+		/**
+		 * Merge the per interface results in the calling thread
+		 */
+		for(final InterfaceTASWindowsResult result : results)
+			this.putInterfaceTASWindowsResult(result);
+
 		if(this.executionConfig.generateTASWindowsExcelSheet == ExecutionConfig.GenerateTASWindowsExcelSheet.ALL) {
 			final ExcelSheetTASWindow excelSheetUtil = new ExcelSheetTASWindow(this.datasetReader.getResultAbsolutePath());
-			excelSheetUtil.buildSheetWriteFile(mapInterfaceInfoPriorityTasWindowDataList);
+			excelSheetUtil.buildSheetWriteFile(mapInterfaceInfoPriorityTasWindowTable);
 
 			switch(this.executionConfig.generatePortGuaranteedWinFiles) {
 			case ALL:
 			{
 				new PortGuaranteedWindowsExporter(this.datasetReader.getResultAbsolutePath())
-				.writeFileAsZhaosResults(mapInterfaceInfoPriorityTasWindowDataList);
+				.writeFileAsZhaosResults(mapInterfaceInfoPriorityTasWindowTable);
 
 			}
 			break;
@@ -523,6 +607,147 @@ public class TASWindowsBuilder {
 
 	}
 
+	/**
+	 * Everything computed for a single Ethernet interface in step 7.
+	 * It is filled by a single thread and only read after that thread is finished.
+	 */
+	private static final class InterfaceTASWindowsResult {
+
+		private final InterfaceInfoEntry interfaceInfo;
+		private final Map<Integer,TASWindowTable> mapPriorityTASWindowTable = new HashMap<Integer, TASWindowTable>();
+		private final Map<Integer,STServerData> mapPrioritySTServerData = new HashMap<Integer, STServerData>();
+
+		private InterfaceTASWindowsResult(InterfaceInfoEntry interfaceInfo) {
+			this.interfaceInfo = interfaceInfo;
+		}
+	}
+
+	/**
+	 * Store (or replace) everything computed for a single interface
+	 * 
+	 * @param result
+	 */
+	private void putInterfaceTASWindowsResult(InterfaceTASWindowsResult result) {
+
+		this.mapInterfaceInfoPriorityTasWindowTable.put(result.interfaceInfo, result.mapPriorityTASWindowTable);
+		this.mapInterfaceInfoPrioritySTServerData.put(result.interfaceInfo, result.mapPrioritySTServerData);
+	}
+
+	private List<InterfaceTASWindowsResult> buildInterfacesTASWindowsResultsParallel(List<InterfaceInfoEntry> interfaceInfoList, int workers) {
+
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(workers, interfaceInfoList.size())));
+
+		try {
+
+			final List<Future<InterfaceTASWindowsResult>> futures = new LinkedList<Future<InterfaceTASWindowsResult>>();
+			for(final InterfaceInfoEntry interfaceInfo : interfaceInfoList)
+				futures.add(executor.submit(() -> buildInterfaceTASWindowsResult(interfaceInfo)));
+
+			final List<InterfaceTASWindowsResult> results = new LinkedList<InterfaceTASWindowsResult>();
+			for(final Future<InterfaceTASWindowsResult> future : futures) {
+				try {
+					results.add(future.get());
+				} catch (ExecutionException e) {
+					if(e.getCause() instanceof RuntimeException)
+						throw (RuntimeException) e.getCause();
+					throw new RuntimeException("TAS windows computation failed", e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException("TAS windows computation interrupted", e);
+				}
+			}
+
+			return results;
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Calculate all TASWindow from {@param interfaceInfo}, or reuse them from TASWindowsMemo (see ExecutionConfig.TASWindowsMemoization),
+	 * and build the ST service curve of each priority, which ServiceCurveCache may reuse (see ExecutionConfig.ServiceCurveCaching).
+	 * Only reads the shared maps, so it can run concurrently for different interfaces.
+	 * 
+	 * @param interfaceInfo
+	 * @return
+	 */
+	private InterfaceTASWindowsResult buildInterfaceTASWindowsResult(InterfaceInfoEntry interfaceInfo) {
+
+		//			System.out.println();
+		//			System.out.println("interfaceInfo="+interfaceInfo.toStringInfo());
+
+		final TASWindowsMemo.PortTASWindows portTASWindows;
+
+		switch(this.executionConfig.tasWindowsMemoization) {
+		case IN_MEMORY:
+			portTASWindows = TASWindowsMemo.getInstance(this.executionConfig.tasWindowsMemoMaxWindows).get(this.tasWindowsMemoKey(interfaceInfo), null, this.executionConfig.out, this.executionConfig.err,
+					() -> calculatePortTASWindows(interfaceInfo));
+			break;
+		case IN_MEMORY_AND_DISK:
+			portTASWindows = TASWindowsMemo.getInstance(this.executionConfig.tasWindowsMemoMaxWindows).get(this.tasWindowsMemoKey(interfaceInfo), this.executionConfig.tasWindowsMemoDirectory, this.executionConfig.out, this.executionConfig.err,
+					() -> calculatePortTASWindows(interfaceInfo));
+			break;
+		case NO:
+			portTASWindows = calculatePortTASWindows(interfaceInfo);
+			break;
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + this.executionConfig.tasWindowsMemoization);
+		}
+
+		final InterfaceTASWindowsResult result = new InterfaceTASWindowsResult(interfaceInfo);
+
+		/**
+		 * Iterate over the TASWindowTable of each priority and build related ServiceCurve.
+		 */
+		for(Entry<Integer,TASWindowTable> entry : portTASWindows.getMapPriorityTASWindowTable().entrySet()) {
+
+			final Integer priority = entry.getKey();
+			final TASWindowTable tasWindowTable = entry.getValue();
+
+			//				System.out.println();
+			//				System.out.println("priority="+priority);
+			//				System.out.println("buildSTRateLatencyServiceCurve()");
+
+			final ServiceCurve stServiceCurve = TASCurveBuilder.getInstance().buildSTRateLatencyServiceCurve(this.mapInterfaceInfoPhyStandard.get(interfaceInfo), tasWindowTable, 
+					this.executionConfig.plcaModeling, this.executionConfig.stServiceCurveComputation, ServiceCurveCache.of(this.executionConfig));
+
+			result.mapPriorityTASWindowTable.put(priority, tasWindowTable);
+			result.mapPrioritySTServerData.put(priority, new STServerData(stServiceCurve, tasWindowTable));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Everything the windows of {@param interfaceInfo} depend on
+	 * 
+	 * @param interfaceInfo
+	 * @return
+	 */
+	private String tasWindowsMemoKey(InterfaceInfoEntry interfaceInfo) {
+		return TASWindowsMemo.key(
+				this.mapInterfaceInfoPriorityListTASGateScheduleEntry.get(interfaceInfo),
+				this.mapInterfaceInfoPriorityMaxMinMessageSizeBytes.get(interfaceInfo),
+				this.mapInterfaceInfoPhyStandard.get(interfaceInfo),
+				this.executionConfig.prioritizingOrder,
+				this.executionConfig.tasWindowsTimeArithmetic,
+				this.executionConfig.tasWindowsPeriodicity,
+				this.executionConfig.tasWindowsComputation);
+	}
+
+	/**
+	 * Calculate all TASWindow from {@param interfaceInfo} and aggregate them by priority.
+	 * 
+	 * Note: Zhao's DataSet has only a single TASWindow for each used priority and not all priorities are being used.
+	 * 
+	 * @param interfaceInfo
+	 * @return
+	 */
+	private TASWindowsMemo.PortTASWindows calculatePortTASWindows(InterfaceInfoEntry interfaceInfo) {
+		return new TASWindowsMemo.PortTASWindows(calculateTASWindowTables(interfaceInfo));
+	}
+
 	private final void buildStep8_mapInterfaceInfoPLCAServerData(){
 
 		Objects.requireNonNull(this.mapInterfaceInfoPrioritySTServerData, "this.mapInterfaceInfoPrioritySTServerData cannot be null");
@@ -535,9 +760,9 @@ public class TASWindowsBuilder {
 			final EthernetPhyStandard phyStandard = this.mapInterfaceInfoPhyStandard.get(interfaceInfo);
 
 			if(phyStandard == null) {
-				System.out.println("------------------ Error ----------------------");
-				DataPrinterUtil.print(this.mapInterfaceInfoPhyStandard);
-				System.out.println("-----------------------------------------------");
+				this.executionConfig.out.println("------------------ Error ----------------------");
+				DataPrinterUtil.print(this.executionConfig.out, this.mapInterfaceInfoPhyStandard);
+				this.executionConfig.out.println("-----------------------------------------------");
 				throw new InvalidParameterException("It is required to have an EthernetPhyStandard for this interface: " + interfaceInfo);
 			}
 
@@ -601,33 +826,62 @@ public class TASWindowsBuilder {
 	}
 
 	/**
-	 * Calculate all required terms. Convert List<TASGateScheduleEntry>> to List<TASWindow> for each priority.
+	 * Calculate all required terms. Convert List<TASGateScheduleEntry>> to a TASWindowTable for each priority.
+	 * 
+	 * @param interfaceInfo
+	 * @return
+	 */
+	public Map<Integer,TASWindowTable> calculateTASWindowTables(InterfaceInfoEntry interfaceInfo){
+		return calculateTASWindowTables(interfaceInfo, this.executionConfig.tasWindowsComputation);
+	}
+
+	/**
+	 * Same as {@link #calculateTASWindowTables(InterfaceInfoEntry)}, but computing the terms with {@param tasWindowsComputation} instead of the configured one.
 	 * 
 	 * @param interfaceInfo
+	 * @param tasWindowsComputation
 	 * @return
 	 */
-	public Map<Integer,List<TASWindow>> calculateTASWindowList(InterfaceInfoEntry interfaceInfo){
+	public Map<Integer,TASWindowTable> calculateTASWindowTables(InterfaceInfoEntry interfaceInfo, ExecutionConfig.TASWindowsComputation tasWindowsComputation){
+
+		Objects.requireNonNull(tasWindowsComputation, "tasWindowsComputation cannot be null");
+
+		final Map<Integer,TASWindowTable> mapOut = new HashMap<Integer, TASWindowTable>();
 
-		final Map<Integer,List<TASWindow>> mapOut = new HashMap<Integer, List<TASWindow>>();
+		calculateTASWindowTablesStep1(interfaceInfo, mapOut);
 
-		calculateTASWindowListStep1(interfaceInfo, mapOut);
+		/** Opening and closing times are known from now on, so all overlapping queries of the next steps go through this index **/
+		final TASWindowTimeline timeline = new TASWindowTimeline(mapOut);
 
-		/** The following methods with suffix "_Wrong" was implemented based in Zhao's paper equations, but those equations are possibly not completely correct, or
-		 * they can lead to a misinterpretation of equations due to the partial definition of some equations**/
-		//		calculateTASWindowListStep2_Wrong(interfaceInfo, mapOut);
-		//		calculateTASWindowListStep3_Wrong(interfaceInfo, mapOut);
-		//		calculateTASWindowListStep4_Wrong(interfaceInfo, mapOut);
-		//		calculateTASWindowListStep5_Wrong(interfaceInfo, mapOut);
+		/** Windows of each priority by index, with the previous and next ones (even from other GCL hyperperiods) in constant time **/
+		final TASWindowRing ring = new TASWindowRing(mapOut);
+
+		switch (tasWindowsComputation) {
+		case STEP_PIPELINE:
+			/** Zhao's paper equations for l_max_Pm_plus, t_ci_Pm_plus, d_npi_Pm_plus (Equation 8) and d_npi_L (Equation 9) are possibly not completely correct, or
+			 * they can lead to a misinterpretation of equations due to the partial definition of some equations. **/
+
+			/** The following method with suffix "_Correct" is an alternative and correct implementation made by David Alain do Nascimento for the incorrect equations from Zhao's paper. **/
+			calculateTASWindowTablesStep2_3_4_5_Correct(interfaceInfo, mapOut, timeline);
+
+			calculateTASWindowTablesStep6(interfaceInfo, mapOut, timeline);
+			calculateTASWindowTablesStep7(interfaceInfo, mapOut, timeline);
+			calculateTASWindowTablesStep8(interfaceInfo, mapOut, ring);
+			calculateTASWindowTablesStep9(interfaceInfo, mapOut, timeline, ring);
+			break;
 
-		/** The following method with suffix "_Correct" is an alternative and correct implementation made by David Alain do Nascimento for the incorrect equations from Zhao's paper. **/
-		calculateTASWindowListStep2_3_4_5_Correct(interfaceInfo, mapOut);
+		case FUSED_SWEEP:
+			/** Steps 2 to 7 and 9 at once. Step 8 (Equation 21) only needs o_bar_i_Pm, which is known after the sweeps **/
+			new FusedTASWindowsCalculator(this.mapInterfaceInfoPhyStandard.get(interfaceInfo), this.executionConfig.prioritizingOrder, 
+					this.executionConfig.tasWindowsTimeArithmetic, this.executionConfig.out).calculate(interfaceInfo, ring, timeline);
+			calculateTASWindowTablesStep8(interfaceInfo, mapOut, ring);
+			break;
 
-		calculateTASWindowListStep6(interfaceInfo, mapOut);
-		calculateTASWindowListStep7(interfaceInfo, mapOut);
-		calculateTASWindowListStep8(interfaceInfo, mapOut);
-		calculateTASWindowListStep9(interfaceInfo, mapOut);
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + tasWindowsComputation);
+		}
 
-		calculateTASWindowListStep10(interfaceInfo, mapOut);
+		calculateTASWindowTablesStep10(interfaceInfo, mapOut, timeline);
 
 		return mapOut;
 	}
@@ -646,23 +900,21 @@ public class TASWindowsBuilder {
 	 * 	Note: Equations 11 and 12 do not depends on other values and can be calculated at the beginning of process. 
 	 * 
 	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
-	 * 
-	 * @return
+	 * @param mapPriorityTasWindowTable	filled with the table of each priority, with all windows within T_GCL and the rows of the periods built by PeriodicTASWindowSchedule
 	 */
-	private void calculateTASWindowListStep1(final InterfaceInfoEntry interfaceInfo, final Map<Integer, List<TASWindow>> mapPriorityTasWindowList) {
+	private void calculateTASWindowTablesStep1(final InterfaceInfoEntry interfaceInfo, final Map<Integer, TASWindowTable> mapPriorityTasWindowTable) {
 
-		//System.out.println("calculateTASWindowListStep1()");
+		//System.out.println("calculateTASWindowTablesStep1()");
 		//		System.out.println("interfaceInfo="+interfaceInfo);
 
 		final EthernetPhyStandard phyStandard = this.mapInterfaceInfoPhyStandard.get(interfaceInfo);
 
 		/**
-		 * Map < Priority, TASWindow quantity within a sub-cycle T_Pm >
+		 * Map < Priority, TASWindowTable with the windows of the first T_Pm only >
 		 * 
-		 *  Note: do not confuse with N_Pm. N_Pm is the TASWindow quantity within a T_GCL.
+		 *  Note: the table size is the TASWindow quantity within a sub-cycle T_Pm. Do not confuse with N_Pm. N_Pm is the TASWindow quantity within a T_GCL.
 		 */
-		final Map<Integer,Integer> mapPriorityTASWindowQuantity = new HashMap<Integer,Integer>();
+		final Map<Integer,TASWindowTable> mapPriorityBaseTable = new HashMap<Integer,TASWindowTable>();
 
 		/**
 		 * Iterate all TASGateScheduleEntry to build related TASWindow.
@@ -678,7 +930,7 @@ public class TASWindowsBuilder {
 			 */
 			final List<TASGateScheduleEntry2018> tasGateScheduleEntryList = new LinkedList<TASGateScheduleEntry2018>(entryTasGateSchedule.getValue());
 
-			final List<TASWindow> tasWindowList = new LinkedList<TASWindow>();
+			final TASWindowTable baseTable = new TASWindowTable(tasGateScheduleEntryList.size());
 
 
 			final Map<Integer,Pair<Double,Double>> mapPriorityMaxMinMessageSizeBytes = 
@@ -699,239 +951,278 @@ public class TASWindowsBuilder {
 			int index = 0;
 			for(TASGateScheduleEntry2018 tasGateScheduleEntry : tasGateScheduleEntryList) {
 
-				final TASWindow tasWindow = new TASWindow();
-
-				tasWindow.index = index++;
-				tasWindow.priorityPm = priorityPm;
-				tasWindow.T_Pm = tasGateScheduleEntry.periodLength;			//in microseconds (us)
-				tasWindow.t_oi_Pm = tasGateScheduleEntry.openTime;			//in microseconds (us)
-				tasWindow.t_ci_Pm = tasGateScheduleEntry.closeTime;			//in microseconds (us)
-				tasWindow.l_max_Pm = l_max_Pm;								//in bytes
-				tasWindow.l_min_Pm = l_min_Pm;								//in bytes
-
 				/**
 				 * Calculate d_gb_Pm (Equation 11)
 				 */
-				tasWindow.d_gb_Pm = (tasWindow.l_max_Pm * 8.0) / phyStandard.rate_bpus;	//in microseconds (us)
+				final double d_gb_Pm = (l_max_Pm * 8.0) / phyStandard.rate_bpus;	//in microseconds (us)
+
+				baseTable.set(TASWindowTable.LongTerm.index, index, index);
+				baseTable.set(TASWindowTable.LongTerm.priorityPm, index, priorityPm);
+				baseTable.set(TASWindowTable.LongTerm.T_Pm, index, tasGateScheduleEntry.periodLength);			//in microseconds (us)
+				baseTable.set(TASWindowTable.DoubleTerm.t_oi_Pm, index, tasGateScheduleEntry.openTime);		//in microseconds (us)
+				baseTable.set(TASWindowTable.DoubleTerm.t_ci_Pm, index, tasGateScheduleEntry.closeTime);		//in microseconds (us)
+				baseTable.set(TASWindowTable.DoubleTerm.l_max_Pm, index, l_max_Pm);							//in bytes
+				baseTable.set(TASWindowTable.DoubleTerm.l_min_Pm, index, l_min_Pm);							//in bytes
+				baseTable.set(TASWindowTable.DoubleTerm.d_gb_Pm, index, d_gb_Pm);
 
 				/**
 				 * Calculate t_gbi_Pm (Equation 12)
 				 */
-				tasWindow.t_gbi_Pm = tasWindow.t_ci_Pm - tasWindow.d_gb_Pm;	//in microseconds (us)
+				baseTable.set(TASWindowTable.DoubleTerm.t_gbi_Pm, index, tasGateScheduleEntry.closeTime - d_gb_Pm);	//in microseconds (us)
 
-				tasWindowList.add(tasWindow);
-
-				int N_Pm_within_T_Pm = 1 + mapPriorityTASWindowQuantity.getOrDefault(priorityPm, 0);
-				mapPriorityTASWindowQuantity.put(priorityPm, N_Pm_within_T_Pm);
+				index++;
 			}
 
-			mapPriorityTasWindowList.put(priorityPm, tasWindowList);
+			mapPriorityBaseTable.put(priorityPm, baseTable);
 		}
 
 		/**
 		 * Calculate GCL hyper-period and set it in all TASWindow
 		 */
-		final long T_CGL = calculateGCLHyperperiod(mapPriorityTasWindowList);
-
-		for(Entry<Integer, List<TASWindow>> entry : mapPriorityTasWindowList.entrySet()) {
-			for(TASWindow tasWindow : entry.getValue()) {
-				tasWindow.T_GCL = T_CGL; //in microseconds (us)
-				tasWindow.N_Pm_within_T_Pm = mapPriorityTASWindowQuantity.get(tasWindow.priorityPm);
-				tasWindow.N_Pm = (tasWindow.T_GCL / tasWindow.T_Pm) * tasWindow.N_Pm_within_T_Pm;
-
-				//				System.out.println("interfaceInfo="+interfaceInfo.toStringInfo()
-				//				+ ", tasWindow.priorityPm={"+tasWindow.priorityPm+"}"
-				//				+ ", tasWindow.index={"+tasWindow.index+"}"
-				//				+ ", tasWindow.T_GCL={"+tasWindow.T_GCL+"}"
-				//				+ ", tasWindow.T_Pm={"+tasWindow.T_Pm+"}"
-				//				+ ", tasWindow.N_Pm={"+tasWindow.N_Pm+"}"
-				//				+ ", entry.getValue().size()={"+entry.getValue().size()+"}");
+		final long T_CGL = calculateGCLHyperperiod(mapPriorityBaseTable);
+
+		for(Entry<Integer, TASWindowTable> entry : mapPriorityBaseTable.entrySet()) {
+
+			final TASWindowTable baseTable = entry.getValue();
+			final int N_Pm_within_T_Pm = baseTable.size();
+
+			for(int row = 0 ; row < baseTable.size() ; row++) {
+				baseTable.set(TASWindowTable.LongTerm.T_GCL, row, T_CGL); //in microseconds (us)
+				baseTable.set(TASWindowTable.LongTerm.N_Pm_within_T_Pm, row, N_Pm_within_T_Pm);
+				baseTable.set(TASWindowTable.LongTerm.N_Pm, row, (T_CGL / baseTable.get(TASWindowTable.LongTerm.T_Pm, row)) * N_Pm_within_T_Pm);
 			}
 		}
 
-		final Map<Integer,List<TASWindow>> newTasWindowsToBeAddedMap = buildTASWindowMapToFillGCL(mapPriorityTasWindowList);
-
 		/**
-		 * Merge maps
+		 * If T_Pm != T_GCL, there are some T_Pm periods within a T_GCL.
+		 * Only the first T_Pm has TASWindows from the gate scheduling, so the other ones are shifted from it by the periodic schedule.
+		 * Rows are only kept for the periods with their own overlapping pattern when patterns are reused, and the windows of the other periods are read from them.
 		 */
-		for(Entry<Integer,List<TASWindow>> entry : newTasWindowsToBeAddedMap.entrySet()) {
-			final int priority = entry.getKey();
-			final List<TASWindow> tasWindowList = entry.getValue();
+		final boolean reusePatterns = (this.executionConfig.tasWindowsPeriodicity == ExecutionConfig.TASWindowsPeriodicity.REUSE_PERIODIC_PATTERNS);
+		final PeriodicTASWindowSchedule periodicSchedule = new PeriodicTASWindowSchedule(mapPriorityBaseTable, reusePatterns);
 
-			mapPriorityTasWindowList.get(priority).addAll(tasWindowList);
-		}
+		for(Integer priority : mapPriorityBaseTable.keySet())
+			mapPriorityTasWindowTable.put(priority, periodicSchedule.getTable(priority));
+
+		if(reusePatterns && !periodicSchedule.isPeriodContained())
+			this.executionConfig.out.println("Warning: some window crosses its period boundary, all windows will be evaluated. interfaceInfo=" + interfaceInfo.toStringInfo());
 
 		/**
 		 * Check for errors in scheduling
 		 */
-		checkForErrorsInScheduling(mapPriorityTasWindowList);
+		checkForErrorsInScheduling(mapPriorityTasWindowTable, new TASWindowTimeline(mapPriorityTasWindowTable));
 
 		/**
-		 * Print all TAS Windows
+		 * Print all TAS Windows with their own row
 		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(tasWindow -> {
-				System.out.println("interfaceInfo=" + interfaceInfo.toStringInfo() + " -> " + "prio="+prio + " -> " + tasWindow);
-			});
+		mapPriorityTasWindowTable.forEach((prio,table) -> {
+			for(int row = 0 ; row < table.size() ; row++)
+				this.executionConfig.out.println("interfaceInfo=" + interfaceInfo.toStringInfo() + " -> " + "prio="+prio + " -> " + table.toString(row));
 		});
 
 
 		/**
 		 * All the following values must be filled at this point
 		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(tasWindow -> {
-				try {
-
-					Objects.requireNonNull(tasWindow.index, "index cannot be null. tasWindow="+tasWindow);
-					Objects.requireNonNull(tasWindow.priorityPm, "priorityPm cannot be null");
-					Objects.requireNonNull(tasWindow.N_Pm, "N_Pm cannot be null. tasWindow="+tasWindow);
-					Objects.requireNonNull(tasWindow.N_Pm_within_T_Pm, "N_Pm_within_T_Pm cannot be null. tasWindow="+tasWindow);
-					Objects.requireNonNull(tasWindow.T_Pm, "T_Pm cannot be null");
-					Objects.requireNonNull(tasWindow.T_GCL, "T_GCL cannot be null");
-					Objects.requireNonNull(tasWindow.t_oi_Pm, "t_oi_Pm cannot be null");
-					Objects.requireNonNull(tasWindow.t_ci_Pm, "t_ci_Pm cannot be null");
-					Objects.requireNonNull(tasWindow.l_max_Pm, "l_max_Pm cannot be null");
-					Objects.requireNonNull(tasWindow.l_min_Pm, "l_min_Pm cannot be null");
-					Objects.requireNonNull(tasWindow.d_gb_Pm, "d_gb_Pm cannot be null");
-					Objects.requireNonNull(tasWindow.t_gbi_Pm, "t_gbi_Pm cannot be null");
-
-				}catch (Exception e) {
-					System.out.println("------------------ Error ------------------");
-					System.err.println("interfaceInfo="+interfaceInfo.toStringInfo());
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					System.out.println("-------------------------------------------");
-					throw e;
-				}
-			});
-		});
-
+		try {
+			requireFilled(mapPriorityTasWindowTable,
+					TASWindowTable.LongTerm.index,
+					TASWindowTable.LongTerm.priorityPm,
+					TASWindowTable.LongTerm.N_Pm,
+					TASWindowTable.LongTerm.N_Pm_within_T_Pm,
+					TASWindowTable.LongTerm.T_Pm,
+					TASWindowTable.LongTerm.T_GCL);
+			requireFilled(mapPriorityTasWindowTable,
+					TASWindowTable.DoubleTerm.t_oi_Pm,
+					TASWindowTable.DoubleTerm.t_ci_Pm,
+					TASWindowTable.DoubleTerm.l_max_Pm,
+					TASWindowTable.DoubleTerm.l_min_Pm,
+					TASWindowTable.DoubleTerm.d_gb_Pm,
+					TASWindowTable.DoubleTerm.t_gbi_Pm);
+		}catch (Exception e) {
+			this.executionConfig.out.println("------------------ Error ------------------");
+			this.executionConfig.err.println("interfaceInfo="+interfaceInfo.toStringInfo());
+			DataPrinterUtil.print(this.executionConfig.out, mapPriorityTasWindowTable);
+			this.executionConfig.out.println("-------------------------------------------");
+			throw e;
+		}
 
 	}
 
 	/**
 	 * Calculate:
-	 * 	l_max_Pm_plus used in Equation 8. 
-	 * 	
+	 * 	d_npi_L	(Equation 9)
+	 * 	t_npi_L	(Equation 10)
+	 * 
 	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
+	 * @param mapPriorityTasWindowTable
+	 * @param timeline	index over the windows of mapPriorityTasWindowTable
 	 */
-	@SuppressWarnings("unused")
-	private void calculateTASWindowListStep2_Wrong(final InterfaceInfoEntry interfaceInfo, final Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
+	private void calculateTASWindowTablesStep2_3_4_5_Correct(InterfaceInfoEntry interfaceInfo, Map<Integer,TASWindowTable> mapPriorityTasWindowTable, TASWindowTimeline timeline){
 
-		for(Entry<Integer,List<TASWindow>> entryTarget : mapPriorityTasWindowList.entrySet()) {
+		final EthernetPhyStandard phyStandard = this.mapInterfaceInfoPhyStandard.get(interfaceInfo);
 
-			final int priorityTarget = entryTarget.getKey();
+		for(Entry<Integer,TASWindowTable> entryTarget : mapPriorityTasWindowTable.entrySet()) {
 
-			for(final TASWindow target : entryTarget.getValue()) {
+			final int priorityPm = entryTarget.getKey();
+			final TASWindowTable target = entryTarget.getValue();
 
-				/**
-				 * Starting with l_max_Pm_plus = 0.
-				 * 
-				 * This value does not cause any interference on calculations when there is no lower priority windows.
-				 * See Equation 8 for more details.
-				 */
-				double l_max_Pm_plus = 0;
+			for(int row = 0 ; row < target.size() ; row++) {
+
+				final double target_t_oi_Pm = target.get(TASWindowTable.DoubleTerm.t_oi_Pm, row);
+
+				final Map<Integer,Double> mapPriorityMinInterferenceLowerPriority = new HashMap<Integer, Double>();
 
-				for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityTasWindowList.entrySet()) {
+				for(Entry<Integer,TASWindowTable> entryOther : mapPriorityTasWindowTable.entrySet()) {
 
 					final int priorityOther = entryOther.getKey();
+					final TASWindowTable other = entryOther.getValue();
 
-					if(lessThan(priorityOther, priorityTarget)) {
+					//We are looking for lower priority windows
+					if(lessThan(priorityOther, priorityPm)) {
 
-						/**
-						 * Each TASWindow instance represents a single window within a GCL period from the same priority.
-						 * Even we have a list of TASWindow, all of them must have the same value for maximum and minimum frame size, 
-						 * because it is calculated for each priority and not for each window into the same priority scheduling.
-						 * The item in index 0 has the same value for max and min frame sizes as any other index.
-						 */
-						final TASWindow otherFirst = entryOther.getValue().get(0);
+						//Zero is the default value when there is no overlapping with a lower priority window
+						mapPriorityMinInterferenceLowerPriority.put(priorityOther, 0.0);
+
+						//Only lower priority windows with the gate open at target t_oi_Pm are visited
+						timeline.forEachGateOpen(priorityOther, target_t_oi_Pm, indexLowerPriority -> {
+
+							final double minInterference = Math.min((other.getWindow(TASWindowTable.DoubleTerm.l_max_Pm, indexLowerPriority) * 8.0) / phyStandard.rate_bpus, 
+									other.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, indexLowerPriority) - target_t_oi_Pm);
 
-						//Sanity check
-						Objects.requireNonNull(otherFirst.l_max_Pm, "You must calculate all 'l_max_Pm' values before using this method.");
-						Objects.requireNonNull(otherFirst.l_min_Pm, "You must calculate all 'l_min_Pm' values before using this method.");
+							/**
+							 * Since it is not possible to have overlapping windows from the same priority, 
+							 * I am assuming there is at most a single overlapping window from each lower priority Pm+ with the window in Pm.
+							 * 
+							 * If there are more than one overlapping window from the same priority, then there exists an error in related priority scheduling.
+							 * This error condition is checked in the ending of calculateStep1() method and will throw an exception if occur.
+							 */
+							mapPriorityMinInterferenceLowerPriority.put(priorityOther, minInterference);
+						});
 
-						l_max_Pm_plus = Math.max(l_max_Pm_plus, otherFirst.l_max_Pm);
 					}
 
+				}//end of for(Entry<Integer,TASWindowTable> entryOther : mapPriorityTasWindowTable.entrySet()) {
+
+				/**
+				 * Calculate d_npi_L	(Equation 9)
+				 * 
+				 * Starting with d_npi_L = 0.0
+				 * The value 0.0 does not cause any interference on calculations when there is no lower priority windows.
+				 */
+
+				final double d_npi_L;
+				if(mapPriorityMinInterferenceLowerPriority.isEmpty()) {
+					d_npi_L = 0.0;	
+				}else {
+					d_npi_L = NumberUtil.max(mapPriorityMinInterferenceLowerPriority.values());	
 				}
 
-				target.l_max_Pm_plus = l_max_Pm_plus;
+				target.set(TASWindowTable.DoubleTerm.d_npi_L, row, d_npi_L);
+
+				/**
+				 * Calculate t_npi_L	(Equation 10)
+				 */
+				target.set(TASWindowTable.DoubleTerm.t_npi_L, row, d_npi_L + target_t_oi_Pm);
+
+				/**
+				 * These terms are not used anymore. 
+				 * This is a workaround to avoid Exceptions when checking if each term is not null 
+				 */
+				target.set(TASWindowTable.DoubleTerm.l_max_Pm_plus, row, Double.NaN);
+				target.set(TASWindowTable.DoubleTerm.t_ci_Pm_plus, row, Double.NaN);
+				target.set(TASWindowTable.DoubleTerm.d_npi_Pm_plus, row, Double.NaN);
 			}
+
 		}
 
 		/**
 		 * All the following values must be filled at this point
 		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(tasWindow -> {
-				try {
-					Objects.requireNonNull(tasWindow.l_max_Pm_plus, "l_max_Pm_plus cannot be null");
-
-				}catch (Exception e) {
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					throw e;
-				}
-			});
-		});
+		try {
+			requireFilled(mapPriorityTasWindowTable, TASWindowTable.DoubleTerm.d_npi_L, TASWindowTable.DoubleTerm.t_npi_L);
+		}catch (Exception e) {
+			DataPrinterUtil.print(this.executionConfig.out, mapPriorityTasWindowTable);
+			throw e;
+		}
 
 	}
 
-
 	/**
 	 * Calculate:
-	 * 	t_ci_Pm_plus used in Equation 8.
+	 * 	t_ci_Pm_minus (Equation 13)
+	 * 	t_oi_Pm_minus (Equation 14)
 	 * 
 	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
+	 * @param mapPriorityTasWindowTable
+	 * @param timeline	index over the windows of mapPriorityTasWindowTable
 	 */
-	@SuppressWarnings("unused")
-	private void calculateTASWindowListStep3_Wrong(final InterfaceInfoEntry interfaceInfo, final Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
+	private void calculateTASWindowTablesStep6(final InterfaceInfoEntry interfaceInfo, final Map<Integer,TASWindowTable> mapPriorityTasWindowTable, final TASWindowTimeline timeline){
+
+		for(Entry<Integer,TASWindowTable> entryTarget : mapPriorityTasWindowTable.entrySet()) {
 
-		for(Entry<Integer,List<TASWindow>> entryTarget : mapPriorityTasWindowList.entrySet()) {
+			final int priorityPm = entryTarget.getKey();
+			final TASWindowTable target = entryTarget.getValue();
 
-			for(TASWindow target : entryTarget.getValue()) {
+			for(int row = 0 ; row < target.size() ; row++) {
 
-				//Sanity check
-				Objects.requireNonNull(target.t_oi_Pm, "You must fill all 't_oi_Pm' values before call this method");
+				final double target_t_oi_Pm = target.get(TASWindowTable.DoubleTerm.t_oi_Pm, row);
+				final double target_t_ci_Pm = target.get(TASWindowTable.DoubleTerm.t_ci_Pm, row);
 
 				/**
-				 * Starting with t_ci_Pm_plus = target.t_oi_Pm.
+				 * Starting t_ci_Pm_minus = target t_oi_Pm.
+				 * 
+				 * This value 'target t_oi_Pm' does not make any interference on calculations of Equation 13, 
+				 * because we are looking for the greatest lower bound (infimum) for any time 't' after 't_oi_Pm' and Equation 15 uses the max{} function.
+				 * 
+				 * 
+				 * Starting t_oi_Pm_minus = target t_ci_Pm.
 				 * 
-				 * When there is no lower priority windows, then there is no traffic interference.
-				 * See Equation 8 for more details.
+				 * This value 'target t_ci_Pm' does not make any interference on calculations of Equation 14,
+				 * because we are looking for the least upper bound (supremum) for any time 't' before 't_ci_Pm' and Equation 16 used the min{} function.
 				 */
-				double t_ci_Pm_plus = target.t_oi_Pm; //in microseconds (us)
+				double t_ci_Pm_minus = target_t_oi_Pm;
+				double t_oi_Pm_minus = target_t_ci_Pm;
 
-				for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityTasWindowList.entrySet()) {
+				for(Entry<Integer,TASWindowTable> entryOther : mapPriorityTasWindowTable.entrySet()) {
 
 					final int priorityOther = entryOther.getKey();
+					final TASWindowTable other = entryOther.getValue();
 
-					//We are looking for lower priority windows
-					if(lessThan(priorityOther, target.priorityPm)) {
+					//We are looking for higher priority windows
+					if(greaterThan(priorityOther, priorityPm)) {
 
-						for(final TASWindow tasWindowLowerPriority : entryOther.getValue()) {
+						/**
+						 * We are only interested in windows that collide each other.
+						 * If has no window collision, then there is no interference.
+						 */
+						for(final int indexHigherPriority : timeline.getCollisions(priorityOther, target_t_oi_Pm, target_t_ci_Pm)) {
 
-							//Sanity check
-							Objects.requireNonNull(tasWindowLowerPriority.t_ci_Pm, "You must fill all 't_ci_Pm' values before call this method");
+							final double higher_t_oi_Pm = other.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, indexHigherPriority);
+							final double higher_t_ci_Pm = other.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, indexHigherPriority);
 
 							/**
-							 * Calculate t_ci_Pm_plus (Equation ??)
-							 * 
-							 * A lower priority window must be already opened at the target window opening time, and
-							 * the closing time for a lower priority window must be after the opening time of the target window.
+							 * 	Calculate: 	t_ci_Pm_minus (Equation 13)
+							 */
+							if((higher_t_ci_Pm >= target_t_oi_Pm) && (higher_t_oi_Pm <= target_t_oi_Pm)) {
+								t_ci_Pm_minus = Math.max(t_ci_Pm_minus, higher_t_ci_Pm);
+							}
+
+							/**
+							 * 	Calculate: 	t_oi_Pm_minus (Equation 14)
 							 */
-							if(tasWindowLowerPriority.isGateOpen(target.t_oi_Pm) && (tasWindowLowerPriority.t_ci_Pm > target.t_oi_Pm)) {
-								t_ci_Pm_plus = Math.max(t_ci_Pm_plus, tasWindowLowerPriority.t_ci_Pm);
+							if((higher_t_oi_Pm <= target_t_ci_Pm) && (higher_t_ci_Pm >= target_t_ci_Pm)) {
+								t_oi_Pm_minus = Math.min(t_oi_Pm_minus, higher_t_oi_Pm);
 							}
 
 						}
 
-					}
+					} 
 
-				}//end of for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityTerms.entrySet()) {
+				}
 
-				target.t_ci_Pm_plus = t_ci_Pm_plus; //in microseconds (us)
+				target.set(TASWindowTable.DoubleTerm.t_ci_Pm_minus, row, t_ci_Pm_minus);
+				target.set(TASWindowTable.DoubleTerm.t_oi_Pm_minus, row, t_oi_Pm_minus);
 			}
 
 		}
@@ -939,446 +1230,102 @@ public class TASWindowsBuilder {
 		/**
 		 * All the following values must be filled at this point
 		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(tasWindow -> {
-				try {
-					Objects.requireNonNull(tasWindow.t_ci_Pm_plus, "t_ci_Pm_plus cannot be null");
-
-					if(tasWindow.t_ci_Pm_plus < tasWindow.t_oi_Pm)
-						throw new InvalidParameterException("tasWindow.t_ci_Pm_plus is the nearest time when the gate G_Pm_plus is closed no earlier than tasWindow.t_oi_Pm. "
-								+ "tasWindow.t_ci_Pm_plus={"+tasWindow.t_ci_Pm_plus+"} must be lesser than tasWindow.t_oi_Pm={"+tasWindow.t_oi_Pm+"}.");
-
-				}catch (Exception e) {
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					throw e;
-				}
-			});
-		});
+		try {
+			requireFilled(mapPriorityTasWindowTable, TASWindowTable.DoubleTerm.t_ci_Pm_minus, TASWindowTable.DoubleTerm.t_oi_Pm_minus);
+		}catch (Exception e) {
+			DataPrinterUtil.print(this.executionConfig.out, mapPriorityTasWindowTable);
+			throw e;
+		}
 
 	}
 
-
 	/**
 	 * Calculate:
-	 * 	d_npi_Pm_plus (Equation 8)
+	 * 	t_Bi_H 		(Equation 15)
+	 * 	t_Ei_H 		(Equation 16)
+	 * 	t_Bi_Pm 	(Equation 17)
+	 * 	t_Ei_Pm		(Equation 18)
+	 * 	L_bar_i_Pm (Equation 19)
+	 * 	o_bar_i_Pm (Equation 20)
 	 * 
 	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
+	 * @param mapPriorityTasWindowTable
+	 * @param timeline	index over the windows of mapPriorityTasWindowTable
 	 */
-	@SuppressWarnings("unused")
-	private void calculateTASWindowListStep4_Wrong(final InterfaceInfoEntry interfaceInfo, final Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
+	private void calculateTASWindowTablesStep7(final InterfaceInfoEntry interfaceInfo, final Map<Integer,TASWindowTable> mapPriorityTasWindowTable, final TASWindowTimeline timeline){
+
+		//System.out.println("calculateTASWindowTablesStep7()");
 
 		final EthernetPhyStandard phyStandard = this.mapInterfaceInfoPhyStandard.get(interfaceInfo);
 
-		if(Objects.equals(interfaceInfo.toStringInfo(), "SW1.3")) {
-			System.out.println("Here!");
-		}
+		for(Entry<Integer,TASWindowTable> entryTarget : mapPriorityTasWindowTable.entrySet()) {
+
+			final int priorityPm = entryTarget.getKey();
+			final TASWindowTable target = entryTarget.getValue();
 
-		for(Entry<Integer,List<TASWindow>> entryTarget : mapPriorityTasWindowList.entrySet()) {
+			for(int row = 0 ; row < target.size() ; row++) {
 
-			for(TASWindow target : entryTarget.getValue()) {
+				final double target_t_npi_L = target.get(TASWindowTable.DoubleTerm.t_npi_L, row);
+				final double target_t_gbi_Pm = target.get(TASWindowTable.DoubleTerm.t_gbi_Pm, row);
+				final double target_l_min_Pm = target.get(TASWindowTable.DoubleTerm.l_min_Pm, row);
+				final double target_t_oi_Pm = target.get(TASWindowTable.DoubleTerm.t_oi_Pm, row);
+				final double target_t_ci_Pm = target.get(TASWindowTable.DoubleTerm.t_ci_Pm, row);
 
-				//Sanity check
-				Objects.requireNonNull(target.t_oi_Pm, "You must fill all 't_oi_Pm' values before call this method");
-				Objects.requireNonNull(target.t_ci_Pm_plus, "You must fill all 't_ci_Pm_plus' values before call this method");
-				Objects.requireNonNull(target.l_max_Pm_plus, "You must fill all 'l_max_Pm_plus' values before call this method");
 				/**
-				 * Calculate Equation 8.
+				 * Starting t_Bi_H = target t_oi_Pm.
+				 * 
+				 * This value 'max_t_ci_Pm_minus' will be used to set the 't_Bi_H'. This term 't_Bi_H' is used only in Equations 15 and 17 (using max{}).
+				 * Thus, this value does not make any interference on calculations when there is no higher priority windows.
+				 * 
+				 * 
+				 * Starting t_Ei_H = target t_ci_Pm.
+				 * 
+				 * This value 'min_t_oi_Pm_minus' will be used to set the 't_Ei_H'. This term 't_Ei_H' is used only in Equations 16 and 18 (using min{}).
+				 * Thus, this value does not make any interference on calculations when there is no higher priority windows.
 				 */
-				final boolean G_Pm_plus_isOpen = G_Pm_plus(target.priorityPm, target.t_oi_Pm, mapPriorityTasWindowList);
+				double t_Bi_H = target_t_oi_Pm;
+				double t_Ei_H = target_t_ci_Pm;
 
-				if(G_Pm_plus_isOpen) {
-					target.d_npi_Pm_plus = Math.min(
-							(target.l_max_Pm_plus * 8.0) / phyStandard.rate_bpus, 
-							target.t_ci_Pm_plus - target.t_oi_Pm);
-				} else {
-					target.d_npi_Pm_plus = 0.0;
-				}
 
-			}
-
-		}
-
-		/**
-		 * All the following values must be filled at this point
-		 */
-		mapPriorityTasWindowList.forEach((priority,list) -> {
-			list.forEach(target -> {
-				try {
-					Objects.requireNonNull(target.d_npi_Pm_plus, "d_npi_Pm_plus cannot be null");
-
-				}catch (Exception e) {
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					throw e;
-				}
-			});
-		});
-
-	}
-
-	/**
-	 * Calculate:
-	 * 	d_npi_L (Equation 9), and 
-	 * 	t_npi_L (Equation 10)
-	 * 
-	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
-	 */
-	@SuppressWarnings("unused")
-	private void calculateTASWindowListStep5_Wrong(final InterfaceInfoEntry interfaceInfo, final Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
-
-		if(Objects.equals(interfaceInfo.toStringInfo(), "SW1.3")) {
-			System.out.println("------------------------------------------------------");
-			System.out.println("Here 2!");
-		}
-
-		for(Entry<Integer,List<TASWindow>> entryTarget : mapPriorityTasWindowList.entrySet()) {
-			for(TASWindow target : entryTarget.getValue()) {
-
-				if(target.priorityPm == 5) {
-					System.out.println(".");
-				}
-
-				//Sanity check
-				Objects.requireNonNull(target.t_oi_Pm, "You must fill all 't_oi_Pm' values before call this method");
-
-				/**
-				 * Starting with d_npi_L = 0.0
-				 * 
-				 * This term is the worst-case delay caused by lower priority traffic due to non-preemption mechanism.
-				 * When there is no lower priority traffic interference, so there is no delay cause by this.
-				 */
-				double d_npi_L = 0.0;
-
-				for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityTasWindowList.entrySet()) {
-
-					final int priorityOther = entryOther.getKey();
-
-					//We are looking for lower priority windows
-					if(lessThan(priorityOther, target.priorityPm)) {
-
-						for(final TASWindow tasWindowLowerPriority : entryOther.getValue()) {
-
-							Objects.requireNonNull(tasWindowLowerPriority.d_npi_Pm_plus, "You must calculate all 'd_npi_Pm_plus' terms before call this method");
-
-							d_npi_L = Math.max(d_npi_L, tasWindowLowerPriority.d_npi_Pm_plus);
-						}
-
-					}
-
-				}
-
-				/**
-				 * Calculate d_npi_L	(Equation 9)
-				 */
-				target.d_npi_L = d_npi_L;
-
-				/**
-				 * Calculate t_npi_L	(Equation 10)
-				 */
-				target.t_npi_L = target.d_npi_L + target.t_oi_Pm;
-
-
-				System.out.println();
-				System.out.println(target);
-			}
-
-		}
-
-		/**
-		 * All the following values must be filled at this point
-		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(target -> {
-				try {
-					Objects.requireNonNull(target.d_npi_L, "d_npi_L cannot be null");
-					Objects.requireNonNull(target.t_npi_L, "t_npi_L cannot be null");
-
-				}catch (Exception e) {
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					throw e;
-				}
-			});
-		});
-	}
-
-	/**
-	 * Calculate:
-	 * 	d_npi_L	(Equation 9)
-	 * 	t_npi_L	(Equation 10)
-	 * 
-	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
-	 */
-	private void calculateTASWindowListStep2_3_4_5_Correct(InterfaceInfoEntry interfaceInfo, Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
-
-		final EthernetPhyStandard phyStandard = this.mapInterfaceInfoPhyStandard.get(interfaceInfo);
-
-		for(Entry<Integer,List<TASWindow>> entryTarget : mapPriorityTasWindowList.entrySet()) {
-
-			for(TASWindow target : entryTarget.getValue()) {
-
-				//Sanity check
-				Objects.requireNonNull(target.t_oi_Pm, "You must fill all 't_oi_Pm' values before call this method");
-
-				final Map<Integer,Double> mapPriorityMinInterferenceLowerPriority = new HashMap<Integer, Double>();
-
-				for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityTasWindowList.entrySet()) {
-
-					final int priorityOther = entryOther.getKey();
-
-					//We are looking for lower priority windows
-					if(lessThan(priorityOther, target.priorityPm)) {
-
-						//Zero is the default value when there is no overlapping with a lower priority window
-						mapPriorityMinInterferenceLowerPriority.put(priorityOther, 0.0);
-
-						for(final TASWindow termsLowerPriority : entryOther.getValue()) {
-
-							//Sanity check
-							Objects.requireNonNull(termsLowerPriority.t_ci_Pm, "You must fill all 't_ci_Pm' values before call this method");
-							Objects.requireNonNull(termsLowerPriority.l_max_Pm, "You must fill all 'l_max_Pm' values before call this method");
-
-							if(termsLowerPriority.isGateOpen(target.t_oi_Pm)) {
-
-								double minInterference = Math.min((termsLowerPriority.l_max_Pm * 8.0) / phyStandard.rate_bpus, termsLowerPriority.t_ci_Pm - target.t_oi_Pm);
-
-								/**
-								 * Since it is not possible to have overlapping windows from the same priority, 
-								 * I am assuming there is at most a single overlapping window from each lower priority Pm+ with the window in Pm.
-								 * 
-								 * If there are more than one overlapping window from the same priority, then there exists an error in related priority scheduling.
-								 * This error condition is checked in the ending of calculateStep1() method and will throw an exception if occur.
-								 */
-								mapPriorityMinInterferenceLowerPriority.put(priorityOther, minInterference);
-							}
-
-						}
-
-					}
-
-				}//end of for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityTerms.entrySet()) {
-
-				/**
-				 * Calculate d_npi_L	(Equation 9)
-				 * 
-				 * Starting with d_npi_L = 0.0
-				 * The value 0.0 does not cause any interference on calculations when there is no lower priority windows.
-				 */
-
-				if(mapPriorityMinInterferenceLowerPriority.isEmpty()) {
-					target.d_npi_L = 0.0;	
-				}else {
-					target.d_npi_L = NumberUtil.max(mapPriorityMinInterferenceLowerPriority.values());	
-				}
-
-				/**
-				 * Calculate t_npi_L	(Equation 10)
-				 * 
-				 * Previously it was calculated in calculateTASWindowListStep5_Wrong()
-				 */
-				target.t_npi_L = target.d_npi_L + target.t_oi_Pm;
-
-				/**
-				 * These terms are not used anymore. 
-				 * This is a workaround to avoid Exceptions when checking if each term is not null 
-				 */
-				target.l_max_Pm_plus = Double.NaN; //Previously it was calculated in calculateTASWindowListStep2_Wrong()
-				target.t_ci_Pm_plus = Double.NaN; //Previously it was calculated in calculateTASWindowListStep3_Wrong()
-				target.d_npi_Pm_plus = Double.NaN; //Previously it was calculated in calculateTASWindowListStep4_Wrong()
-			}
-
-		}
-
-		/**
-		 * All the following values must be filled at this point
-		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(tasWindow -> {
-				try {
-					Objects.requireNonNull(tasWindow.d_npi_L, "d_npi_L cannot be null");
-					Objects.requireNonNull(tasWindow.t_npi_L, "t_npi_L cannot be null");
-
-				}catch (Exception e) {
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					throw e;
-				}
-			});
-		});
-
-	}
-
-	/**
-	 * Calculate:
-	 * 	t_ci_Pm_minus (Equation 13)
-	 * 	t_oi_Pm_minus (Equation 14)
-	 * 
-	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
-	 */
-	private void calculateTASWindowListStep6(final InterfaceInfoEntry interfaceInfo, final Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
-
-		for(Entry<Integer,List<TASWindow>> entryTarget : mapPriorityTasWindowList.entrySet()) {
-			for(TASWindow target : entryTarget.getValue()) {
-
-				/**
-				 * Starting t_ci_Pm_minus = target.t_oi_Pm.
-				 * 
-				 * This value 'target.t_oi_Pm' does not make any interference on calculations of Equation 13, 
-				 * because we are looking for the greatest lower bound (infimum) for any time 't' after 't_oi_Pm' and Equation 15 uses the max{} function.
-				 * 
-				 * 
-				 * Starting t_oi_Pm_minus = target.t_ci_Pm.
-				 * 
-				 * This value 'target.t_ci_Pm' does not make any interference on calculations of Equation 14,
-				 * because we are looking for the least upper bound (supremum) for any time 't' before 't_ci_Pm' and Equation 16 used the min{} function.
-				 */
-				double t_ci_Pm_minus = target.t_oi_Pm;
-				double t_oi_Pm_minus = target.t_ci_Pm;
-
-				for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityTasWindowList.entrySet()) {
-
-					//Sanity check
-					Objects.requireNonNull(target.t_oi_Pm, "You must fill all 't_oi_Pm' values before call this method");
-					Objects.requireNonNull(target.t_ci_Pm, "You must fill all 't_ci_Pm' values before call this method");
-					Objects.requireNonNull(target.priorityPm, "You must fill all 'priorityPm' values before call this method");
-
-					final int priorityOther = entryOther.getKey();
-
-					//We are looking for higher priority windows
-					if(greaterThan(priorityOther, target.priorityPm)) {
-
-						for(final TASWindow tasWindowHigherPriority : entryOther.getValue()) {
-
-							/**
-							 * We are only interested in windows that collide each other.
-							 * If has no window collision, then there is no interference.
-							 */
-							if(target.hasCollision(tasWindowHigherPriority)) {
-
-								/**
-								 * 	Calculate: 	t_ci_Pm_minus (Equation 13)
-								 */
-								if((tasWindowHigherPriority.t_ci_Pm >= target.t_oi_Pm) && (tasWindowHigherPriority.t_oi_Pm <= target.t_oi_Pm)) {
-									t_ci_Pm_minus = Math.max(t_ci_Pm_minus, tasWindowHigherPriority.t_ci_Pm);
-								}
-
-								/**
-								 * 	Calculate: 	t_oi_Pm_minus (Equation 14)
-								 */
-								if((tasWindowHigherPriority.t_oi_Pm <= target.t_ci_Pm) && (tasWindowHigherPriority.t_ci_Pm >= target.t_ci_Pm)) {
-									t_oi_Pm_minus = Math.min(t_oi_Pm_minus, tasWindowHigherPriority.t_oi_Pm);
-								}
-
-							}
-
-						}
-
-					} 
-
-				}
-
-				target.t_ci_Pm_minus = t_ci_Pm_minus;
-				target.t_oi_Pm_minus = t_oi_Pm_minus;
-			}
-
-		}
-
-		/**
-		 * All the following values must be filled at this point
-		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(tasWindow -> {
-				try {
-					Objects.requireNonNull(tasWindow.t_ci_Pm_minus, "t_ci_Pm_minus cannot be null");
-					Objects.requireNonNull(tasWindow.t_oi_Pm_minus, "t_oi_Pm_minus cannot be null");
-				}catch (Exception e) {
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					throw e;
-				}
-			});
-		});
-
-	}
-
-	/**
-	 * Calculate:
-	 * 	t_Bi_H 		(Equation 15)
-	 * 	t_Ei_H 		(Equation 16)
-	 * 	t_Bi_Pm 	(Equation 17)
-	 * 	t_Ei_Pm		(Equation 18)
-	 * 	L_bar_i_Pm (Equation 19)
-	 * 	o_bar_i_Pm (Equation 20)
-	 * 
-	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
-	 */
-	private void calculateTASWindowListStep7(final InterfaceInfoEntry interfaceInfo, final Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
-
-		//System.out.println("calculateTASWindowListStep7()");
-
-		final EthernetPhyStandard phyStandard = this.mapInterfaceInfoPhyStandard.get(interfaceInfo);
-
-		for(Entry<Integer,List<TASWindow>> entryTarget : mapPriorityTasWindowList.entrySet()) {
-			for(final TASWindow target : entryTarget.getValue()) {
-
-				//Sanity check
-				Objects.requireNonNull(target.t_npi_L, "You must fill all 't_npi_L' values before call this method");
-				Objects.requireNonNull(target.t_gbi_Pm, "You must fill all 't_gbi_Pm' values before call this method");
-				Objects.requireNonNull(target.l_min_Pm, "You must fill all 'l_min_Pm' values before call this method");
-				Objects.requireNonNull(target.t_oi_Pm, "You must fill all 't_oi_Pm' values before call this method");
-				Objects.requireNonNull(target.t_ci_Pm, "You must fill all 't_ci_Pm' values before call this method");
-
-				/**
-				 * Starting t_Bi_H = target.t_oi_Pm.
-				 * 
-				 * This value 'max_t_ci_Pm_minus' will be used to set the 't_Bi_H'. This term 't_Bi_H' is used only in Equations 15 and 17 (using max{}).
-				 * Thus, this value does not make any interference on calculations when there is no higher priority windows.
-				 * 
-				 * 
-				 * Starting t_Ei_H = target.t_ci_Pm.
-				 * 
-				 * This value 'min_t_oi_Pm_minus' will be used to set the 't_Ei_H'. This term 't_Ei_H' is used only in Equations 16 and 18 (using min{}).
-				 * Thus, this value does not make any interference on calculations when there is no higher priority windows.
-				 */
-				double t_Bi_H = target.t_oi_Pm;
-				double t_Ei_H = target.t_ci_Pm;
-
-
-				//				System.out.println("interfaceInfo=" + interfaceInfo.toStringInfo() + ", target = " + target);
+				//				System.out.println("interfaceInfo=" + interfaceInfo.toStringInfo() + ", target = " + target.toString(row));
 
 				/**
 				 * Calculate:
 				 * 	t_Bi_H (Equation 15)
 				 * 	t_Ei_H (Equation 16)
 				 */
-				for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityTasWindowList.entrySet()) {
+				for(Entry<Integer,TASWindowTable> entryOther : mapPriorityTasWindowTable.entrySet()) {
 
 					final int priorityOther = entryOther.getKey();
+					final TASWindowTable other = entryOther.getValue();
 
 					//We are looking for higher priority windows
-					if(greaterThan(priorityOther, target.priorityPm)) {
+					if(greaterThan(priorityOther, priorityPm)) {
+
+						//Both conditions below require the higher priority window to overlap the target window
+						for(final int indexHigherPriority : timeline.getOverlapping(priorityOther, target_t_oi_Pm, target_t_ci_Pm)) {
 
-						for(final TASWindow tasWindowHigherPriority : entryOther.getValue()) {
+							final double higher_t_oi_Pm = other.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, indexHigherPriority);
+							final double higher_t_ci_Pm = other.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, indexHigherPriority);
 
-							//							System.out.println("tasWindowHigherPriority = " + tasWindowHigherPriority);
+							//							System.out.println("tasWindowHigherPriority = " + other.toString(other.getRow(indexHigherPriority)));
 
 							/**
 							 * We are only interested in windows that collide each other.
 							 * If has no window collision, then there is no interference.
 							 */
-							if(target.isGateOpen(tasWindowHigherPriority.t_ci_Pm) && !target.isGateOpen(tasWindowHigherPriority.t_oi_Pm)) {
+							if(TASWindow.isGateOpen(target_t_oi_Pm, target_t_ci_Pm, higher_t_ci_Pm) && !TASWindow.isGateOpen(target_t_oi_Pm, target_t_ci_Pm, higher_t_oi_Pm)) {
 
-								t_Bi_H = Math.max(t_Bi_H, tasWindowHigherPriority.t_ci_Pm);
+								t_Bi_H = Math.max(t_Bi_H, higher_t_ci_Pm);
 							}
 
 							/**
 							 * We are only interested in windows that collide each other.
 							 * If has no window collision, then there is no interference.
 							 */
-							if(target.isGateOpen(tasWindowHigherPriority.t_oi_Pm) && !target.isGateOpen(tasWindowHigherPriority.t_ci_Pm)) {
+							if(TASWindow.isGateOpen(target_t_oi_Pm, target_t_ci_Pm, higher_t_oi_Pm) && !TASWindow.isGateOpen(target_t_oi_Pm, target_t_ci_Pm, higher_t_ci_Pm)) {
 
-								t_Ei_H = Math.min(t_Ei_H, tasWindowHigherPriority.t_oi_Pm);
+								t_Ei_H = Math.min(t_Ei_H, higher_t_oi_Pm);
 							}
 						}
 
@@ -1391,35 +1338,39 @@ public class TASWindowsBuilder {
 				 * 	t_Bi_H (Equation 15)
 				 * 	t_Ei_H (Equation 16)
 				 */
-				target.t_Bi_H = t_Bi_H;
-				target.t_Ei_H = t_Ei_H;
+				target.set(TASWindowTable.DoubleTerm.t_Bi_H, row, t_Bi_H);
+				target.set(TASWindowTable.DoubleTerm.t_Ei_H, row, t_Ei_H);
 
 				if(t_Bi_H > t_Ei_H)
-					System.out.println("Warning: t_Bi_H={"+t_Bi_H+"} > t_Ei_H={"+t_Ei_H+"}, interfaceInfo=" + interfaceInfo.toStringInfo() + ", window=" + target);
+					this.executionConfig.out.println("Warning: t_Bi_H={"+t_Bi_H+"} > t_Ei_H={"+t_Ei_H+"}, interfaceInfo=" + interfaceInfo.toStringInfo() + ", window=" + target.toString(row));
 
 				/**
 				 * Calculate:
 				 * 	t_Bi_Pm (Equation 17)
 				 * 	t_Ei_Pm (Equation 18)
 				 */
-				target.t_Bi_Pm = Math.max(target.t_npi_L, target.t_Bi_H);
-				target.t_Ei_Pm = Math.min(target.t_gbi_Pm, target.t_Ei_H);
+				final double t_Bi_Pm = Math.max(target_t_npi_L, t_Bi_H);
+				final double t_Ei_Pm = Math.min(target_t_gbi_Pm, t_Ei_H);
+				target.set(TASWindowTable.DoubleTerm.t_Bi_Pm, row, t_Bi_Pm);
+				target.set(TASWindowTable.DoubleTerm.t_Ei_Pm, row, t_Ei_Pm);
 
 				/**
 				 * Calculate:
 				 * 	L_bar_i_Pm (Equation 19)
 				 */
-				target.L_bar_i_Pm = 0.0;
-				if(target.t_Bi_Pm < target.t_Ei_Pm)
-					target.L_bar_i_Pm = Math.max(target.t_Ei_Pm - target.t_Bi_Pm, (target.l_min_Pm * 8.0)/ phyStandard.rate_bpus);
+				double L_bar_i_Pm = 0.0;
+				if(t_Bi_Pm < t_Ei_Pm)
+					L_bar_i_Pm = Math.max(t_Ei_Pm - t_Bi_Pm, (target_l_min_Pm * 8.0)/ phyStandard.rate_bpus);
+				target.set(TASWindowTable.DoubleTerm.L_bar_i_Pm, row, L_bar_i_Pm);
 
 				/**
 				 * calculate:
 				 * 	o_bar_i_Pm (Equation 20)
 				 */
-				target.o_bar_i_Pm = 0.0;
-				if(target.L_bar_i_Pm != 0.0)
-					target.o_bar_i_Pm = target.t_Bi_Pm - target.t_oi_Pm;
+				double o_bar_i_Pm = 0.0;
+				if(L_bar_i_Pm != 0.0)
+					o_bar_i_Pm = t_Bi_Pm - target_t_oi_Pm;
+				target.set(TASWindowTable.DoubleTerm.o_bar_i_Pm, row, o_bar_i_Pm);
 
 			}
 
@@ -1428,94 +1379,51 @@ public class TASWindowsBuilder {
 		/**
 		 * All the following values must be filled at this point
 		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(tasWindow -> {
-				try {
-					Objects.requireNonNull(tasWindow.t_Bi_H, "t_Bi_H cannot be null");
-					Objects.requireNonNull(tasWindow.t_Ei_H, "t_Ei_H cannot be null");
-					Objects.requireNonNull(tasWindow.t_Bi_Pm, "t_Bi_Pm cannot be null");
-					Objects.requireNonNull(tasWindow.t_Ei_Pm, "t_Ei_Pm cannot be null");
-					Objects.requireNonNull(tasWindow.L_bar_i_Pm, "L_bar_i_Pm cannot be null");
-					Objects.requireNonNull(tasWindow.o_bar_i_Pm, "o_bar_i_Pm cannot be null");
-
-				}catch (Exception e) {
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					throw e;
-				}
-			});
-		});
+		try {
+			requireFilled(mapPriorityTasWindowTable,
+					TASWindowTable.DoubleTerm.t_Bi_H,
+					TASWindowTable.DoubleTerm.t_Ei_H,
+					TASWindowTable.DoubleTerm.t_Bi_Pm,
+					TASWindowTable.DoubleTerm.t_Ei_Pm,
+					TASWindowTable.DoubleTerm.L_bar_i_Pm,
+					TASWindowTable.DoubleTerm.o_bar_i_Pm);
+		}catch (Exception e) {
+			DataPrinterUtil.print(this.executionConfig.out, mapPriorityTasWindowTable);
+			throw e;
+		}
 
 	}
 
 	/**
-	 * Calculate:
-	 * 	o_ji_Pm	(Equation 21)
+	 * Check the terms of Equation 21.
+	 * 
+	 * o_ji_Pm is calculated on demand by {@link TASWindowTable#getO_ji_Pm(int, int)} from index, N_Pm, T_Pm and o_bar_i_Pm,
+	 * so only those terms must be filled here, and windows of the same priority must have indexes 0..N_Pm-1.
 	 * 
 	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
+	 * @param mapPriorityTasWindowTable
+	 * @param ring		windows of {@param mapPriorityTasWindowTable} in index order
 	 */
-	private void calculateTASWindowListStep8(final InterfaceInfoEntry interfaceInfo, final Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
-
-		for(Entry<Integer,List<TASWindow>> entryTarget : mapPriorityTasWindowList.entrySet()) {
-
-			final List<TASWindow> tasWindowList = entryTarget.getValue();
-			final int size = tasWindowList.size();
-
-			//Sort by index
-			tasWindowList.sort((TASWindow o1, TASWindow o2) -> Integer.compare(o1.index, o2.index));
-
-			for(int i = 0 ; i < size ; i++) {
-
-				final TASWindow tasWindow_i = tasWindowList.get(i);
-
-				Objects.requireNonNull(tasWindow_i.index, "You must fill all 'index' values before call this method");
-				Objects.requireNonNull(tasWindow_i.T_Pm, "You must fill all 'T_Pm' values before call this method");
-				Objects.requireNonNull(tasWindow_i.o_bar_i_Pm, "You must fill all 'o_bar_i_Pm' values before call this method");
-
-				tasWindow_i.o_ji_Pm = new Double[size];
-
-				for(int j = 0 ; j < size ; j++) {
-
-					final TASWindow tasWindow_j = tasWindowList.get(j);
-
-					Objects.requireNonNull(tasWindow_j.index, "You must fill all 'index' values before call this method");
-					Objects.requireNonNull(tasWindow_j.T_Pm, "You must fill all 'T_Pm' values before call this method");
-					Objects.requireNonNull(tasWindow_j.o_bar_i_Pm, "You must fill all 'o_bar_i_Pm' values before call this method");
-
-					/**
-					 * Calculate: 	o_ji_Pm	(Equation 21)
-					 */
-					double T_Pm = tasWindow_i.T_Pm;
-					double o_bar_i_Pm = tasWindow_i.o_bar_i_Pm;
-					double o_bar_j_Pm = tasWindow_j.o_bar_i_Pm;
-
-					tasWindow_i.o_ji_Pm[j] = Double.valueOf(((j - i + size) % size) * T_Pm - o_bar_i_Pm + o_bar_j_Pm);
-				}
-			}
-
-		}
+	private void calculateTASWindowTablesStep8(final InterfaceInfoEntry interfaceInfo, final Map<Integer,TASWindowTable> mapPriorityTasWindowTable, final TASWindowRing ring){
 
 		/**
 		 * All the following values must be filled at this point
 		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(tasWindow -> {
-				try {
-					Objects.requireNonNull(tasWindow.o_ji_Pm, "o_ji_Pm cannot be null");
-
-					if(!Objects.equals(tasWindow.o_ji_Pm.length, (int)((long)tasWindow.N_Pm))) 
-						throw new InvalidParameterException("o_ji_Pm.length={"+tasWindow.o_ji_Pm.length+"} must be equals to N_Pm={"+tasWindow.N_Pm+"}.\r\ntasWindow="+tasWindow);
-
-					for(int j = 0 ; j < tasWindow.o_ji_Pm.length ; j++) {
-						Objects.requireNonNull(tasWindow.o_ji_Pm[j], "o_ji_Pm["+j+"] cannot be null");
-					}
-
-				}catch (Exception e) {
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					throw e;
+		try {
+			requireFilled(mapPriorityTasWindowTable, TASWindowTable.LongTerm.index, TASWindowTable.LongTerm.N_Pm, TASWindowTable.LongTerm.T_Pm);
+			requireFilled(mapPriorityTasWindowTable, TASWindowTable.DoubleTerm.o_bar_i_Pm);
+
+			mapPriorityTasWindowTable.forEach((prio,table) -> {
+				for(int row = 0 ; row < table.size() ; row++) {
+					if(ring.size(prio) != table.get(TASWindowTable.LongTerm.N_Pm, row)) 
+						throw new InvalidParameterException("Window count={"+ring.size(prio)+"} must be equals to N_Pm={"+table.get(TASWindowTable.LongTerm.N_Pm, row)+"}.\r\ntasWindow="+table.toString(row));
 				}
 			});
-		});
+
+		}catch (Exception e) {
+			DataPrinterUtil.print(this.executionConfig.out, mapPriorityTasWindowTable);
+			throw e;
+		}
 
 	}
 
@@ -1544,9 +1452,7 @@ public class TASWindowsBuilder {
 	//				final TASWindow target = tasWindowList.get(index);
 	//
 	//				final TASWindow previousTmp = tasWindowList.get(indexPrev);
-	//				final TASWindow previous = negativePrevIndex ? 
-	//						this.virtualTASWindow(index - 1, target.priorityPm, mapPriorityTasWindowList) :
-	//							previousTmp;
+	//				final TASWindow previous = previousTmp;
 	//
 	//				final TASWindow last = tasWindowList.get(tasWindowList.size() - 1);
 	//
@@ -1628,38 +1534,44 @@ public class TASWindowsBuilder {
 	 * 		S^{i}_{P_m}		(Equation 23)
 	 * 
 	 * @param interfaceInfo
-	 * @param mapPriorityTasWindowList
+	 * @param mapPriorityTasWindowTable
+	 * @param timeline	index over the windows of mapPriorityTasWindowTable
+	 * @param ring		windows of {@param mapPriorityTasWindowTable} in index order
 	 */
-	private void calculateTASWindowListStep9(final InterfaceInfoEntry interfaceInfo, final Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
+	private void calculateTASWindowTablesStep9(final InterfaceInfoEntry interfaceInfo, final Map<Integer,TASWindowTable> mapPriorityTasWindowTable, final TASWindowTimeline timeline, final TASWindowRing ring){
 
 		final EthernetPhyStandard phyStandard = this.mapInterfaceInfoPhyStandard.get(interfaceInfo);
 
-		for(Entry<Integer,List<TASWindow>> entryTarget : mapPriorityTasWindowList.entrySet()) {
+		for(Integer priority : ring.getPriorities()) {
 
-			final List<TASWindow> tasWindowList = entryTarget.getValue();
-			final int size = tasWindowList.size();
+			final TASWindowTable target = ring.getTable(priority);
 
-			for(int index = 0 ; index < size ; index++) {
+			for(int row = 0 ; row < target.size() ; row++) {
 
-				final TASWindow target = tasWindowList.get(index);
-				final TASWindow previous = this.virtualTASWindow(index - 1, target.priorityPm, mapPriorityTasWindowList);
+				/**
+				 * The previous window (from the previous GCL hyperperiod when index is 0), given by the TASWindowRing
+				 */
+				final int previousIndex = target.getWindowOfRow(row) - 1;
+				final int previousPriorityPm = priority;
+				final double previous_t_Ei_Pm = ring.getT_Ei_Pm(priority, previousIndex);
 
-				final Map<Integer,List<TASWindow>> mapPriorityTASWindowListCollision = getTASWindowsCollisionsMap(previous, mapPriorityTasWindowList);
+				final Map<Integer,int[]> mapPriorityIndexesCollision = timeline.getCollisionsMap(ring.getT_oi_Pm(priority, previousIndex), ring.getT_ci_Pm(priority, previousIndex));
 
 				final Map<Integer,Double> mapPriorityMinDelayBusyTime = new HashMap<Integer, Double>(); //time in microseconds
 
-				for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityTASWindowListCollision.entrySet()) {
+				for(Entry<Integer,int[]> entryOther : mapPriorityIndexesCollision.entrySet()) {
 
 					final int priorityOther = entryOther.getKey();
+					final TASWindowTable other = mapPriorityTasWindowTable.get(priorityOther);
 
 					//We are looking for lower priority windows
-					if(lessThan(priorityOther, previous.priorityPm)) {
+					if(lessThan(priorityOther, previousPriorityPm)) {
 
-						for(final TASWindow tasWindowLowerPriorityCollision : entryOther.getValue()) {
+						for(final int indexLowerPriorityCollision : entryOther.getValue()) {
 
 							final double calculatedMinBusyTime = Math.min(
-									(tasWindowLowerPriorityCollision.l_max_Pm * 8.0) / phyStandard.rate_bpus, 
-									previous.t_Ei_Pm - tasWindowLowerPriorityCollision.t_oi_Pm);
+									(other.getWindow(TASWindowTable.DoubleTerm.l_max_Pm, indexLowerPriorityCollision) * 8.0) / phyStandard.rate_bpus, 
+									previous_t_Ei_Pm - other.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, indexLowerPriorityCollision));
 
 							/**
 							 * Since it is not possible to have overlapping windows among the same priority, 
@@ -1680,15 +1592,17 @@ public class TASWindowsBuilder {
 				/**
 				 * Calculate d_np0_L	(Equation 22)
 				 */
+				final double d_np0_L;
 				if(mapPriorityMinDelayBusyTime.isEmpty())
-					target.d_np0_L = 0.0;
+					d_np0_L = 0.0;
 				else
-					target.d_np0_L = NumberUtil.max(mapPriorityMinDelayBusyTime.values());
+					d_np0_L = NumberUtil.max(mapPriorityMinDelayBusyTime.values());
+				target.set(TASWindowTable.DoubleTerm.d_np0_L, row, d_np0_L);
 
 				/**
 				 * Calculate S_i_Pm		(Equation 23)
 				 */
-				target.S_i_Pm = target.d_np0_L + target.t_Bi_Pm - previous.t_Ei_Pm;
+				target.set(TASWindowTable.DoubleTerm.S_i_Pm, row, d_np0_L + target.get(TASWindowTable.DoubleTerm.t_Bi_Pm, row) - previous_t_Ei_Pm);
 			}
 
 		}
@@ -1696,34 +1610,27 @@ public class TASWindowsBuilder {
 		/**
 		 * All the following values must be filled at this point
 		 */
-		mapPriorityTasWindowList.forEach((prio,list) -> {
-			list.forEach(tasWindow -> {
-				try {
-					Objects.requireNonNull(tasWindow.d_np0_L, "d_np0_L cannot be null");
-					Objects.requireNonNull(tasWindow.S_i_Pm, "S_i_Pm cannot be null");
-
-				}catch (Exception e) {
-					DataPrinterUtil.print(mapPriorityTasWindowList);
-					throw e;
-				}
-			});
-		});
+		try {
+			requireFilled(mapPriorityTasWindowTable, TASWindowTable.DoubleTerm.d_np0_L, TASWindowTable.DoubleTerm.S_i_Pm);
+		}catch (Exception e) {
+			DataPrinterUtil.print(this.executionConfig.out, mapPriorityTasWindowTable);
+			throw e;
+		}
 	}
 
 
-	private void calculateTASWindowListStep10(final InterfaceInfoEntry targetInterfaceInfo, final Map<Integer,List<TASWindow>> mapPriorityTASWindowList){
+	private void calculateTASWindowTablesStep10(final InterfaceInfoEntry targetInterfaceInfo, final Map<Integer,TASWindowTable> mapPriorityTASWindowTable, 
+			final TASWindowTimeline timeline){
 
-		//		System.out.println("calculateTASWindowListStep10()");
+		//		System.out.println("calculateTASWindowTablesStep10()");
 
 		//Sanity check
 		Objects.requireNonNull(targetInterfaceInfo);
-		Objects.requireNonNull(mapPriorityTASWindowList);
+		Objects.requireNonNull(mapPriorityTASWindowTable);
 		Objects.requireNonNull(this.mapInterfaceInfoPhyStandard);
 		Objects.requireNonNull(this.mapInterfaceInfoPriorityPLCAWeightWRR);
 		Objects.requireNonNull(this.mapInterfaceInfoPriorityMaxMinMessageSizeBytes);
 
-		this.mapTASWindowPriorityTASWindowListCollisions = new HashMap<>();
-
 		/**
 		 * One chart for each Ethernet interface
 		 */
@@ -1741,11 +1648,11 @@ public class TASWindowsBuilder {
 				ChartUtilsTASWindow.saveTASWindowsChart(dir.getPath() + "/" + nameDescription, 
 						nameDescription, 
 						targetInterfaceInfo, 
-						mapPriorityTASWindowList, 
+						mapPriorityTASWindowTable, 
 						this.executionConfig.prioritizingOrder);
 
 			} catch (IOException e) {
-				e.printStackTrace();
+				e.printStackTrace(this.executionConfig.err);
 			}
 
 			break;
@@ -1761,24 +1668,23 @@ public class TASWindowsBuilder {
 			/**
 			 * Iterate over all priorities from TAS queues of 'targetInterfaceInfo' interface
 			 */
-			for(final Entry<Integer, List<TASWindow>> entry : mapPriorityTASWindowList.entrySet()) {
+			for(final Entry<Integer, TASWindowTable> entry : mapPriorityTASWindowTable.entrySet()) {
 
-				final List<TASWindow> tasWindowDataList = entry.getValue();
+				final TASWindowTable tasWindowTable = entry.getValue();
 
 				/**
 				 * Iterate over all windows from current priority
 				 */
-				for(TASWindow targetWindow : tasWindowDataList) {
-
-					final Map<Integer,List<TASWindow>> mapPriorityTASWindowListCollisions = 
-							getTASWindowsCollisionsMap(targetWindow, mapPriorityTASWindowList);
+				for(int index = 0 ; index < tasWindowTable.getWindowCount() ; index++) {
 
-					this.mapTASWindowPriorityTASWindowListCollisions.put(targetWindow, mapPriorityTASWindowListCollisions);
+					final Map<Integer,TASWindowTable> mapPriorityTASWindowTableCollisions = new HashMap<Integer, TASWindowTable>();
+					timeline.getCollisionsMap(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, index), tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, index))
+					.forEach((priority, indexes) -> mapPriorityTASWindowTableCollisions.put(priority, mapPriorityTASWindowTable.get(priority).copyWindows(indexes)));
 
 					try {
 
 						final String absolutePath = this.datasetReader.getResultAbsolutePath();
-						final String nameDescription = targetInterfaceInfo.toStringInfoEth()+" - P_m="+targetWindow.priorityPm+"_i="+targetWindow.index;
+						final String nameDescription = targetInterfaceInfo.toStringInfoEth()+" - P_m="+tasWindowTable.getWindow(TASWindowTable.LongTerm.priorityPm, index)+"_i="+index;
 
 						final File dir = new File(absolutePath+"/TAS_charts");
 						if(!dir.exists()) dir.mkdirs();
@@ -1786,11 +1692,11 @@ public class TASWindowsBuilder {
 						ChartUtilsTASWindow.saveTASWindowsChart(dir.getPath() + "/" + "TAS_windows_collisions_"+nameDescription, 
 								"TAS Windows Collisions " + nameDescription,
 								targetInterfaceInfo,
-								mapPriorityTASWindowListCollisions,
+								mapPriorityTASWindowTableCollisions,
 								this.executionConfig.prioritizingOrder);
 
 					} catch (IOException e) {
-						e.printStackTrace();
+						e.printStackTrace(this.executionConfig.err);
 					}
 
 				}
@@ -1803,148 +1709,36 @@ public class TASWindowsBuilder {
 
 	}
 
-	public TASWindow makeNewTASWindow(int newIndex, int priorityPm, Map<Integer,List<TASWindow>> mapPriorityTasWindowList) {
-
-		final TASWindow first = mapPriorityTasWindowList.get(priorityPm).get(0);
-
-		final int period_T_Pm_id = newIndex / first.N_Pm_within_T_Pm; //
-		final int indexReference = newIndex % first.N_Pm_within_T_Pm; // 
-		final double timeOffset = first.T_Pm * period_T_Pm_id;
-		final TASWindow reference = mapPriorityTasWindowList.get(priorityPm).get(indexReference);
-		final TASWindow tasWindow = new TASWindow();
-
-		tasWindow.index = newIndex;
-		tasWindow.priorityPm = reference.priorityPm;
-		tasWindow.N_Pm = reference.N_Pm;
-		tasWindow.N_Pm_within_T_Pm = reference.N_Pm_within_T_Pm;
-		tasWindow.T_Pm = reference.T_Pm;
-		tasWindow.T_GCL = reference.T_GCL;
-		tasWindow.t_oi_Pm = reference.t_oi_Pm + timeOffset;
-		tasWindow.t_ci_Pm = reference.t_ci_Pm + timeOffset;
-		tasWindow.l_max_Pm = reference.l_max_Pm;
-		tasWindow.l_min_Pm = reference.l_min_Pm;
-
-		tasWindow.d_gb_Pm = reference.d_gb_Pm;
-		tasWindow.t_gbi_Pm = reference.t_gbi_Pm + timeOffset;
-
-		return tasWindow;
-	}
 
 	/**
-	 * This method must be used for helping with calculations by creating a virtual TASWindow outside of actual GCL hyperperiod.
-	 * 
-	 * It does not require to recompute all guaranteed windows, 
-	 * because this virtual TASWindow that will be created based on an actual TASWindow with all already calculated attributes, 
-	 * and it will not be added to the TAS schedule. 
-	 * So that, by just applying a correct offset in related attributes solves this issue.
-	 *  
-	 * @param newIndex
-	 * @param tasWindowList
-	 * 
-	 * @return A virtual TASWindow outside of actual GCL hyperperiod.
-	 */
-	public TASWindow virtualTASWindow(int newIndex, final Integer priority, final Map<Integer,List<TASWindow>> mapPriorityTasWindowList) {
-
-		Objects.requireNonNull(priority);
-		Objects.requireNonNull(mapPriorityTasWindowList);
-
-		final List<TASWindow> tasWindowList = mapPriorityTasWindowList.get(priority);
-
-		//Sort list by index to avoid disordered list issues
-		tasWindowList.sort((t1,t2) -> Integer.compare(t1.index, t2.index));
-
-		final int size = tasWindowList.size();
-		final int indexRef = (newIndex < 0) ? (((newIndex % size) + size) % size) : (newIndex % size);
-
-		final TASWindow reference = tasWindowList.get(indexRef);
-		final TASWindow virtualWindow = new TASWindow();
-
-		/**
-		 * Calculating actual GCL index accordingly to 'newIndex' value and related timeOffset.
-		 */
-		final int T_GCL_index = (newIndex < 0) ? ((newIndex - (size - 1)) / size) : (newIndex / size);
-		final double timeOffset = reference.T_GCL * T_GCL_index;
-
-		virtualWindow.index = newIndex;
-		virtualWindow.priorityPm = reference.priorityPm;
-		virtualWindow.N_Pm = reference.N_Pm;
-		virtualWindow.N_Pm_within_T_Pm = reference.N_Pm_within_T_Pm;
-		virtualWindow.T_Pm = reference.T_Pm;
-		virtualWindow.T_GCL = reference.T_GCL;
-		virtualWindow.t_oi_Pm = reference.t_oi_Pm + timeOffset;
-		virtualWindow.t_ci_Pm = reference.t_ci_Pm + timeOffset;
-		virtualWindow.l_max_Pm = reference.l_max_Pm;
-		virtualWindow.l_min_Pm = reference.l_min_Pm;
-		virtualWindow.l_max_Pm_plus = reference.l_max_Pm_plus;
-		virtualWindow.t_ci_Pm_plus = reference.t_ci_Pm_plus + timeOffset;
-		virtualWindow.d_npi_Pm_plus = reference.d_npi_Pm_plus;
-		virtualWindow.d_npi_L = reference.d_npi_L;
-		virtualWindow.t_npi_L = reference.t_npi_L + timeOffset;
-		virtualWindow.d_gb_Pm = reference.d_gb_Pm;
-		virtualWindow.t_gbi_Pm = reference.t_gbi_Pm + timeOffset;
-		virtualWindow.t_ci_Pm_minus = reference.t_ci_Pm_minus + timeOffset;
-		virtualWindow.t_oi_Pm_minus = reference.t_oi_Pm_minus + timeOffset;
-		virtualWindow.t_Bi_H = reference.t_Bi_H + timeOffset;
-		virtualWindow.t_Ei_H = reference.t_Ei_H + timeOffset;
-		virtualWindow.t_Bi_Pm = reference.t_Bi_Pm + timeOffset;
-		virtualWindow.t_Ei_Pm = reference.t_Ei_Pm + timeOffset;
-		virtualWindow.L_bar_i_Pm = reference.L_bar_i_Pm;
-		virtualWindow.o_bar_i_Pm = reference.o_bar_i_Pm;
-		virtualWindow.o_ji_Pm = reference.o_ji_Pm;
-		virtualWindow.d_np0_L = reference.d_np0_L;
-		virtualWindow.S_i_Pm = reference.S_i_Pm;
-		virtualWindow.d_i_PLCA = reference.d_i_PLCA;
-
-		return virtualWindow;
-	}
-
-
-
-	/**
-	 * Returns 'true' if there is any lower priority window than { @param priorityPm } with gate in the open state at time { @param time }, 
-	 * or 'false' otherwise.
+	 * Check for errors in scheduling
 	 * 
-	 * @param priorityPm
-	 * @param time
-	 * @param mapPriorityListTasWindow
-	 * @return
+	 * @param mapPriorityTasWindowTable
+	 * @param timeline	index over the windows of mapPriorityTasWindowTable
 	 */
-	private boolean G_Pm_plus(int priorityPm, double time, Map<Integer, List<TASWindow>> mapPriorityListTasWindow) {
+	private void checkForErrorsInScheduling(Map<Integer,TASWindowTable> mapPriorityTasWindowTable, TASWindowTimeline timeline){
 
-		boolean G_Pm_plus_isOpen = false;
+		for(Entry<Integer,TASWindowTable> entry : mapPriorityTasWindowTable.entrySet()) {
 
-		for(Entry<Integer,List<TASWindow>> entryOther : mapPriorityListTasWindow.entrySet()) {
-
-			final int priorityOther = entryOther.getKey();
-
-			//We are looking for lower priority windows
-			if(lessThan(priorityOther, priorityPm)) {
-
-				for(final TASWindow tasWindowLowerPriority : entryOther.getValue()) {
-
-					//A lower priority window could be already opened at the target window opening time
-					if(tasWindowLowerPriority.isGateOpen(time)) {
-						G_Pm_plus_isOpen = true;
-						break;
-					}
+			/**
+			 * The GCL hyperperiod must have N_Pm = (T_GCL / T_Pm) * N_Pm_within_T_Pm windows, with index 0..N_Pm-1 and opening in index order,
+			 * i.e., each T_Pm period contributes its own N_Pm_within_T_Pm windows (none of them is overwritten by the ones of another period).
+			 * Each row is checked against the window before it, which may be read from the row of another period.
+			 */
+			final TASWindowTable table = entry.getValue();
+			for(int row = 0 ; row < table.size() ; row++) {
+				final int index = table.getWindowOfRow(row);
+				if(table.getWindowCount() != table.get(TASWindowTable.LongTerm.N_Pm, row)
+						|| table.get(TASWindowTable.LongTerm.index, row) != index
+						|| table.getRow(index) != row
+						|| (index > 0 && !(table.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, index - 1) < table.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, index)))) {
+					final String message = "There are " + table.getWindowCount() + " windows from priority Pm=" + entry.getKey() + " within the GCL hyperperiod, but this one is out of place: " + table.toString(row);
+					throw new InvalidParameterException(message);
 				}
 			}
 
-		}
-
-		return G_Pm_plus_isOpen;
-	}
-
-	/**
-	 * Check for errors in scheduling
-	 * 
-	 * @param mapPriorityTasWindowList
-	 */
-	private static void checkForErrorsInScheduling(Map<Integer,List<TASWindow>> mapPriorityTasWindowList){
-
-		for(Entry<Integer,List<TASWindow>> entry : mapPriorityTasWindowList.entrySet()) {
-			if(hasCollision(entry.getValue())) {
-				DataPrinterUtil.print(entry);
+			if(timeline.hasCollision(entry.getKey())) {
+				DataPrinterUtil.print(this.executionConfig.out, entry);
 				final String message = "There is a collision between two (or more) windows from the same priority Pm=" + entry.getKey();
 				throw new InvalidParameterException(message);
 			}
@@ -1952,40 +1746,16 @@ public class TASWindowsBuilder {
 
 	}
 
-	private static boolean hasCollision(List<TASWindow> tasWindowTerms) {
-
-		//More efficient solution
-		for(int i = 0 ; i < tasWindowTerms.size() ; i++) {
-			final TASWindow tasWindow_i = tasWindowTerms.get(i);
-
-			for(int j = i + 1 ; j < tasWindowTerms.size() ; j++ ) {
-				final TASWindow tasWindow_j = tasWindowTerms.get(j);
-
-				if(tasWindow_i.hasCollision(tasWindow_j))
-					return true;
-			}
-		}
-
-		//		for(TASWindow a : tasWindowTerms) {
-		//			for(TASWindow b : tasWindowTerms) {
-		//				if((a != b) && a.hasCollision(b))
-		//					return true;
-		//			}
-		//		}
-
-		return false;
-	}
-
-	private static long calculateGCLHyperperiod(Map<Integer, List<TASWindow>> mapPriorityTasWindowList) {
+	private static long calculateGCLHyperperiod(Map<Integer, TASWindowTable> mapPriorityTasWindowTable) {
 
 		final Set<Long> priorityPeriodSet = new HashSet<Long>();
 
-		for(Entry<Integer, List<TASWindow>> entry : mapPriorityTasWindowList.entrySet()) {
+		for(Entry<Integer, TASWindowTable> entry : mapPriorityTasWindowTable.entrySet()) {
 
 			//Sanity check
 			final Set<Long> periods = new HashSet<Long>();
-			for(TASWindow tasWindowTerms : entry.getValue())
-				periods.add(tasWindowTerms.T_Pm); //in microseconds (us)
+			for(int row = 0 ; row < entry.getValue().size() ; row++)
+				periods.add(entry.getValue().get(TASWindowTable.LongTerm.T_Pm, row)); //in microseconds (us)
 
 			if(periods.size() != 1)
 				throw new InvalidParameterException("There are some TASWindow from priority " + entry.getKey() + " with different values of T_Pm: " + periods.toString());
@@ -1996,184 +1766,37 @@ public class TASWindowsBuilder {
 		return NumberUtil.lcm(priorityPeriodSet); //in microseconds (us)
 	}
 
-
 	/**
-	 * If window period for priority Pm is not equals to the GCL hyperperiod (i.e., T_Pm != T_GCL),
-	 * then there are some T_Pm within a T_GCL.
-	 * That occur when: \forall m,n \in [0..7] : \exists T_{P_m} \neq T_{P_n}
-	 * Thus the T_GCL is LCM (Least Common Multiplier) among all T_Pm.
-	 * 
-	 * So only the first T_Pm has TASWindows, then one have to build other TASWindows for other T_Pm that fits within the T_GCL.
-	 * 
-	 * After that, it is required to recalculate TASWindow attributes because new overlapping situation for these new TASWindows will occur.  
-	 * 
-	 * @param currentMapPriorityTasWindowList
-	 * @return
-	 */
-	private Map<Integer,List<TASWindow>> buildTASWindowMapToFillGCL(Map<Integer,List<TASWindow>> currentMapPriorityTasWindowList) {
-
-		/**
-		 * if T_Pm != T_GCL
-		 * 
-		 * Create new TASWindow to fill all available spaces within the GCL hyper-period
-		 */
-		final Map<Integer,List<TASWindow>> newTasWindowsToBeAddedMap = new HashMap<>();
-
-		for(Entry<Integer,List<TASWindow>> entryPriorityTASWindow : currentMapPriorityTasWindowList.entrySet()) {
-
-			final int priority = entryPriorityTASWindow.getKey();
-			final List<TASWindow> tasWindowList = entryPriorityTASWindow.getValue();
-
-			int index = tasWindowList.size();
-			for(TASWindow tasWindow : tasWindowList) {
-
-				final List<TASWindow> newTASWindowsToBeAddedList = new LinkedList<TASWindow>();
-
-				/**
-				 * A T_GCL period is composed of many T_Pm periods.
-				 * When T_GCL = T_Pm, there is no TASWindow to be added, otherwise we have to calculate how many TASWindows have to add.
-				 * 
-				 * Since the TASWindows from the first T_Pm were already added before, 
-				 * we need to add the remaining TASWindows related to other T_Pm periods until fill whole T_GCL with the related TASWindows.
-				 * 
-				 * period_T_Pm_count denotes how many T_Pm periods there are within a T_GCL hyperperiod.
-				 */
-				final int period_T_Pm_count = (int) (tasWindow.T_GCL / tasWindow.T_Pm);
-
-				/**
-				 * Starting from period_T_Pm_id = 1 because period_T_Pm_id = 0 was previously created and added by default
-				 */
-				for(int period_T_Pm_id = 1 ; period_T_Pm_id < period_T_Pm_count ; period_T_Pm_id++) {
-
-					for(int count = 0 ; count < tasWindow.N_Pm_within_T_Pm.intValue() ; count++) {
-
-						final TASWindow newTasWindow = this.makeNewTASWindow(index++, tasWindow.priorityPm, currentMapPriorityTasWindowList);
-
-						newTASWindowsToBeAddedList.add(newTasWindow);
-					}
-
-				}
-
-				newTasWindowsToBeAddedMap.put(priority, newTASWindowsToBeAddedList);
-			}
-		}
-
-		return newTasWindowsToBeAddedMap;
-	}
-
-	/**
-	 * 
-	 * targetWindow is included in returned map
-	 * 
-	 * @param networkConfig
-	 * @param targetInterfaceInfo
-	 * @param targetWindow
-	 * @return
+	 * @param mapPriorityTasWindowTable
+	 * @param terms
+	 * @throws NullPointerException	if any term of {@param terms} is not filled for all windows
 	 */
-	public Map<Integer,List<TASWindow>> getTASWindowsCollisionsMap(final TASWindow targetWindow, final Map<Integer, List<TASWindow>> mapPriorityTasWindowList){
-
-		final Map<Integer,List<TASWindow>> mapPriorityTASWindowListCollision = new HashMap<Integer,List<TASWindow>>();
-
-		for(Entry<Integer, List<TASWindow>> entry : mapPriorityTasWindowList.entrySet()) {
-
-			int priority = entry.getKey();
-			final List<TASWindow> tasWindowTerms = entry.getValue();
-
-			/**
-			 * Iterate over all windows from current priority
-			 */
-			for(TASWindow window : tasWindowTerms) {
-
-				if(targetWindow.hasCollision(window)) {
-
-					final List<TASWindow> tasWindowList = mapPriorityTASWindowListCollision.getOrDefault(priority, new LinkedList<TASWindow>());
-
-					tasWindowList.add(window);
-					mapPriorityTASWindowListCollision.put(priority, tasWindowList);
-				}
-
+	private static void requireFilled(Map<Integer, TASWindowTable> mapPriorityTasWindowTable, TASWindowTable.DoubleTerm... terms) {
+		for(TASWindowTable table : mapPriorityTasWindowTable.values()) {
+			for(TASWindowTable.DoubleTerm term : terms) {
+				if(!table.isFilled(term))
+					throw new NullPointerException(term + " cannot be null");
 			}
-
 		}
-
-		return mapPriorityTASWindowListCollision;
 	}
 
 	/**
-	 * 
-	 * Get all TASWindow which their guaranteed windows collide to guaranteed window of 'targetWindow' from interface 'targetInterfaceInfo'
-	 * 
-	 * @param networkConfig
-	 * @param targetInterfaceInfo
-	 * @param targetWindow
-	 * @return
+	 * @param mapPriorityTasWindowTable
+	 * @param terms
+	 * @throws NullPointerException	if any term of {@param terms} is not filled for all windows
 	 */
-	public Map<InterfaceInfoEntry,Map<Integer,List<TASWindow>>> getGuaranteedTASWindowsCollideWith(InterfaceInfoEntry targetInterfaceInfo, TASWindow targetWindow){
-
-		final Map<InterfaceInfoEntry,Map<Integer,List<TASWindow>>> mapGuaranteedWindowsCollision = new HashMap<InterfaceInfoEntry, Map<Integer,List<TASWindow>>>();
-
-		/**
-		 * Iterate over all interfaces from link where 'target' belongs to
-		 */
-		for(InterfaceInfoEntry interfaceInfo : mapInterfaceInfoLinkInfo.get(targetInterfaceInfo).getInterfaceInfoSet()) {
-
-			//Do not compare to itself
-			if(targetInterfaceInfo.equals(interfaceInfo))
-				continue;
-
-			/**
-			 * Iterate over all priorities from 'interfaceInfo' interface
-			 */
-			final Map<Integer,STServerData> mapPrioritySTServerData = mapInterfaceInfoPrioritySTServerData.get(interfaceInfo);
-			if(mapPrioritySTServerData == null)
-				continue;
-
-			for(int priority : mapPrioritySTServerData.keySet()) {
-
-				if(mapInterfaceInfoPrioritySTServerData.get(interfaceInfo) == null) {
-					System.out.println("---------------------------");
-
-					System.out.println("mapInterfaceInfoPrioritySTServerData.get("+interfaceInfo+"):");
-					DataPrinterUtil.print(mapInterfaceInfoPrioritySTServerData.get(interfaceInfo));
-
-					System.out.println("mapInterfaceInfoPriorityPLCAWeightWRR.get("+interfaceInfo+"):");
-					DataPrinterUtil.print(mapInterfaceInfoPriorityPLCAWeightWRR.get(interfaceInfo));
-
-					System.out.println("mapInterfaceInfoPriorityMaxMinMessageSizeBytes.get("+interfaceInfo+"):");
-					DataPrinterUtil.print(mapInterfaceInfoPriorityMaxMinMessageSizeBytes.get(interfaceInfo));
-
-					System.out.println("---------------------------");
-				}
-
-				final STServerData stServerData = mapInterfaceInfoPrioritySTServerData.get(interfaceInfo).get(priority);
-
-				/**
-				 * Iterate over all windows from current priority
-				 */
-				for(TASWindow window : stServerData.getTASWindowTermsList()) {
-
-					if(targetWindow.hasGuaranteedSlotCollision(window)) {
-
-						final Map<Integer, List<TASWindow>> mapPriorityListTASWindow = mapGuaranteedWindowsCollision.getOrDefault(interfaceInfo, new HashMap<Integer, List<TASWindow>>());
-						final List<TASWindow> listTASWindow = mapPriorityListTASWindow.getOrDefault(priority, new LinkedList<TASWindow>());
-
-						listTASWindow.add(window);
-						mapPriorityListTASWindow.put(priority, listTASWindow);
-						mapGuaranteedWindowsCollision.put(interfaceInfo, mapPriorityListTASWindow);
-					}
-
-				}
-
+	private static void requireFilled(Map<Integer, TASWindowTable> mapPriorityTasWindowTable, TASWindowTable.LongTerm... terms) {
+		for(TASWindowTable table : mapPriorityTasWindowTable.values()) {
+			for(TASWindowTable.LongTerm term : terms) {
+				if(!table.isFilled(term))
+					throw new NullPointerException(term + " cannot be null");
 			}
-
 		}
-
-		return mapGuaranteedWindowsCollision;
 	}
 
 	public final void assertSharedInterfacesOnlyOnLink(InterfaceInfoEntry targetInterfaceInfo) {
 
-		System.out.println("targetInterfaceInfo="+targetInterfaceInfo);
+		this.executionConfig.out.println("targetInterfaceInfo="+targetInterfaceInfo);
 
 		final Set<InterfaceInfoEntry> interfaceInfosOnLink = this.mapInterfaceInfoLinkInfo.get(targetInterfaceInfo).getInterfaceInfoSet();
 
@@ -0,0 +1,253 @@
+package org.networkcalculus.dnc.ethernet.tsn;
+
+import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+import org.networkcalculus.dnc.ethernet.tsn.data.DatasetReader;
+import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
+import org.networkcalculus.dnc.ethernet.tsn.entry.STMessageEntry;
+import org.networkcalculus.dnc.ethernet.tsn.entry.TASGateScheduleEntry2018;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
+import org.networkcalculus.dnc.ethernet.utils.NumberUtil;
+
+/**
+ * Pre-flight estimate of the work done by TASWindowsBuilder for a dataset case,
+ * computed only from the gate scheduling (historySCHED1.txt) and the flows (msg.txt), before any TASWindow is created.
+ *
+ * For each port (Ethernet interface with gate scheduling):
+ * 	- T_GCL, the LCM of all T_Pm, computed with overflow checks;
+ * 	- N_Pm = (T_GCL / T_Pm) * (windows within T_Pm), summed among priorities as the window count;
+ * 	- o_ji_Pm entries = sum of N_Pm^2 (Equation 21 is evaluated N_Pm times per window by the service curve sums, but not stored);
+ * 	- estimated heap of the TASWindowTable rows.
+ *
+ * The relative cost is a unitless value used to compare (and order) cases. See {@link #getRelativeCost()}.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class TASWindowsCostEstimate {
+
+	/**
+	 * Heap of a window in a TASWindowTable, in bytes: a double or long column slot for each term (8 * (22 + 6)).
+	 * The BitSets of the set terms add less than 4 bytes per window.
+	 */
+	public static final long ESTIMATED_BYTES_PER_TASWINDOW = 8L * (TASWindowTable.DoubleTerm.values().length + TASWindowTable.LongTerm.values().length);
+
+	/**
+	 * Estimate of a single port. Counters are Long.MAX_VALUE when T_GCL overflows.
+	 */
+	public static class PortEstimate {
+
+		private final InterfaceInfoEntry interfaceInfo;
+		private final long T_GCL;
+		private final long windowCount;
+		private final long o_ji_PmEntries;
+		private final boolean overflow;
+
+		private PortEstimate(InterfaceInfoEntry interfaceInfo, long T_GCL, long windowCount, long o_ji_PmEntries, boolean overflow) {
+			this.interfaceInfo = interfaceInfo;
+			this.T_GCL = T_GCL;
+			this.windowCount = windowCount;
+			this.o_ji_PmEntries = o_ji_PmEntries;
+			this.overflow = overflow;
+		}
+
+		public InterfaceInfoEntry getInterfaceInfo() {
+			return interfaceInfo;
+		}
+		/**
+		 * @return	T_GCL in microseconds (us), or Long.MAX_VALUE if it overflows
+		 */
+		public long getT_GCL() {
+			return T_GCL;
+		}
+		/**
+	 * @return	the window count summed over all ports
+	 */
+	public long getWindowCount() {
+			return windowCount;
+		}
+		public long getO_ji_PmEntries() {
+			return o_ji_PmEntries;
+		}
+		public long getEstimatedHeapBytes() {
+			return saturatedMultiply(windowCount, ESTIMATED_BYTES_PER_TASWINDOW);
+		}
+		public boolean isOverflow() {
+			return overflow;
+		}
+
+		@Override
+		public String toString() {
+			return "PortEstimate [interfaceInfo=" + interfaceInfo.toStringInfo() + ", T_GCL=" + (overflow ? "overflow" : T_GCL) + ", windowCount=" + windowCount
+					+ ", o_ji_PmEntries=" + o_ji_PmEntries + ", estimatedHeapBytes=" + getEstimatedHeapBytes() + "]";
+		}
+	}
+
+	private final List<PortEstimate> portEstimates;
+	private final int flowCount;
+
+	private TASWindowsCostEstimate(List<PortEstimate> portEstimates, int flowCount) {
+		this.portEstimates = Collections.unmodifiableList(portEstimates);
+		this.flowCount = flowCount;
+	}
+
+	/**
+	 * Reads only historySCHED1.txt and msg.txt from the dataset case.
+	 *
+	 * @param datasetReader
+	 * @return
+	 */
+	public static TASWindowsCostEstimate estimate(DatasetReader datasetReader) {
+
+		Objects.requireNonNull(datasetReader, "datasetReader cannot be null");
+
+		return estimate(datasetReader.readGateSchedulingFile(), datasetReader.readScheduledMessageFile());
+	}
+
+	/**
+	 *
+	 * @param mapInterfaceInfoPriorityListTASGateScheduleEntry	as read by DatasetReader.readGateSchedulingFile()
+	 * @param messages											as read by DatasetReader.readScheduledMessageFile()
+	 * @return
+	 */
+	public static TASWindowsCostEstimate estimate(Map<InterfaceInfoEntry, Map<Integer, List<TASGateScheduleEntry2018>>> mapInterfaceInfoPriorityListTASGateScheduleEntry, List<STMessageEntry> messages) {
+
+		Objects.requireNonNull(mapInterfaceInfoPriorityListTASGateScheduleEntry, "mapInterfaceInfoPriorityListTASGateScheduleEntry cannot be null");
+		Objects.requireNonNull(messages, "messages cannot be null");
+
+		final List<PortEstimate> portEstimates = new LinkedList<PortEstimate>();
+
+		for(Entry<InterfaceInfoEntry, Map<Integer, List<TASGateScheduleEntry2018>>> entry : mapInterfaceInfoPriorityListTASGateScheduleEntry.entrySet()) {
+
+			final Map<Integer, List<TASGateScheduleEntry2018>> mapPriorityEntries = entry.getValue();
+			if(mapPriorityEntries.isEmpty())
+				continue;
+
+			final Set<Long> periods = new HashSet<Long>();
+			for(List<TASGateScheduleEntry2018> tasGateScheduleEntryList : mapPriorityEntries.values()) {
+				for(TASGateScheduleEntry2018 tasGateScheduleEntry : tasGateScheduleEntryList) {
+					if(tasGateScheduleEntry.periodLength <= 0)
+						throw new InvalidParameterException("periodLength={"+tasGateScheduleEntry.periodLength+"} must be positive. interfaceInfo=" + entry.getKey().toStringInfo());
+					periods.add(tasGateScheduleEntry.periodLength);
+				}
+			}
+
+			long T_GCL;
+			try {
+				T_GCL = NumberUtil.lcm(periods);
+			} catch (ArithmeticException e) {
+				portEstimates.add(new PortEstimate(entry.getKey(), Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, true));
+				continue;
+			}
+
+			long windowCount = 0;
+			long o_ji_PmEntries = 0;
+			for(List<TASGateScheduleEntry2018> tasGateScheduleEntryList : mapPriorityEntries.values()) {
+
+				final long T_Pm = tasGateScheduleEntryList.get(0).periodLength;
+				final long N_Pm = saturatedMultiply(T_GCL / T_Pm, tasGateScheduleEntryList.size());
+
+				windowCount = saturatedAdd(windowCount, N_Pm);
+				o_ji_PmEntries = saturatedAdd(o_ji_PmEntries, saturatedMultiply(N_Pm, N_Pm));
+			}
+
+			portEstimates.add(new PortEstimate(entry.getKey(), T_GCL, windowCount, o_ji_PmEntries, false));
+		}
+
+		return new TASWindowsCostEstimate(portEstimates, messages.size());
+	}
+
+	public List<PortEstimate> getPortEstimates() {
+		return portEstimates;
+	}
+
+	public int getFlowCount() {
+		return flowCount;
+	}
+
+	/**
+	 * @return	true if T_GCL of any port does not fit in a long
+	 */
+	public boolean hasOverflow() {
+		return this.portEstimates.stream().anyMatch(PortEstimate::isOverflow);
+	}
+
+	/**
+	 * @return	the window count summed over all ports
+	 */
+	public long getWindowCount() {
+		long total = 0;
+		for(PortEstimate portEstimate : this.portEstimates)
+			total = saturatedAdd(total, portEstimate.getWindowCount());
+		return total;
+	}
+
+	public long getO_ji_PmEntries() {
+		long total = 0;
+		for(PortEstimate portEstimate : this.portEstimates)
+			total = saturatedAdd(total, portEstimate.getO_ji_PmEntries());
+		return total;
+	}
+
+	public long getEstimatedHeapBytes() {
+		long total = 0;
+		for(PortEstimate portEstimate : this.portEstimates)
+			total = saturatedAdd(total, portEstimate.getEstimatedHeapBytes());
+		return total;
+	}
+
+	/**
+	 * Unitless cost used to compare cases:
+	 * 	windows (overlapping steps) + o_ji_Pm entries (Equation 21 and the per-window service curve sums) + flows^2 (each flow of interest against its cross flows).
+	 *
+	 * @return	the relative cost, or Long.MAX_VALUE if there is an overflow
+	 */
+	public long getRelativeCost() {
+		return saturatedAdd(saturatedAdd(this.getWindowCount(), this.getO_ji_PmEntries()), saturatedMultiply(this.flowCount, this.flowCount));
+	}
+
+	/**
+	 * Fail fast before building any TASWindow.
+	 *
+	 * @param windowsBudget	maximum number of windows summed over all ports (see {@link #getWindowCount()}), or 0 for no budget
+	 * @throws InvalidParameterException if T_GCL of any port overflows, or the window count of all ports exceeds {@param windowsBudget}
+	 */
+	public void checkBudget(long windowsBudget) {
+
+		for(PortEstimate portEstimate : this.portEstimates) {
+			if(portEstimate.isOverflow())
+				throw new InvalidParameterException("GCL hyperperiod (LCM of all T_Pm) overflows a long. interfaceInfo=" + portEstimate.getInterfaceInfo().toStringInfo());
+		}
+
+		if(windowsBudget > 0 && this.getWindowCount() > windowsBudget)
+			throw new InvalidParameterException("Estimated TAS windows={"+this.getWindowCount()+"} exceed the budget={"+windowsBudget+"}. " + this);
+	}
+
+	@Override
+	public String toString() {
+		return "TASWindowsCostEstimate [ports=" + portEstimates.size() + ", windowCount=" + getWindowCount() + ", o_ji_PmEntries=" + getO_ji_PmEntries()
+				+ ", estimatedHeapBytes=" + getEstimatedHeapBytes() + ", flowCount=" + flowCount + ", relativeCost=" + getRelativeCost() + "]";
+	}
+
+	private static long saturatedAdd(long a, long b) {
+		final long result = a + b;
+		return (((a ^ result) & (b ^ result)) < 0) ? Long.MAX_VALUE : result;
+	}
+
+	private static long saturatedMultiply(long a, long b) {
+		try {
+			return Math.multiplyExact(a, b);
+		} catch (ArithmeticException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+}
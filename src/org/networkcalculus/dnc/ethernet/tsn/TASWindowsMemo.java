@@ -0,0 +1,409 @@
+package org.networkcalculus.dnc.ethernet.tsn;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.math3.util.Pair;
+import org.networkcalculus.dnc.ethernet.EthernetPhyStandard;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig.PrioritizingOrder;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig.TASWindowsComputation;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig.TASWindowsPeriodicity;
+import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig.TASWindowsTimeArithmetic;
+import org.networkcalculus.dnc.ethernet.tsn.entry.TASGateScheduleEntry2018;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
+import org.networkcalculus.dnc.ethernet.utils.HashUtil;
+
+/**
+ * Memoization of the TAS windows of a port (Ethernet interface with gate scheduling).
+ * Only windows are kept here: ST service curves are reused through ServiceCurveCache, and PLCA service curves are kept by EthernetNetwork.
+ *
+ * The windows of a port only depend on its gate scheduling, on the max and min frame sizes of each priority,
+ * on its EthernetPhyStandard and on the ExecutionConfig options of their calculation (see {@link #KEY_FIELDS}).
+ * Many ports of the dataset share all of these inputs (e.g. the same end system in the cases of a table, or the same case in the TX and T1S variants),
+ * so they share the same TASWindowTable instances, which must not be changed.
+ *
+ * The key is the SHA-256 of a canonical text of the inputs: priorities and GCL entries sorted, and doubles written as their raw bits.
+ * The memory is bounded by the total number of windows of the kept entries: beyond {@link #getMaxWindows()},
+ * the least recently used entries are evicted. Entries may also be stored in a directory (one file per key) to be read by later runs.
+ *
+ * Thread-safe: ports may be calculated concurrently (see ExecutionConfig.TASWindowsBuildExecution).
+ * Windows are calculated outside the lock, so a port missed by two threads at the same time may be calculated twice, and both get the entry kept first.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class TASWindowsMemo {
+
+	/**
+	 * About 45 MB of windows (see TASWindowsCostEstimate.ESTIMATED_BYTES_PER_TASWINDOW)
+	 */
+	public static final long DEFAULT_MAX_WINDOWS = 200_000;
+
+	/**
+	 * Names of the ExecutionConfig fields (and the EthernetPhyStandard) written in the key, in order
+	 */
+	private static final List<String> KEY_FIELDS = Collections.unmodifiableList(Arrays.asList(
+			"phy", "order", "time", "periodicity", "computation"));
+
+	/**
+	 * Names of the fields of each priority written in the key, in order: "P,l_max,l_min", then "[open,close,period]" for each GCL entry
+	 */
+	private static final List<String> KEY_PRIORITY_FIELDS = Collections.unmodifiableList(Arrays.asList(
+			"P", "l_max", "l_min", "open", "close", "period"));
+
+	/**
+	 * Fields of each priority written in the files, in order: the rows of the TASWindowTable are followed by the row of each T_Pm period
+	 */
+	private static final List<String> FILE_PRIORITY_FIELDS = Collections.unmodifiableList(Arrays.asList(
+			"priority", "TASWindowTable", "periodFirstRows"));
+
+	/**
+	 * Layout of the keys and files, derived from the key fields, the file fields and the columns of TASWindowTable,
+	 * so files written before any of them changed are ignored (and have other keys)
+	 */
+	private static final String FILE_LAYOUT = HashUtil.sha256Hex("key=" + KEY_FIELDS + ";priority=" + KEY_PRIORITY_FIELDS + ";file=" + FILE_PRIORITY_FIELDS
+			+ ";double=" + Arrays.toString(TASWindowTable.DoubleTerm.values()) + ";long=" + Arrays.toString(TASWindowTable.LongTerm.values()));
+
+	private static final String FILE_EXTENSION = ".tasw";
+
+	/**
+	 * One shared memo for each bound, so configurations with the same bound share the windows
+	 */
+	private static final Map<Long, TASWindowsMemo> mapMaxWindowsInstance = new ConcurrentHashMap<Long, TASWindowsMemo>();
+
+	/**
+	 * @param maxWindows
+	 * @return	the memo shared by all TASWindowsBuilder instances of this JVM with the same {@param maxWindows}
+	 */
+	public static TASWindowsMemo getInstance(long maxWindows) {
+		return mapMaxWindowsInstance.computeIfAbsent(maxWindows, TASWindowsMemo::new);
+	}
+
+	/**
+	 * Windows of each priority of a port
+	 */
+	public static final class PortTASWindows {
+
+		private final Map<Integer,TASWindowTable> mapPriorityTASWindowTable;
+
+		public PortTASWindows(Map<Integer,TASWindowTable> mapPriorityTASWindowTable) {
+
+			Objects.requireNonNull(mapPriorityTASWindowTable, "mapPriorityTASWindowTable cannot be null");
+
+			this.mapPriorityTASWindowTable = Collections.unmodifiableMap(new HashMap<Integer,TASWindowTable>(mapPriorityTASWindowTable));
+		}
+
+		public Map<Integer, TASWindowTable> getMapPriorityTASWindowTable() {
+			return mapPriorityTASWindowTable;
+		}
+
+		/**
+		 * @return	number of windows of all priorities kept in rows (the windows of the other T_Pm periods take no memory)
+		 */
+		public long getWindowCount() {
+			long windows = 0;
+			for(TASWindowTable tasWindowTable : this.mapPriorityTASWindowTable.values())
+				windows += tasWindowTable.size();
+			return windows;
+		}
+	}
+
+	private final long maxWindows;
+
+	/**
+	 * Access ordered, so the first entry is the least recently used one. Guarded by 'this'.
+	 */
+	private final LinkedHashMap<String, PortTASWindows> mapKeyPortTASWindows;
+	private long windows;
+
+	private final AtomicLong hits;
+	private final AtomicLong diskHits;
+	private final AtomicLong misses;
+	private final AtomicLong evictions;
+
+	public TASWindowsMemo(long maxWindows) {
+
+		if(maxWindows < 1)
+			throw new InvalidParameterException("maxWindows={"+maxWindows+"} must be at least 1");
+
+		this.maxWindows = maxWindows;
+		this.mapKeyPortTASWindows = new LinkedHashMap<String, PortTASWindows>(16, 0.75f, true);
+		this.windows = 0;
+		this.hits = new AtomicLong();
+		this.diskHits = new AtomicLong();
+		this.misses = new AtomicLong();
+		this.evictions = new AtomicLong();
+	}
+
+	/**
+	 * Canonical key of the inputs of a port.
+	 * Priorities without max/min frame sizes use 0.0, the same default of TASWindowsBuilder.
+	 *
+	 * @param mapPriorityListTASGateScheduleEntry		GCL of the port
+	 * @param mapPriorityMaxMinMessageSizeBytes			Map<Integer = Priority, Pair<Double = MaxMessageSize,Double = MinMessageSize>> of the port, or null if there is no flow
+	 * @param phyStandard
+	 * @param prioritizingOrder
+	 * @param tasWindowsTimeArithmetic	the tick modes round the window terms, so they have their own entries
+	 * @param tasWindowsPeriodicity		reused patterns are shifted copies, which may differ from the evaluated ones in the last bits
+	 * @param tasWindowsComputation		the fused sweep sums the terms in another order
+	 * @return	SHA-256 in hexadecimal
+	 */
+	public static String key(Map<Integer, List<TASGateScheduleEntry2018>> mapPriorityListTASGateScheduleEntry,
+			Map<Integer, Pair<Double,Double>> mapPriorityMaxMinMessageSizeBytes,
+			EthernetPhyStandard phyStandard, PrioritizingOrder prioritizingOrder, TASWindowsTimeArithmetic tasWindowsTimeArithmetic,
+			TASWindowsPeriodicity tasWindowsPeriodicity, TASWindowsComputation tasWindowsComputation) {
+
+		Objects.requireNonNull(mapPriorityListTASGateScheduleEntry, "mapPriorityListTASGateScheduleEntry cannot be null");
+		Objects.requireNonNull(phyStandard, "phyStandard cannot be null");
+
+		final Object[] keyValues = { phyStandard.name(), prioritizingOrder, tasWindowsTimeArithmetic, tasWindowsPeriodicity, tasWindowsComputation };
+
+		final StringBuilder text = new StringBuilder();
+		text.append("layout=").append(FILE_LAYOUT);
+		for(int i = 0 ; i < KEY_FIELDS.size() ; i++)
+			text.append(';').append(KEY_FIELDS.get(i)).append('=').append(keyValues[i]);
+
+		for(Entry<Integer, List<TASGateScheduleEntry2018>> entry : new TreeMap<Integer, List<TASGateScheduleEntry2018>>(mapPriorityListTASGateScheduleEntry).entrySet()) {
+
+			final int priority = entry.getKey();
+			final Pair<Double,Double> maxMinMessageSizeBytes = (mapPriorityMaxMinMessageSizeBytes != null) ? mapPriorityMaxMinMessageSizeBytes.get(priority) : null;
+
+			final double l_max_Pm = (maxMinMessageSizeBytes != null) ? maxMinMessageSizeBytes.getFirst() : 0.0;
+			final double l_min_Pm = (maxMinMessageSizeBytes != null) ? maxMinMessageSizeBytes.getSecond() : 0.0;
+
+			text.append(';').append(KEY_PRIORITY_FIELDS.get(0)).append('=').append(priority)
+			.append(',').append(KEY_PRIORITY_FIELDS.get(1)).append('=').append(Long.toHexString(Double.doubleToLongBits(l_max_Pm)))
+			.append(',').append(KEY_PRIORITY_FIELDS.get(2)).append('=').append(Long.toHexString(Double.doubleToLongBits(l_min_Pm)));
+
+			final List<TASGateScheduleEntry2018> tasGateScheduleEntryList = new LinkedList<TASGateScheduleEntry2018>(entry.getValue());
+			tasGateScheduleEntryList.sort((TASGateScheduleEntry2018 o1, TASGateScheduleEntry2018 o2) -> {
+				int c = Double.compare(o1.openTime, o2.openTime);
+				if(c == 0) c = Double.compare(o1.closeTime, o2.closeTime);
+				if(c == 0) c = Long.compare(o1.periodLength, o2.periodLength);
+				return c;
+			});
+
+			for(TASGateScheduleEntry2018 tasGateScheduleEntry : tasGateScheduleEntryList) {
+				text.append(",[").append(Long.toHexString(Double.doubleToLongBits(tasGateScheduleEntry.openTime)))
+				.append(',').append(Long.toHexString(Double.doubleToLongBits(tasGateScheduleEntry.closeTime)))
+				.append(',').append(tasGateScheduleEntry.periodLength).append(']');
+			}
+		}
+
+		return HashUtil.sha256Hex(text);
+	}
+
+	/**
+	 * Returns the memoized windows of {@param key}, read from {@param directory} if they are not in memory yet,
+	 * or calculates them with {@param calculation} and stores them.
+	 *
+	 * @param key			see {@link #key(Map, Map, EthernetPhyStandard, PrioritizingOrder, TASWindowsTimeArithmetic, TASWindowsPeriodicity, TASWindowsComputation)}
+	 * @param directory		directory of the memo files, or null to keep the windows only in memory
+	 * @param out			warnings about invalid memo files are printed to it
+	 * @param err			errors writing memo files are printed to it
+	 * @param calculation	calculates the windows of the port on a miss
+	 * @return
+	 */
+	public PortTASWindows get(String key, String directory, PrintStream out, PrintStream err, Supplier<PortTASWindows> calculation) {
+
+		Objects.requireNonNull(key, "key cannot be null");
+		Objects.requireNonNull(out, "out cannot be null");
+		Objects.requireNonNull(err, "err cannot be null");
+		Objects.requireNonNull(calculation, "calculation cannot be null");
+
+		synchronized (this) {
+			final PortTASWindows cached = this.mapKeyPortTASWindows.get(key);
+			if(cached != null) {
+				this.hits.incrementAndGet();
+				return cached;
+			}
+		}
+
+		PortTASWindows portTASWindows = (directory != null) ? this.read(key, directory, out) : null;
+
+		if(portTASWindows != null) {
+			this.diskHits.incrementAndGet();
+		} else {
+			this.misses.incrementAndGet();
+			portTASWindows = Objects.requireNonNull(calculation.get(), "calculation cannot return null");
+
+			if(directory != null)
+				this.write(key, directory, err, portTASWindows);
+		}
+
+		final long portWindows = portTASWindows.getWindowCount();
+		if(portWindows > this.maxWindows)
+			return portTASWindows;
+
+		synchronized (this) {
+
+			final PortTASWindows previous = this.mapKeyPortTASWindows.putIfAbsent(key, portTASWindows);
+			if(previous != null)
+				return previous;
+
+			this.windows += portWindows;
+
+			final Iterator<PortTASWindows> leastRecentlyUsed = this.mapKeyPortTASWindows.values().iterator();
+			while(this.windows > this.maxWindows) {
+				this.windows -= leastRecentlyUsed.next().getWindowCount();
+				leastRecentlyUsed.remove();
+				this.evictions.incrementAndGet();
+			}
+		}
+
+		return portTASWindows;
+	}
+
+	/**
+	 * Discard the entries kept in memory. Files and metrics are kept.
+	 */
+	public synchronized void clear() {
+		this.mapKeyPortTASWindows.clear();
+		this.windows = 0;
+	}
+
+	public long getMaxWindows() {
+		return maxWindows;
+	}
+
+	/**
+	 * @return	total number of windows of the entries kept in memory
+	 */
+	public synchronized long getWindows() {
+		return windows;
+	}
+
+	public synchronized int size() {
+		return this.mapKeyPortTASWindows.size();
+	}
+
+	/**
+	 * @return	ports found in memory
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return	ports read from the memo directory
+	 */
+	public long getDiskHits() {
+		return diskHits.get();
+	}
+
+	/**
+	 * @return	ports calculated
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	public double getHitRate() {
+		final long total = this.getHits() + this.getDiskHits() + this.getMisses();
+		return (total == 0) ? 0.0 : ((double) (this.getHits() + this.getDiskHits())) / total;
+	}
+
+	@Override
+	public String toString() {
+		return "TASWindowsMemo [entries=" + size() + ", windows=" + getWindows() + "/" + maxWindows + ", hits=" + getHits() + ", diskHits=" + getDiskHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "]";
+	}
+
+	/**
+	 * @return	the entry of {@param key} in {@param directory}, or null if there is no valid file
+	 */
+	private PortTASWindows read(String key, String directory, PrintStream out) {
+
+		final Path path = Paths.get(directory, key + FILE_EXTENSION);
+		if(!Files.isRegularFile(path))
+			return null;
+
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+
+			if(!FILE_LAYOUT.equals(in.readUTF()) || !key.equals(in.readUTF()))
+				return null;
+
+			final Map<Integer,TASWindowTable> mapPriorityTASWindowTable = new HashMap<Integer, TASWindowTable>();
+
+			final int priorities = in.readInt();
+			for(int p = 0 ; p < priorities ; p++) {
+				final int priority = in.readInt();
+				mapPriorityTASWindowTable.put(priority, TASWindowTable.read(in));
+			}
+
+			return new PortTASWindows(mapPriorityTASWindowTable);
+
+		} catch (Exception e) {
+			out.println("Warning: ignoring invalid TAS windows memo file " + path + ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Write to a temporary file first, so concurrent runs never read a partial file
+	 */
+	private void write(String key, String directory, PrintStream err, PortTASWindows portTASWindows) {
+
+		Path tmp = null;
+
+		try {
+
+			final Path dir = Files.createDirectories(Paths.get(directory));
+			tmp = Files.createTempFile(dir, key, ".tmp");
+
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+
+				out.writeUTF(FILE_LAYOUT);
+				out.writeUTF(key);
+				out.writeInt(portTASWindows.mapPriorityTASWindowTable.size());
+
+				for(Entry<Integer,TASWindowTable> entry : portTASWindows.mapPriorityTASWindowTable.entrySet()) {
+
+					out.writeInt(entry.getKey());
+					entry.getValue().write(out);
+				}
+			}
+
+			Files.move(tmp, dir.resolve(key + FILE_EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			tmp = null;
+
+		} catch (IOException e) {
+			e.printStackTrace(err);
+		} finally {
+			if(tmp != null) {
+				try {
+					Files.deleteIfExists(tmp);
+				} catch (IOException e) {
+					e.printStackTrace(err);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+package org.networkcalculus.dnc.ethernet.tsn;
+
+import java.security.InvalidParameterException;
+import java.util.Objects;
+
+import org.networkcalculus.dnc.ethernet.EthernetPhyStandard;
+
+/**
+ * Time arithmetic of {@link FusedTASWindowsCalculator} (see ExecutionConfig.TASWindowsTimeArithmetic).
+ *
+ * The calculator keeps every time as a double in the unit of this scale:
+ * 	- DOUBLE_MICROSECONDS: microseconds, as read from the GCL, so every conversion is the identity;
+ * 	- NANOSECOND_TICKS and PICOSECOND_TICKS: whole ticks. Opening and closing times are rounded once to the nearest tick,
+ * 	  and frame transmission times are rounded up to a whole tick by {@link EthernetPhyStandard#transmissionTimeTicks(long, long)}.
+ * 	  Whole numbers up to 2^53 are exact doubles, and so are their min/max, sums and differences within that range,
+ * 	  so the sweeps compare window boundaries with no rounding error. Times beyond {@link #MAX_TICKS} are rejected to keep that margin.
+ * 	  The terms leave the sweeps through {@link #toMicroseconds(double)}, which rounds, so this exactness does not extend past the sweeps.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public final class TASWindowsTimeScale {
+
+	/**
+	 * Largest absolute time (in ticks) accepted by {@link #toTime(double)}, so sums and differences of a few terms stay below 2^53
+	 */
+	public static final long MAX_TICKS = 1L << 50;
+
+	/**
+	 * Ticks per second and per microsecond, or 0 for DOUBLE_MICROSECONDS
+	 */
+	private final long ticksPerSecond;
+	private final long ticksPerUs;
+
+	public TASWindowsTimeScale(ExecutionConfig.TASWindowsTimeArithmetic tasWindowsTimeArithmetic) {
+
+		Objects.requireNonNull(tasWindowsTimeArithmetic, "tasWindowsTimeArithmetic cannot be null");
+
+		switch (tasWindowsTimeArithmetic) {
+		case DOUBLE_MICROSECONDS:
+			this.ticksPerSecond = 0L;
+			break;
+		case NANOSECOND_TICKS:
+			this.ticksPerSecond = 1_000_000_000L;
+			break;
+		case PICOSECOND_TICKS:
+			this.ticksPerSecond = 1_000_000_000_000L;
+			break;
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + tasWindowsTimeArithmetic);
+		}
+
+		this.ticksPerUs = this.ticksPerSecond / 1_000_000L;
+	}
+
+	/**
+	 * @return	true if times are whole ticks, false if they are double microseconds
+	 */
+	public boolean isTicks() {
+		return this.ticksPerSecond != 0L;
+	}
+
+	/**
+	 * @param timeUs	time in microseconds
+	 * @return	{@param timeUs} itself, or the nearest tick
+	 */
+	public double toTime(double timeUs) {
+
+		if(!this.isTicks())
+			return timeUs;
+
+		final long ticks = Math.round(timeUs * this.ticksPerUs);
+		if(Math.abs(ticks) > MAX_TICKS)
+			throw new InvalidParameterException("timeUs={"+timeUs+"} is beyond "+MAX_TICKS+" ticks of 1/"+this.ticksPerSecond+" s");
+
+		return ticks;
+	}
+
+	/**
+	 * @param periodUs	a period in whole microseconds (e.g. T_GCL)
+	 * @return	{@param periodUs} in the unit of this scale, with no rounding
+	 */
+	public double periodToTime(long periodUs) {
+		return this.isTicks() ? Math.multiplyExact(periodUs, this.ticksPerUs) : periodUs;
+	}
+
+	/**
+	 * @param time	time in the unit of this scale
+	 * @return	{@param time} in microseconds, the nearest double of the exact quotient for ticks
+	 */
+	public double toMicroseconds(double time) {
+		return this.isTicks() ? time / this.ticksPerUs : time;
+	}
+
+	/**
+	 * @param phyStandard
+	 * @param frameLengthBytes
+	 * @return	transmission time of a frame of {@param frameLengthBytes} in the unit of this scale
+	 */
+	public double transmissionTime(EthernetPhyStandard phyStandard, double frameLengthBytes) {
+		return this.isTicks() ?
+				phyStandard.transmissionTimeTicks(Math.round(frameLengthBytes), this.ticksPerSecond) :
+				(frameLengthBytes * 8.0) / phyStandard.rate_bpus;
+	}
+
+}
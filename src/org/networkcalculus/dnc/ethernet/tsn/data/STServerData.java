@@ -1,10 +1,7 @@
 package org.networkcalculus.dnc.ethernet.tsn.data;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import org.networkcalculus.dnc.curves.ServiceCurve;
-import org.networkcalculus.dnc.ethernet.tsn.model.TASWindow;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
 import org.networkcalculus.dnc.network.server_graph.Server;
 
 /**
@@ -30,19 +27,20 @@ public class STServerData {
 	
 	/**
 	 * A priority queue can have many windows within its period.
+	 * They are kept in the TASWindowTable calculated by TASWindowsBuilder, which is shared and must not be changed.
 	 */
-	private List<TASWindow> tasWindowList;
+	private TASWindowTable tasWindowTable;
 	
 	/**
 	 * 
 	 * 
 	 * @param serviceCurve
-	 * @param tasWindowList
+	 * @param tasWindowTable
 	 */
-	public STServerData(ServiceCurve serviceCurve, List<TASWindow> tasWindowList) {
+	public STServerData(ServiceCurve serviceCurve, TASWindowTable tasWindowTable) {
 		super();
 		this.serviceCurve = serviceCurve;
-		this.tasWindowList = tasWindowList;
+		this.tasWindowTable = tasWindowTable;
 	}
 	
 	public ServiceCurve getServiceCurve() {
@@ -57,11 +55,11 @@ public class STServerData {
 	public void setSTServer(Server stServer) {
 		this.stServer = stServer;
 	}
-	public List<TASWindow> getTASWindowTermsList() {
-		return new LinkedList<TASWindow>(this.tasWindowList);
+	public TASWindowTable getTASWindowTable() {
+		return this.tasWindowTable;
 	}
-	public void setTASGateScheduling(List<TASWindow> tasGateScheduling) {
-		this.tasWindowList = new LinkedList<TASWindow>(tasGateScheduling);
+	public void setTASWindowTable(TASWindowTable tasWindowTable) {
+		this.tasWindowTable = tasWindowTable;
 	}
 	
 }
@@ -0,0 +1,302 @@
+package org.networkcalculus.dnc.ethernet.tsn.model;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The TAS windows of an Ethernet interface, built from their first T_Pm period.
+ *
+ * The gate scheduling gives the windows of each priority Pm within [0, T_Pm], and they repeat every T_Pm.
+ * The windows of the other T_Pm periods within the GCL hyperperiod (T_GCL = LCM of all T_Pm) are not copied:
+ * the table returned by {@link #getTable(int)} has the N_Pm windows of T_GCL, but only the rows of some periods,
+ * and the windows of any other period are read from the rows of an earlier one shifted by a multiple of T_Pm (see TASWindowTable.getWindow()).
+ *
+ * Periodicity is used to find the periods sharing rows:
+ * the k-th T_Pm period starts at k * T_Pm, and its pattern is the set of windows of the other priorities overlapping it or the previous window of its first one,
+ * each one given by its priority, its row in the first T_Pn period and its shift relative to k * T_Pm (j * T_Pn - k * T_Pm, a whole number of microseconds).
+ * Periods with the same pattern see the same windows around them, only shifted in time, so all their terms are the ones of the first period
+ * with this pattern (the representative), shifted in time.
+ * The phases (k * T_Pm mod T_Pn) alone are never repeated within T_GCL, but the windows of a priority with a longer period only overlap some of the periods.
+ * This is only done with ExecutionConfig.TASWindowsPeriodicity.REUSE_PERIODIC_PATTERNS, otherwise every period has its own rows.
+ * It holds when no window crosses the boundary of its period, otherwise a window near 0 or T_GCL would miss
+ * windows from the previous or next hyperperiod (they are not part of the schedule).
+ * The first period is always its own representative, since the previous window of its first one is in the previous hyperperiod.
+ *
+ * Thus, the rows kept for a priority are N_Pm_within_T_Pm times the number of distinct patterns, which does not grow with T_GCL / T_Pm
+ * when only a few periods are overlapped by the windows of other priorities.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class PeriodicTASWindowSchedule {
+
+	private final long T_GCL;
+
+	/**
+	 * Map<Integer = priority, TASWindowTable = windows within the first T_Pm, where row i has index i>
+	 */
+	private final Map<Integer, TASWindowTable> mapPriorityBaseTable;
+
+	/**
+	 * Map<Integer = priority, int[T_GCL / T_Pm] = first T_Pm period with the same overlapping pattern (the period itself if patterns are not reused)>
+	 */
+	private final Map<Integer, int[]> mapPriorityRepresentativePeriod;
+
+	/**
+	 *
+	 * @param mapPriorityBaseTable	windows of the first T_Pm period of each priority, with index, priorityPm, T_Pm, T_GCL, N_Pm, N_Pm_within_T_Pm,
+	 * 								t_oi_Pm, t_ci_Pm, l_max_Pm, l_min_Pm, d_gb_Pm and t_gbi_Pm filled. Tables are not modified.
+	 * @param reusePatterns			if false, every T_Pm period has its own rows in {@link #getTable(int)}
+	 */
+	public PeriodicTASWindowSchedule(Map<Integer, TASWindowTable> mapPriorityBaseTable, boolean reusePatterns) {
+
+		Objects.requireNonNull(mapPriorityBaseTable, "mapPriorityBaseTable cannot be null");
+
+		Long T_GCL = null;
+		final Map<Integer, TASWindowTable> mapPriorityTable = new TreeMap<Integer, TASWindowTable>();
+
+		for(Entry<Integer, TASWindowTable> entry : mapPriorityBaseTable.entrySet()) {
+
+			final TASWindowTable baseTable = entry.getValue();
+			if(baseTable.size() == 0)
+				continue;
+
+			if(!baseTable.isFilled(TASWindowTable.LongTerm.T_Pm))
+				throw new NullPointerException("You must fill all 'T_Pm' values before building the schedule");
+			if(!baseTable.isFilled(TASWindowTable.LongTerm.T_GCL))
+				throw new NullPointerException("You must fill all 'T_GCL' values before building the schedule");
+			if(!baseTable.isFilled(TASWindowTable.LongTerm.N_Pm_within_T_Pm))
+				throw new NullPointerException("You must fill all 'N_Pm_within_T_Pm' values before building the schedule");
+
+			final long T_Pm = baseTable.get(TASWindowTable.LongTerm.T_Pm, 0);
+			final long T_GCL_Pm = baseTable.get(TASWindowTable.LongTerm.T_GCL, 0);
+			final long N_Pm_within_T_Pm = baseTable.get(TASWindowTable.LongTerm.N_Pm_within_T_Pm, 0);
+
+			if(T_GCL != null && T_GCL != T_GCL_Pm)
+				throw new InvalidParameterException("There are more than one T_GCL value among TASWindow instances: " + T_GCL + ", " + T_GCL_Pm);
+			T_GCL = T_GCL_Pm;
+
+			if(T_GCL_Pm % T_Pm != 0)
+				throw new InvalidParameterException("T_GCL={"+T_GCL_Pm+"} is not a multiple of T_Pm={"+T_Pm+"} for priority " + entry.getKey());
+
+			if(baseTable.size() != N_Pm_within_T_Pm)
+				throw new InvalidParameterException("There are " + baseTable.size() + " windows for priority " + entry.getKey() + ", but N_Pm_within_T_Pm=" + N_Pm_within_T_Pm);
+
+			for(int row = 0 ; row < baseTable.size() ; row++) {
+				if(baseTable.get(TASWindowTable.LongTerm.index, row) != row)
+					throw new InvalidParameterException("Windows of the first T_Pm period must have index 0.." + (baseTable.size() - 1) + ": " + baseTable.toString(row));
+			}
+
+			mapPriorityTable.put(entry.getKey(), baseTable);
+		}
+
+		this.T_GCL = (T_GCL != null) ? T_GCL : 0L;
+		this.mapPriorityBaseTable = Collections.unmodifiableMap(mapPriorityTable);
+		this.mapPriorityRepresentativePeriod = this.buildRepresentativePeriods(reusePatterns && this.isPeriodContained());
+	}
+
+	public long getT_GCL() {
+		return this.T_GCL;
+	}
+
+	/**
+	 * @param priority
+	 * @return	N_Pm, the number of windows of {@param priority} within T_GCL
+	 */
+	public int getWindowCount(int priority) {
+
+		final TASWindowTable baseTable = this.getBaseTable(priority);
+
+		return (int) (this.T_GCL / baseTable.get(TASWindowTable.LongTerm.T_Pm, 0)) * baseTable.size();
+	}
+
+	/**
+	 * The windows of {@param priority} within T_GCL, with the rows of the representative periods only.
+	 * Rows of a representative period are the windows of the first T_Pm period shifted to it, and have the index of the shifted windows.
+	 *
+	 * @param priority
+	 * @return	a new table with N_Pm windows and N_Pm_within_T_Pm rows for each representative period
+	 */
+	public TASWindowTable getTable(int priority) {
+
+		final TASWindowTable baseTable = this.getBaseTable(priority);
+		final int[] representativePeriod = this.mapPriorityRepresentativePeriod.get(priority);
+
+		/**
+		 * Map<Integer = representative period, Integer = its first row>
+		 */
+		final Map<Integer, Integer> mapRepresentativeFirstRow = new TreeMap<Integer, Integer>();
+		final int[] periodFirstRows = new int[representativePeriod.length];
+
+		for(int period = 0 ; period < representativePeriod.length ; period++) {
+			mapRepresentativeFirstRow.putIfAbsent(representativePeriod[period], mapRepresentativeFirstRow.size() * baseTable.size());
+			periodFirstRows[period] = mapRepresentativeFirstRow.get(representativePeriod[period]);
+		}
+
+		final TASWindowTable table = new TASWindowTable(mapRepresentativeFirstRow.size() * baseTable.size(), baseTable.size(), periodFirstRows);
+
+		for(Entry<Integer, Integer> entry : mapRepresentativeFirstRow.entrySet()) {
+
+			final int period = entry.getKey();
+			final double timeOffset = (double) (baseTable.get(TASWindowTable.LongTerm.T_Pm, 0) * period);
+
+			for(int baseRow = 0 ; baseRow < baseTable.size() ; baseRow++) {
+
+				final int row = entry.getValue() + baseRow;
+
+				table.copyRow(baseTable, baseRow, row);
+
+				if(period == 0)
+					continue;
+
+				table.set(TASWindowTable.LongTerm.index, row, period * baseTable.size() + baseRow);
+				table.set(TASWindowTable.DoubleTerm.t_oi_Pm, row, table.get(TASWindowTable.DoubleTerm.t_oi_Pm, row) + timeOffset);
+				table.set(TASWindowTable.DoubleTerm.t_ci_Pm, row, table.get(TASWindowTable.DoubleTerm.t_ci_Pm, row) + timeOffset);
+				table.set(TASWindowTable.DoubleTerm.t_gbi_Pm, row, table.get(TASWindowTable.DoubleTerm.t_gbi_Pm, row) + timeOffset);
+			}
+		}
+
+		return table;
+	}
+
+	/**
+	 * @return	true if every window is within its first T_Pm period, i.e., [t_oi_Pm, t_ci_Pm] within [0, T_Pm],
+	 * 			and no window opens at 0 while other one closes at the end of its period (they would touch across the hyperperiod boundary)
+	 */
+	public boolean isPeriodContained() {
+
+		boolean opensAtPeriodBeginning = false;
+		boolean closesAtPeriodEnd = false;
+
+		for(TASWindowTable baseTable : this.mapPriorityBaseTable.values()) {
+			for(int row = 0 ; row < baseTable.size() ; row++) {
+
+				final double t_oi_Pm = baseTable.get(TASWindowTable.DoubleTerm.t_oi_Pm, row);
+				final double t_ci_Pm = baseTable.get(TASWindowTable.DoubleTerm.t_ci_Pm, row);
+				final long T_Pm = baseTable.get(TASWindowTable.LongTerm.T_Pm, row);
+
+				if(t_oi_Pm < 0.0 || t_ci_Pm > T_Pm)
+					return false;
+
+				opensAtPeriodBeginning |= (t_oi_Pm == 0.0);
+				closesAtPeriodEnd |= (t_ci_Pm == (double) T_Pm);
+			}
+		}
+
+		return !(opensAtPeriodBeginning && closesAtPeriodEnd);
+	}
+
+	/**
+	 * @return	the number of T_Pm periods with their own rows among all priorities (periods that are their own representative)
+	 */
+	public int getPatternCount() {
+
+		int count = 0;
+		for(int[] representativePeriod : this.mapPriorityRepresentativePeriod.values()) {
+			for(int period = 0 ; period < representativePeriod.length ; period++) {
+				if(representativePeriod[period] == period)
+					count++;
+			}
+		}
+
+		return count;
+	}
+
+	private TASWindowTable getBaseTable(int priority) {
+
+		final TASWindowTable baseTable = this.mapPriorityBaseTable.get(priority);
+		if(baseTable == null)
+			throw new InvalidParameterException("There is no window with priority " + priority);
+
+		return baseTable;
+	}
+
+	private Map<Integer, int[]> buildRepresentativePeriods(boolean reusePatterns){
+
+		final Map<Integer, int[]> mapPriorityRepresentativePeriod = new HashMap<Integer, int[]>();
+
+		for(Entry<Integer, TASWindowTable> entry : this.mapPriorityBaseTable.entrySet()) {
+
+			final long T_Pm = entry.getValue().get(TASWindowTable.LongTerm.T_Pm, 0);
+			final int[] representativePeriod = new int[(int) (this.T_GCL / T_Pm)];
+
+			for(int period = 0 ; period < representativePeriod.length ; period++)
+				representativePeriod[period] = period;
+
+			if(reusePatterns) {
+
+				/**
+				 * Map<List<Long> = windows of the other priorities around a period, Integer = first period with these windows around>
+				 */
+				final Map<List<Long>, Integer> mapPatternPeriod = new HashMap<List<Long>, Integer>();
+
+				for(int period = 1 ; period < representativePeriod.length ; period++) {
+
+					final Integer firstPeriod = mapPatternPeriod.putIfAbsent(this.getPattern(entry.getKey(), period), period);
+					if(firstPeriod != null)
+						representativePeriod[period] = firstPeriod;
+				}
+			}
+
+			mapPriorityRepresentativePeriod.put(entry.getKey(), representativePeriod);
+		}
+
+		return Collections.unmodifiableMap(mapPriorityRepresentativePeriod);
+	}
+
+	/**
+	 * @param priority
+	 * @param period	a T_Pm period of {@param priority} after the first one
+	 * @return	priority, row and shift (relative to the beginning of {@param period}) of every window of the other priorities
+	 * 			overlapping [t_oi_Pm of the previous window of the first one, max t_ci_Pm] of the windows of {@param period}
+	 */
+	private List<Long> getPattern(int priority, int period) {
+
+		final TASWindowTable baseTable = this.mapPriorityBaseTable.get(priority);
+		final long periodStart = baseTable.get(TASWindowTable.LongTerm.T_Pm, 0) * period;
+
+		final double from = periodStart - baseTable.get(TASWindowTable.LongTerm.T_Pm, 0) + baseTable.get(TASWindowTable.DoubleTerm.t_oi_Pm, baseTable.size() - 1);
+		double to = periodStart;
+		for(int row = 0 ; row < baseTable.size() ; row++)
+			to = Math.max(to, periodStart + baseTable.get(TASWindowTable.DoubleTerm.t_ci_Pm, row));
+
+		final List<Long> pattern = new ArrayList<Long>();
+
+		for(Entry<Integer, TASWindowTable> other : this.mapPriorityBaseTable.entrySet()) {
+
+			if(other.getKey() == priority)
+				continue;
+
+			final TASWindowTable otherTable = other.getValue();
+			final long T_Pn = otherTable.get(TASWindowTable.LongTerm.T_Pm, 0);
+
+			//Windows are within their period, so only the periods of Pn within [from - T_Pn, to] are visited
+			final long firstPeriod = Math.max(0L, (long) Math.floor(from / T_Pn) - 1L);
+			final long lastPeriod = Math.min(this.T_GCL / T_Pn - 1L, (long) Math.floor(to / T_Pn));
+
+			for(long otherPeriod = firstPeriod ; otherPeriod <= lastPeriod ; otherPeriod++) {
+				for(int row = 0 ; row < otherTable.size() ; row++) {
+
+					final double otherOpen = otherTable.get(TASWindowTable.DoubleTerm.t_oi_Pm, row) + T_Pn * otherPeriod;
+					final double otherClose = otherTable.get(TASWindowTable.DoubleTerm.t_ci_Pm, row) + T_Pn * otherPeriod;
+
+					if(otherOpen <= to && otherClose >= from) {
+						pattern.add((long) other.getKey());
+						pattern.add((long) row);
+						pattern.add(T_Pn * otherPeriod - periodStart);
+					}
+				}
+			}
+		}
+
+		return pattern;
+	}
+
+}
@@ -1,6 +1,6 @@
 package org.networkcalculus.dnc.ethernet.tsn.model;
 
-import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * This class represents all required values for the Time-Aware Shaper priority scheduling Service Curve calculation.
@@ -265,24 +265,6 @@ public class TASWindow {
 	 */
 	public Double o_bar_i_Pm = null;
 
-	/**
-	 * Eq. 21:
-	 * 
-	 * o^{j,i}_{P_m} = (j - i) \cdot T_{P_m} - \overline{o}^i_{P_m} + \overline{o}^j_{P_m}.
-	 * 
-	 * However, this term can easily be computed by using:
-	 * 
-	 * o^{j,i}_{P_m} = t^{B,j}_{P_m} - t^{B,i}_{P_m}
-	 * 
-	 * j \in [i + 1; i + N_{P_m} - 1], 
-	 * the relative offset, which is the time interval between the 
-	 * starting time of the i-th and j-th guaranteed time slots for Pm traffic, 
-	 * by taking the i-th guaranteed time slot as the reference;
-	 *  
-	 * Value in microseconds (us).
-	 */
-	public Double[] o_ji_Pm = null;
-
 	/**
 	 * d^{np,0}_{L}
 	 * 
@@ -325,7 +307,19 @@ public class TASWindow {
 	 * @return
 	 */
 	public boolean isGateOpen(double t) {
-		return ((this.t_oi_Pm <= t) && (t <= this.t_ci_Pm));
+		return isGateOpen(this.t_oi_Pm, this.t_ci_Pm, t);
+	}
+
+	/**
+	 * Same as {@link #isGateOpen(double)} for a window given by its opening and closing times
+	 * 
+	 * @param t_oi_Pm
+	 * @param t_ci_Pm
+	 * @param t
+	 * @return
+	 */
+	public static boolean isGateOpen(double t_oi_Pm, double t_ci_Pm, double t) {
+		return ((t_oi_Pm <= t) && (t <= t_ci_Pm));
 	}
 
 	/**
@@ -339,13 +333,46 @@ public class TASWindow {
 	}
 
 	/**
-	 * Check if other window is within of this window 
+	 * Eq. 21:
+	 * 
+	 * o^{j,i}_{P_m} = (j - i) \cdot T_{P_m} - \overline{o}^i_{P_m} + \overline{o}^j_{P_m}.
+	 * 
+	 * j \in [i + 1; i + N_{P_m} - 1], 
+	 * the relative offset, which is the time interval between the 
+	 * starting time of the i-th and j-th guaranteed time slots for Pm traffic, 
+	 * by taking the i-th guaranteed time slot as the reference;
+	 * 
+	 * It only depends on index, N_Pm, T_Pm and o_bar_i_Pm of both windows, so it is calculated on demand
+	 * instead of keeping N_Pm values in every window.
+	 * 
+	 * @param window_j	window of the same priority, within the actual GCL hyperperiod
+	 * @return	o^{j,i}_{P_m}, taking 'this' window as window 'i'. Value in microseconds (us).
+	 */
+	public double getO_ji_Pm(TASWindow window_j) {
+
+		Objects.requireNonNull(this.index, "index cannot be null");
+		Objects.requireNonNull(this.N_Pm, "N_Pm cannot be null");
+		Objects.requireNonNull(this.T_Pm, "T_Pm cannot be null");
+		Objects.requireNonNull(this.o_bar_i_Pm, "o_bar_i_Pm cannot be null");
+		Objects.requireNonNull(window_j.index, "window_j.index cannot be null");
+		Objects.requireNonNull(window_j.o_bar_i_Pm, "window_j.o_bar_i_Pm cannot be null");
+
+		return calculateO_ji_Pm(this.index, window_j.index, this.N_Pm, this.T_Pm, this.o_bar_i_Pm, window_j.o_bar_i_Pm);
+	}
+
+	/**
+	 * Eq. 21 over primitive values, with (j - i) taken modulo N_Pm so that j may be any window of the GCL hyperperiod.
 	 * 
-	 * @param other
-	 * @return
+	 * @param i
+	 * @param j
+	 * @param N_Pm
+	 * @param T_Pm
+	 * @param o_bar_i_Pm
+	 * @param o_bar_j_Pm
+	 * @return	o^{j,i}_{P_m} in microseconds (us)
 	 */
-	private boolean isWithin(TASWindow other) {
-		return ((this.t_oi_Pm <= other.t_oi_Pm) && (this.t_ci_Pm >= other.t_ci_Pm));
+	public static double calculateO_ji_Pm(long i, long j, long N_Pm, double T_Pm, double o_bar_i_Pm, double o_bar_j_Pm) {
+		return ((j - i + N_Pm) % N_Pm) * T_Pm - o_bar_i_Pm + o_bar_j_Pm;
 	}
 
 	/**
@@ -355,10 +382,23 @@ public class TASWindow {
 	 * @return
 	 */
 	public boolean hasCollision(TASWindow other) {
-		return ((this.t_oi_Pm < other.t_oi_Pm && this.t_ci_Pm > other.t_oi_Pm) || 	//'this' (left) window has collision with 'other' (right) window
-				(this.t_oi_Pm > other.t_oi_Pm && this.t_oi_Pm < other.t_ci_Pm) ||	//'this' (right) window has collision with 'other' (left) window
-				this.isWithin(other) || 											//'other' window is within 'this' window
-				other.isWithin(this));												//'this' window is within 'other' window
+		return hasCollision(this.t_oi_Pm, this.t_ci_Pm, other.t_oi_Pm, other.t_ci_Pm);
+	}
+
+	/**
+	 * Same as {@link #hasCollision(TASWindow)} for windows given by their opening and closing times
+	 * 
+	 * @param t_oi_Pm	opening time of 'this' window
+	 * @param t_ci_Pm	closing time of 'this' window
+	 * @param other_t_oi_Pm	opening time of 'other' window
+	 * @param other_t_ci_Pm	closing time of 'other' window
+	 * @return
+	 */
+	public static boolean hasCollision(double t_oi_Pm, double t_ci_Pm, double other_t_oi_Pm, double other_t_ci_Pm) {
+		return ((t_oi_Pm < other_t_oi_Pm && t_ci_Pm > other_t_oi_Pm) || 		//'this' (left) window has collision with 'other' (right) window
+				(t_oi_Pm > other_t_oi_Pm && t_oi_Pm < other_t_ci_Pm) ||		//'this' (right) window has collision with 'other' (left) window
+				(t_oi_Pm <= other_t_oi_Pm && t_ci_Pm >= other_t_ci_Pm) || 	//'other' window is within 'this' window
+				(other_t_oi_Pm <= t_oi_Pm && other_t_ci_Pm >= t_ci_Pm));		//'this' window is within 'other' window
 	}
 
 	/**
@@ -382,8 +422,7 @@ public class TASWindow {
 				+ ", d_npi_Pm_plus=" + d_npi_Pm_plus + ", d_npi_L=" + d_npi_L + ", t_npi_L=" + t_npi_L + ", d_gb_Pm="
 				+ d_gb_Pm + ", t_gbi_Pm=" + t_gbi_Pm + ", t_ci_Pm_minus=" + t_ci_Pm_minus + ", t_oi_Pm_minus="
 				+ t_oi_Pm_minus + ", t_Bi_H=" + t_Bi_H + ", t_Ei_H=" + t_Ei_H + ", t_Bi_Pm=" + t_Bi_Pm + ", t_Ei_Pm="
-				+ t_Ei_Pm + ", L_bar_i_Pm=" + L_bar_i_Pm + ", o_bar_i_Pm=" + o_bar_i_Pm + ", o_ji_Pm="
-				+ Arrays.toString(o_ji_Pm) + ", d_np0_L=" + d_np0_L + ", S_i_Pm=" + S_i_Pm + "]";
+				+ t_Ei_Pm + ", L_bar_i_Pm=" + L_bar_i_Pm + ", o_bar_i_Pm=" + o_bar_i_Pm + ", d_np0_L=" + d_np0_L + ", S_i_Pm=" + S_i_Pm + "]";
 	}
 
 }
@@ -0,0 +1,161 @@
+package org.networkcalculus.dnc.ethernet.tsn.model;
+
+import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The TAS windows of each priority of an Ethernet interface, as the windows of their TASWindowTable after Step 1.
+ *
+ * The GCL repeats every T_GCL, so the windows of a priority form a ring:
+ * the window before index 0 is the last one (index N_Pm - 1) of the previous hyperperiod, and the window after the last one is index 0 of the next hyperperiod.
+ * Any index 'newIndex' (even negative or >= N_Pm) is resolved in constant time to its reference window within [0, N_Pm)
+ * and to the time offset (a multiple of T_GCL) to be added to the time terms of the reference window.
+ * The reference window itself may be held by the row of an earlier T_Pm period (see TASWindowTable.getWindow()), so no window is copied.
+ *
+ * The tables themselves are not copied, so terms calculated after the ring is built are seen through it.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class TASWindowRing {
+
+	/**
+	 * Map<Integer = priority, TASWindowTable = windows of the GCL hyperperiod>
+	 */
+	private final Map<Integer, TASWindowTable> mapPriorityTable;
+
+	/**
+	 * Map<Integer = priority, Long = T_GCL>
+	 */
+	private final Map<Integer, Long> mapPriorityT_GCL;
+
+	/**
+	 *
+	 * @param mapPriorityTasWindowTable	windows of each priority with index and T_GCL filled. Tables are not modified.
+	 */
+	public TASWindowRing(Map<Integer, TASWindowTable> mapPriorityTasWindowTable) {
+
+		Objects.requireNonNull(mapPriorityTasWindowTable, "mapPriorityTasWindowTable cannot be null");
+
+		final Map<Integer, TASWindowTable> mapPriorityTable = new HashMap<Integer, TASWindowTable>();
+		final Map<Integer, Long> mapPriorityT_GCL = new HashMap<Integer, Long>();
+
+		for(Entry<Integer, TASWindowTable> entry : mapPriorityTasWindowTable.entrySet()) {
+
+			final TASWindowTable table = entry.getValue();
+
+			if(!table.isFilled(TASWindowTable.LongTerm.index))
+				throw new NullPointerException("You must fill all 'index' values before building the ring");
+			if(!table.isFilled(TASWindowTable.LongTerm.T_GCL))
+				throw new NullPointerException("You must fill all 'T_GCL' values before building the ring");
+
+			for(int row = 0 ; row < table.size() ; row++) {
+				if(table.getRow(table.getWindowOfRow(row)) != row)
+					throw new InvalidParameterException("Windows of priority " + entry.getKey() + " must have index 0.." + (table.getWindowCount() - 1) + " held by their own row: " + table.toString(row));
+			}
+
+			mapPriorityTable.put(entry.getKey(), table);
+			if(table.size() > 0)
+				mapPriorityT_GCL.put(entry.getKey(), table.get(TASWindowTable.LongTerm.T_GCL, 0));
+		}
+
+		this.mapPriorityTable = Collections.unmodifiableMap(mapPriorityTable);
+		this.mapPriorityT_GCL = Collections.unmodifiableMap(mapPriorityT_GCL);
+	}
+
+	public Set<Integer> getPriorities() {
+		return this.mapPriorityTable.keySet();
+	}
+
+	/**
+	 * @param priority
+	 * @return	the table of {@param priority}, with the windows of the GCL hyperperiod
+	 */
+	public TASWindowTable getTable(int priority) {
+		return this.getNonEmptyTable(priority);
+	}
+
+	/**
+	 * @param priority
+	 * @return	N_Pm, the number of windows of {@param priority} within T_GCL
+	 */
+	public int size(int priority) {
+		return this.getNonEmptyTable(priority).getWindowCount();
+	}
+
+	/**
+	 * @param priority
+	 * @param newIndex	any index, including the ones outside of the actual GCL hyperperiod
+	 * @return	the index of the window within the actual GCL hyperperiod which {@param newIndex} repeats
+	 */
+	public int getReferenceIndex(int priority, int newIndex) {
+		return Math.floorMod(newIndex, this.size(priority));
+	}
+
+	/**
+	 * @param priority
+	 * @param newIndex	any index, including the ones outside of the actual GCL hyperperiod
+	 * @return	the time offset (in microseconds) of {@param newIndex} from its reference window, i.e. T_GCL times the GCL hyperperiod index
+	 */
+	public double getTimeOffset(int priority, int newIndex) {
+
+		final int T_GCL_index = Math.floorDiv(newIndex, this.size(priority));
+
+		return this.mapPriorityT_GCL.get(priority) * T_GCL_index;
+	}
+
+	/**
+	 * @param priority
+	 * @param newIndex
+	 * @return	t^{o,i}_{P_m} of the (virtual) window {@param newIndex}
+	 */
+	public double getT_oi_Pm(int priority, int newIndex) {
+		return this.get(TASWindowTable.DoubleTerm.t_oi_Pm, priority, newIndex);
+	}
+
+	/**
+	 * @param priority
+	 * @param newIndex
+	 * @return	t^{c,i}_{P_m} of the (virtual) window {@param newIndex}
+	 */
+	public double getT_ci_Pm(int priority, int newIndex) {
+		return this.get(TASWindowTable.DoubleTerm.t_ci_Pm, priority, newIndex);
+	}
+
+	/**
+	 * @param priority
+	 * @param newIndex
+	 * @return	t^{B,i}_{P_m} of the (virtual) window {@param newIndex}. It must be calculated in the row of the reference window.
+	 */
+	public double getT_Bi_Pm(int priority, int newIndex) {
+		return this.get(TASWindowTable.DoubleTerm.t_Bi_Pm, priority, newIndex);
+	}
+
+	/**
+	 * @param priority
+	 * @param newIndex
+	 * @return	t^{E,i}_{P_m} of the (virtual) window {@param newIndex}. It must be calculated in the row of the reference window.
+	 */
+	public double getT_Ei_Pm(int priority, int newIndex) {
+		return this.get(TASWindowTable.DoubleTerm.t_Ei_Pm, priority, newIndex);
+	}
+
+	private double get(TASWindowTable.DoubleTerm timeTerm, int priority, int newIndex) {
+		return this.getNonEmptyTable(priority).getWindow(timeTerm, this.getReferenceIndex(priority, newIndex)) + this.getTimeOffset(priority, newIndex);
+	}
+
+	private TASWindowTable getNonEmptyTable(int priority) {
+
+		final TASWindowTable table = this.mapPriorityTable.get(priority);
+		if(table == null || table.getWindowCount() == 0)
+			throw new InvalidParameterException("There is no window for priority " + priority);
+
+		return table;
+	}
+
+}
@@ -0,0 +1,669 @@
+package org.networkcalculus.dnc.ethernet.tsn.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Objects;
+
+/**
+ * Compact (struct-of-arrays) storage of the TASWindow terms of a single (interface, priority).
+ *
+ * Each term is a primitive column (double[] or long[]) indexed by the row of the window,
+ * and a BitSet per column marks which values were filled, so a term not calculated yet is kept as "unset"
+ * (the column value is then NaN or 0, and must not be used).
+ * o^{j,i}_{P_m} is not stored, it is calculated from the index, N_Pm, T_Pm and o_bar_i_Pm columns (see {@link #getO_ji_Pm(int, int)}).
+ *
+ * Rows and windows:
+ * 	- a table created with {@link #TASWindowTable(int)} has one row per window, and window 'i' is row 'i';
+ * 	- a table created with {@link #TASWindowTable(int, int, int[])} (see PeriodicTASWindowSchedule) has the N_Pm windows of a GCL hyperperiod,
+ * 	  but only the rows of some T_Pm periods. The k-th T_Pm period is given by the N_Pm_within_T_Pm rows starting at periodFirstRows[k],
+ * 	  which hold the windows of an earlier period with the same overlapping pattern (or of the k-th period itself).
+ * 	  The terms of a window are the ones of its row, with the time terms (see {@link #isTime(DoubleTerm)}) shifted by a multiple of T_Pm.
+ * Rows are read and written with get() and set(), windows are read with getWindow() and getWindowCount().
+ *
+ * TASWindowsBuilder creates the table of each priority in Step 1 and all the following steps read and write its columns,
+ * so no TASWindow instance is created while the terms are calculated.
+ * Once the calculation of an interface is finished, its tables are shared (e.g. by STServerData and TASWindowsMemo) and must not be changed.
+ * {@link #toTASWindow(int)} creates a detached TASWindow of a single row, used for printing.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class TASWindowTable {
+
+	/**
+	 * TASWindow terms stored as double. The names are the same of the TASWindow fields.
+	 */
+	public enum DoubleTerm {
+		t_oi_Pm,
+		t_ci_Pm,
+		l_max_Pm,
+		l_min_Pm,
+		l_max_Pm_plus,
+		t_ci_Pm_plus,
+		d_npi_Pm_plus,
+		d_npi_L,
+		t_npi_L,
+		d_gb_Pm,
+		t_gbi_Pm,
+		t_ci_Pm_minus,
+		t_oi_Pm_minus,
+		t_Bi_H,
+		t_Ei_H,
+		t_Bi_Pm,
+		t_Ei_Pm,
+		L_bar_i_Pm,
+		o_bar_i_Pm,
+		d_np0_L,
+		S_i_Pm,
+		d_i_PLCA,
+	}
+
+	/**
+	 * TASWindow terms stored as long (Integer and Long fields). The names are the same of the TASWindow fields.
+	 */
+	public enum LongTerm {
+		index,
+		N_Pm,
+		N_Pm_within_T_Pm,
+		priorityPm,
+		T_GCL,
+		T_Pm,
+	}
+
+	private static final DoubleTerm[] DOUBLE_TERMS = DoubleTerm.values();
+	private static final LongTerm[] LONG_TERMS = LongTerm.values();
+
+	/**
+	 * DoubleTerm values which are instants (in us), shifted with the window. The other ones are durations or lengths.
+	 */
+	private static final EnumSet<DoubleTerm> TIME_TERMS = EnumSet.of(
+			DoubleTerm.t_oi_Pm,
+			DoubleTerm.t_ci_Pm,
+			DoubleTerm.t_ci_Pm_plus,
+			DoubleTerm.t_npi_L,
+			DoubleTerm.t_gbi_Pm,
+			DoubleTerm.t_ci_Pm_minus,
+			DoubleTerm.t_oi_Pm_minus,
+			DoubleTerm.t_Bi_H,
+			DoubleTerm.t_Ei_H,
+			DoubleTerm.t_Bi_Pm,
+			DoubleTerm.t_Ei_Pm);
+
+	private final int size;
+
+	/**
+	 * Windows of each T_Pm period: N_Pm_within_T_Pm, and the first row of the k-th period,
+	 * or null when window 'i' is row 'i'
+	 */
+	private final int windowsPerPeriod;
+	private final int[] periodFirstRows;
+
+	/**
+	 * doubleColumns[DoubleTerm.ordinal()][row]
+	 */
+	private final double[][] doubleColumns;
+	private final BitSet[] doubleColumnsSet;
+
+	/**
+	 * longColumns[LongTerm.ordinal()][row]
+	 */
+	private final long[][] longColumns;
+	private final BitSet[] longColumnsSet;
+
+	/**
+	 * Creates a table with {@param size} rows and all terms unset, where window 'i' is row 'i'.
+	 *
+	 * @param size	number of windows
+	 */
+	public TASWindowTable(int size) {
+		this(requireSize(size), size, null, newDoubleColumns(size), newBitSets(DOUBLE_TERMS.length, size), new long[LONG_TERMS.length][size], newBitSets(LONG_TERMS.length, size));
+	}
+
+	/**
+	 * Creates a table with {@param size} rows and all terms unset, holding the windows of {@param periodFirstRows}.length T_Pm periods.
+	 *
+	 * @param size				number of rows, a multiple of {@param windowsPerPeriod}
+	 * @param windowsPerPeriod	N_Pm_within_T_Pm
+	 * @param periodFirstRows	first row of the windows of each T_Pm period within T_GCL
+	 */
+	public TASWindowTable(int size, int windowsPerPeriod, int[] periodFirstRows) {
+		this(requirePeriods(size, windowsPerPeriod, periodFirstRows), windowsPerPeriod, periodFirstRows.clone(), 
+				newDoubleColumns(size), newBitSets(DOUBLE_TERMS.length, size), new long[LONG_TERMS.length][size], newBitSets(LONG_TERMS.length, size));
+	}
+
+	private TASWindowTable(int size, int windowsPerPeriod, int[] periodFirstRows, double[][] doubleColumns, BitSet[] doubleColumnsSet, long[][] longColumns, BitSet[] longColumnsSet) {
+		this.size = size;
+		this.windowsPerPeriod = windowsPerPeriod;
+		this.periodFirstRows = periodFirstRows;
+		this.doubleColumns = doubleColumns;
+		this.doubleColumnsSet = doubleColumnsSet;
+		this.longColumns = longColumns;
+		this.longColumnsSet = longColumnsSet;
+	}
+
+	private static int requireSize(int size) {
+
+		if(size < 0)
+			throw new InvalidParameterException("size={"+size+"} cannot be negative");
+
+		return size;
+	}
+
+	private static int requirePeriods(int size, int windowsPerPeriod, int[] periodFirstRows) {
+
+		Objects.requireNonNull(periodFirstRows, "periodFirstRows cannot be null");
+
+		if(windowsPerPeriod <= 0 || requireSize(size) % windowsPerPeriod != 0)
+			throw new InvalidParameterException("size={"+size+"} is not a multiple of windowsPerPeriod={"+windowsPerPeriod+"}");
+
+		for(int firstRow : periodFirstRows) {
+			if(firstRow < 0 || firstRow >= size || firstRow % windowsPerPeriod != 0)
+				throw new InvalidParameterException("Invalid first row of a period={"+firstRow+"}, size={"+size+"}, windowsPerPeriod={"+windowsPerPeriod+"}");
+		}
+
+		return size;
+	}
+
+	private static double[][] newDoubleColumns(int size) {
+
+		final double[][] doubleColumns = new double[DOUBLE_TERMS.length][size];
+		for(double[] column : doubleColumns)
+			Arrays.fill(column, Double.NaN);
+
+		return doubleColumns;
+	}
+
+	private static BitSet[] newBitSets(int columns, int size) {
+
+		final BitSet[] bitSets = new BitSet[columns];
+		for(int c = 0 ; c < columns ; c++)
+			bitSets[c] = new BitSet(size);
+
+		return bitSets;
+	}
+
+	/**
+	 * Write all columns of this table, and the first row of each T_Pm period. See {@link #read(DataInput)}.
+	 *
+	 * @param out
+	 * @throws IOException
+	 */
+	public void write(DataOutput out) throws IOException {
+
+		out.writeInt(this.size);
+		out.writeInt(DOUBLE_TERMS.length);
+		out.writeInt(LONG_TERMS.length);
+
+		for(int c = 0 ; c < DOUBLE_TERMS.length ; c++) {
+			for(double value : this.doubleColumns[c])
+				out.writeDouble(value);
+			writeBitSet(out, this.doubleColumnsSet[c]);
+		}
+
+		for(int c = 0 ; c < LONG_TERMS.length ; c++) {
+			for(long value : this.longColumns[c])
+				out.writeLong(value);
+			writeBitSet(out, this.longColumnsSet[c]);
+		}
+
+		//-1 when window 'i' is row 'i'
+		out.writeInt((this.periodFirstRows != null) ? this.periodFirstRows.length : -1);
+		if(this.periodFirstRows != null) {
+			out.writeInt(this.windowsPerPeriod);
+			for(int firstRow : this.periodFirstRows)
+				out.writeInt(firstRow);
+		}
+	}
+
+	/**
+	 * Read a table written by {@link #write(DataOutput)}, with the same DoubleTerm and LongTerm columns.
+	 *
+	 * @param in
+	 * @return
+	 * @throws IOException	if the columns do not match the current terms
+	 */
+	public static TASWindowTable read(DataInput in) throws IOException {
+
+		final int size = in.readInt();
+		if(size < 0 || in.readInt() != DOUBLE_TERMS.length || in.readInt() != LONG_TERMS.length)
+			throw new IOException("TASWindowTable columns do not match the current TASWindow terms");
+
+		final double[][] doubleColumns = new double[DOUBLE_TERMS.length][size];
+		final BitSet[] doubleColumnsSet = new BitSet[DOUBLE_TERMS.length];
+		for(int c = 0 ; c < DOUBLE_TERMS.length ; c++) {
+			for(int row = 0 ; row < size ; row++)
+				doubleColumns[c][row] = in.readDouble();
+			doubleColumnsSet[c] = readBitSet(in);
+		}
+
+		final long[][] longColumns = new long[LONG_TERMS.length][size];
+		final BitSet[] longColumnsSet = new BitSet[LONG_TERMS.length];
+		for(int c = 0 ; c < LONG_TERMS.length ; c++) {
+			for(int row = 0 ; row < size ; row++)
+				longColumns[c][row] = in.readLong();
+			longColumnsSet[c] = readBitSet(in);
+		}
+
+		final int periods = in.readInt();
+		if(periods < 0)
+			return new TASWindowTable(size, size, null, doubleColumns, doubleColumnsSet, longColumns, longColumnsSet);
+
+		final int windowsPerPeriod = in.readInt();
+		final int[] periodFirstRows = new int[periods];
+		for(int k = 0 ; k < periods ; k++)
+			periodFirstRows[k] = in.readInt();
+
+		try {
+			requirePeriods(size, windowsPerPeriod, periodFirstRows);
+		}catch (InvalidParameterException e) {
+			throw new IOException("TASWindowTable periods do not match its rows", e);
+		}
+
+		return new TASWindowTable(size, windowsPerPeriod, periodFirstRows, doubleColumns, doubleColumnsSet, longColumns, longColumnsSet);
+	}
+
+	private static void writeBitSet(DataOutput out, BitSet bitSet) throws IOException {
+		final long[] words = bitSet.toLongArray();
+		out.writeInt(words.length);
+		for(long word : words)
+			out.writeLong(word);
+	}
+
+	private static BitSet readBitSet(DataInput in) throws IOException {
+		final long[] words = new long[in.readInt()];
+		for(int w = 0 ; w < words.length ; w++)
+			words[w] = in.readLong();
+		return BitSet.valueOf(words);
+	}
+
+	/**
+	 * @return	the number of rows
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return	the number of windows, N_Pm for the tables of TASWindowsBuilder. The same as {@link #size()} when window 'i' is row 'i'.
+	 */
+	public int getWindowCount() {
+		return (this.periodFirstRows != null) ? this.periodFirstRows.length * this.windowsPerPeriod : this.size;
+	}
+
+	/**
+	 * @return	the number of windows of each T_Pm period (N_Pm_within_T_Pm), or {@link #getWindowCount()} when window 'i' is row 'i'
+	 */
+	public int getWindowsPerPeriod() {
+		return this.windowsPerPeriod;
+	}
+
+	/**
+	 * @param index	a window within [0, {@link #getWindowCount()})
+	 * @return	the row holding the terms of the window {@param index}
+	 */
+	public int getRow(int index) {
+
+		if(index < 0 || index >= this.getWindowCount())
+			throw new IndexOutOfBoundsException("index=" + index + ", windows=" + this.getWindowCount());
+
+		if(this.periodFirstRows == null)
+			return index;
+
+		return this.periodFirstRows[index / this.windowsPerPeriod] + index % this.windowsPerPeriod;
+	}
+
+	/**
+	 * @param row
+	 * @return	the window held by {@param row}, whose time terms are the ones of the row (the index term of the row, or the row itself when window 'i' is row 'i')
+	 */
+	public int getWindowOfRow(int row) {
+
+		this.checkRow(row);
+
+		return (this.periodFirstRows != null) ? (int) this.get(LongTerm.index, row) : row;
+	}
+
+	/**
+	 * @param index	a window within [0, {@link #getWindowCount()})
+	 * @return	true if the row of {@param index} holds this window itself, i.e. its time terms are not shifted
+	 */
+	public boolean isOwnRow(int index) {
+		return (this.periodFirstRows == null) || (this.get(LongTerm.index, this.getRow(index)) == index);
+	}
+
+	/**
+	 * @param index	a window within [0, {@link #getWindowCount()})
+	 * @return	time (in us, a multiple of T_Pm) added to the time terms of the row of {@param index} to get the ones of this window
+	 */
+	public long getTimeOffset(int index) {
+
+		if(this.isOwnRow(index))
+			return 0L;
+
+		final int row = this.getRow(index);
+		final long periods = (index / this.windowsPerPeriod) - (this.get(LongTerm.index, row) / this.windowsPerPeriod);
+
+		return this.get(LongTerm.T_Pm, row) * periods;
+	}
+
+	/**
+	 * @param term
+	 * @return	true if {@param term} is an instant, shifted with the window, and false if it is a duration or a length
+	 */
+	public static boolean isTime(DoubleTerm term) {
+		return TIME_TERMS.contains(term);
+	}
+
+	/**
+	 * @param term
+	 * @param index	a window within [0, {@link #getWindowCount()})
+	 * @return	the value of {@param term} for the window {@param index}, shifted from its row if it is a time term
+	 * @throws	NullPointerException if the term was not filled in the row of the window
+	 */
+	public double getWindow(DoubleTerm term, int index) {
+
+		final double value = this.get(term, this.getRow(index));
+
+		if(!isTime(term) || this.isOwnRow(index))
+			return value;
+
+		return value + this.getTimeOffset(index);
+	}
+
+	/**
+	 * @param term
+	 * @param index	a window within [0, {@link #getWindowCount()})
+	 * @return	the value of {@param term} for the window {@param index}
+	 * @throws	NullPointerException if the term was not filled in the row of the window
+	 */
+	public long getWindow(LongTerm term, int index) {
+
+		final long value = this.get(term, this.getRow(index));
+
+		return (term == LongTerm.index && this.periodFirstRows != null) ? index : value;
+	}
+
+	/**
+	 * @param term
+	 * @param row
+	 * @return	true if {@param term} was filled for the window at {@param row}
+	 */
+	public boolean isSet(DoubleTerm term, int row) {
+		this.checkRow(row);
+		return this.doubleColumnsSet[term.ordinal()].get(row);
+	}
+
+	/**
+	 * @param term
+	 * @param row
+	 * @return	true if {@param term} was filled for the window at {@param row}
+	 */
+	public boolean isSet(LongTerm term, int row) {
+		this.checkRow(row);
+		return this.longColumnsSet[term.ordinal()].get(row);
+	}
+
+	/**
+	 * @param term
+	 * @param row
+	 * @return	the value of {@param term} for the window at {@param row}
+	 * @throws	NullPointerException if the term was not filled, the same as unboxing the TASWindow field
+	 */
+	public double get(DoubleTerm term, int row) {
+
+		if(!this.isSet(term, row))
+			throw new NullPointerException(term + " is not set for row " + row);
+
+		return this.doubleColumns[term.ordinal()][row];
+	}
+
+	/**
+	 * @param term
+	 * @param row
+	 * @return	the value of {@param term} for the window at {@param row}
+	 * @throws	NullPointerException if the term was not filled, the same as unboxing the TASWindow field
+	 */
+	public long get(LongTerm term, int row) {
+
+		if(!this.isSet(term, row))
+			throw new NullPointerException(term + " is not set for row " + row);
+
+		return this.longColumns[term.ordinal()][row];
+	}
+
+	/**
+	 * @param term
+	 * @param row
+	 * @param value	the value of {@param term} for the window at {@param row}
+	 */
+	public void set(DoubleTerm term, int row, double value) {
+		this.checkRow(row);
+		this.doubleColumns[term.ordinal()][row] = value;
+		this.doubleColumnsSet[term.ordinal()].set(row);
+	}
+
+	/**
+	 * @param term
+	 * @param row
+	 * @param value	the value of {@param term} for the window at {@param row}
+	 */
+	public void set(LongTerm term, int row, long value) {
+		this.checkRow(row);
+		this.longColumns[term.ordinal()][row] = value;
+		this.longColumnsSet[term.ordinal()].set(row);
+	}
+
+	/**
+	 * @param term
+	 * @return	true if {@param term} was filled for all windows
+	 */
+	public boolean isFilled(DoubleTerm term) {
+		return this.doubleColumnsSet[term.ordinal()].cardinality() == this.size;
+	}
+
+	/**
+	 * @param term
+	 * @return	true if {@param term} was filled for all windows
+	 */
+	public boolean isFilled(LongTerm term) {
+		return this.longColumnsSet[term.ordinal()].cardinality() == this.size;
+	}
+
+	/**
+	 * o^{j,i}_{P_m} (Equation 21) calculated from the columns of both rows, the same value of {@link TASWindow#getO_ji_Pm(TASWindow)}.
+	 *
+	 * @param row_i	window 'i'
+	 * @param row_j	window 'j', of the same priority
+	 * @return	o^{j,i}_{P_m}
+	 * @throws	NullPointerException if index, N_Pm, T_Pm or o_bar_i_Pm was not filled
+	 */
+	public double getO_ji_Pm(int row_i, int row_j) {
+		return TASWindow.calculateO_ji_Pm(
+				this.get(LongTerm.index, row_i),
+				this.get(LongTerm.index, row_j),
+				this.get(LongTerm.N_Pm, row_i),
+				this.get(LongTerm.T_Pm, row_i),
+				this.get(DoubleTerm.o_bar_i_Pm, row_i),
+				this.get(DoubleTerm.o_bar_i_Pm, row_j));
+	}
+
+	/**
+	 * o^{j,i}_{P_m} (Equation 21) of two windows given by their index (see {@link #getWindow(DoubleTerm, int)}).
+	 *
+	 * @param index_i	window 'i'
+	 * @param index_j	window 'j', of the same priority
+	 * @return	o^{j,i}_{P_m}
+	 * @throws	NullPointerException if N_Pm, T_Pm or o_bar_i_Pm was not filled
+	 */
+	public double getWindowO_ji_Pm(int index_i, int index_j) {
+		return TASWindow.calculateO_ji_Pm(
+				this.getWindow(LongTerm.index, index_i),
+				this.getWindow(LongTerm.index, index_j),
+				this.getWindow(LongTerm.N_Pm, index_i),
+				this.getWindow(LongTerm.T_Pm, index_i),
+				this.getWindow(DoubleTerm.o_bar_i_Pm, index_i),
+				this.getWindow(DoubleTerm.o_bar_i_Pm, index_j));
+	}
+
+	/**
+	 * Creates a TASWindow with the terms of {@param row}. Changing the returned window does not change this table.
+	 *
+	 * @param row
+	 * @return
+	 */
+	public TASWindow toTASWindow(int row) {
+
+		this.checkRow(row);
+
+		final TASWindow tasWindow = new TASWindow();
+
+		for(DoubleTerm term : DOUBLE_TERMS) {
+			if(this.doubleColumnsSet[term.ordinal()].get(row))
+				setDouble(tasWindow, term, this.doubleColumns[term.ordinal()][row]);
+		}
+
+		for(LongTerm term : LONG_TERMS) {
+			if(this.longColumnsSet[term.ordinal()].get(row))
+				setLong(tasWindow, term, this.longColumns[term.ordinal()][row]);
+		}
+
+		return tasWindow;
+	}
+
+	/**
+	 * Creates a table with a copy of {@param rows}, in the given order, where window 'i' is row 'i'.
+	 *
+	 * @param rows
+	 * @return
+	 */
+	public TASWindowTable copyRows(int[] rows) {
+
+		final TASWindowTable copy = new TASWindowTable(rows.length);
+
+		for(int r = 0 ; r < rows.length ; r++)
+			copy.copyRow(this, rows[r], r);
+
+		return copy;
+	}
+
+	/**
+	 * Creates a table with the windows {@param indexes}, in the given order, where window 'i' is row 'i'.
+	 *
+	 * @param indexes	windows within [0, {@link #getWindowCount()})
+	 * @return
+	 */
+	public TASWindowTable copyWindows(int[] indexes) {
+
+		final TASWindowTable copy = new TASWindowTable(indexes.length);
+
+		for(int r = 0 ; r < indexes.length ; r++) {
+
+			final int row = this.getRow(indexes[r]);
+
+			for(int c = 0 ; c < DOUBLE_TERMS.length ; c++) {
+				if(this.doubleColumnsSet[c].get(row))
+					copy.set(DOUBLE_TERMS[c], r, this.getWindow(DOUBLE_TERMS[c], indexes[r]));
+			}
+
+			for(int c = 0 ; c < LONG_TERMS.length ; c++) {
+				if(this.longColumnsSet[c].get(row))
+					copy.set(LONG_TERMS[c], r, this.getWindow(LONG_TERMS[c], indexes[r]));
+			}
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Copy the terms filled in {@param fromRow} of {@param from} to {@param toRow} of this table.
+	 *
+	 * @param from
+	 * @param fromRow
+	 * @param toRow
+	 */
+	void copyRow(TASWindowTable from, int fromRow, int toRow) {
+
+		from.checkRow(fromRow);
+
+		for(int c = 0 ; c < DOUBLE_TERMS.length ; c++) {
+			if(from.doubleColumnsSet[c].get(fromRow))
+				this.set(DOUBLE_TERMS[c], toRow, from.doubleColumns[c][fromRow]);
+		}
+
+		for(int c = 0 ; c < LONG_TERMS.length ; c++) {
+			if(from.longColumnsSet[c].get(fromRow))
+				this.set(LONG_TERMS[c], toRow, from.longColumns[c][fromRow]);
+		}
+	}
+
+	/**
+	 * @param row
+	 * @return	the same text of {@link TASWindow#toString()} for the window at {@param row}
+	 */
+	public String toString(int row) {
+		return this.toTASWindow(row).toString();
+	}
+
+	@Override
+	public String toString() {
+
+		final StringBuilder text = new StringBuilder("TASWindowTable [size=" + this.size + ", windows=" + this.getWindowCount() + "]");
+		for(int row = 0 ; row < this.size ; row++)
+			text.append("\r\n").append(this.toString(row));
+
+		return text.toString();
+	}
+
+	private void checkRow(int row) {
+		if(row < 0 || row >= this.size)
+			throw new IndexOutOfBoundsException("row=" + row + ", size=" + this.size);
+	}
+
+	private static void setDouble(TASWindow tasWindow, DoubleTerm term, double value) {
+		switch(term) {
+		case t_oi_Pm:			tasWindow.t_oi_Pm = value;			break;
+		case t_ci_Pm:			tasWindow.t_ci_Pm = value;			break;
+		case l_max_Pm:			tasWindow.l_max_Pm = value;			break;
+		case l_min_Pm:			tasWindow.l_min_Pm = value;			break;
+		case l_max_Pm_plus:		tasWindow.l_max_Pm_plus = value;	break;
+		case t_ci_Pm_plus:		tasWindow.t_ci_Pm_plus = value;		break;
+		case d_npi_Pm_plus:		tasWindow.d_npi_Pm_plus = value;	break;
+		case d_npi_L:			tasWindow.d_npi_L = value;			break;
+		case t_npi_L:			tasWindow.t_npi_L = value;			break;
+		case d_gb_Pm:			tasWindow.d_gb_Pm = value;			break;
+		case t_gbi_Pm:			tasWindow.t_gbi_Pm = value;			break;
+		case t_ci_Pm_minus:		tasWindow.t_ci_Pm_minus = value;	break;
+		case t_oi_Pm_minus:		tasWindow.t_oi_Pm_minus = value;	break;
+		case t_Bi_H:			tasWindow.t_Bi_H = value;			break;
+		case t_Ei_H:			tasWindow.t_Ei_H = value;			break;
+		case t_Bi_Pm:			tasWindow.t_Bi_Pm = value;			break;
+		case t_Ei_Pm:			tasWindow.t_Ei_Pm = value;			break;
+		case L_bar_i_Pm:		tasWindow.L_bar_i_Pm = value;		break;
+		case o_bar_i_Pm:		tasWindow.o_bar_i_Pm = value;		break;
+		case d_np0_L:			tasWindow.d_np0_L = value;			break;
+		case S_i_Pm:			tasWindow.S_i_Pm = value;			break;
+		case d_i_PLCA:			tasWindow.d_i_PLCA = value;			break;
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + term);
+		}
+	}
+
+	private static void setLong(TASWindow tasWindow, LongTerm term, long value) {
+		switch(term) {
+		case index:				tasWindow.index = (int) value;				break;
+		case N_Pm:				tasWindow.N_Pm = value;						break;
+		case N_Pm_within_T_Pm:	tasWindow.N_Pm_within_T_Pm = (int) value;	break;
+		case priorityPm:		tasWindow.priorityPm = (int) value;			break;
+		case T_GCL:				tasWindow.T_GCL = value;					break;
+		case T_Pm:				tasWindow.T_Pm = value;						break;
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + term);
+		}
+	}
+
+}
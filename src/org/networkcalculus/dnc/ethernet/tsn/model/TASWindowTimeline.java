@@ -0,0 +1,427 @@
+package org.networkcalculus.dnc.ethernet.tsn.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Interval index over the open windows [t^{o,i}_{P_m}, t^{c,i}_{P_m}] of all priorities of an Ethernet interface.
+ *
+ * For each priority, the windows of the first T_Pm period are sorted by opening time (then by closing time) and arranged as an implicit balanced search tree,
+ * where each node also keeps the latest closing time within its subtree.
+ * The windows of the k-th period are the ones of the first period shifted by k * T_Pm (see TASWindowTable.getWindow()), so they are found
+ * by searching the tree for the query range shifted back by k * T_Pm, only for the periods the range can reach.
+ * Thus, finding the k windows overlapping a time range (or with the gate open at a time 't') takes O(log W + k) instead of O(W),
+ * where W is the number of windows within T_Pm, and the timeline does not grow with the number of T_Pm periods within T_GCL.
+ *
+ * Windows are given by their index in the TASWindowTable of their priority (see TASWindowTable.getWindowCount()).
+ * Only t_oi_Pm and t_ci_Pm are indexed (copied from the rows when the timeline is built), so the timeline must be built after they are set (Step 1)
+ * and remains valid while the other terms of the windows are calculated.
+ * Windows of other GCL hyperperiods (see TASWindowRing) are not indexed, but they can be used as query targets.
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class TASWindowTimeline {
+
+	private static final int[] NO_WINDOWS = new int[0];
+
+	/**
+	 * Windows from a single priority
+	 */
+	private static final class PriorityTimeline {
+
+		private final TASWindowTable table;
+
+		/**
+		 * Opening and closing times of each row of the table
+		 */
+		private final double[] rowOpenTime;
+		private final double[] rowCloseTime;
+
+		private final int windowsPerPeriod;
+		private final int periods;
+		private final long T_Pm;
+
+		/**
+		 * Windows of the first T_Pm period sorted by opening time, and their opening and closing times
+		 */
+		private final int[] windows;
+		private final double[] openTime;
+		private final double[] closeTime;
+
+		/**
+		 * maxCloseTime[mid] = latest closing time among windows in the subtree rooted at 'mid', i.e. the range [lo, hi) which 'mid' is the middle of
+		 */
+		private final double[] maxCloseTime;
+
+		/**
+		 * Earliest opening time, latest closing time and largest absolute time among windows of the first T_Pm period
+		 */
+		private final double minOpenTime;
+		private final double maxCloseTimeAll;
+		private final double maxAbsTime;
+
+		private PriorityTimeline(TASWindowTable table) {
+
+			this.table = table;
+
+			this.rowOpenTime = new double[table.size()];
+			this.rowCloseTime = new double[table.size()];
+			for(int row = 0 ; row < table.size() ; row++) {
+				this.rowOpenTime[row] = table.get(TASWindowTable.DoubleTerm.t_oi_Pm, row);
+				this.rowCloseTime[row] = table.get(TASWindowTable.DoubleTerm.t_ci_Pm, row);
+			}
+
+			this.windowsPerPeriod = Math.min(table.getWindowsPerPeriod(), table.getWindowCount());
+			this.periods = (this.windowsPerPeriod > 0) ? table.getWindowCount() / this.windowsPerPeriod : 0;
+			this.T_Pm = (this.periods > 1) ? table.getWindow(TASWindowTable.LongTerm.T_Pm, 0) : 0L;
+
+			final int size = this.windowsPerPeriod;
+
+			final Integer[] order = new Integer[size];
+			for(int index = 0 ; index < size ; index++)
+				order[index] = index;
+
+			//Stable sort: windows with the same opening and closing times keep the index order
+			Arrays.sort(order, (i1, i2) -> {
+				final int cmp = Double.compare(this.getOpenTime(i1), this.getOpenTime(i2));
+				return (cmp != 0) ? cmp : Double.compare(this.getCloseTime(i1), this.getCloseTime(i2));
+			});
+
+			this.windows = new int[size];
+			this.openTime = new double[size];
+			this.closeTime = new double[size];
+			this.maxCloseTime = new double[size];
+
+			double minOpenTime = Double.POSITIVE_INFINITY;
+			double maxAbsTime = 0.0;
+
+			for(int i = 0 ; i < size ; i++) {
+				this.windows[i] = order[i];
+				this.openTime[i] = this.getOpenTime(this.windows[i]);
+				this.closeTime[i] = this.getCloseTime(this.windows[i]);
+
+				minOpenTime = Math.min(minOpenTime, this.openTime[i]);
+				maxAbsTime = Math.max(maxAbsTime, Math.max(Math.abs(this.openTime[i]), Math.abs(this.closeTime[i])));
+			}
+
+			this.minOpenTime = minOpenTime;
+			this.maxCloseTimeAll = this.buildMaxCloseTime(0, size);
+			this.maxAbsTime = maxAbsTime;
+		}
+
+		/**
+		 * @param index	a window within T_GCL
+		 * @return	t^{o,i}_{P_m} of {@param index}, the same value of TASWindowTable.getWindow() when the timeline was built
+		 */
+		private double getOpenTime(int index) {
+			return shift(this.rowOpenTime[this.table.getRow(index)], this.table.getTimeOffset(index));
+		}
+
+		/**
+		 * @param index	a window within T_GCL
+		 * @return	t^{c,i}_{P_m} of {@param index}, the same value of TASWindowTable.getWindow() when the timeline was built
+		 */
+		private double getCloseTime(int index) {
+			return shift(this.rowCloseTime[this.table.getRow(index)], this.table.getTimeOffset(index));
+		}
+
+		private static double shift(double time, long timeOffset) {
+			return (timeOffset == 0L) ? time : time + timeOffset;
+		}
+
+		private double buildMaxCloseTime(int lo, int hi) {
+
+			if(lo >= hi)
+				return Double.NEGATIVE_INFINITY;
+
+			final int mid = (lo + hi) >>> 1;
+
+			this.maxCloseTime[mid] = Math.max(this.closeTime[mid], Math.max(this.buildMaxCloseTime(lo, mid), this.buildMaxCloseTime(mid + 1, hi)));
+
+			return this.maxCloseTime[mid];
+		}
+
+		/**
+		 * Visit, in opening time order, all windows within [lo, hi) such that (openTime <= to) and (closeTime >= from).
+		 *
+		 * @return	false if the visitor asked to stop
+		 */
+		private boolean visitOverlapping(int lo, int hi, double from, double to, Visitor visitor) {
+
+			if(lo >= hi)
+				return true;
+
+			final int mid = (lo + hi) >>> 1;
+
+			//No window in this subtree is still open at 'from'
+			if(this.maxCloseTime[mid] < from)
+				return true;
+
+			if(!this.visitOverlapping(lo, mid, from, to, visitor))
+				return false;
+
+			//This window and the ones in the right subtree open after 'to'
+			if(this.openTime[mid] > to)
+				return true;
+
+			if(this.closeTime[mid] >= from && !visitor.visit(mid))
+				return false;
+
+			return this.visitOverlapping(mid + 1, hi, from, to, visitor);
+		}
+
+		/**
+		 * @return	windows within T_GCL such that (openTime <= to) and (closeTime >= from), in opening time order (then closing time and index)
+		 */
+		private int[] getOverlapping(double from, double to) {
+
+			final WindowCollector overlapping = new WindowCollector();
+
+			if(this.periods == 1) {
+				this.visitOverlapping(0, this.windows.length, from, to, position -> {
+					overlapping.add(this.windows[position]);
+					return true;
+				});
+				return overlapping.toArray();
+			}
+
+			if(this.periods == 0)
+				return NO_WINDOWS;
+
+			/**
+			 * Candidates of each period are searched with the range shifted back and widened by some ulps,
+			 * since the shifted times are rounded, and then checked with the actual times of the windows
+			 */
+			final double margin = 8.0 * Math.ulp(Math.abs(from) + Math.abs(to) + this.maxAbsTime + (double) this.T_Pm * this.periods);
+
+			final long firstPeriod = Math.max(0L, (long) Math.floor((from - margin - this.maxCloseTimeAll) / this.T_Pm));
+			final long lastPeriod = Math.min(this.periods - 1L, (long) Math.floor((to + margin - this.minOpenTime) / this.T_Pm));
+
+			for(long period = firstPeriod ; period <= lastPeriod ; period++) {
+
+				final double periodOffset = (double) (this.T_Pm * period);
+				final int firstIndex = (int) period * this.windowsPerPeriod;
+
+				this.visitOverlapping(0, this.windows.length, from - periodOffset - margin, to - periodOffset + margin, position -> {
+					final int index = firstIndex + this.windows[position];
+					if(this.getOpenTime(index) <= to && this.getCloseTime(index) >= from)
+						overlapping.add(index);
+					return true;
+				});
+			}
+
+			final int[] result = overlapping.toArray();
+
+			//A window crossing its period boundary may open after windows of the next period
+			final Integer[] order = new Integer[result.length];
+			for(int i = 0 ; i < result.length ; i++)
+				order[i] = result[i];
+
+			Arrays.sort(order, (i1, i2) -> {
+				int cmp = Double.compare(this.getOpenTime(i1), this.getOpenTime(i2));
+				if(cmp == 0)
+					cmp = Double.compare(this.getCloseTime(i1), this.getCloseTime(i2));
+				return (cmp != 0) ? cmp : Integer.compare(i1, i2);
+			});
+
+			for(int i = 0 ; i < result.length ; i++)
+				result[i] = order[i];
+
+			return result;
+		}
+	}
+
+	@FunctionalInterface
+	private interface Visitor {
+		/**
+		 * @param position	position of the window within PriorityTimeline, in opening time order
+		 * @return	true to keep visiting
+		 */
+		boolean visit(int position);
+	}
+
+	/**
+	 * Map<Integer = priority, PriorityTimeline>
+	 */
+	private final Map<Integer, PriorityTimeline> mapPriorityTimeline;
+
+	/**
+	 *
+	 * @param mapPriorityTasWindowTable	Map<Integer = priority, TASWindowTable> with t_oi_Pm and t_ci_Pm filled
+	 */
+	public TASWindowTimeline(Map<Integer, TASWindowTable> mapPriorityTasWindowTable) {
+
+		Objects.requireNonNull(mapPriorityTasWindowTable, "mapPriorityTasWindowTable cannot be null");
+
+		final Map<Integer, PriorityTimeline> mapPriorityTimeline = new HashMap<Integer, PriorityTimeline>();
+
+		for(Entry<Integer, TASWindowTable> entry : mapPriorityTasWindowTable.entrySet()) {
+
+			if(!entry.getValue().isFilled(TASWindowTable.DoubleTerm.t_oi_Pm))
+				throw new NullPointerException("You must fill all 't_oi_Pm' values before building the timeline");
+			if(!entry.getValue().isFilled(TASWindowTable.DoubleTerm.t_ci_Pm))
+				throw new NullPointerException("You must fill all 't_ci_Pm' values before building the timeline");
+
+			mapPriorityTimeline.put(entry.getKey(), new PriorityTimeline(entry.getValue()));
+		}
+
+		this.mapPriorityTimeline = Collections.unmodifiableMap(mapPriorityTimeline);
+	}
+
+	public Set<Integer> getPriorities() {
+		return this.mapPriorityTimeline.keySet();
+	}
+
+	/**
+	 * Calls {@param action} with the index of each window of {@param priority} overlapping the closed range [from, to], in opening time order.
+	 *
+	 * @param priority
+	 * @param from
+	 * @param to
+	 * @param action
+	 */
+	public void forEachOverlapping(int priority, double from, double to, IntConsumer action) {
+		for(int index : this.getOverlapping(priority, from, to))
+			action.accept(index);
+	}
+
+	/**
+	 * @param priority
+	 * @param from
+	 * @param to
+	 * @return	indexes of the windows of {@param priority} overlapping the closed range [from, to], in opening time order
+	 */
+	public int[] getOverlapping(int priority, double from, double to) {
+
+		final PriorityTimeline timeline = this.mapPriorityTimeline.get(priority);
+		if(timeline == null)
+			return NO_WINDOWS;
+
+		return timeline.getOverlapping(from, to);
+	}
+
+	/**
+	 * Calls {@param action} with the index of each window of {@param priority} with the gate open at time {@param t}, in opening time order.
+	 *
+	 * @param priority
+	 * @param t
+	 * @param action
+	 */
+	public void forEachGateOpen(int priority, double t, IntConsumer action) {
+		this.forEachOverlapping(priority, t, t, action);
+	}
+
+	/**
+	 * Same as TASWindow.isGateOpen(t) for any window of {@param priority}.
+	 *
+	 * @param priority
+	 * @param t
+	 * @return
+	 */
+	public boolean isGateOpen(int priority, double t) {
+		return this.getOverlapping(priority, t, t).length > 0;
+	}
+
+	/**
+	 * Same as TASWindow.hasCollision(other) for every window of every priority, for a window given by its opening and closing times,
+	 * e.g. a window of another GCL hyperperiod (see TASWindowRing).
+	 *
+	 * A window of this timeline is included in returned map if it is the target itself.
+	 *
+	 * @param t_oi_Pm
+	 * @param t_ci_Pm
+	 * @return	Map<Integer = priority, int[] = indexes of the windows colliding with [{@param t_oi_Pm}, {@param t_ci_Pm}], in opening time order>
+	 */
+	public Map<Integer, int[]> getCollisionsMap(double t_oi_Pm, double t_ci_Pm) {
+
+		final Map<Integer, int[]> mapPriorityWindowsCollision = new HashMap<Integer, int[]>();
+
+		for(Integer priority : this.mapPriorityTimeline.keySet()) {
+
+			final int[] collisions = this.getCollisions(priority, t_oi_Pm, t_ci_Pm);
+			if(collisions.length > 0)
+				mapPriorityWindowsCollision.put(priority, collisions);
+		}
+
+		return mapPriorityWindowsCollision;
+	}
+
+	/**
+	 * Same as TASWindow.hasCollision(other) for every window of {@param priority}, for a window given by its opening and closing times.
+	 *
+	 * @param priority
+	 * @param t_oi_Pm
+	 * @param t_ci_Pm
+	 * @return	indexes of the windows colliding with [{@param t_oi_Pm}, {@param t_ci_Pm}], in opening time order
+	 */
+	public int[] getCollisions(int priority, double t_oi_Pm, double t_ci_Pm) {
+
+		final PriorityTimeline timeline = this.mapPriorityTimeline.get(priority);
+		if(timeline == null)
+			return NO_WINDOWS;
+
+		final WindowCollector collisions = new WindowCollector();
+
+		//Any collision overlaps the closed range of the target window, so only these candidates are checked
+		for(int index : timeline.getOverlapping(t_oi_Pm, t_ci_Pm)) {
+			if(TASWindow.hasCollision(t_oi_Pm, t_ci_Pm, timeline.getOpenTime(index), timeline.getCloseTime(index)))
+				collisions.add(index);
+		}
+
+		return collisions.toArray();
+	}
+
+	/**
+	 * Windows held by rows of other T_Pm periods are shifted copies of the ones checked, so only the window of each row is checked.
+	 *
+	 * @param priority
+	 * @return	true if two (or more) windows of {@param priority} collide each other
+	 */
+	public boolean hasCollision(int priority) {
+
+		final PriorityTimeline timeline = this.mapPriorityTimeline.get(priority);
+		if(timeline == null)
+			return false;
+
+		for(int row = 0 ; row < timeline.table.size() ; row++) {
+
+			final int target = timeline.table.getWindowOfRow(row);
+			final double targetOpenTime = timeline.getOpenTime(target);
+			final double targetCloseTime = timeline.getCloseTime(target);
+
+			for(int other : timeline.getOverlapping(targetOpenTime, targetCloseTime)) {
+				if(other != target && TASWindow.hasCollision(targetOpenTime, targetCloseTime, timeline.getOpenTime(other), timeline.getCloseTime(other)))
+					return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Growable int[] of window indexes
+	 */
+	private static final class WindowCollector {
+
+		private int[] windows = new int[4];
+		private int size = 0;
+
+		private void add(int index) {
+			if(this.size == this.windows.length)
+				this.windows = Arrays.copyOf(this.windows, 2 * this.size);
+			this.windows[this.size++] = index;
+		}
+
+		private int[] toArray() {
+			return (this.size == 0) ? NO_WINDOWS : Arrays.copyOf(this.windows, this.size);
+		}
+	}
+
+}
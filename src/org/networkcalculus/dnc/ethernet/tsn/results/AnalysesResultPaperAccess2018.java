@@ -8,6 +8,8 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
@@ -28,7 +30,27 @@ public class AnalysesResultPaperAccess2018 {
 		TFA_DELAY_BOUND, 
 		SFA_DELAY_BOUND, 
 		PMOO_DELAY_BOUND, 
-		TMA_DELAY_BOUND
+		TMA_DELAY_BOUND,
+
+		/**
+		 * The related analysis exceeded its time budget. The stored value is the budget (in milliseconds), and there is no delay bound.
+		 */
+		TFA_TIMEOUT,
+		SFA_TIMEOUT,
+		PMOO_TIMEOUT,
+		TMA_TIMEOUT;
+
+		public boolean isTimeout() {
+			switch(this) {
+			case TFA_TIMEOUT:
+			case SFA_TIMEOUT:
+			case PMOO_TIMEOUT:
+			case TMA_TIMEOUT:
+				return true;
+			default:
+				return false;
+			}
+		}
 	}
 
 	public enum NetworkCase{
@@ -73,7 +95,7 @@ public class AnalysesResultPaperAccess2018 {
 	public AnalysesResultPaperAccess2018(String resultOutputDirPath) {
 
 		this.dirpath = resultOutputDirPath;
-		this.resultMap = new HashMap<>();
+		this.resultMap = new ConcurrentHashMap<>();
 
 		putBaselineDatasetPaper2018();
 	}
@@ -103,27 +125,33 @@ public class AnalysesResultPaperAccess2018 {
 
 	}
 
+	/**
+	 * Thread-safe: analyses of different flows (and of different dataset cases) may store their results concurrently.
+	 */
 	public void put(NetworkCase networkCase, Multiplexing multiplexing, String datasetCase, String flowName, Key resultKey, Double value) {
 
-		/*
 		this.resultMap
-		.computeIfAbsent(networkCase, k -> new HashMap<>())
-		.computeIfAbsent(multiplexing, k -> new HashMap<>())
-		.computeIfAbsent(datasetCase, k -> new HashMap<>())
-		.computeIfAbsent(flowName, k -> new HashMap<>())
+		.computeIfAbsent(networkCase, k -> new ConcurrentHashMap<>())
+		.computeIfAbsent(multiplexing, k -> new ConcurrentHashMap<>())
+		.computeIfAbsent(datasetCase, k -> new ConcurrentHashMap<>())
+		.computeIfAbsent(flowName, k -> new ConcurrentHashMap<>())
 		.put(resultKey, value);
-		 */
-
-		final Map<Multiplexing,Map<String,Map<String,Map<Key,Double>>>> multiplexingMap = this.resultMap.getOrDefault(networkCase, new HashMap<>());
-		final Map<String,Map<String,Map<Key,Double>>> datasetCaseMap = multiplexingMap.getOrDefault(multiplexing, new HashMap<>());
-		final Map<String,Map<Key,Double>> flowNameMap = datasetCaseMap.getOrDefault(datasetCase, new HashMap<>());
-		final Map<Key,Double> resultKeyMap = flowNameMap.getOrDefault(flowName, new HashMap<>());
+	}
 
-		resultKeyMap.put(resultKey, value);
-		flowNameMap.put(flowName, resultKeyMap);
-		datasetCaseMap.put(datasetCase, flowNameMap);
-		multiplexingMap.put(multiplexing, datasetCaseMap);
-		this.resultMap.put(networkCase, multiplexingMap);
+	/**
+	 * Copy all results stored in {@param other} into this instance.
+	 * It is used to merge the results of dataset cases which were analyzed in isolation.
+	 * 
+	 * @param other
+	 */
+	public void putAll(AnalysesResultPaperAccess2018 other) {
+
+		other.resultMap.forEach((networkCase, multiplexingMap) -> 
+		multiplexingMap.forEach((multiplexing, datasetCaseMap) -> 
+		datasetCaseMap.forEach((datasetCase, flowNameMap) -> 
+		flowNameMap.forEach((flowName, resultKeyMap) -> 
+		resultKeyMap.forEach((resultKey, value) -> 
+		put(networkCase, multiplexing, datasetCase, flowName, resultKey, value))))));
 	}
 
 	public Map<Key, Double> get(NetworkCase networkCase, Multiplexing multiplexing, String datasetCase, String flowName) {
@@ -237,11 +265,13 @@ public class AnalysesResultPaperAccess2018 {
 						sb.append(DataPrinterUtil.toStringStaticLength(flowName,			columnWidth15, ' '));
 						sb.append(DataPrinterUtil.toStringStaticLength(deadline,			columnWidth15, ' '));
 
-						sb.append(DataPrinterUtil.toStringStaticLength(delayTFA, columnWidth25, ' '));
-						sb.append(DataPrinterUtil.toStringStaticLength(delaySFA, columnWidth25, ' '));
+						final Map<Key,Double> resultKeyMap = this.resultMap.get(networkCase).get(multiplexing).get(datasetCase).get(flowName);
+
+						sb.append(DataPrinterUtil.toStringStaticLength(delayOrTimeout(delayTFA, resultKeyMap, Key.TFA_TIMEOUT), columnWidth25, ' '));
+						sb.append(DataPrinterUtil.toStringStaticLength(delayOrTimeout(delaySFA, resultKeyMap, Key.SFA_TIMEOUT), columnWidth25, ' '));
 						//if(multiplexing == Multiplexing.ARBITRARY) {
-						sb.append(DataPrinterUtil.toStringStaticLength(delayPMOO, 	columnWidth25, ' '));
-						sb.append(DataPrinterUtil.toStringStaticLength(delayTMA, 	columnWidth25, ' '));
+						sb.append(DataPrinterUtil.toStringStaticLength(delayOrTimeout(delayPMOO, resultKeyMap, Key.PMOO_TIMEOUT), 	columnWidth25, ' '));
+						sb.append(DataPrinterUtil.toStringStaticLength(delayOrTimeout(delayTMA, resultKeyMap, Key.TMA_TIMEOUT), 	columnWidth25, ' '));
 						//}
 						sb.append("\r\n");
 					}
@@ -302,6 +332,10 @@ public class AnalysesResultPaperAccess2018 {
 
 						for(Key key : resultKeyList) {
 
+							//Timeouts are not delay values
+							if(key.isTimeout())
+								continue;
+
 							final Double value = resultMap.get(networkCase).get(multiplexing).get(datasetCase).get(flowName).get(key);
 
 							if(replacementMap == null) {
@@ -471,6 +505,8 @@ public class AnalysesResultPaperAccess2018 {
 						final Double delayPMOO = resultMap.get(networkCase).get(multiplexing).get(datasetCase).get(flowName).get(Key.PMOO_DELAY_BOUND);
 						final Double delayTMA = resultMap.get(networkCase).get(multiplexing).get(datasetCase).get(flowName).get(Key.TMA_DELAY_BOUND);
 
+						final Map<Key,Double> resultKeyMap = resultMap.get(networkCase).get(multiplexing).get(datasetCase).get(flowName);
+
 						final Row row = sheet.createRow(rowIndex++);
 						columnIndex = 0;
 
@@ -483,16 +519,16 @@ public class AnalysesResultPaperAccess2018 {
 						else					row.createCell(columnIndex++, CellType.STRING).setCellValue("");
 
 						if(delayTFA != null)	row.createCell(columnIndex++, CellType.NUMERIC).setCellValue(delayTFA);
-						else					row.createCell(columnIndex++, CellType.STRING).setCellValue("");
+						else					row.createCell(columnIndex++, CellType.STRING).setCellValue(Objects.toString(delayOrTimeout(null, resultKeyMap, Key.TFA_TIMEOUT), ""));
 
 						if(delaySFA != null)	row.createCell(columnIndex++, CellType.NUMERIC).setCellValue(delaySFA);
-						else					row.createCell(columnIndex++, CellType.STRING).setCellValue("");
+						else					row.createCell(columnIndex++, CellType.STRING).setCellValue(Objects.toString(delayOrTimeout(null, resultKeyMap, Key.SFA_TIMEOUT), ""));
 
 						if(delayPMOO != null)	row.createCell(columnIndex++, CellType.NUMERIC).setCellValue(delayPMOO);
-						else					row.createCell(columnIndex++, CellType.STRING).setCellValue("");
+						else					row.createCell(columnIndex++, CellType.STRING).setCellValue(Objects.toString(delayOrTimeout(null, resultKeyMap, Key.PMOO_TIMEOUT), ""));
 
 						if(delayTMA != null) 	row.createCell(columnIndex++, CellType.NUMERIC).setCellValue(delayTMA);
-						else					row.createCell(columnIndex++, CellType.STRING).setCellValue("");
+						else					row.createCell(columnIndex++, CellType.STRING).setCellValue(Objects.toString(delayOrTimeout(null, resultKeyMap, Key.TMA_TIMEOUT), ""));
 
 					}
 
@@ -630,6 +666,21 @@ public class AnalysesResultPaperAccess2018 {
 
 	} 
 
+	/**
+	 * @return	{@param delay} if it is not null, "timeout (<budget> ms)" if the analysis exceeded its budget, or null otherwise
+	 */
+	private static Object delayOrTimeout(Double delay, Map<Key,Double> resultKeyMap, Key timeoutKey) {
+
+		if(delay != null)
+			return delay;
+
+		final Double budgetMs = resultKeyMap.get(timeoutKey);
+		if(budgetMs != null)
+			return "timeout (" + budgetMs.longValue() + " ms)";
+
+		return null;
+	}
+
 	private void writeToFileXLSX(XSSFWorkbook workbookOut) throws IOException {
 		final String filepath = this.dirpath + "/" + FILENAME_ANALYSIS_RESULT_XLSX;
 		final FileOutputStream fileOut = new FileOutputStream(filepath);
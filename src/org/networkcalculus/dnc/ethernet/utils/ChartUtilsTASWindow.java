@@ -13,7 +13,7 @@ import org.knowm.xchart.XYSeries;
 import org.knowm.xchart.style.markers.SeriesMarkers;
 import org.networkcalculus.dnc.ethernet.tsn.ExecutionConfig;
 import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
-import org.networkcalculus.dnc.ethernet.tsn.model.TASWindow;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
 
 /**
  * 
@@ -91,7 +91,7 @@ public class ChartUtilsTASWindow {
 	//					putDataWindow(tasWindow, arrayIndex, interfaceInfo, xDataAll, yDataAll, names);
 	//					arrayIndex++;
 	//
-	//					putDataGuaranteedWindow(tasWindow, arrayIndex, interfaceInfo, xDataAll, yDataAll, names);
+	//					putDataGuaranteedWindow(tasWindowTable, index, arrayIndex, interfaceInfo, xDataAll, yDataAll, names);
 	//					arrayIndex++;
 	//				}
 	//
@@ -110,14 +110,14 @@ public class ChartUtilsTASWindow {
 	//		BitmapEncoder.saveBitmapWithDPI(chart, filepath, BitmapFormat.PNG, 300);
 	//	}
 
-	public static void saveTASWindowsChart(String filepath, String name, InterfaceInfoEntry interfaceInfo, Map<Integer,List<TASWindow>> map, ExecutionConfig.PrioritizingOrder prioritizing) throws IOException {
+	public static void saveTASWindowsChart(String filepath, String name, InterfaceInfoEntry interfaceInfo, Map<Integer,TASWindowTable> map, ExecutionConfig.PrioritizingOrder prioritizing) throws IOException {
 
 		int arraySize = 0;
 		int arrayIndex = 0;
-		long T_GCL = map.entrySet().iterator().next().getValue().get(0).T_GCL; //All T_GCL values for TAS Windows are equals for a single interface.
+		long T_GCL = map.entrySet().iterator().next().getValue().get(TASWindowTable.LongTerm.T_GCL, 0); //All T_GCL values for TAS Windows are equals for a single interface.
 
-		for(Entry<Integer,List<TASWindow>> entry : map.entrySet()) {
-			arraySize += entry.getValue().size();
+		for(Entry<Integer,TASWindowTable> entry : map.entrySet()) {
+			arraySize += entry.getValue().getWindowCount();
 		}
 
 		final double[][] xDataAll = new double[2 * arraySize][];
@@ -139,13 +139,13 @@ public class ChartUtilsTASWindow {
 
 		for(Integer priority : priorities) {
 
-			final List<TASWindow> tasWindowList = map.get(priority);
+			final TASWindowTable tasWindowTable = map.get(priority);
 
-			for(TASWindow tasWindow : tasWindowList) {
-				putDataWindow(tasWindow, arrayIndex, interfaceInfo, xDataAll, yDataAll, names, prioritizing);
+			for(int index = 0 ; index < tasWindowTable.getWindowCount() ; index++) {
+				putDataWindow(tasWindowTable, index, arrayIndex, interfaceInfo, xDataAll, yDataAll, names, prioritizing);
 				arrayIndex++;
 
-				putDataGuaranteedWindow(tasWindow, arrayIndex, interfaceInfo, xDataAll, yDataAll, names, prioritizing);
+				putDataGuaranteedWindow(tasWindowTable, index, arrayIndex, interfaceInfo, xDataAll, yDataAll, names, prioritizing);
 				arrayIndex++;
 			}
 
@@ -163,7 +163,7 @@ public class ChartUtilsTASWindow {
 		//BitmapEncoder.saveBitmapWithDPI(chart, filepath + ".png", BitmapFormat.PNG, 300);
 	}
 
-	private static void putDataGuaranteedWindow(TASWindow tasWindow, int arrayIndex, InterfaceInfoEntry interfaceInfo, final double[][] xDataAll, final double[][] yDataAll, final String[] names, ExecutionConfig.PrioritizingOrder prioritizing) {
+	private static void putDataGuaranteedWindow(TASWindowTable tasWindowTable, int index, int arrayIndex, InterfaceInfoEntry interfaceInfo, final double[][] xDataAll, final double[][] yDataAll, final String[] names, ExecutionConfig.PrioritizingOrder prioritizing) {
 
 		double[] xData = new double[6];
 		double[] yData = new double[6];
@@ -177,14 +177,14 @@ public class ChartUtilsTASWindow {
 			throw new IllegalArgumentException("Unexpected value: " + prioritizing);
 		}
 
-		final double baseLevel = orderingFactor * (((tasWindow.priorityPm) * TOTAL_HEIGHT)) + LOW_LEVEL_HEIGHT_TAS_GUARANTEED_WINDOW;
+		final double baseLevel = orderingFactor * (((tasWindowTable.getWindow(TASWindowTable.LongTerm.priorityPm, index)) * TOTAL_HEIGHT)) + LOW_LEVEL_HEIGHT_TAS_GUARANTEED_WINDOW;
 
-		xData[0] = tasWindow.index * tasWindow.T_Pm;
-		xData[1] = tasWindow.t_Bi_Pm - STAIR_STEP_LENGTH;
-		xData[2] = tasWindow.t_Bi_Pm;
-		xData[3] = tasWindow.t_Ei_Pm;
-		xData[4] = tasWindow.t_Ei_Pm + STAIR_STEP_LENGTH;
-		xData[5] = ((tasWindow.index + 1) * tasWindow.T_Pm);
+		xData[0] = tasWindowTable.getWindow(TASWindowTable.LongTerm.index, index) * tasWindowTable.getWindow(TASWindowTable.LongTerm.T_Pm, index);
+		xData[1] = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Bi_Pm, index) - STAIR_STEP_LENGTH;
+		xData[2] = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Bi_Pm, index);
+		xData[3] = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Ei_Pm, index);
+		xData[4] = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Ei_Pm, index) + STAIR_STEP_LENGTH;
+		xData[5] = ((tasWindowTable.getWindow(TASWindowTable.LongTerm.index, index) + 1) * tasWindowTable.getWindow(TASWindowTable.LongTerm.T_Pm, index));
 
 		yData[0] = baseLevel;
 		yData[1] = baseLevel;
@@ -194,14 +194,14 @@ public class ChartUtilsTASWindow {
 		yData[5] = baseLevel;
 
 		names[arrayIndex] = interfaceInfo.toStringInfoEth() + 
-				" (P_m="+tasWindow.priorityPm +", i="+tasWindow.index+", \\overline{L}^i_{P_m}="+tasWindow.L_bar_i_Pm+", T_{P_m}="+tasWindow.T_Pm+")    .";
+				" (P_m="+tasWindowTable.getWindow(TASWindowTable.LongTerm.priorityPm, index) +", i="+tasWindowTable.getWindow(TASWindowTable.LongTerm.index, index)+", \\overline{L}^i_{P_m}="+tasWindowTable.getWindow(TASWindowTable.DoubleTerm.L_bar_i_Pm, index)+", T_{P_m}="+tasWindowTable.getWindow(TASWindowTable.LongTerm.T_Pm, index)+")    .";
 
 		xDataAll[arrayIndex] = xData;
 		yDataAll[arrayIndex] = yData;
 
 	}
 
-	private static void putDataWindow(TASWindow tasWindow, int arrayIndex, InterfaceInfoEntry interfaceInfo, final double[][] xDataAll, final double[][] yDataAll, final String[] names, ExecutionConfig.PrioritizingOrder prioritizing) {
+	private static void putDataWindow(TASWindowTable tasWindowTable, int index, int arrayIndex, InterfaceInfoEntry interfaceInfo, final double[][] xDataAll, final double[][] yDataAll, final String[] names, ExecutionConfig.PrioritizingOrder prioritizing) {
 
 		double[] xData = new double[6];
 		double[] yData = new double[6];
@@ -215,14 +215,14 @@ public class ChartUtilsTASWindow {
 			throw new IllegalArgumentException("Unexpected value: " + prioritizing);
 		}
 
-		final double baseLevel = orderingFactor * (((tasWindow.priorityPm) * TOTAL_HEIGHT)) + LOW_LEVEL_HEIGHT_TAS_GUARANTEED_WINDOW;
+		final double baseLevel = orderingFactor * (((tasWindowTable.getWindow(TASWindowTable.LongTerm.priorityPm, index)) * TOTAL_HEIGHT)) + LOW_LEVEL_HEIGHT_TAS_GUARANTEED_WINDOW;
 
-		xData[0] = tasWindow.index * tasWindow.T_Pm;
-		xData[1] = tasWindow.t_oi_Pm - STAIR_STEP_LENGTH;
-		xData[2] = tasWindow.t_oi_Pm;
-		xData[3] = tasWindow.t_ci_Pm;
-		xData[4] = tasWindow.t_ci_Pm + STAIR_STEP_LENGTH;
-		xData[5] = ((tasWindow.index + 1) * tasWindow.T_Pm);
+		xData[0] = tasWindowTable.getWindow(TASWindowTable.LongTerm.index, index) * tasWindowTable.getWindow(TASWindowTable.LongTerm.T_Pm, index);
+		xData[1] = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, index) - STAIR_STEP_LENGTH;
+		xData[2] = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, index);
+		xData[3] = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, index);
+		xData[4] = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, index) + STAIR_STEP_LENGTH;
+		xData[5] = ((tasWindowTable.getWindow(TASWindowTable.LongTerm.index, index) + 1) * tasWindowTable.getWindow(TASWindowTable.LongTerm.T_Pm, index));
 
 		yData[0] = baseLevel;
 		yData[1] = baseLevel;
@@ -232,7 +232,7 @@ public class ChartUtilsTASWindow {
 		yData[5] = baseLevel;
 
 		names[arrayIndex] = interfaceInfo.toStringInfoEth() + 
-				" (P_m="+tasWindow.priorityPm +", i="+tasWindow.index+", L^i_{P_m}="+(tasWindow.t_ci_Pm - tasWindow.t_oi_Pm)+", T_{P_m}="+tasWindow.T_Pm+")    .";
+				" (P_m="+tasWindowTable.getWindow(TASWindowTable.LongTerm.priorityPm, index) +", i="+tasWindowTable.getWindow(TASWindowTable.LongTerm.index, index)+", L^i_{P_m}="+(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, index) - tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, index))+", T_{P_m}="+tasWindowTable.getWindow(TASWindowTable.LongTerm.T_Pm, index)+")    .";
 
 		xDataAll[arrayIndex] = xData;
 		yDataAll[arrayIndex] = yData;
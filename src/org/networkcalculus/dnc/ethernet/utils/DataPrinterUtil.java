@@ -1,5 +1,6 @@
 package org.networkcalculus.dnc.ethernet.utils;
 
+import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -152,89 +153,139 @@ public class DataPrinterUtil {
 	//------------------------------------------------------------------------------
 
 	public static <T> void print(T item) {
-		print("", item);
+		print(System.out, item);
 	}
 
 	public static <T> void print(String prefix, T item) {
-		System.out.println(prefix + item);
+		print(System.out, prefix, item);
 	}
 
 	public static <K,V> void print(Map<K,V> map) {
-		print("" , map);
+		print(System.out, map);
 	}
 
 	public static <K,V> void print(Entry<K,V> entry) {
+		print(System.out, entry);
+	}
+
+	public static <K,V> void print(K k, V v) {
+		print(System.out, k, v);
+	}
+
+	public static <K,V> void print(String prefix, Map<K,V> map) {
+		print(System.out, prefix, map);
+	}
+
+	public static <T> void print(List<T> list) {
+		print(System.out, list);
+	}
+
+	public static <T> void print(String prefix, List<T> list) {
+		print(System.out, prefix, list);
+	}
+
+	public static <T> void print(Set<T> set) {
+		print(System.out, set);
+	}
+
+	public static <T> void print(String prefix, Set<T> set) {
+		print(System.out, prefix, set);
+	}
+
+	public static <T> void print(T[] array) {
+		print(System.out, array);
+	}
+
+	public static <T> void print(String prefix, T[] array) {
+		print(System.out, prefix, array);
+	}
+
+	//------------------------------------------------------------------------------
+
+	public static <T> void print(PrintStream out, T item) {
+		print(out, "", item);
+	}
+
+	public static <T> void print(PrintStream out, String prefix, T item) {
+		out.println(prefix + item);
+	}
+
+	public static <K,V> void print(PrintStream out, Map<K,V> map) {
+		print(out, "" , map);
+	}
+
+	public static <K,V> void print(PrintStream out, Entry<K,V> entry) {
 		if(entry != null)
-			print(entry.getKey(), entry.getValue());
+			print(out, entry.getKey(), entry.getValue());
 		else
-			System.out.println("(null)");
+			out.println("(null)");
 	}
 
-	public static <K,V> void print(K k, V v) {
-		System.out.print(k);
+	public static <K,V> void print(PrintStream out, K k, V v) {
+		out.print(k);
 		if(v instanceof Map<?, ?>) {
-			System.out.println();
-			print("t", (Map<?, ?>) v);
+			out.println();
+			print(out, "t", (Map<?, ?>) v);
 		} else if (v instanceof List<?>){
-			System.out.println();
-			print("\t", (List<?>) v);
+			out.println();
+			print(out, "\t", (List<?>) v);
 		} else if (v instanceof Set<?>){
-			System.out.println();
-			print("\t", (Set<?>) v);
+			out.println();
+			print(out, "\t", (Set<?>) v);
 		} else if (v instanceof Object[]){
-			System.out.println();
-			print("\t", (Object[]) v);
+			out.println();
+			print(out, "\t", (Object[]) v);
 		} else {
-			print(" -> ", v);
+			print(out, " -> ", v);
 		}
 	}
 
-	public static <K,V> void print(String prefix, Map<K,V> map) {
+	public static <K,V> void print(PrintStream out, String prefix, Map<K,V> map) {
 		if(map != null)
 			map.forEach((k,v) -> {
-				print(k, v);
+				print(out, k, v);
 			});
 		else
-			System.out.println("(null)");
+			out.println("(null)");
 	}
 
-	public static <T> void print(List<T> list) {
-		print("", list);
+	public static <T> void print(PrintStream out, List<T> list) {
+		print(out, "", list);
 	}
 
-	public static <T> void print(String prefix, List<T> list) {
+	public static <T> void print(PrintStream out, String prefix, List<T> list) {
 		if(list != null)
 			list.forEach(item -> {
-				System.out.println(prefix + item);
+				out.println(prefix + item);
 			});
 		else
-			System.out.println("(null)");
+			out.println("(null)");
 	}
 
-	public static <T> void print(Set<T> set) {
-		print("", set);
+	public static <T> void print(PrintStream out, Set<T> set) {
+		print(out, "", set);
 	}
 
-	public static <T> void print(String prefix, Set<T> set) {
+	public static <T> void print(PrintStream out, String prefix, Set<T> set) {
 		if(set != null)
 			set.forEach(item -> {
-				System.out.println(prefix + item);
+				out.println(prefix + item);
 			});
 		else
-			System.out.println("(null)");
+			out.println("(null)");
 	}
 
-	public static <T> void print(T[] array) {
-		print("", array);
+	public static <T> void print(PrintStream out, T[] array) {
+		print(out, "", array);
 	}
 
-	public static <T> void print(String prefix, T[] array) {
+	public static <T> void print(PrintStream out, String prefix, T[] array) {
 		if(array != null)
 			Arrays.stream(array).forEach(item -> {
-				System.out.println(prefix + item);
+				out.println(prefix + item);
 			});
 		else
-			System.out.println("(null)");
+			out.println("(null)");
 	}
 
 
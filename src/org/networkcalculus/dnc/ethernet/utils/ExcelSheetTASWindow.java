@@ -2,7 +2,6 @@ package org.networkcalculus.dnc.ethernet.utils;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -12,9 +11,15 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
-import org.networkcalculus.dnc.ethernet.tsn.model.TASWindow;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
 
 /**
+ * Writes the terms of all TAS windows in TASWindows.xlsx:
+ * 	- sheet "Plan1": one row per window;
+ * 	- sheet "o_ji_Pm": one row per (window i, window j) pair of the same priority, with o^{j,i}_{P_m} (Equation 21).
+ * 
+ * o^{j,i}_{P_m} is kept in its own long (narrow) sheet instead of one column per j, 
+ * so the window sheet has a fixed number of columns whatever N_Pm is.
  * 
  * @author David Alain do Nascimento (dan@cin.ufpe.br)
  *
@@ -23,11 +28,14 @@ public class ExcelSheetTASWindow {
 
 	private static final String FILENAME = "TASWindows.xlsx";
 	private static final String SHEETNAME = "Plan1";
+	private static final String O_JI_SHEETNAME = "o_ji_Pm";
 
 	private String dirpath;
 	private Workbook workbookOut;
 	private Sheet sheet;
+	private Sheet o_jiSheet;
 	private int rowIndex;
+	private int o_jiRowIndex;
 	private int columnIndex;
 
 	public ExcelSheetTASWindow(final String resultDirPath){
@@ -36,28 +44,13 @@ public class ExcelSheetTASWindow {
 
 		this.workbookOut = new XSSFWorkbook();
 		this.sheet = workbookOut.createSheet(SHEETNAME);
+		this.o_jiSheet = workbookOut.createSheet(O_JI_SHEETNAME);
 	}
 
-	public final void buildSheetWriteFile(Map<InterfaceInfoEntry,Map<Integer, List<TASWindow>>> mapInterfaceInfoPriorityTasWindowDataList) {
+	public final void buildSheetWriteFile(Map<InterfaceInfoEntry,Map<Integer, TASWindowTable>> mapInterfaceInfoPriorityTasWindowTable) {
 
 		try {
 
-			int max_o_ji_Pm_length = 0;
-
-			for(Entry<InterfaceInfoEntry,Map<Integer, List<TASWindow>>> entry0 : mapInterfaceInfoPriorityTasWindowDataList.entrySet()) {
-
-				for(Entry<Integer,List<TASWindow>> entry : entry0.getValue().entrySet()) {
-
-					for(TASWindow tasWindow : entry.getValue()) {
-
-						if(max_o_ji_Pm_length < tasWindow.o_ji_Pm.length) {
-							max_o_ji_Pm_length = tasWindow.o_ji_Pm.length;
-						}
-
-					}
-				}
-			}
-
 			this.rowIndex=sheet.getPhysicalNumberOfRows();
 			this.columnIndex=0;
 
@@ -94,13 +87,26 @@ public class ExcelSheetTASWindow {
 				headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("\\overline{o}^i_{P_m}");
 				headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("d^{np,0}_L");
 				headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("S^{i}_{P_m}");
-				for(int j = 0 ; j < max_o_ji_Pm_length ; j++) {
-					headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("o^{j,i}_{P_m}[j="+j+"]");
-				}
 
 			}
 
-			putAll(mapInterfaceInfoPriorityTasWindowDataList);
+			this.o_jiRowIndex=o_jiSheet.getPhysicalNumberOfRows();
+
+			if(o_jiRowIndex == 0) {
+
+				final Row headerRow = o_jiSheet.createRow(o_jiRowIndex++);
+				this.columnIndex=0;
+
+				headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("device");
+				headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("interfaceId");
+
+				headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("P_m");
+				headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("i");
+				headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("j");
+				headerRow.createCell(columnIndex++, CellType.STRING).setCellValue("o^{j,i}_{P_m}");
+			}
+
+			putAll(mapInterfaceInfoPriorityTasWindowTable);
 
 			writeToFile();
 
@@ -110,22 +116,24 @@ public class ExcelSheetTASWindow {
 
 	}
 	
-	private final void putAll(Map<InterfaceInfoEntry,Map<Integer, List<TASWindow>>> mapInterfaceInfoPriorityTasWindowDataList) {
+	private final void putAll(Map<InterfaceInfoEntry,Map<Integer, TASWindowTable>> mapInterfaceInfoPriorityTasWindowTable) {
 		
-		for(Entry<InterfaceInfoEntry,Map<Integer, List<TASWindow>>> entry : mapInterfaceInfoPriorityTasWindowDataList.entrySet()) {
+		for(Entry<InterfaceInfoEntry,Map<Integer, TASWindowTable>> entry : mapInterfaceInfoPriorityTasWindowTable.entrySet()) {
 			put(entry);
 		}
 		
 	}
 
-	private final void put(Entry<InterfaceInfoEntry,Map<Integer, List<TASWindow>>> entryMap) {
+	private final void put(Entry<InterfaceInfoEntry,Map<Integer, TASWindowTable>> entryMap) {
 		
 		final InterfaceInfoEntry interfaceInfo = entryMap.getKey();
-		final Map<Integer,List<TASWindow>> mapPriorityTasList = entryMap.getValue();
+		final Map<Integer,TASWindowTable> mapPriorityTasWindowTable = entryMap.getValue();
+
+		for(Entry<Integer,TASWindowTable> entry : mapPriorityTasWindowTable.entrySet()) {
 
-		for(Entry<Integer,List<TASWindow>> entry : mapPriorityTasList.entrySet()) {
+			final TASWindowTable tasWindowTable = entry.getValue();
 
-			for(TASWindow tasWindow : entry.getValue()) {
+			for(int index = 0 ; index < tasWindowTable.getWindowCount() ; index++) {
 
 				final Row valueRow = sheet.createRow(rowIndex++);
 				this.columnIndex = 0;
@@ -133,34 +141,45 @@ public class ExcelSheetTASWindow {
 				valueRow.createCell(columnIndex++, CellType.STRING).setCellValue(interfaceInfo.deviceName);
 				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(interfaceInfo.interfaceId);
 
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.priorityPm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.index);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.N_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.T_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.T_GCL);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_oi_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_ci_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.l_max_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.l_min_Pm);
-//				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.l_max_Pm_plus);
-//				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_ci_Pm_plus);
-//				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.d_npi_Pm_plus);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.d_npi_L);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_npi_L);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.d_gb_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_gbi_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_ci_Pm_minus);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_oi_Pm_minus);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_Bi_H);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_Ei_H);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_Bi_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.t_Ei_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.L_bar_i_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.o_bar_i_Pm);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.d_np0_L);
-				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.S_i_Pm);
-				for(int j = 0 ; j < tasWindow.o_ji_Pm.length ; j++) {
-					valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindow.o_ji_Pm[j]);
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.LongTerm.priorityPm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.LongTerm.index, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.LongTerm.N_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.LongTerm.T_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.LongTerm.T_GCL, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.l_max_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.l_min_Pm, index));
+//				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.l_max_Pm_plus, index));
+//				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm_plus, index));
+//				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.d_npi_Pm_plus, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.d_npi_L, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_npi_L, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.d_gb_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_gbi_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_ci_Pm_minus, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_oi_Pm_minus, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Bi_H, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Ei_H, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Bi_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Ei_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.L_bar_i_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.o_bar_i_Pm, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.d_np0_L, index));
+				valueRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.DoubleTerm.S_i_Pm, index));
+
+				for(int index_j = 0 ; index_j < tasWindowTable.getWindowCount() ; index_j++) {
+
+					final Row o_jiRow = o_jiSheet.createRow(o_jiRowIndex++);
+					this.columnIndex = 0;
+
+					o_jiRow.createCell(columnIndex++, CellType.STRING).setCellValue(interfaceInfo.deviceName);
+					o_jiRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(interfaceInfo.interfaceId);
+
+					o_jiRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.LongTerm.priorityPm, index));
+					o_jiRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.LongTerm.index, index));
+					o_jiRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindow(TASWindowTable.LongTerm.index, index_j));
+					o_jiRow.createCell(columnIndex++, CellType.NUMERIC).setCellValue(tasWindowTable.getWindowO_ji_Pm(index, index_j));
 				}
 
 			}
@@ -0,0 +1,32 @@
+package org.networkcalculus.dnc.ethernet.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content hashes used as keys of the memoized TAS windows (TASWindowsMemo) and of the cached service curves (ServiceCurveCache).
+ *
+ * @author David Alain do Nascimento (dan@cin.ufpe.br)
+ *
+ */
+public class HashUtil {
+
+	/**
+	 * @param canonicalText	text of all inputs, with doubles written as their raw bits
+	 * @return	SHA-256 of {@param canonicalText} (UTF-8) in hexadecimal
+	 */
+	public static String sha256Hex(CharSequence canonicalText) {
+
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonicalText.toString().getBytes(StandardCharsets.UTF_8));
+			final StringBuilder hex = new StringBuilder(2 * digest.length);
+			for(byte b : digest)
+				hex.append(String.format("%02x", b));
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+}
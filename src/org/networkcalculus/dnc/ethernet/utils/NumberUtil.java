@@ -91,9 +91,14 @@ public class NumberUtil {
 	 * @param a
 	 * @param b
 	 * @return
+	 * @throws ArithmeticException if the LCM does not fit in a long
 	 */
 	public static long lcm(long a, long b){
-		return a * (b / gcd(a, b));
+		try {
+			return Math.multiplyExact(a, b / gcd(a, b));
+		} catch (ArithmeticException e) {
+			throw new ArithmeticException("LCM of " + a + " and " + b + " overflows a long");
+		}
 	}
 
 	/**
@@ -12,7 +12,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.networkcalculus.dnc.ethernet.tsn.entry.InterfaceInfoEntry;
-import org.networkcalculus.dnc.ethernet.tsn.model.TASWindow;
+import org.networkcalculus.dnc.ethernet.tsn.model.TASWindowTable;
 
 /**
  * Class for generating PortGuaranteedWin.txt files to compare to Luxi Zhao's results.
@@ -28,7 +28,7 @@ public class PortGuaranteedWindowsExporter {
 		this.dirpath = resultDirPath;
 	}
 
-	public final void writeFileAsZhaosResults(Map<InterfaceInfoEntry,Map<Integer, List<TASWindow>>> mapInterfaceInfoPriorityTasWindowDataList) {
+	public final void writeFileAsZhaosResults(Map<InterfaceInfoEntry,Map<Integer, TASWindowTable>> mapInterfaceInfoPriorityTasWindowTable) {
 
 		try {
 
@@ -49,7 +49,7 @@ public class PortGuaranteedWindowsExporter {
 
 			sb.append("#link, priority: start time, end time").append("\r\n");
 
-			List<InterfaceInfoEntry> interfaceInfolist = new LinkedList<>(mapInterfaceInfoPriorityTasWindowDataList.keySet());
+			List<InterfaceInfoEntry> interfaceInfolist = new LinkedList<>(mapInterfaceInfoPriorityTasWindowTable.keySet());
 			Collections.sort(interfaceInfolist, new Comparator<InterfaceInfoEntry>() {
 
 				final List<String> interfacesSequence = Arrays.asList(new String[] {
@@ -109,31 +109,34 @@ public class PortGuaranteedWindowsExporter {
 
 				sb.append(mapInterfaceLink.get(entry.toStringInfo())).append(":").append("\r\n");
 
-				Map<Integer, List<TASWindow>> map = mapInterfaceInfoPriorityTasWindowDataList.get(entry);
+				Map<Integer, TASWindowTable> map = mapInterfaceInfoPriorityTasWindowTable.get(entry);
 
 				for(int i = 0 ; i < 8 ; i++) {
 
 					sb.append("Priority ").append(i).append(": ");
 
-					final List<TASWindow> tasWindowList = map.get(i);
+					final TASWindowTable tasWindowTable = map.get(i);
 
-					if(tasWindowList != null) {
+					if(tasWindowTable != null) {
 
-						for(TASWindow window : tasWindowList) {
+						for(int index = 0 ; index < tasWindowTable.getWindowCount() ; index++) {
 
-							if ((window.t_Bi_Pm == Math.floor(window.t_Bi_Pm)) && !Double.isInfinite(window.t_Bi_Pm)) {
-								sb.append(((int) ((double) window.t_Bi_Pm)));
+							final double t_Bi_Pm = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Bi_Pm, index);
+							final double t_Ei_Pm = tasWindowTable.getWindow(TASWindowTable.DoubleTerm.t_Ei_Pm, index);
+
+							if ((t_Bi_Pm == Math.floor(t_Bi_Pm)) && !Double.isInfinite(t_Bi_Pm)) {
+								sb.append(((int) t_Bi_Pm));
 							} else {
-								sb.append(window.t_Bi_Pm);
+								sb.append(t_Bi_Pm);
 							}
 
 							sb.append(", ");
 
 
-							if ((window.t_Ei_Pm == Math.floor(window.t_Ei_Pm)) && !Double.isInfinite(window.t_Ei_Pm)) {
-								sb.append(((int) ((double) window.t_Ei_Pm)));
+							if ((t_Ei_Pm == Math.floor(t_Ei_Pm)) && !Double.isInfinite(t_Ei_Pm)) {
+								sb.append(((int) t_Ei_Pm));
 							} else {
-								sb.append(window.t_Ei_Pm);
+								sb.append(t_Ei_Pm);
 							}
 
 							sb.append("; ");